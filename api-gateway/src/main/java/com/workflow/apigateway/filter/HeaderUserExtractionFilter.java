@@ -1,5 +1,6 @@
 package com.workflow.apigateway.filter;
 
+import com.workflow.apigateway.session.SessionTokenVerifier;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -8,20 +9,27 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Gateway filter to extract user ID from session and add as X-User-Id header
  * for downstream services that need user identification.
+ * A signed X-Session-Token is verified locally; only requests without a usable
+ * token are validated with the entitlement service.
  */
 @Component
 public class HeaderUserExtractionFilter extends AbstractGatewayFilterFactory<HeaderUserExtractionFilter.Config> {
 
     private static final String USER_ID_HEADER = "X-User-Id";
     private static final String SESSION_ID_HEADER = "X-Session-Id";
+    private static final String SESSION_TOKEN_HEADER = "X-Session-Token";
+    private static final String ROLES_DIGEST_HEADER = "X-User-Roles-Digest";
     private final WebClient webClient = WebClient.builder().build();
+    private final SessionTokenVerifier sessionTokenVerifier;
 
-    public HeaderUserExtractionFilter() {
+    public HeaderUserExtractionFilter(SessionTokenVerifier sessionTokenVerifier) {
         super(Config.class);
+        this.sessionTokenVerifier = sessionTokenVerifier;
     }
 
     @Override
@@ -30,6 +38,21 @@ public class HeaderUserExtractionFilter extends AbstractGatewayFilterFactory<Hea
             ServerHttpRequest request = exchange.getRequest();
             System.out.println("HeaderUserExtractionFilter invoked for path: " + request.getPath());
             
+            // Verify a signed session token locally, without calling the entitlement service
+            String sessionToken = request.getHeaders().getFirst(SESSION_TOKEN_HEADER);
+            if (sessionToken != null && !sessionToken.isEmpty() && sessionTokenVerifier.isReady()) {
+                Optional<SessionTokenVerifier.VerifiedToken> verified = sessionTokenVerifier.verify(sessionToken);
+                if (verified.isPresent()) {
+                    ServerHttpRequest.Builder modifiedRequest = request.mutate()
+                            .header(USER_ID_HEADER, verified.get().userId());
+                    if (verified.get().rolesDigest() != null) {
+                        modifiedRequest.header(ROLES_DIGEST_HEADER, verified.get().rolesDigest());
+                    }
+                    return chain.filter(exchange.mutate().request(modifiedRequest.build()).build());
+                }
+                // Expired, revoked or forged; the session ID below may still be valid
+            }
+            
             // Extract session ID header
             String sessionId = request.getHeaders().getFirst(SESSION_ID_HEADER);
             System.out.println("Session ID header: " + sessionId);
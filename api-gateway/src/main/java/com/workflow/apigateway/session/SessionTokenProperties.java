@@ -0,0 +1,62 @@
+package com.workflow.apigateway.session;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Local verification of the entitlement service's signed session tokens (session-token.*).
+ * Keys and issuer must match authorization.session.token on the entitlement service.
+ */
+@Component
+@ConfigurationProperties(prefix = "session-token")
+public class SessionTokenProperties {
+
+    private boolean enabled = false;
+
+    private String issuer = "entitlement-service";
+
+    /**
+     * HMAC-SHA256 secrets by key ID; every listed key is accepted
+     */
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    /**
+     * Push stream of revoked session IDs
+     */
+    private String revocationStreamUrl = "http://localhost:8081/api/auth/revocations/stream";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    public void setIssuer(String issuer) {
+        this.issuer = issuer;
+    }
+
+    public Map<String, String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Map<String, String> keys) {
+        this.keys = keys;
+    }
+
+    public String getRevocationStreamUrl() {
+        return revocationStreamUrl;
+    }
+
+    public void setRevocationStreamUrl(String revocationStreamUrl) {
+        this.revocationStreamUrl = revocationStreamUrl;
+    }
+}
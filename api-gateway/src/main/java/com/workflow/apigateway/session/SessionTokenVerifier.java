@@ -0,0 +1,127 @@
+package com.workflow.apigateway.session;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies the entitlement service's signed session tokens without calling it.
+ *
+ * Revoked session IDs are pushed in by {@link RevocationFeed}. Until the feed has delivered its
+ * first snapshot (or while it is disconnected) the verifier reports itself not ready, and callers
+ * fall back to validating the session remotely.
+ */
+@Component
+public class SessionTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenVerifier.class);
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final SessionTokenProperties properties;
+    private final Map<String, JWSVerifier> verifiers = new HashMap<>();
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeAtMillis = new AtomicLong();
+    private volatile boolean revocationsCurrent;
+
+    public SessionTokenVerifier(SessionTokenProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            for (Map.Entry<String, String> key : properties.getKeys().entrySet()) {
+                try {
+                    verifiers.put(key.getKey(), new MACVerifier(key.getValue().getBytes(StandardCharsets.UTF_8)));
+                } catch (JOSEException e) {
+                    throw new IllegalStateException("Invalid session token key '" + key.getKey() + "'", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokens are enabled and the revocation list is up to date
+     */
+    public boolean isReady() {
+        return !verifiers.isEmpty() && revocationsCurrent;
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            JWSVerifier verifier = verifiers.get(jwt.getHeader().getKeyID());
+            if (verifier == null || !JWSAlgorithm.HS256.equals(jwt.getHeader().getAlgorithm())
+                    || !jwt.verify(verifier)) {
+                return Optional.empty();
+            }
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            Date expiration = claims.getExpirationTime();
+            if (expiration == null || !expiration.toInstant().isAfter(Instant.now())
+                    || !properties.getIssuer().equals(claims.getIssuer())
+                    || claims.getJWTID() == null || claims.getSubject() == null
+                    || isRevoked(claims.getJWTID())) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(
+                    claims.getJWTID(),
+                    claims.getSubject(),
+                    claims.getStringClaim("usr"),
+                    claims.getStringClaim("rdg")));
+        } catch (ParseException | JOSEException e) {
+            log.debug("Rejected session token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    void revoke(String sessionId, Instant expiresAt) {
+        revoked.merge(sessionId, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    void setRevocationsCurrent(boolean revocationsCurrent) {
+        this.revocationsCurrent = revocationsCurrent;
+    }
+
+    /**
+     * Drop entries whose tokens have expired on their own
+     */
+    void purgeExpired() {
+        Instant now = Instant.now();
+        nextPurgeAtMillis.set(now.plus(PURGE_INTERVAL).toEpochMilli());
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    /**
+     * Snapshots only arrive on reconnect, so checks also purge, at most once per PURGE_INTERVAL
+     */
+    private boolean isRevoked(String sessionId) {
+        Instant now = Instant.now();
+        long nextPurgeAt = nextPurgeAtMillis.get();
+        if (now.toEpochMilli() >= nextPurgeAt
+                && nextPurgeAtMillis.compareAndSet(nextPurgeAt, now.plus(PURGE_INTERVAL).toEpochMilli())) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        }
+        Instant expiresAt = revoked.get(sessionId);
+        if (expiresAt != null && !expiresAt.isAfter(now)) {
+            revoked.remove(sessionId, expiresAt);
+            return false;
+        }
+        return expiresAt != null;
+    }
+
+    public record VerifiedToken(String sessionId, String userId, String username, String rolesDigest) {
+    }
+}
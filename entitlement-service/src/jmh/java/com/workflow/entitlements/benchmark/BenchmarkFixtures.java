@@ -0,0 +1,197 @@
+package com.workflow.entitlements.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.config.AuditWriterProperties;
+import com.workflow.entitlements.config.AuthorizationCacheProperties;
+import com.workflow.entitlements.config.PermissionMatrixProperties;
+import com.workflow.entitlements.entity.BusinessAppRole;
+import com.workflow.entitlements.entity.EntitlementAuditLog;
+import com.workflow.entitlements.entity.User;
+import com.workflow.entitlements.entity.UserBusinessAppRole;
+import com.workflow.entitlements.repository.EntitlementRolePermissionRepository;
+import com.workflow.entitlements.repository.EntitlementUserDomainRoleRepository;
+import com.workflow.entitlements.repository.PrincipalReadRepository;
+import com.workflow.entitlements.repository.ResourcePermissionRepository;
+import com.workflow.entitlements.repository.UserBusinessAppRoleRepository;
+import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.EMSService;
+import com.workflow.entitlements.service.HybridAuthorizationService;
+import com.workflow.entitlements.service.UserBusinessAppRoleService;
+import com.workflow.entitlements.service.UserQueueIndex;
+import com.workflow.entitlements.service.UserSearchIndex;
+import com.workflow.entitlements.service.UserService;
+import com.workflow.entitlements.service.audit.AsyncAuditLogWriter;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import com.workflow.entitlements.service.authorization.DatabaseAuthorizationEngine;
+import com.workflow.entitlements.service.authorization.PermissionMatrix;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-memory wiring of the decision path for the benchmarks: the real engine, cache, permission
+ * matrix and services over repositories that answer from fixed data, so only CPU and allocation
+ * are measured.
+ *
+ * A principal with n domain roles also gets n departments / 3 (at least one) and 2n global
+ * attributes, which spans a typical analyst (2 roles) to a heavily entitled admin (25 roles).
+ */
+final class BenchmarkFixtures {
+
+    static final String[] RESOURCES = {"case", "workflow", "evidence", "finding", "system", "user"};
+    static final String[] ACTIONS = {"create", "read", "update", "delete", "approve", "assign", "claim", "complete"};
+    static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    final AuthorizationCache authorizationCache;
+    final DatabaseAuthorizationEngine engine;
+    final HybridAuthorizationService hybridAuthorizationService;
+    final EMSService emsService;
+
+    BenchmarkFixtures(int roles, boolean cached) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        AuthorizationCacheProperties cacheProperties = new AuthorizationCacheProperties();
+        if (!cached) {
+            cacheProperties.getUserContextCache().setExpireAfterWrite(Duration.ZERO);
+            cacheProperties.getPermissionsCache().setExpireAfterWrite(Duration.ZERO);
+            cacheProperties.getDecisionsCache().setExpireAfterWrite(Duration.ZERO);
+        }
+        authorizationCache = new AuthorizationCache(cacheProperties, meterRegistry, null);
+
+        List<UUID> roleIds = new ArrayList<>();
+        List<Object[]> rolePermissions = new ArrayList<>();
+        for (int i = 0; i < roles; i++) {
+            UUID roleId = new UUID(0x5eed, i);
+            roleIds.add(roleId);
+            // Each role grants three consecutive actions on one resource type
+            for (int k = 0; k < 3; k++) {
+                rolePermissions.add(new Object[]{roleId, RESOURCES[i % RESOURCES.length], ACTIONS[(i + k) % ACTIONS.length]});
+            }
+        }
+
+        PermissionMatrix permissionMatrix = new PermissionMatrix(
+                stub(EntitlementRolePermissionRepository.class,
+                        Map.of("findActiveRolePermissionKeys", args -> rolePermissions)),
+                stub(EntitlementUserDomainRoleRepository.class,
+                        Map.of("findActiveRoleIdsByUserId", args -> roleIds)),
+                new PermissionMatrixProperties());
+
+        PrincipalReadRepository.PrincipalView view = principalView(roles);
+        PrincipalReadRepository principalReadRepository = new PrincipalReadRepository(null, objectMapper) {
+            @Override
+            public Optional<PrincipalView> findByUserId(UUID userId) {
+                return Optional.of(view);
+            }
+        };
+
+        ResourcePermissionRepository resourcePermissionRepository = stub(ResourcePermissionRepository.class, Map.of(
+                "hasUserResourcePermission", args -> false,
+                "findValidPermissionsByUserIdAndResourceIds", args -> List.of()));
+
+        User user = User.builder()
+                .userId(USER_ID)
+                .username(view.username())
+                .email(view.email())
+                .firstName(view.firstName())
+                .lastName(view.lastName())
+                .globalAttributes(view.globalAttributes())
+                .build();
+        UserRepository userRepository = stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(user),
+                "count", args -> 1L));
+
+        List<UserBusinessAppRole> businessRoles = new ArrayList<>();
+        for (int i = 0; i < roles; i++) {
+            businessRoles.add(UserBusinessAppRole.builder()
+                    .userId(USER_ID)
+                    .businessAppRole(BusinessAppRole.builder().roleName(view.domainRoles().get(i).roleName()).build())
+                    .build());
+        }
+        List<Object[]> userQueues = new ArrayList<>();
+        for (int i = 0; i < roles; i++) {
+            userQueues.add(new Object[]{USER_ID, view.domainRoles().get(i).roleName() + "_QUEUE"});
+        }
+        UserBusinessAppRoleRepository userBusinessAppRoleRepository = stub(UserBusinessAppRoleRepository.class, Map.of(
+                "findByUserIdAndIsActiveTrue", args -> businessRoles,
+                "findActiveUserQueues", args -> userQueues));
+
+        engine = new DatabaseAuthorizationEngine(userRepository, principalReadRepository, resourcePermissionRepository,
+                new DiscardingAuditLogWriter(objectMapper, meterRegistry), authorizationCache, permissionMatrix);
+        hybridAuthorizationService = new HybridAuthorizationService(engine);
+        emsService = new EMSService(
+                new UserService(userRepository, authorizationCache, new UserSearchIndex(userRepository)),
+                new UserBusinessAppRoleService(userBusinessAppRoleRepository, userRepository, null, authorizationCache),
+                null, hybridAuthorizationService, null, null, null,
+                new UserQueueIndex(userBusinessAppRoleRepository, authorizationCache));
+    }
+
+    static PrincipalReadRepository.PrincipalView principalView(int roles) {
+        String[] roleNames = {"INTAKE_ANALYST", "INVESTIGATOR", "INVESTIGATION_MANAGER", "LEGAL_COUNSEL", "HR_SPECIALIST"};
+        List<PrincipalReadRepository.DomainRoleView> domainRoles = new ArrayList<>();
+        for (int i = 0; i < roles; i++) {
+            domainRoles.add(new PrincipalReadRepository.DomainRoleView(new UUID(0x5eed, i),
+                    roleNames[i % roleNames.length] + (i < roleNames.length ? "" : "_" + i),
+                    new UUID(0xd0, i % 4), "2026-01-15T09:30:00Z"));
+        }
+
+        List<String> departments = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, roles / 3); i++) {
+            departments.add("DEPT_" + i);
+        }
+
+        Map<String, Object> globalAttributes = new LinkedHashMap<>();
+        for (int i = 0; i < roles * 2; i++) {
+            globalAttributes.put("attribute" + i, i % 2 == 0 ? "value-" + i : i);
+        }
+
+        return new PrincipalReadRepository.PrincipalView(USER_ID, "alice.intake", "alice.intake@example.com",
+                "Alice", "Intake", true, globalAttributes, domainRoles, departments);
+    }
+
+    /**
+     * Repository proxy answering the named methods; anything else fails loudly so a change in the
+     * decision path's queries shows up instead of being silently measured as a no-op.
+     */
+    static <T> T stub(Class<T> repository, Map<String, Function<Object[], Object>> answers) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "Stub" + repository.getSimpleName();
+                        default -> throw new UnsupportedOperationException(
+                                repository.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    };
+                }));
+    }
+
+    /**
+     * Never started, so nothing reaches a database; the engine still builds every audit entry.
+     */
+    static class DiscardingAuditLogWriter extends AsyncAuditLogWriter {
+
+        private volatile EntitlementAuditLog last;
+
+        DiscardingAuditLogWriter(ObjectMapper objectMapper, SimpleMeterRegistry meterRegistry) {
+            super(new AuditWriterProperties(), null, null, objectMapper, meterRegistry);
+        }
+
+        @Override
+        public void write(EntitlementAuditLog auditLog) {
+            last = auditLog;
+        }
+    }
+}
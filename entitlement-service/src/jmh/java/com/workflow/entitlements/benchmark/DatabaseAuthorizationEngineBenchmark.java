@@ -0,0 +1,100 @@
+package com.workflow.entitlements.benchmark;
+
+import com.workflow.entitlements.dto.ems.EMSAuthRequest;
+import com.workflow.entitlements.dto.ems.EMSAuthResponse;
+import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU and allocation cost of the database engine's decision path and of the EMS check built on
+ * it, with repositories answered from memory. "cached=false" expires the principal, permission
+ * and decision caches immediately, so every call rebuilds the principal and re-evaluates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseAuthorizationEngineBenchmark {
+
+    private static final int RESOURCE_IDS = 64;
+    private static final String USER_ID_STRING = BenchmarkFixtures.USER_ID.toString();
+
+    @Param({"2", "25"})
+    int roles;
+
+    @Param({"true", "false"})
+    boolean cached;
+
+    private BenchmarkFixtures fixtures;
+    private AuthorizationCheckRequest[] requests;
+    private EMSAuthRequest[] emsRequests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixtures = new BenchmarkFixtures(roles, cached);
+        AuthorizationCheckRequest.Principal principal = fixtures.engine.buildPrincipal(BenchmarkFixtures.USER_ID);
+
+        requests = new AuthorizationCheckRequest[RESOURCE_IDS];
+        emsRequests = new EMSAuthRequest[RESOURCE_IDS];
+        for (int i = 0; i < RESOURCE_IDS; i++) {
+            String kind = BenchmarkFixtures.RESOURCES[i % BenchmarkFixtures.RESOURCES.length];
+            requests[i] = AuthorizationCheckRequest.builder()
+                    .principal(principal)
+                    .resource(AuthorizationCheckRequest.Resource.builder().kind(kind).id("CMS-" + i).build())
+                    .action(BenchmarkFixtures.ACTIONS[i % BenchmarkFixtures.ACTIONS.length])
+                    .build();
+            emsRequests[i] = EMSAuthRequest.builder()
+                    .resourceType("case")
+                    .resourceId("CMS-" + i)
+                    .build();
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) % RESOURCE_IDS;
+        return index;
+    }
+
+    @Benchmark
+    public AuthorizationCheckResponse checkAuthorization() {
+        return fixtures.engine.checkAuthorization(requests[nextIndex()]);
+    }
+
+    @Benchmark
+    public AuthorizationCheckRequest.Principal buildPrincipal() {
+        return fixtures.engine.buildPrincipal(BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public AuthorizationCheckResponse checkUserPermission() {
+        AuthorizationCheckRequest request = requests[nextIndex()];
+        return fixtures.engine.checkUserPermission(BenchmarkFixtures.USER_ID,
+                request.getResource().getKind(), request.getResource().getId(), request.getAction());
+    }
+
+    /**
+     * EMS check without an action: the common case actions evaluated as one batch
+     */
+    @Benchmark
+    public EMSAuthResponse emsCheckUserAuthorization() {
+        return fixtures.emsService.checkUserAuthorization(USER_ID_STRING, emsRequests[nextIndex()]);
+    }
+}
@@ -0,0 +1,174 @@
+package com.workflow.entitlements.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.workflow.entitlements.dto.ems.WhoAmIResponse;
+import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.repository.PrincipalReadRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization of the authorization and whoami payloads, using an ObjectMapper built the
+ * way Spring Boot builds the application's one. Payload sizes follow {@link BenchmarkFixtures}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"2", "25"})
+    int roles;
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+    private ObjectWriter whoAmIWriter;
+    private ObjectReader whoAmIReader;
+
+    private AuthorizationCheckRequest request;
+    private AuthorizationCheckResponse response;
+    private WhoAmIResponse whoAmI;
+    private byte[] requestJson;
+    private byte[] responseJson;
+    private byte[] whoAmIJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestWriter = objectMapper.writerFor(AuthorizationCheckRequest.class);
+        requestReader = objectMapper.readerFor(AuthorizationCheckRequest.class);
+        responseWriter = objectMapper.writerFor(AuthorizationCheckResponse.class);
+        responseReader = objectMapper.readerFor(AuthorizationCheckResponse.class);
+        whoAmIWriter = objectMapper.writerFor(WhoAmIResponse.class);
+        whoAmIReader = objectMapper.readerFor(WhoAmIResponse.class);
+
+        AuthorizationCheckRequest.Principal principal =
+                new BenchmarkFixtures(roles, true).engine.buildPrincipal(BenchmarkFixtures.USER_ID);
+        request = AuthorizationCheckRequest.builder()
+                .principal(principal)
+                .resource(AuthorizationCheckRequest.Resource.builder()
+                        .kind("case")
+                        .id("CMS-10-20045")
+                        .attributes(Map.of("department", "IU", "priority", "HIGH", "status", "OPEN"))
+                        .build())
+                .action("update")
+                .build();
+        response = AuthorizationCheckResponse.denied(
+                "User does not have required permissions for this resource and action");
+        whoAmI = whoAmI(BenchmarkFixtures.principalView(roles));
+
+        requestJson = requestWriter.writeValueAsBytes(request);
+        responseJson = responseWriter.writeValueAsBytes(response);
+        whoAmIJson = whoAmIWriter.writeValueAsBytes(whoAmI);
+    }
+
+    @Benchmark
+    public byte[] serializeCheckRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public AuthorizationCheckRequest deserializeCheckRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] serializeCheckResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public AuthorizationCheckResponse deserializeCheckResponse() throws IOException {
+        return responseReader.readValue(responseJson);
+    }
+
+    @Benchmark
+    public byte[] serializeWhoAmI() throws IOException {
+        return whoAmIWriter.writeValueAsBytes(whoAmI);
+    }
+
+    @Benchmark
+    public WhoAmIResponse deserializeWhoAmI() throws IOException {
+        return whoAmIReader.readValue(whoAmIJson);
+    }
+
+    private static WhoAmIResponse whoAmI(PrincipalReadRepository.PrincipalView view) {
+        List<WhoAmIResponse.RoleContext> roles = new ArrayList<>();
+        for (int i = 0; i < view.domainRoles().size(); i++) {
+            PrincipalReadRepository.DomainRoleView role = view.domainRoles().get(i);
+            roles.add(WhoAmIResponse.RoleContext.builder()
+                    .id((long) i)
+                    .roleName(role.roleName())
+                    .displayName(role.roleName().replace('_', ' '))
+                    .businessApplication("onecms")
+                    .isActive(true)
+                    .metadata(Map.of("queues", List.of(role.roleName() + "_QUEUE"), "level", i % 3))
+                    .build());
+        }
+
+        List<WhoAmIResponse.DepartmentContext> departments = new ArrayList<>();
+        for (int i = 0; i < view.departments().size(); i++) {
+            departments.add(WhoAmIResponse.DepartmentContext.builder()
+                    .id((long) i)
+                    .name("Department " + i)
+                    .code(view.departments().get(i))
+                    .isActive(true)
+                    .build());
+        }
+
+        List<WhoAmIResponse.PermissionContext> permissions = new ArrayList<>();
+        for (String resource : BenchmarkFixtures.RESOURCES) {
+            permissions.add(WhoAmIResponse.PermissionContext.builder()
+                    .resource(resource)
+                    .actions(List.of(BenchmarkFixtures.ACTIONS))
+                    .build());
+        }
+
+        return WhoAmIResponse.builder()
+                .success(true)
+                .user(WhoAmIResponse.UserContext.builder()
+                        .id(view.userId().toString())
+                        .username(view.username())
+                        .email(view.email())
+                        .firstName(view.firstName())
+                        .lastName(view.lastName())
+                        .displayName(view.firstName() + " " + view.lastName())
+                        .isActive(true)
+                        .attributes(new HashMap<>(view.globalAttributes()))
+                        .build())
+                .roles(roles)
+                .departments(departments)
+                .permissions(permissions)
+                .context(WhoAmIResponse.SessionContext.builder()
+                        .sessionExpiration("2026-10-18T18:00:00Z")
+                        .lastAccessed("2026-10-18T10:00:00Z")
+                        .queues(roles.stream().map(role -> role.getRoleName() + "_QUEUE").toList())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.workflow.entitlements.cerbos;
+
+import com.workflow.entitlements.config.AuthorizationConfig;
+import com.workflow.entitlements.config.CerbosProperties;
+import dev.cerbos.api.v1.request.Request.CheckResourcesRequest;
+import dev.cerbos.api.v1.response.Response.CheckResourcesResponse;
+import dev.cerbos.api.v1.svc.CerbosServiceGrpc;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking CheckResources calls to the Cerbos PDP over the shared {@code cerbosChannel}.
+ *
+ * Every call gets the configured deadline, and the number of calls in flight is bounded
+ * so a slow PDP sheds load instead of piling up request threads. Call latency is
+ * recorded as a histogram ({@code authorization.cerbos.check}) tagged by outcome.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnExpression(AuthorizationConfig.CERBOS_ENGINE_ENABLED)
+@Slf4j
+public class CerbosCheckClient {
+
+    private final ManagedChannel channel;
+    private final CerbosServiceGrpc.CerbosServiceBlockingStub stub;
+    private final long deadlineMillis;
+    private final Semaphore permits;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary resourcesPerCall;
+
+    public CerbosCheckClient(ManagedChannel cerbosChannel, CerbosProperties properties, MeterRegistry meterRegistry) {
+        this.channel = cerbosChannel;
+        this.stub = CerbosServiceGrpc.newBlockingStub(cerbosChannel);
+        this.deadlineMillis = properties.getConnection().getDeadline().toMillis();
+        this.permits = new Semaphore(properties.getConnection().getMaxConcurrentCalls());
+        this.meterRegistry = meterRegistry;
+        this.resourcesPerCall = DistributionSummary.builder("authorization.cerbos.check.resources")
+                .description("Resources evaluated per CheckResources call")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Evaluate all resources and actions of the request in one call
+     *
+     * @throws StatusRuntimeException if the PDP is unavailable, too slow or rejects the request
+     */
+    public CheckResourcesResponse checkResources(CheckResourcesRequest request) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            if (!permits.tryAcquire(deadlineMillis, TimeUnit.MILLISECONDS)) {
+                throw Status.RESOURCE_EXHAUSTED
+                        .withDescription("Too many concurrent Cerbos calls")
+                        .asRuntimeException();
+            }
+            try {
+                return stub.withDeadlineAfter(remainingMillis(start), TimeUnit.MILLISECONDS)
+                        .checkResources(request);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = Status.Code.CANCELLED.name();
+            throw Status.CANCELLED.withCause(e).asRuntimeException();
+        } catch (StatusRuntimeException e) {
+            outcome = e.getStatus().getCode().name();
+            throw e;
+        } finally {
+            resourcesPerCall.record(request.getResourcesCount());
+            Timer.builder("authorization.cerbos.check")
+                    .description("Latency of Cerbos CheckResources calls")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Whether the channel is connected or able to connect; kicks off a connection when idle
+     */
+    public boolean isAvailable() {
+        ConnectivityState state = channel.getState(true);
+        return state != ConnectivityState.TRANSIENT_FAILURE && state != ConnectivityState.SHUTDOWN;
+    }
+
+    private long remainingMillis(long startNanos) {
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return Math.max(1, deadlineMillis - elapsed);
+    }
+}
@@ -0,0 +1,59 @@
+package com.workflow.entitlements.cerbos;
+
+import com.google.protobuf.ListValue;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts principal and resource attribute maps into protobuf values for Cerbos requests.
+ */
+public final class CerbosValues {
+
+    private CerbosValues() {
+    }
+
+    public static Map<String, Value> toAttributes(Map<String, Object> attributes) {
+        Map<String, Value> values = new LinkedHashMap<>();
+        if (attributes != null) {
+            attributes.forEach((name, value) -> values.put(name, toValue(value)));
+        }
+        return values;
+    }
+
+    public static Value toValue(Object value) {
+        if (value == null) {
+            return Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build();
+        }
+        if (value instanceof Value protobufValue) {
+            return protobufValue;
+        }
+        if (value instanceof Boolean bool) {
+            return Value.newBuilder().setBoolValue(bool).build();
+        }
+        if (value instanceof Number number) {
+            return Value.newBuilder().setNumberValue(number.doubleValue()).build();
+        }
+        if (value instanceof Iterable<?> iterable) {
+            ListValue.Builder list = ListValue.newBuilder();
+            iterable.forEach(element -> list.addValues(toValue(element)));
+            return Value.newBuilder().setListValue(list).build();
+        }
+        if (value instanceof Object[] array) {
+            ListValue.Builder list = ListValue.newBuilder();
+            for (Object element : array) {
+                list.addValues(toValue(element));
+            }
+            return Value.newBuilder().setListValue(list).build();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Struct.Builder struct = Struct.newBuilder();
+            map.forEach((key, element) -> struct.putFields(String.valueOf(key), toValue(element)));
+            return Value.newBuilder().setStructValue(struct).build();
+        }
+        return Value.newBuilder().setStringValue(value.toString()).build();
+    }
+}
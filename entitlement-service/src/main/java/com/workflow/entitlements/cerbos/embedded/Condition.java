@@ -0,0 +1,92 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code condition.match} block of a policy rule: a single {@code expr} or an {@code all}, {@code any}
+ * or {@code none} of nested matches.
+ */
+sealed interface Condition {
+
+    Condition ALWAYS = new Constant(true);
+
+    Condition NEVER = new Constant(false);
+
+    boolean matches(Scope scope);
+
+    /**
+     * @param condition the rule's {@code condition} node, may be null
+     * @throws IllegalArgumentException if the condition is malformed
+     */
+    static Condition parse(JsonNode condition) {
+        if (condition == null || condition.isNull()) {
+            return ALWAYS;
+        }
+        JsonNode match = condition.get("match");
+        if (match == null) {
+            throw new IllegalArgumentException("condition without match");
+        }
+        return parseMatch(match);
+    }
+
+    private static Condition parseMatch(JsonNode match) {
+        if (match.has("expr")) {
+            return new Expression(ConditionExpression.compile(match.get("expr").asText()));
+        }
+        for (String operator : List.of("all", "any", "none")) {
+            JsonNode group = match.get(operator);
+            if (group != null) {
+                JsonNode of = group.get("of");
+                if (of == null || !of.isArray()) {
+                    throw new IllegalArgumentException(operator + " without of list");
+                }
+                List<Condition> members = new ArrayList<>();
+                of.forEach(member -> members.add(parseMatch(member)));
+                return switch (operator) {
+                    case "all" -> new All(List.copyOf(members));
+                    case "any" -> new Any(List.copyOf(members));
+                    default -> new None(List.copyOf(members));
+                };
+            }
+        }
+        throw new IllegalArgumentException("match needs one of expr, all, any, none");
+    }
+
+    record Constant(boolean value) implements Condition {
+        @Override
+        public boolean matches(Scope scope) {
+            return value;
+        }
+    }
+
+    record Expression(ConditionExpression expression) implements Condition {
+        @Override
+        public boolean matches(Scope scope) {
+            return expression.matches(scope);
+        }
+    }
+
+    record All(List<Condition> members) implements Condition {
+        @Override
+        public boolean matches(Scope scope) {
+            return members.stream().allMatch(member -> member.matches(scope));
+        }
+    }
+
+    record Any(List<Condition> members) implements Condition {
+        @Override
+        public boolean matches(Scope scope) {
+            return members.stream().anyMatch(member -> member.matches(scope));
+        }
+    }
+
+    record None(List<Condition> members) implements Condition {
+        @Override
+        public boolean matches(Scope scope) {
+            return members.stream().noneMatch(member -> member.matches(scope));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A compiled policy condition expression.
+ *
+ * Supports the part of CEL the policy files use: literals, lists, field and index access, {@code has()},
+ * the boolean/relational/arithmetic operators, {@code in}, the list macros (exists, all, exists_one,
+ * filter, map) and the string, timestamp and duration functions.
+ */
+public final class ConditionExpression {
+
+    private final String source;
+    private final Expr expr;
+
+    private ConditionExpression(String source, Expr expr) {
+        this.source = source;
+        this.expr = expr;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public static ConditionExpression compile(String source) {
+        return new ConditionExpression(source, ExpressionParser.parse(source));
+    }
+
+    /**
+     * True only if the expression evaluates to boolean true; errors and non-boolean results do not match
+     */
+    public boolean matches(Map<String, Object> variables, Instant now) {
+        return matches(Scope.root(variables, now));
+    }
+
+    /**
+     * Evaluate the expression; returns an {@link EvalError} instead of throwing when it cannot be evaluated
+     */
+    Object evaluate(Map<String, Object> variables, Instant now) {
+        return expr.eval(Scope.root(variables, now));
+    }
+
+    boolean matches(Scope scope) {
+        return Boolean.TRUE.equals(expr.eval(scope));
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
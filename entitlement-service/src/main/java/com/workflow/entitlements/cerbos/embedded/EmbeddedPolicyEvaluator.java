@@ -0,0 +1,178 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import com.workflow.entitlements.config.AuthorizationConfig;
+import com.workflow.entitlements.config.CerbosProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates the Cerbos policy files in-process, without a round-trip to the PDP.
+ *
+ * Follows the PDP's decision procedure: a matching principal policy decides first, otherwise the
+ * resource policy of the requested kind and version. Within a policy a matching DENY rule wins over
+ * ALLOW rules, and anything not explicitly allowed is denied.
+ *
+ * Policies are compiled once at startup into an immutable {@link PolicySet}; {@link #reload()} swaps
+ * in a freshly compiled set.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnExpression(AuthorizationConfig.EMBEDDED_ENGINE_ENABLED)
+@Slf4j
+public class EmbeddedPolicyEvaluator {
+
+    private final CerbosProperties cerbosProperties;
+    private final Clock clock;
+    private final PolicyLoader policyLoader = new PolicyLoader();
+
+    private volatile PolicySet policies = PolicySet.EMPTY;
+    private volatile boolean loaded;
+
+    @Autowired
+    public EmbeddedPolicyEvaluator(CerbosProperties cerbosProperties) {
+        this(cerbosProperties, Clock.systemUTC());
+    }
+
+    EmbeddedPolicyEvaluator(CerbosProperties cerbosProperties, Clock clock) {
+        this.cerbosProperties = cerbosProperties;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void reload() {
+        String location = cerbosProperties.getPolicies().getPath();
+        try {
+            policies = policyLoader.load(location);
+            loaded = true;
+        } catch (IOException e) {
+            // Keep serving the previous policy set; with none loaded every check is denied
+            log.error("Failed to load policies from {}: {}", location, e.getMessage());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Decide all actions on one resource.
+     *
+     * @return action to allowed, in the order of {@code actions}
+     */
+    public Map<String, Boolean> check(Principal principal, Resource resource, Collection<String> actions) {
+        PolicySet policySet = policies;
+        String version = cerbosProperties.getPolicies().getVersion();
+        PrincipalPolicy principalPolicy = policySet.principalPolicy(principal.id(), version);
+        ResourcePolicy resourcePolicy = policySet.resourcePolicy(resource.kind(), version);
+
+        Map<String, Object> principalValue = new HashMap<>();
+        principalValue.put("id", principal.id());
+        principalValue.put("roles", List.copyOf(principal.roles()));
+        principalValue.put("attr", Values.normalize(nullToEmpty(principal.attributes())));
+        principalValue.put("policyVersion", version);
+
+        Map<String, Object> resourceValue = new HashMap<>();
+        resourceValue.put("kind", resource.kind());
+        resourceValue.put("id", resource.id());
+        resourceValue.put("attr", Values.normalize(nullToEmpty(resource.attributes())));
+        resourceValue.put("policyVersion", version);
+
+        Instant now = clock.instant();
+        Map<String, Boolean> decisions = new LinkedHashMap<>();
+        for (String action : actions) {
+            Map<String, Object> request = new HashMap<>();
+            request.put("principal", principalValue);
+            request.put("resource", resourceValue);
+            request.put("action", action);
+            request.put("auxData", Map.of());
+            Scope scope = Scope.root(Map.of("request", request, "P", principalValue, "R", resourceValue), now);
+
+            Boolean decision = principalPolicy != null ?
+                    principalDecision(principalPolicy, resource.kind(), action, scope) : null;
+            if (decision == null) {
+                decision = resourcePolicy != null &&
+                        resourceDecision(resourcePolicy, principal.roles(), action, scope);
+            }
+            decisions.put(action, decision);
+        }
+        return decisions;
+    }
+
+    /**
+     * @return the principal policy's decision, or null if none of its rules matched
+     */
+    private static Boolean principalDecision(PrincipalPolicy policy, String kind, String action, Scope scope) {
+        boolean allowed = false;
+        for (PrincipalPolicy.Rule rule : policy.rules()) {
+            if (rule.appliesTo(kind, action) && rule.condition().matches(scope)) {
+                if (!rule.allow()) {
+                    return false;
+                }
+                allowed = true;
+            }
+        }
+        return allowed ? Boolean.TRUE : null;
+    }
+
+    private static boolean resourceDecision(ResourcePolicy policy, Set<String> roles, String action, Scope scope) {
+        // Derived roles are evaluated on first use only
+        Map<String, Boolean> activeDerivedRoles = new HashMap<>();
+        boolean allowed = false;
+        for (ResourcePolicy.Rule rule : policy.rulesFor(action)) {
+            if (!rule.allow() || !allowed) {
+                boolean applies = hasAnyRole(rule.roles(), roles)
+                        || rule.derivedRoles().stream().anyMatch(name -> activeDerivedRoles.computeIfAbsent(name,
+                                n -> isDerivedRoleActive(policy.derivedRoles().get(n), roles, scope)));
+                if (applies && rule.condition().matches(scope)) {
+                    if (!rule.allow()) {
+                        return false;
+                    }
+                    allowed = true;
+                }
+            }
+        }
+        return allowed;
+    }
+
+    private static boolean isDerivedRoleActive(ResourcePolicy.DerivedRole derivedRole, Set<String> roles, Scope scope) {
+        return derivedRole != null
+                && hasAnyRole(derivedRole.parentRoles(), roles)
+                && derivedRole.condition().matches(scope);
+    }
+
+    private static boolean hasAnyRole(Set<String> ruleRoles, Set<String> principalRoles) {
+        if (ruleRoles.contains(ResourcePolicy.WILDCARD)) {
+            return true;
+        }
+        for (String role : principalRoles) {
+            if (ruleRoles.contains(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Object> nullToEmpty(Map<String, Object> attributes) {
+        return attributes != null ? attributes : Map.of();
+    }
+
+    /**
+     * @param roles principal roles including the base role
+     */
+    public record Principal(String id, Set<String> roles, Map<String, Object> attributes) {
+    }
+
+    public record Resource(String kind, String id, Map<String, Object> attributes) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+/**
+ * Result of an expression that could not be evaluated (missing attribute, type mismatch, ...).
+ *
+ * Errors propagate through operators like CEL errors do, except that {@code ||} and {@code &&}
+ * absorb them when the other operand already decides the result. A condition whose result is
+ * an error does not match.
+ */
+record EvalError(String message) {
+
+    static EvalError of(String format, Object... args) {
+        return new EvalError(String.format(format, args));
+    }
+}
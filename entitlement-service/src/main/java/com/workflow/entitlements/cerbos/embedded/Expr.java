@@ -0,0 +1,440 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled expression tree.
+ */
+sealed interface Expr {
+
+    Object eval(Scope scope);
+
+    record Literal(Object value) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            return value;
+        }
+    }
+
+    record Ident(String name) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            return scope.lookup(name);
+        }
+    }
+
+    record ListLiteral(List<Expr> elements) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            List<Object> values = new ArrayList<>(elements.size());
+            for (Expr element : elements) {
+                Object value = element.eval(scope);
+                if (value instanceof EvalError) {
+                    return value;
+                }
+                values.add(value);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * {@code operand.field}
+     */
+    record Select(Expr operand, String field) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object target = operand.eval(scope);
+            if (target instanceof EvalError) {
+                return target;
+            }
+            if (target instanceof Map<?, ?> map) {
+                return map.containsKey(field) ? map.get(field) : EvalError.of("no such key: %s", field);
+            }
+            return EvalError.of("cannot select field '%s' from %s", field, Values.typeName(target));
+        }
+    }
+
+    /**
+     * {@code operand[index]}
+     */
+    record Index(Expr operand, Expr index) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object target = operand.eval(scope);
+            if (target instanceof EvalError) {
+                return target;
+            }
+            Object key = index.eval(scope);
+            if (key instanceof EvalError) {
+                return key;
+            }
+            if (target instanceof Map<?, ?> map) {
+                return map.containsKey(key) ? map.get(key) : EvalError.of("no such key: %s", key);
+            }
+            if (target instanceof List<?> list && key instanceof Long position) {
+                return position >= 0 && position < list.size() ?
+                        list.get(position.intValue()) : EvalError.of("index out of range: %d", position);
+            }
+            return EvalError.of("cannot index %s with %s", Values.typeName(target), Values.typeName(key));
+        }
+    }
+
+    /**
+     * {@code has(operand.field)} or {@code has(operand[key])}: presence test that never fails on a missing key
+     */
+    record Has(Expr operand, Expr key) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object target = operand.eval(scope);
+            if (target instanceof EvalError) {
+                return target;
+            }
+            Object name = key.eval(scope);
+            if (name instanceof EvalError) {
+                return name;
+            }
+            if (target instanceof Map<?, ?> map) {
+                return map.containsKey(name);
+            }
+            return EvalError.of("invalid type for has(): %s", Values.typeName(target));
+        }
+    }
+
+    record Not(Expr operand) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object value = operand.eval(scope);
+            if (value instanceof Boolean bool) {
+                return !bool;
+            }
+            return value instanceof EvalError ? value : EvalError.of("no such overload: !%s", Values.typeName(value));
+        }
+    }
+
+    record Negate(Expr operand) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object value = operand.eval(scope);
+            if (value instanceof Long number) {
+                return -number;
+            }
+            if (value instanceof Double number) {
+                return -number;
+            }
+            if (value instanceof Duration duration) {
+                return duration.negated();
+            }
+            return value instanceof EvalError ? value : EvalError.of("no such overload: -%s", Values.typeName(value));
+        }
+    }
+
+    /**
+     * {@code left && right}: false wins over errors on either side
+     */
+    record And(Expr left, Expr right) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object l = left.eval(scope);
+            if (Boolean.FALSE.equals(l)) {
+                return false;
+            }
+            Object r = right.eval(scope);
+            if (Boolean.FALSE.equals(r)) {
+                return false;
+            }
+            if (l instanceof Boolean && r instanceof Boolean) {
+                return true;
+            }
+            return l instanceof EvalError ? l : r instanceof EvalError ? r :
+                    EvalError.of("no such overload: %s && %s", Values.typeName(l), Values.typeName(r));
+        }
+    }
+
+    /**
+     * {@code left || right}: true wins over errors on either side
+     */
+    record Or(Expr left, Expr right) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object l = left.eval(scope);
+            if (Boolean.TRUE.equals(l)) {
+                return true;
+            }
+            Object r = right.eval(scope);
+            if (Boolean.TRUE.equals(r)) {
+                return true;
+            }
+            if (l instanceof Boolean && r instanceof Boolean) {
+                return false;
+            }
+            return l instanceof EvalError ? l : r instanceof EvalError ? r :
+                    EvalError.of("no such overload: %s || %s", Values.typeName(l), Values.typeName(r));
+        }
+    }
+
+    record Conditional(Expr condition, Expr whenTrue, Expr whenFalse) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object value = condition.eval(scope);
+            if (value instanceof Boolean bool) {
+                return bool ? whenTrue.eval(scope) : whenFalse.eval(scope);
+            }
+            return value instanceof EvalError ? value : EvalError.of("non-bool condition: %s", Values.typeName(value));
+        }
+    }
+
+    record Binary(String operator, Expr left, Expr right) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object l = left.eval(scope);
+            if (l instanceof EvalError) {
+                return l;
+            }
+            Object r = right.eval(scope);
+            if (r instanceof EvalError) {
+                return r;
+            }
+            return switch (operator) {
+                case "==" -> Values.equal(l, r);
+                case "!=" -> !(Boolean) Values.equal(l, r);
+                case "<", "<=", ">", ">=" -> compare(l, r);
+                case "in" -> in(l, r);
+                case "+" -> add(l, r);
+                case "-" -> subtract(l, r);
+                case "*", "/", "%" -> arithmetic(l, r);
+                default -> EvalError.of("unknown operator %s", operator);
+            };
+        }
+
+        private Object compare(Object l, Object r) {
+            Integer order = Values.compare(l, r);
+            if (order == null) {
+                return overloadError(l, r);
+            }
+            return switch (operator) {
+                case "<" -> order < 0;
+                case "<=" -> order <= 0;
+                case ">" -> order > 0;
+                default -> order >= 0;
+            };
+        }
+
+        private Object in(Object element, Object container) {
+            if (container instanceof List<?> list) {
+                for (Object candidate : list) {
+                    if (Boolean.TRUE.equals(Values.equal(element, candidate))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (container instanceof Map<?, ?> map) {
+                return map.containsKey(element);
+            }
+            return overloadError(element, container);
+        }
+
+        private Object add(Object l, Object r) {
+            if (l instanceof Long a && r instanceof Long b) {
+                return a + b;
+            }
+            if (Values.isNumber(l) && Values.isNumber(r)) {
+                return ((Number) l).doubleValue() + ((Number) r).doubleValue();
+            }
+            if (l instanceof String a && r instanceof String b) {
+                return a + b;
+            }
+            if (l instanceof List<?> a && r instanceof List<?> b) {
+                List<Object> joined = new ArrayList<>(a);
+                joined.addAll(b);
+                return joined;
+            }
+            if (l instanceof Instant a && r instanceof Duration b) {
+                return a.plus(b);
+            }
+            if (l instanceof Duration a && r instanceof Instant b) {
+                return b.plus(a);
+            }
+            if (l instanceof Duration a && r instanceof Duration b) {
+                return a.plus(b);
+            }
+            return overloadError(l, r);
+        }
+
+        private Object subtract(Object l, Object r) {
+            if (l instanceof Long a && r instanceof Long b) {
+                return a - b;
+            }
+            if (Values.isNumber(l) && Values.isNumber(r)) {
+                return ((Number) l).doubleValue() - ((Number) r).doubleValue();
+            }
+            if (l instanceof Instant a && r instanceof Duration b) {
+                return a.minus(b);
+            }
+            if (l instanceof Instant a && r instanceof Instant b) {
+                return Duration.between(b, a);
+            }
+            if (l instanceof Duration a && r instanceof Duration b) {
+                return a.minus(b);
+            }
+            return overloadError(l, r);
+        }
+
+        private Object arithmetic(Object l, Object r) {
+            if (l instanceof Long a && r instanceof Long b) {
+                if (b == 0 && !"*".equals(operator)) {
+                    return EvalError.of("division by zero");
+                }
+                return switch (operator) {
+                    case "*" -> a * b;
+                    case "/" -> a / b;
+                    default -> a % b;
+                };
+            }
+            if (Values.isNumber(l) && Values.isNumber(r) && !"%".equals(operator)) {
+                double a = ((Number) l).doubleValue();
+                double b = ((Number) r).doubleValue();
+                return "*".equals(operator) ? a * b : a / b;
+            }
+            return overloadError(l, r);
+        }
+
+        private EvalError overloadError(Object l, Object r) {
+            return EvalError.of("no such overload: %s %s %s", Values.typeName(l), operator, Values.typeName(r));
+        }
+    }
+
+    /**
+     * Function or method call; {@code target} is null for global functions
+     */
+    record Call(Expr target, String function, List<Expr> args) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object receiver = null;
+            if (target != null) {
+                receiver = target.eval(scope);
+                if (receiver instanceof EvalError) {
+                    return receiver;
+                }
+            }
+            List<Object> values = new ArrayList<>(args.size());
+            for (Expr arg : args) {
+                Object value = arg.eval(scope);
+                if (value instanceof EvalError) {
+                    return value;
+                }
+                values.add(value);
+            }
+            return target != null ?
+                    Functions.invokeMethod(receiver, function, values, scope) :
+                    Functions.invokeGlobal(function, values, scope);
+        }
+    }
+
+    /**
+     * List macros: {@code range.exists(v, body)}, {@code all}, {@code exists_one}, {@code filter}, {@code map}
+     */
+    record Comprehension(Expr range, String macro, String variable, Expr body) implements Expr {
+        @Override
+        public Object eval(Scope scope) {
+            Object source = range.eval(scope);
+            if (source instanceof EvalError) {
+                return source;
+            }
+            Iterable<?> elements;
+            if (source instanceof List<?> list) {
+                elements = list;
+            } else if (source instanceof Map<?, ?> map) {
+                elements = map.keySet();
+            } else {
+                return EvalError.of("cannot iterate over %s", Values.typeName(source));
+            }
+
+            return switch (macro) {
+                case "exists" -> exists(elements, scope);
+                case "all" -> all(elements, scope);
+                case "exists_one" -> existsOne(elements, scope);
+                case "filter" -> filter(elements, scope);
+                default -> map(elements, scope);
+            };
+        }
+
+        private Object exists(Iterable<?> elements, Scope scope) {
+            EvalError error = null;
+            for (Object element : elements) {
+                Object result = body.eval(scope.bind(variable, element));
+                if (Boolean.TRUE.equals(result)) {
+                    return true;
+                }
+                if (!(result instanceof Boolean)) {
+                    error = asError(result);
+                }
+            }
+            return error != null ? error : Boolean.FALSE;
+        }
+
+        private Object all(Iterable<?> elements, Scope scope) {
+            EvalError error = null;
+            for (Object element : elements) {
+                Object result = body.eval(scope.bind(variable, element));
+                if (Boolean.FALSE.equals(result)) {
+                    return false;
+                }
+                if (!(result instanceof Boolean)) {
+                    error = asError(result);
+                }
+            }
+            return error != null ? error : Boolean.TRUE;
+        }
+
+        private Object existsOne(Iterable<?> elements, Scope scope) {
+            int matches = 0;
+            for (Object element : elements) {
+                Object result = body.eval(scope.bind(variable, element));
+                if (!(result instanceof Boolean)) {
+                    return asError(result);
+                }
+                if ((Boolean) result) {
+                    matches++;
+                }
+            }
+            return matches == 1;
+        }
+
+        private Object filter(Iterable<?> elements, Scope scope) {
+            List<Object> selected = new ArrayList<>();
+            for (Object element : elements) {
+                Object result = body.eval(scope.bind(variable, element));
+                if (!(result instanceof Boolean)) {
+                    return asError(result);
+                }
+                if ((Boolean) result) {
+                    selected.add(element);
+                }
+            }
+            return selected;
+        }
+
+        private Object map(Iterable<?> elements, Scope scope) {
+            List<Object> mapped = new ArrayList<>();
+            for (Object element : elements) {
+                Object result = body.eval(scope.bind(variable, element));
+                if (result instanceof EvalError) {
+                    return result;
+                }
+                mapped.add(result);
+            }
+            return mapped;
+        }
+
+        private EvalError asError(Object result) {
+            return result instanceof EvalError error ? error :
+                    EvalError.of("%s() predicate returned %s", macro, Values.typeName(result));
+        }
+    }
+}
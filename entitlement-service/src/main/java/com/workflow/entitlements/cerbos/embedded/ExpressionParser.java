@@ -0,0 +1,366 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recursive descent parser for the CEL subset used by the policy files. Operator precedence follows CEL:
+ * {@code ?:} &lt; {@code ||} &lt; {@code &&} &lt; relations and {@code in} &lt; {@code + -} &lt; {@code * / %}
+ * &lt; unary &lt; member access.
+ *
+ * Line comments starting with {@code //} or {@code #} are skipped. Real CEL only knows {@code //}, but the
+ * policy files annotate multi-line conditions with {@code #}.
+ */
+final class ExpressionParser {
+
+    private static final Set<String> MACROS = Set.of("exists", "all", "exists_one", "filter", "map");
+
+    private final List<Token> tokens;
+    private int position;
+
+    private ExpressionParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    static Expr parse(String source) {
+        ExpressionParser parser = new ExpressionParser(tokenize(source));
+        Expr expr = parser.conditional();
+        if (parser.peek().type() != TokenType.EOF) {
+            throw parser.error("unexpected '" + parser.peek().text() + "'");
+        }
+        return expr;
+    }
+
+    private Expr conditional() {
+        Expr condition = or();
+        if (accept("?")) {
+            Expr whenTrue = or();
+            expect(":");
+            Expr whenFalse = conditional();
+            return new Expr.Conditional(condition, whenTrue, whenFalse);
+        }
+        return condition;
+    }
+
+    private Expr or() {
+        Expr left = and();
+        while (accept("||")) {
+            left = new Expr.Or(left, and());
+        }
+        return left;
+    }
+
+    private Expr and() {
+        Expr left = relation();
+        while (accept("&&")) {
+            left = new Expr.And(left, relation());
+        }
+        return left;
+    }
+
+    private Expr relation() {
+        Expr left = addition();
+        while (true) {
+            String operator = peekOperator("==", "!=", "<", "<=", ">", ">=", "in");
+            if (operator == null) {
+                return left;
+            }
+            position++;
+            left = new Expr.Binary(operator, left, addition());
+        }
+    }
+
+    private Expr addition() {
+        Expr left = multiplication();
+        while (true) {
+            String operator = peekOperator("+", "-");
+            if (operator == null) {
+                return left;
+            }
+            position++;
+            left = new Expr.Binary(operator, left, multiplication());
+        }
+    }
+
+    private Expr multiplication() {
+        Expr left = unary();
+        while (true) {
+            String operator = peekOperator("*", "/", "%");
+            if (operator == null) {
+                return left;
+            }
+            position++;
+            left = new Expr.Binary(operator, left, unary());
+        }
+    }
+
+    private Expr unary() {
+        if (accept("!")) {
+            return new Expr.Not(unary());
+        }
+        if (accept("-")) {
+            return new Expr.Negate(unary());
+        }
+        return member();
+    }
+
+    private Expr member() {
+        Expr expr = primary();
+        while (true) {
+            if (accept(".")) {
+                String name = expectIdentifier();
+                if (accept("(")) {
+                    expr = methodCall(expr, name);
+                } else {
+                    expr = new Expr.Select(expr, name);
+                }
+            } else if (accept("[")) {
+                Expr index = conditional();
+                expect("]");
+                expr = new Expr.Index(expr, index);
+            } else {
+                return expr;
+            }
+        }
+    }
+
+    private Expr methodCall(Expr target, String name) {
+        if (MACROS.contains(name)) {
+            Token variable = peek();
+            if (variable.type() == TokenType.IDENTIFIER && tokens.get(position + 1).text().equals(",")) {
+                position += 2;
+                Expr body = conditional();
+                expect(")");
+                return new Expr.Comprehension(target, name, variable.text(), body);
+            }
+        }
+        return new Expr.Call(target, name, arguments());
+    }
+
+    private Expr primary() {
+        Token token = next();
+        switch (token.type()) {
+            case INT:
+                try {
+                    return new Expr.Literal(Long.parseLong(token.text()));
+                } catch (NumberFormatException e) {
+                    throw error("integer out of range: " + token.text());
+                }
+            case DOUBLE:
+                return new Expr.Literal(Double.parseDouble(token.text()));
+            case STRING:
+                return new Expr.Literal(token.text());
+            case IDENTIFIER:
+                return identifier(token.text());
+            case SYMBOL:
+                if (token.text().equals("(")) {
+                    Expr inner = conditional();
+                    expect(")");
+                    return inner;
+                }
+                if (token.text().equals("[")) {
+                    List<Expr> elements = new ArrayList<>();
+                    if (!accept("]")) {
+                        do {
+                            elements.add(conditional());
+                        } while (accept(","));
+                        expect("]");
+                    }
+                    return new Expr.ListLiteral(List.copyOf(elements));
+                }
+                throw error("unexpected '" + token.text() + "'");
+            default:
+                throw error("unexpected end of expression");
+        }
+    }
+
+    private Expr identifier(String name) {
+        switch (name) {
+            case "true":
+                return new Expr.Literal(Boolean.TRUE);
+            case "false":
+                return new Expr.Literal(Boolean.FALSE);
+            case "null":
+                return new Expr.Literal(null);
+            default:
+                break;
+        }
+        if (!accept("(")) {
+            return new Expr.Ident(name);
+        }
+        if (name.equals("has")) {
+            Expr argument = conditional();
+            expect(")");
+            if (argument instanceof Expr.Select select) {
+                return new Expr.Has(select.operand(), new Expr.Literal(select.field()));
+            }
+            if (argument instanceof Expr.Index index) {
+                return new Expr.Has(index.operand(), index.index());
+            }
+            throw error("invalid argument to has() macro");
+        }
+        return new Expr.Call(null, name, arguments());
+    }
+
+    /**
+     * Parses a comma separated argument list; the opening parenthesis has already been consumed
+     */
+    private List<Expr> arguments() {
+        List<Expr> args = new ArrayList<>();
+        if (!accept(")")) {
+            do {
+                args.add(conditional());
+            } while (accept(","));
+            expect(")");
+        }
+        return List.copyOf(args);
+    }
+
+    private String peekOperator(String... operators) {
+        Token token = peek();
+        if (token.type() != TokenType.SYMBOL && !(token.type() == TokenType.IDENTIFIER && token.text().equals("in"))) {
+            return null;
+        }
+        for (String operator : operators) {
+            if (operator.equals(token.text())) {
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    private boolean accept(String symbol) {
+        Token token = peek();
+        if (token.type() == TokenType.SYMBOL && token.text().equals(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!accept(symbol)) {
+            throw error("expected '" + symbol + "' but found '" + peek().text() + "'");
+        }
+    }
+
+    private String expectIdentifier() {
+        Token token = next();
+        if (token.type() != TokenType.IDENTIFIER) {
+            throw error("expected identifier but found '" + token.text() + "'");
+        }
+        return token.text();
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token next() {
+        Token token = tokens.get(position);
+        if (token.type() != TokenType.EOF) {
+            position++;
+        }
+        return token;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + peek().offset());
+    }
+
+    private static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#' || (c == '/' && i + 1 < length && source.charAt(i + 1) == '/')) {
+                while (i < length && source.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.IDENTIFIER, source.substring(start, i), start));
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                boolean isDouble = false;
+                while (i < length && Character.isDigit(source.charAt(i))) {
+                    i++;
+                }
+                if (i + 1 < length && source.charAt(i) == '.' && Character.isDigit(source.charAt(i + 1))) {
+                    isDouble = true;
+                    i++;
+                    while (i < length && Character.isDigit(source.charAt(i))) {
+                        i++;
+                    }
+                }
+                tokens.add(new Token(isDouble ? TokenType.DOUBLE : TokenType.INT, source.substring(start, i), start));
+            } else if (c == '"' || c == '\'') {
+                i = readString(source, i, tokens);
+            } else {
+                String symbol = symbolAt(source, i);
+                if (symbol == null) {
+                    throw new IllegalArgumentException("unexpected character '" + c + "' at offset " + i);
+                }
+                tokens.add(new Token(TokenType.SYMBOL, symbol, i));
+                i += symbol.length();
+            }
+        }
+        tokens.add(new Token(TokenType.EOF, "<end>", length));
+        return tokens;
+    }
+
+    private static int readString(String source, int start, List<Token> tokens) {
+        char quote = source.charAt(start);
+        StringBuilder value = new StringBuilder();
+        int i = start + 1;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == quote) {
+                tokens.add(new Token(TokenType.STRING, value.toString(), start));
+                return i + 1;
+            }
+            if (c == '\\' && i + 1 < source.length()) {
+                char escaped = source.charAt(++i);
+                value.append(switch (escaped) {
+                    case 'n' -> '\n';
+                    case 't' -> '\t';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+            } else {
+                value.append(c);
+            }
+            i++;
+        }
+        throw new IllegalArgumentException("unterminated string at offset " + start);
+    }
+
+    private static String symbolAt(String source, int i) {
+        if (i + 1 < source.length()) {
+            String twoChars = source.substring(i, i + 2);
+            switch (twoChars) {
+                case "==", "!=", "<=", ">=", "&&", "||":
+                    return twoChars;
+                default:
+                    break;
+            }
+        }
+        char c = source.charAt(i);
+        return "<>!+-*/%?:.,()[]".indexOf(c) >= 0 ? String.valueOf(c) : null;
+    }
+
+    private enum TokenType { IDENTIFIER, INT, DOUBLE, STRING, SYMBOL, EOF }
+
+    private record Token(TokenType type, String text, int offset) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Built-in functions of the expression language. Methods may also be called in global form with the
+ * receiver as first argument, e.g. {@code startsWith(s, "x")}.
+ */
+final class Functions {
+
+    private static final Pattern DURATION = Pattern.compile("(-?)((?:\\d+(?:\\.\\d+)?(?:h|ms|us|ns|m|s))+)");
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(h|ms|us|ns|m|s)");
+
+    private Functions() {
+    }
+
+    static Object invokeGlobal(String function, List<Object> args, Scope scope) {
+        return switch (function) {
+            case "now" -> args.isEmpty() ? scope.now() : arityError(function, args);
+            case "size" -> args.size() == 1 ? size(args.get(0)) : arityError(function, args);
+            case "timestamp" -> args.size() == 1 ? timestamp(args.get(0)) : arityError(function, args);
+            case "duration" -> args.size() == 1 ? duration(args.get(0)) : arityError(function, args);
+            case "int" -> args.size() == 1 ? toInt(args.get(0)) : arityError(function, args);
+            case "double" -> args.size() == 1 ? toDouble(args.get(0)) : arityError(function, args);
+            case "string" -> args.size() == 1 ? toStringValue(args.get(0)) : arityError(function, args);
+            default -> args.isEmpty() ?
+                    EvalError.of("unknown function %s()", function) :
+                    invokeMethod(args.get(0), function, args.subList(1, args.size()), scope);
+        };
+    }
+
+    static Object invokeMethod(Object receiver, String function, List<Object> args, Scope scope) {
+        if (receiver instanceof String value) {
+            return stringMethod(value, function, args);
+        }
+        if (receiver instanceof Instant value) {
+            return timestampMethod(value, function, args);
+        }
+        if (receiver instanceof Duration value) {
+            return durationMethod(value, function, args);
+        }
+        if ("size".equals(function) && args.isEmpty()) {
+            return size(receiver);
+        }
+        return EvalError.of("no such overload: %s.%s()", Values.typeName(receiver), function);
+    }
+
+    private static Object size(Object value) {
+        if (value instanceof String string) {
+            return (long) string.codePointCount(0, string.length());
+        }
+        if (value instanceof List<?> list) {
+            return (long) list.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return (long) map.size();
+        }
+        return EvalError.of("no such overload: size(%s)", Values.typeName(value));
+    }
+
+    private static Object stringMethod(String value, String function, List<Object> args) {
+        if ("size".equals(function) && args.isEmpty()) {
+            return size(value);
+        }
+        if (args.size() != 1 || !(args.get(0) instanceof String arg)) {
+            return switch (function) {
+                case "lowerAscii" -> args.isEmpty() ? value.toLowerCase(Locale.ROOT) : arityError(function, args);
+                case "upperAscii" -> args.isEmpty() ? value.toUpperCase(Locale.ROOT) : arityError(function, args);
+                case "trim" -> args.isEmpty() ? value.strip() : arityError(function, args);
+                default -> EvalError.of("no such overload: string.%s()", function);
+            };
+        }
+        return switch (function) {
+            case "startsWith" -> value.startsWith(arg);
+            case "endsWith" -> value.endsWith(arg);
+            case "contains" -> value.contains(arg);
+            case "matches" -> matches(value, arg);
+            case "split" -> new ArrayList<Object>(Arrays.asList(value.split(Pattern.quote(arg), -1)));
+            default -> EvalError.of("no such overload: string.%s(string)", function);
+        };
+    }
+
+    private static Object matches(String value, String regex) {
+        try {
+            Matcher matcher = Pattern.compile(regex).matcher(value);
+            return matcher.find();
+        } catch (PatternSyntaxException e) {
+            return EvalError.of("invalid regex '%s'", regex);
+        }
+    }
+
+    /**
+     * Timestamp accessors. Without a time zone argument they are evaluated in UTC.
+     */
+    private static Object timestampMethod(Instant value, String function, List<Object> args) {
+        ZoneId zone = ZoneOffset.UTC;
+        if (args.size() == 1 && args.get(0) instanceof String zoneId) {
+            try {
+                zone = ZoneId.of(zoneId);
+            } catch (DateTimeException e) {
+                return EvalError.of("invalid time zone '%s'", zoneId);
+            }
+        } else if (!args.isEmpty()) {
+            return arityError(function, args);
+        }
+
+        ZonedDateTime time = value.atZone(zone);
+        return switch (function) {
+            case "getFullYear" -> (long) time.getYear();
+            case "getMonth" -> (long) time.getMonthValue() - 1;
+            case "getDate" -> (long) time.getDayOfMonth();
+            case "getDayOfMonth" -> (long) time.getDayOfMonth() - 1;
+            case "getDayOfYear" -> (long) time.getDayOfYear() - 1;
+            case "getDayOfWeek" -> (long) (time.getDayOfWeek().getValue() % 7);
+            case "getHours" -> (long) time.getHour();
+            case "getMinutes" -> (long) time.getMinute();
+            case "getSeconds" -> (long) time.getSecond();
+            case "getMilliseconds" -> (long) time.getNano() / 1_000_000;
+            default -> EvalError.of("no such overload: timestamp.%s()", function);
+        };
+    }
+
+    private static Object durationMethod(Duration value, String function, List<Object> args) {
+        if (!args.isEmpty()) {
+            return arityError(function, args);
+        }
+        return switch (function) {
+            case "getHours" -> value.toHours();
+            case "getMinutes" -> value.toMinutes();
+            case "getSeconds" -> value.toSeconds();
+            case "getMilliseconds" -> value.toMillis();
+            default -> EvalError.of("no such overload: duration.%s()", function);
+        };
+    }
+
+    private static Object timestamp(Object value) {
+        if (value instanceof Instant) {
+            return value;
+        }
+        if (!(value instanceof String text)) {
+            return EvalError.of("no such overload: timestamp(%s)", Values.typeName(value));
+        }
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            return EvalError.of("invalid timestamp '%s'", text);
+        }
+    }
+
+    /**
+     * Parses Go style durations ("1h", "30m", "1h30m", "500ms"). Like CEL there is no day unit.
+     */
+    static Object duration(Object value) {
+        if (value instanceof Duration) {
+            return value;
+        }
+        if (!(value instanceof String text)) {
+            return EvalError.of("no such overload: duration(%s)", Values.typeName(value));
+        }
+        Matcher whole = DURATION.matcher(text);
+        if (!whole.matches()) {
+            return EvalError.of("invalid duration '%s'", text);
+        }
+        Duration total = Duration.ZERO;
+        Matcher part = DURATION_PART.matcher(whole.group(2));
+        while (part.find()) {
+            double amount = Double.parseDouble(part.group(1));
+            long nanosPerUnit = switch (part.group(2)) {
+                case "h" -> 3_600_000_000_000L;
+                case "m" -> 60_000_000_000L;
+                case "s" -> 1_000_000_000L;
+                case "ms" -> 1_000_000L;
+                case "us" -> 1_000L;
+                default -> 1L;
+            };
+            total = total.plusNanos(Math.round(amount * nanosPerUnit));
+        }
+        return whole.group(1).isEmpty() ? total : total.negated();
+    }
+
+    private static Object toInt(Object value) {
+        if (value instanceof Long) {
+            return value;
+        }
+        if (value instanceof Double number) {
+            return number.longValue();
+        }
+        if (value instanceof Instant instant) {
+            return instant.getEpochSecond();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return EvalError.of("cannot convert '%s' to int", text);
+            }
+        }
+        return EvalError.of("no such overload: int(%s)", Values.typeName(value));
+    }
+
+    private static Object toDouble(Object value) {
+        if (Values.isNumber(value)) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return EvalError.of("cannot convert '%s' to double", text);
+            }
+        }
+        return EvalError.of("no such overload: double(%s)", Values.typeName(value));
+    }
+
+    private static Object toStringValue(Object value) {
+        if (value instanceof String || value instanceof Long || value instanceof Double
+                || value instanceof Boolean || value instanceof Instant) {
+            return value.toString();
+        }
+        return EvalError.of("no such overload: string(%s)", Values.typeName(value));
+    }
+
+    private static EvalError arityError(String function, List<Object> args) {
+        return EvalError.of("no matching overload for %s() with %d argument(s)", function, args.size());
+    }
+}
@@ -0,0 +1,166 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads Cerbos policy files (derived roles, resource and principal policies) and compiles them.
+ *
+ * A condition that cannot be compiled is logged and fails closed: the ALLOW rule or derived role never
+ * matches and the DENY rule always does. The PDP would reject the whole policy instead.
+ */
+@Slf4j
+final class PolicyLoader {
+
+    private static final String EFFECT_ALLOW = "EFFECT_ALLOW";
+
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    /**
+     * @param location policy directory, e.g. {@code classpath:cerbos/policies}
+     */
+    PolicySet load(String location) throws IOException {
+        List<JsonNode> documents = new ArrayList<>();
+        String base = location.endsWith("/") ? location : location + "/";
+        for (String pattern : List.of("**/*.yaml", "**/*.yml")) {
+            for (Resource resource : resolver.getResources(base + pattern)) {
+                try (InputStream in = resource.getInputStream()) {
+                    JsonNode document = yamlMapper.readTree(in);
+                    if (document != null && document.isObject()) {
+                        documents.add(document);
+                    }
+                }
+            }
+        }
+        return compile(documents);
+    }
+
+    PolicySet compile(List<JsonNode> documents) {
+        Map<String, Map<String, ResourcePolicy.DerivedRole>> derivedRoleSets = new HashMap<>();
+        for (JsonNode document : documents) {
+            JsonNode derivedRoles = document.get("derivedRoles");
+            if (derivedRoles != null) {
+                derivedRoleSets.put(derivedRoles.path("name").asText(), compileDerivedRoles(derivedRoles));
+            }
+        }
+
+        Map<PolicySet.Key, ResourcePolicy> resourcePolicies = new HashMap<>();
+        Map<PolicySet.Key, PrincipalPolicy> principalPolicies = new HashMap<>();
+        for (JsonNode document : documents) {
+            JsonNode resourcePolicy = document.get("resourcePolicy");
+            if (resourcePolicy != null) {
+                ResourcePolicy policy = compileResourcePolicy(resourcePolicy, derivedRoleSets);
+                resourcePolicies.put(new PolicySet.Key(policy.kind(), policy.version()), policy);
+            }
+            JsonNode principalPolicy = document.get("principalPolicy");
+            if (principalPolicy != null) {
+                PrincipalPolicy policy = compilePrincipalPolicy(principalPolicy);
+                principalPolicies.put(new PolicySet.Key(policy.principal(), policy.version()), policy);
+            }
+        }
+
+        log.info("Compiled {} resource policies, {} principal policies and {} derived role sets",
+                resourcePolicies.size(), principalPolicies.size(), derivedRoleSets.size());
+        return new PolicySet(Map.copyOf(resourcePolicies), Map.copyOf(principalPolicies));
+    }
+
+    private Map<String, ResourcePolicy.DerivedRole> compileDerivedRoles(JsonNode derivedRoles) {
+        Map<String, ResourcePolicy.DerivedRole> definitions = new HashMap<>();
+        for (JsonNode definition : derivedRoles.path("definitions")) {
+            String name = definition.path("name").asText();
+            Condition condition = compileCondition(definition.get("condition"), true, "derived role " + name);
+            definitions.put(name, new ResourcePolicy.DerivedRole(name, strings(definition.get("parentRoles")), condition));
+        }
+        return definitions;
+    }
+
+    private ResourcePolicy compileResourcePolicy(JsonNode policy,
+                                                 Map<String, Map<String, ResourcePolicy.DerivedRole>> derivedRoleSets) {
+        String kind = policy.path("resource").asText();
+        String version = policy.path("version").asText("default");
+
+        Map<String, ResourcePolicy.DerivedRole> derivedRoles = new HashMap<>();
+        for (String imported : strings(policy.get("importDerivedRoles"))) {
+            Map<String, ResourcePolicy.DerivedRole> set = derivedRoleSets.get(imported);
+            if (set == null) {
+                log.error("Resource policy {} v{} imports unknown derived roles {}", kind, version, imported);
+            } else {
+                derivedRoles.putAll(set);
+            }
+        }
+
+        List<ResourcePolicy.Rule> rules = new ArrayList<>();
+        int index = 0;
+        for (JsonNode rule : policy.path("rules")) {
+            String name = rule.path("name").asText("rule-" + index++);
+            boolean allow = EFFECT_ALLOW.equals(rule.path("effect").asText());
+            Set<String> ruleDerivedRoles = strings(rule.get("derivedRoles"));
+            for (String derivedRole : ruleDerivedRoles) {
+                if (!derivedRoles.containsKey(derivedRole)) {
+                    log.error("Resource policy {} v{} rule {} references unknown derived role {}",
+                            kind, version, name, derivedRole);
+                }
+            }
+            rules.add(new ResourcePolicy.Rule(name, strings(rule.get("actions")), strings(rule.get("roles")),
+                    ruleDerivedRoles,
+                    compileCondition(rule.get("condition"), allow, kind + " v" + version + " " + name),
+                    allow));
+        }
+        return new ResourcePolicy(kind, version, derivedRoles, rules);
+    }
+
+    private PrincipalPolicy compilePrincipalPolicy(JsonNode policy) {
+        String principal = policy.path("principal").asText();
+        String version = policy.path("version").asText("default");
+
+        List<PrincipalPolicy.Rule> rules = new ArrayList<>();
+        for (JsonNode resourceRules : policy.path("rules")) {
+            String resource = resourceRules.path("resource").asText();
+            for (JsonNode action : resourceRules.path("actions")) {
+                String actionName = action.path("action").asText();
+                boolean allow = EFFECT_ALLOW.equals(action.path("effect").asText());
+                rules.add(new PrincipalPolicy.Rule(resource, actionName,
+                        compileCondition(action.get("condition"), allow,
+                                "principal " + principal + " v" + version + " " + resource + ":" + actionName),
+                        allow));
+            }
+        }
+        return new PrincipalPolicy(principal, version, List.copyOf(rules));
+    }
+
+    private Condition compileCondition(JsonNode condition, boolean allow, String location) {
+        try {
+            return Condition.parse(condition);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid condition in {}: {}", location, e.getMessage());
+            return allow ? Condition.NEVER : Condition.ALWAYS;
+        }
+    }
+
+    private static Set<String> strings(JsonNode node) {
+        Set<String> values = new LinkedHashSet<>();
+        if (node != null) {
+            if (node.isArray()) {
+                node.forEach(value -> values.add(value.asText()));
+            } else if (!node.isNull()) {
+                values.add(node.asText());
+            }
+        }
+        return Set.copyOf(values);
+    }
+}
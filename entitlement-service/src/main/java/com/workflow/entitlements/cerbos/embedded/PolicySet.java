@@ -0,0 +1,25 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.util.Map;
+
+/**
+ * Immutable snapshot of all compiled policies; replaced as a whole on reload.
+ */
+record PolicySet(Map<Key, ResourcePolicy> resourcePolicies, Map<Key, PrincipalPolicy> principalPolicies) {
+
+    static final PolicySet EMPTY = new PolicySet(Map.of(), Map.of());
+
+    ResourcePolicy resourcePolicy(String kind, String version) {
+        return resourcePolicies.get(new Key(kind, version));
+    }
+
+    PrincipalPolicy principalPolicy(String principal, String version) {
+        return principalPolicies.get(new Key(principal, version));
+    }
+
+    /**
+     * @param name resource kind or principal ID
+     */
+    record Key(String name, String version) {
+    }
+}
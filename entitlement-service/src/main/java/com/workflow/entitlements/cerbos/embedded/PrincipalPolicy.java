@@ -0,0 +1,21 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.util.List;
+
+/**
+ * Compiled {@code principalPolicy}: per-principal overrides that take precedence over resource policies.
+ */
+record PrincipalPolicy(String principal, String version, List<Rule> rules) {
+
+    /**
+     * @param resource resource kind or "*"
+     * @param action action or "*"
+     */
+    record Rule(String resource, String action, Condition condition, boolean allow) {
+
+        boolean appliesTo(String resourceKind, String requestedAction) {
+            return (ResourcePolicy.WILDCARD.equals(resource) || resource.equals(resourceKind))
+                    && (ResourcePolicy.WILDCARD.equals(action) || action.equals(requestedAction));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled {@code resourcePolicy}: rules indexed by action, with the imported derived roles resolved.
+ */
+final class ResourcePolicy {
+
+    static final String WILDCARD = "*";
+
+    private final String kind;
+    private final String version;
+    private final Map<String, DerivedRole> derivedRoles;
+    private final Map<String, List<Rule>> rulesByAction;
+    private final List<Rule> wildcardRules;
+
+    ResourcePolicy(String kind, String version, Map<String, DerivedRole> derivedRoles, List<Rule> rules) {
+        this.kind = kind;
+        this.version = version;
+        this.derivedRoles = Map.copyOf(derivedRoles);
+
+        Map<String, List<Rule>> byAction = new HashMap<>();
+        List<Rule> wildcard = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (rule.actions().contains(WILDCARD)) {
+                wildcard.add(rule);
+            } else {
+                rule.actions().forEach(action -> byAction.computeIfAbsent(action, a -> new ArrayList<>()).add(rule));
+            }
+        }
+        byAction.replaceAll((action, actionRules) -> List.copyOf(actionRules));
+        this.rulesByAction = Map.copyOf(byAction);
+        this.wildcardRules = List.copyOf(wildcard);
+    }
+
+    String kind() {
+        return kind;
+    }
+
+    String version() {
+        return version;
+    }
+
+    Map<String, DerivedRole> derivedRoles() {
+        return derivedRoles;
+    }
+
+    /**
+     * Rules naming the action explicitly followed by the wildcard rules
+     */
+    List<Rule> rulesFor(String action) {
+        List<Rule> explicit = rulesByAction.getOrDefault(action, List.of());
+        if (wildcardRules.isEmpty()) {
+            return explicit;
+        }
+        if (explicit.isEmpty()) {
+            return wildcardRules;
+        }
+        List<Rule> all = new ArrayList<>(explicit.size() + wildcardRules.size());
+        all.addAll(explicit);
+        all.addAll(wildcardRules);
+        return all;
+    }
+
+    /**
+     * A rule applies to principals having one of {@code roles} ("*" for any role) or one of the
+     * active {@code derivedRoles}, and then only if its condition matches.
+     */
+    record Rule(String name, Set<String> actions, Set<String> roles, Set<String> derivedRoles,
+                Condition condition, boolean allow) {
+    }
+
+    /**
+     * Derived role: active when the principal has one of the parent roles and the condition matches
+     */
+    record DerivedRole(String name, Set<String> parentRoles, Condition condition) {
+    }
+}
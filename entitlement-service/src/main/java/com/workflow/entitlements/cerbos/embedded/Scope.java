@@ -0,0 +1,52 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Variable bindings of one evaluation. Comprehension variables are added as child scopes.
+ */
+final class Scope {
+
+    private final Scope parent;
+    private final Map<String, Object> variables;
+    private final String name;
+    private final Object value;
+    private final Instant now;
+
+    private Scope(Scope parent, Map<String, Object> variables, String name, Object value, Instant now) {
+        this.parent = parent;
+        this.variables = variables;
+        this.name = name;
+        this.value = value;
+        this.now = now;
+    }
+
+    static Scope root(Map<String, Object> variables, Instant now) {
+        return new Scope(null, variables, null, null, now);
+    }
+
+    Scope bind(String variable, Object boundValue) {
+        return new Scope(this, null, variable, boundValue, now);
+    }
+
+    Object lookup(String variable) {
+        for (Scope scope = this; scope != null; scope = scope.parent) {
+            if (scope.variables != null) {
+                if (scope.variables.containsKey(variable)) {
+                    return scope.variables.get(variable);
+                }
+            } else if (variable.equals(scope.name)) {
+                return scope.value;
+            }
+        }
+        return EvalError.of("undeclared reference to '%s'", variable);
+    }
+
+    /**
+     * Evaluation time; fixed for the whole request so every now() call agrees
+     */
+    Instant now() {
+        return now;
+    }
+}
@@ -0,0 +1,137 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Value model of the expression language: null, Boolean, Long, Double, String, Instant (timestamp),
+ * Duration, List and Map with String keys.
+ */
+final class Values {
+
+    private Values() {
+    }
+
+    /**
+     * Convert request attributes into the value model
+     */
+    static Object normalize(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof String
+                || value instanceof Long || value instanceof Double
+                || value instanceof Instant || value instanceof Duration) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float || value instanceof BigDecimal) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> normalized = new LinkedHashMap<>();
+            map.forEach((key, element) -> normalized.put(String.valueOf(key), normalize(element)));
+            return normalized;
+        }
+        if (value instanceof Iterable<?> iterable) {
+            List<Object> normalized = new ArrayList<>();
+            iterable.forEach(element -> normalized.add(normalize(element)));
+            return normalized;
+        }
+        if (value instanceof Object[] array) {
+            List<Object> normalized = new ArrayList<>(array.length);
+            for (Object element : array) {
+                normalized.add(normalize(element));
+            }
+            return normalized;
+        }
+        return value.toString();
+    }
+
+    static boolean isNumber(Object value) {
+        return value instanceof Long || value instanceof Double;
+    }
+
+    static Object equal(Object left, Object right) {
+        if (left instanceof EvalError) {
+            return left;
+        }
+        if (right instanceof EvalError) {
+            return right;
+        }
+        return equalValues(left, right);
+    }
+
+    private static boolean equalValues(Object left, Object right) {
+        if (isNumber(left) && isNumber(right)) {
+            return ((Number) left).doubleValue() == ((Number) right).doubleValue();
+        }
+        if (left instanceof List<?> l && right instanceof List<?> r) {
+            if (l.size() != r.size()) {
+                return false;
+            }
+            Iterator<?> li = l.iterator();
+            Iterator<?> ri = r.iterator();
+            while (li.hasNext()) {
+                if (!equalValues(li.next(), ri.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(left, right);
+    }
+
+    /**
+     * Ordering of numbers, strings, timestamps and durations; null when the values are not comparable
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Integer compare(Object left, Object right) {
+        if (isNumber(left) && isNumber(right)) {
+            return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        }
+        if (left instanceof Comparable && left.getClass() == right.getClass()) {
+            return ((Comparable) left).compareTo(right);
+        }
+        return null;
+    }
+
+    static String typeName(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Boolean) {
+            return "bool";
+        }
+        if (value instanceof Long) {
+            return "int";
+        }
+        if (value instanceof Double) {
+            return "double";
+        }
+        if (value instanceof String) {
+            return "string";
+        }
+        if (value instanceof List) {
+            return "list";
+        }
+        if (value instanceof Map) {
+            return "map";
+        }
+        if (value instanceof Instant) {
+            return "timestamp";
+        }
+        if (value instanceof Duration) {
+            return "duration";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
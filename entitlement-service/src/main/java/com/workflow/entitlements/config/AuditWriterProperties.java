@@ -0,0 +1,102 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for the asynchronous audit log writer and audit storage (authorization.audit.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.audit")
+public class AuditWriterProperties {
+
+    public enum OverflowPolicy {
+        /**
+         * Caller waits until the writer frees space
+         */
+        BLOCK,
+        /**
+         * Entry is discarded and counted
+         */
+        DROP,
+        /**
+         * Entry is appended to the spill file and replayed on next start
+         */
+        SPILL
+    }
+
+    /**
+     * Ring buffer capacity; rounded up to a power of two
+     */
+    private int bufferCapacity = 65_536;
+
+    /**
+     * Maximum rows per multi-row INSERT
+     */
+    private int flushSize = 500;
+
+    /**
+     * Maximum time an entry waits before a partial batch is flushed
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * NDJSON file used by the SPILL policy and for batches that fail to insert
+     */
+    private String spillFile = "../logs/entitlement-audit-spill.ndjson";
+
+    /**
+     * How long shutdown waits for the buffer to drain
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    private Retention retention = new Retention();
+
+    private Query query = new Query();
+
+    @Data
+    public static class Retention {
+
+        /**
+         * Drop raw audit days and delete rollups past their retention. Off by default: audit
+         * records are deleted irreversibly. Upcoming partitions are created either way.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Daily partitions created ahead of today
+         */
+        private int premakeDays = 7;
+
+        /**
+         * Raw audit rows are dropped, a whole day at a time, once older than this
+         */
+        private Duration rawRetention = Duration.ofDays(90);
+
+        /**
+         * Per-minute rollups outlive the raw rows they summarise
+         */
+        private Duration rollupRetention = Duration.ofDays(400);
+
+        private Duration maintenanceInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Query {
+
+        private int defaultPageSize = 100;
+
+        private int maxPageSize = 1_000;
+
+        /**
+         * Rows the JDBC cursor holds in memory at a time during an export
+         */
+        private int exportFetchSize = 1_000;
+    }
+}
@@ -0,0 +1,52 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caffeine cache settings for the authorization path (authorization.cache.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.cache")
+public class AuthorizationCacheProperties {
+
+    /**
+     * Principals built from user, role and department data
+     */
+    private CacheSpec userContextCache = new CacheSpec(10_000, Duration.ofMinutes(15), true);
+
+    /**
+     * Role-based and resource-specific permission lookups
+     */
+    private CacheSpec permissionsCache = new CacheSpec(10_000, Duration.ofMinutes(10), true);
+
+    /**
+     * Complete authorization decisions
+     */
+    private CacheSpec decisionsCache = new CacheSpec(50_000, Duration.ofMinutes(5), true);
+
+    /**
+     * Serialized EMS whoami bodies, one per user and entitlement version
+     */
+    private CacheSpec whoamiCache = new CacheSpec(10_000, Duration.ofMinutes(15), true);
+
+    @Data
+    public static class CacheSpec {
+        private long maximumSize;
+        private Duration expireAfterWrite;
+        private boolean recordStats;
+
+        public CacheSpec() {
+        }
+
+        public CacheSpec(long maximumSize, Duration expireAfterWrite, boolean recordStats) {
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+            this.recordStats = recordStats;
+        }
+    }
+}
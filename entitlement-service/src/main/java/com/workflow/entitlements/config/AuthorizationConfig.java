@@ -3,6 +3,7 @@ package com.workflow.entitlements.config;
 import com.workflow.entitlements.service.authorization.AuthorizationEngine;
 import com.workflow.entitlements.service.authorization.CerbosAuthorizationEngine;
 import com.workflow.entitlements.service.authorization.DatabaseAuthorizationEngine;
+import com.workflow.entitlements.service.authorization.EmbeddedPolicyAuthorizationEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,13 +22,27 @@ import org.springframework.context.annotation.Primary;
 @Slf4j
 public class AuthorizationConfig {
     
+    /**
+     * Cerbos beans exist when Cerbos is the primary engine or the shadow engine
+     */
+    public static final String CERBOS_ENGINE_ENABLED = "${authorization.engine.use-cerbos:false} or "
+            + "(${authorization.shadow.enabled:false} and '${authorization.shadow.engine:}' == 'CERBOS')";
+    
+    /**
+     * Embedded policy beans exist when the embedded engine is the primary engine or the shadow engine
+     */
+    public static final String EMBEDDED_ENGINE_ENABLED = "${authorization.engine.embedded-policies:false} or "
+            + "(${authorization.shadow.enabled:false} and '${authorization.shadow.engine:}' == 'EMBEDDED')";
+    
     /**
      * Primary authorization engine bean selector.
      * This bean will be injected into HybridAuthorizationService.
      * 
      * @param cerbosEngine Cerbos-based authorization engine
      * @param databaseEngine Database-based authorization engine
+     * @param embeddedEngine In-process evaluator of the Cerbos policy files
      * @param useCerbos Configuration flag for engine selection
+     * @param useEmbeddedPolicies Evaluate the Cerbos policies in-process; takes precedence over useCerbos
      * @return The selected authorization engine
      */
     @Bean
@@ -35,7 +50,14 @@ public class AuthorizationConfig {
     public AuthorizationEngine authorizationEngine(
             DatabaseAuthorizationEngine databaseEngine,
             @Autowired(required = false) CerbosAuthorizationEngine cerbosEngine,
-            @Value("${authorization.engine.use-cerbos:false}") boolean useCerbos) {
+            @Autowired(required = false) EmbeddedPolicyAuthorizationEngine embeddedEngine,
+            @Value("${authorization.engine.use-cerbos:false}") boolean useCerbos,
+            @Value("${authorization.engine.embedded-policies:false}") boolean useEmbeddedPolicies) {
+        
+        if (useEmbeddedPolicies && embeddedEngine != null) {
+            log.info("Initializing hybrid authorization system with embedded policy engine");
+            return embeddedEngine;
+        }
         
         if (useCerbos && cerbosEngine != null) {
             log.info("Initializing hybrid authorization system with Cerbos engine");
@@ -1,56 +1,51 @@
 package com.workflow.entitlements.config;
 
-import dev.cerbos.sdk.CerbosBlockingClient;
-import dev.cerbos.sdk.CerbosClientBuilder;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
+@RequiredArgsConstructor
 @Slf4j
 public class CerbosConfig {
-    
-    @Value("${cerbos.host:localhost}")
-    private String cerbosHost;
-    
-    @Value("${cerbos.port:3593}")
-    private int cerbosPort;
-    
-    @Value("${cerbos.tls.enabled:false}")
-    private boolean tlsEnabled;
-    
-    @Value("${cerbos.connection.timeout:30s}")
-    private String connectionTimeout;
-    
-    @Value("${cerbos.connection.keep-alive:true}")
-    private boolean keepAlive;
-    
-    @Bean
-    @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
-        value = "authorization.engine.use-cerbos", 
-        havingValue = "true", 
-        matchIfMissing = false)
-    public CerbosBlockingClient cerbosBlockingClient() {
-        try {
-            String endpoint = cerbosHost + ":" + cerbosPort;
-            log.info("Initializing Cerbos client: endpoint={}, tls={}, timeout={}, keepAlive={}", 
-                    endpoint, tlsEnabled, connectionTimeout, keepAlive);
-            
-            CerbosClientBuilder builder = new CerbosClientBuilder(endpoint);
-            
-            if (!tlsEnabled) {
-                builder = builder.withPlaintext().withInsecure();
-            }
-            
-            CerbosBlockingClient client = builder.buildBlockingClient();
-            
-            log.info("Cerbos client initialized successfully");
-            return client;
-            
-        } catch (Exception e) {
-            log.error("Failed to initialize Cerbos client: host={}, port={}, tls={}", cerbosHost, cerbosPort, tlsEnabled, e);
-            throw new RuntimeException("Failed to initialize Cerbos client", e);
+
+    private final CerbosProperties properties;
+
+    /**
+     * gRPC channel to the Cerbos PDP, tuned from cerbos.connection.
+     * The channel multiplexes all calls over one HTTP/2 connection and reconnects on its own.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    @org.springframework.boot.autoconfigure.condition.ConditionalOnExpression(AuthorizationConfig.CERBOS_ENGINE_ENABLED)
+    public ManagedChannel cerbosChannel() {
+        CerbosProperties.Connection connection = properties.getConnection();
+        log.info("Initializing Cerbos channel: endpoint={}:{}, tls={}, deadline={}, keepAlive={}, maxConcurrentCalls={}",
+                properties.getHost(), properties.getPort(), properties.getTls().isEnabled(),
+                connection.getDeadline(), connection.isKeepAlive(), connection.getMaxConcurrentCalls());
+
+        NettyChannelBuilder builder = NettyChannelBuilder.forAddress(properties.getHost(), properties.getPort())
+                .withOption(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connection.getTimeout().toMillis())
+                .idleTimeout(connection.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .maxInboundMessageSize(connection.getMaxInboundMessageSize());
+
+        if (connection.isKeepAlive()) {
+            builder.keepAliveTime(connection.getKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                    .keepAliveTimeout(connection.getKeepAliveTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(true);
+        }
+
+        if (properties.getTls().isEnabled()) {
+            builder.useTransportSecurity();
+        } else {
+            builder.usePlaintext();
         }
+
+        return builder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cerbos PDP endpoint and gRPC channel settings (cerbos.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cerbos")
+public class CerbosProperties {
+
+    private String host = "localhost";
+
+    private int port = 3593;
+
+    private Tls tls = new Tls();
+
+    private Policies policies = new Policies();
+
+    private Connection connection = new Connection();
+
+    @Data
+    public static class Tls {
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Policies {
+
+        /**
+         * Policy directory, read by the embedded evaluator
+         */
+        private String path = "classpath:cerbos/policies";
+
+        /**
+         * Policy version sent with every principal and resource
+         */
+        private String version = "2.0";
+    }
+
+    @Data
+    public static class Connection {
+
+        /**
+         * TCP connect timeout
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /**
+         * Send HTTP/2 keep-alive pings so idle connections survive load balancers and NAT
+         */
+        private boolean keepAlive = true;
+
+        private Duration keepAliveTime = Duration.ofSeconds(30);
+
+        private Duration keepAliveTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Channel goes idle (and drops its connection) after this long without calls
+         */
+        private Duration idleTimeout = Duration.ofMinutes(30);
+
+        /**
+         * Deadline of a single CheckResources call
+         */
+        private Duration deadline = Duration.ofMillis(500);
+
+        /**
+         * Maximum CheckResources calls in flight; further callers wait up to the deadline
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * Maximum resources per CheckResources call; larger batches are split
+         */
+        private int maxResourcesPerCall = 50;
+
+        private int maxInboundMessageSize = 4 * 1024 * 1024;
+    }
+}
@@ -0,0 +1,40 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Proactive expiry of time-bounded resource permissions and role assignments
+ * (authorization.grant-expiry.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.grant-expiry")
+public class GrantExpiryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Resolution of the expiry wheel; a grant is deactivated at most one tick after it expires
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * How far ahead expirations are loaded into the wheel. Kept at least twice the reload
+     * interval so consecutive windows overlap.
+     */
+    private Duration lookahead = Duration.ofMinutes(10);
+
+    /**
+     * How often the lookahead window is reloaded, picking up grants changed outside JPA
+     */
+    private Duration reloadInterval = Duration.ofMinutes(1);
+
+    /**
+     * Grants deactivated per UPDATE
+     */
+    private int batchSize = 500;
+}
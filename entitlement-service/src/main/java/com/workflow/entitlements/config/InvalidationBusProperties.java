@@ -0,0 +1,42 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY (authorization.invalidation.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.invalidation")
+public class InvalidationBusProperties {
+
+    /**
+     * Publish change events and apply the ones of other nodes; needed once more than one node runs
+     */
+    private boolean enabled = false;
+
+    /**
+     * NOTIFY channel; a plain lower-case identifier
+     */
+    private String channel = "entitlement_invalidation";
+
+    /**
+     * How long the listener waits for notifications per poll
+     */
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    /**
+     * Pause before the listener reconnects after losing its connection
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * Every node announces its last sequence number this often, so a lost final event is detected
+     * even when no further changes follow
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+}
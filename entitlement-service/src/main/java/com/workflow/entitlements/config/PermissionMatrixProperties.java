@@ -0,0 +1,31 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Compiled role permissions of the database engine (authorization.permission-matrix.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.permission-matrix")
+public class PermissionMatrixProperties {
+
+    /**
+     * Full rebuild, catching role and assignment changes made outside JPA
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Users whose role assignments are kept compiled
+     */
+    private long maxUsers = 50_000;
+
+    /**
+     * A user's role assignments are dropped after going unchecked this long
+     */
+    private Duration userIdleTimeout = Duration.ofMinutes(30);
+}
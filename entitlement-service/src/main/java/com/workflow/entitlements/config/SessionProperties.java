@@ -0,0 +1,97 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Login session settings (authorization.session.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.session")
+public class SessionProperties {
+
+    public enum Store {
+        /**
+         * Sessions live in this node's memory and are lost on restart
+         */
+        MEMORY,
+        /**
+         * Sessions are shared by all nodes through the auth_sessions table
+         */
+        JDBC
+    }
+
+    private Store store = Store.MEMORY;
+
+    /**
+     * Sliding idle timeout; every validation extends the session
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Resolution of the in-memory expiry wheel
+     */
+    private Duration wheelTick = Duration.ofSeconds(1);
+
+    /**
+     * How long a node trusts its cached copy of a shared session. A logout on another node takes
+     * effect here after at most this long.
+     */
+    private Duration nearCacheTtl = Duration.ofSeconds(5);
+
+    private long nearCacheMaximumSize = 100_000;
+
+    /**
+     * Minimum expiry extension that is written back to the shared store, so validations do not
+     * turn into one UPDATE each
+     */
+    private Duration touchInterval = Duration.ofMinutes(1);
+
+    /**
+     * How often expired rows are deleted from the shared store
+     */
+    private Duration cleanupInterval = Duration.ofMinutes(5);
+
+    private Token token = new Token();
+
+    @Data
+    public static class Token {
+
+        /**
+         * Return a signed session token with every login, so services can validate sessions
+         * without calling back
+         */
+        private boolean enabled = false;
+
+        /**
+         * Lifetime of a token; clients refresh it through /api/auth/token. Bounds how long a
+         * deactivated user keeps working on verifiers.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        private String issuer = "entitlement-service";
+
+        /**
+         * Key ID used to sign new tokens
+         */
+        private String activeKeyId;
+
+        /**
+         * HMAC-SHA256 secrets (at least 32 bytes) by key ID. Verifiers accept every listed key, so
+         * a key is rotated by adding the new one everywhere, switching active-key-id, and removing
+         * the old one after one ttl.
+         */
+        private Map<String, String> keys = new LinkedHashMap<>();
+
+        /**
+         * Verifiers reconnect to the revocation stream after this long
+         */
+        private Duration revocationStreamTimeout = Duration.ofMinutes(30);
+    }
+}
@@ -0,0 +1,37 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for shadow evaluation (authorization.shadow.*): a second engine re-evaluates a sample
+ * of decisions in the background so its latency and agreement can be measured before switching.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.shadow")
+public class ShadowEvaluationProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Engine type evaluated in the shadow: DATABASE, CERBOS or EMBEDDED
+     */
+    private String engine = "CERBOS";
+
+    /**
+     * Fraction of decisions re-evaluated, between 0 and 1
+     */
+    private double sampleRate = 0.05;
+
+    /**
+     * Threads evaluating in the shadow; bounds the extra load on the shadow engine and the database
+     */
+    private int threads = 2;
+
+    /**
+     * Shadow evaluations waiting for a thread; further samples are dropped and counted
+     */
+    private int queueCapacity = 1_000;
+}
@@ -0,0 +1,29 @@
+package com.workflow.entitlements.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk user import (authorization.user-import.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "authorization.user-import")
+public class UserImportProperties {
+
+    /**
+     * Rows validated with one uniqueness query and inserted in one transaction
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Rows accepted per request; the rest are reported as one error
+     */
+    private int maxRows = 100_000;
+
+    /**
+     * Row errors listed in the response; further errors are only counted
+     */
+    private int maxReportedErrors = 1_000;
+}
@@ -0,0 +1,71 @@
+package com.workflow.entitlements.controller;
+
+import com.workflow.entitlements.repository.AuditLogReadRepository;
+import com.workflow.entitlements.service.audit.AuditLogQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * REST Controller for querying and exporting the authorization audit log.
+ * Queries page with an opaque keyset cursor; exports stream without buffering the result.
+ */
+@RestController
+@RequestMapping("/api/entitlements/audit-logs")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final AuditLogQueryService auditLogQueryService;
+
+    /**
+     * One page of audit entries, newest first. Filter parameters: userId, eventType, resourceType,
+     * resourceId, decision, engineType, sessionId, from (inclusive), to (exclusive).
+     */
+    @GetMapping
+    public ResponseEntity<?> getAuditLogs(AuditLogReadRepository.Filter filter,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(auditLogQueryService.findPage(filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error querying audit logs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Stream every matching audit entry as NDJSON (default) or CSV
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(AuditLogReadRepository.Filter filter,
+                                                                 @RequestParam(defaultValue = "ndjson") String format) {
+        AuditLogQueryService.Format exportFormat;
+        try {
+            exportFormat = AuditLogQueryService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String filename = "audit-logs." + exportFormat.name().toLowerCase(Locale.ROOT);
+        StreamingResponseBody body = out -> auditLogQueryService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat == AuditLogQueryService.Format.CSV ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
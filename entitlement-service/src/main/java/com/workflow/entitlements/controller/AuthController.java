@@ -2,17 +2,23 @@ package com.workflow.entitlements.controller;
 
 import com.workflow.entitlements.entity.User;
 import com.workflow.entitlements.service.UserService;
+import com.workflow.entitlements.service.invalidation.InvalidationBus;
+import com.workflow.entitlements.service.invalidation.InvalidationEvent;
+import com.workflow.entitlements.service.session.Session;
+import com.workflow.entitlements.service.session.SessionRevocationList;
+import com.workflow.entitlements.service.session.SessionStore;
+import com.workflow.entitlements.service.session.SessionTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -20,39 +26,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public class AuthController {
     
     private final UserService userService;
-    
-    
-    // Track active sessions (in production, use Redis or database)
-    private Map<String, SessionInfo> activeSessions = new ConcurrentHashMap<>();
-    
-    // Session info class
-    public static class SessionInfo {
-        private UUID userId;
-        private String username;
-        private Instant createdAt;
-        private Instant lastAccessedAt;
-        
-        public SessionInfo(UUID userId, String username) {
-            this.userId = userId;
-            this.username = username;
-            this.createdAt = Instant.now();
-            this.lastAccessedAt = Instant.now();
-        }
-        
-        public void updateLastAccessed() {
-            this.lastAccessedAt = Instant.now();
-        }
-        
-        public boolean isExpired(long sessionTimeoutMinutes) {
-            return lastAccessedAt.plusSeconds(sessionTimeoutMinutes * 60).isBefore(Instant.now());
-        }
-        
-        // Getters
-        public UUID getUserId() { return userId; }
-        public String getUsername() { return username; }
-        public Instant getCreatedAt() { return createdAt; }
-        public Instant getLastAccessedAt() { return lastAccessedAt; }
-    }
+    private final SessionStore sessionStore;
+    private final SessionTokenService sessionTokenService;
+    private final SessionRevocationList sessionRevocationList;
+    private final InvalidationBus invalidationBus;
     
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> credentials) {
@@ -83,11 +60,8 @@ public class AuthController {
         // For demo purposes, accept any password for existing users
         // In production, this would verify against a proper password hash
         
-        // Generate session ID
-        String sessionId = UUID.randomUUID().toString();
-        
-        // Store session (in production, use Redis or database)
-        activeSessions.put(sessionId, new SessionInfo(user.getUserId(), user.getUsername()));
+        // Start session; expiry and storage are up to the configured session store
+        Session session = sessionStore.create(user.getUserId(), user.getUsername());
         
         // Create user info for response
         Map<String, Object> userInfo = new HashMap<>();
@@ -102,7 +76,13 @@ public class AuthController {
         // Create response
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("sessionId", sessionId);
+        response.put("sessionId", session.sessionId());
+        if (sessionTokenService.isEnabled()) {
+            // Lets the gateway and services validate the session without calling back
+            SessionTokenService.IssuedToken token = sessionTokenService.issue(session);
+            response.put("sessionToken", token.token());
+            response.put("sessionTokenExpiresAt", token.expiresAt().toString());
+        }
         response.put("user", userInfo);
         response.put("message", "Login successful");
         
@@ -116,13 +96,15 @@ public class AuthController {
         
         // Remove session if provided in header
         if (sessionId != null) {
-            activeSessions.remove(sessionId);
+            endSession(sessionId);
         }
         
         // Remove session if provided in body
         if (body != null && body.containsKey("sessionId")) {
             String bodySessionId = body.get("sessionId");
-            activeSessions.remove(bodySessionId);
+            if (bodySessionId != null) {
+                endSession(bodySessionId);
+            }
         }
         
         return ResponseEntity.ok(Map.of("success", true, "message", "Logout successful"));
@@ -135,27 +117,17 @@ public class AuthController {
                 .body(Map.of("success", false, "message", "No session ID provided"));
         }
         
-        // Check if session exists
-        SessionInfo sessionInfo = activeSessions.get(sessionId);
-        if (sessionInfo == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(Map.of("success", false, "message", "Invalid session"));
-        }
-        
-        // Check if session is expired (30 minutes timeout)
-        if (sessionInfo.isExpired(30)) {
-            activeSessions.remove(sessionId);
+        // Check session exists and has not expired; extends its idle timeout
+        Optional<Session> session = sessionStore.touch(sessionId);
+        if (session.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(Map.of("success", false, "message", "Session expired"));
+                .body(Map.of("success", false, "message", "Invalid or expired session"));
         }
         
-        // Update last accessed time
-        sessionInfo.updateLastAccessed();
-        
         // Verify user still exists and is active
-        Optional<User> optionalUser = userService.findById(sessionInfo.getUserId());
+        Optional<User> optionalUser = userService.findById(session.get().userId());
         if (optionalUser.isEmpty() || !optionalUser.get().getIsActive()) {
-            activeSessions.remove(sessionId);
+            endSession(sessionId);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("success", false, "message", "User no longer active"));
         }
@@ -182,21 +154,17 @@ public class AuthController {
                 .body(Map.of("success", false, "message", "No session ID provided"));
         }
         
-        // Check if session exists
-        SessionInfo sessionInfo = activeSessions.get(sessionId);
-        if (sessionInfo == null || sessionInfo.isExpired(30)) {
-            if (sessionInfo != null) activeSessions.remove(sessionId);
+        // Check session exists and has not expired; extends its idle timeout
+        Optional<Session> session = sessionStore.touch(sessionId);
+        if (session.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("success", false, "message", "Invalid or expired session"));
         }
         
-        // Update last accessed time
-        sessionInfo.updateLastAccessed();
-        
         // Get user details
-        Optional<User> optionalUser = userService.findById(sessionInfo.getUserId());
+        Optional<User> optionalUser = userService.findById(session.get().userId());
         if (optionalUser.isEmpty() || !optionalUser.get().getIsActive()) {
-            activeSessions.remove(sessionId);
+            endSession(sessionId);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("success", false, "message", "User no longer active"));
         }
@@ -216,6 +184,49 @@ public class AuthController {
         return ResponseEntity.ok(Map.of("success", true, "user", userInfo));
     }
     
+    @PostMapping("/token")
+    public ResponseEntity<Map<String, Object>> refreshToken(@RequestHeader(value = "X-Session-Id", required = false) String sessionId) {
+        if (!sessionTokenService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("success", false, "message", "Session tokens are disabled"));
+        }
+        if (sessionId == null || sessionId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("success", false, "message", "No session ID provided"));
+        }
+        
+        // The session itself stays the refresh credential; tokens are short-lived
+        Optional<Session> session = sessionStore.touch(sessionId);
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("success", false, "message", "Invalid or expired session"));
+        }
+        
+        Optional<User> optionalUser = userService.findById(session.get().userId());
+        if (optionalUser.isEmpty() || !optionalUser.get().getIsActive()) {
+            endSession(sessionId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("success", false, "message", "User no longer active"));
+        }
+        
+        SessionTokenService.IssuedToken token = sessionTokenService.issue(session.get());
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "sessionToken", token.token(),
+            "sessionTokenExpiresAt", token.expiresAt().toString()));
+    }
+    
+    @GetMapping("/revocations")
+    public ResponseEntity<List<SessionRevocationList.Revocation>> getRevocations() {
+        return ResponseEntity.ok(sessionRevocationList.snapshot());
+    }
+    
+    // Pushes revoked session IDs to the token verifiers (gateway, onecms)
+    @GetMapping(value = "/revocations/stream", produces = "text/event-stream")
+    public SseEmitter streamRevocations() {
+        return sessionRevocationList.subscribe();
+    }
+    
     // Backward compatibility endpoint for API Gateway
     @GetMapping("/validate")
     public ResponseEntity<Map<String, Object>> validateUser(@RequestHeader(value = "X-User-Id", required = false) String userId) {
@@ -253,4 +264,11 @@ public class AuthController {
         
         return ResponseEntity.ok(Map.of("success", true, "user", userInfo, "message", "User is valid"));
     }
-}
\ No newline at end of file
+    
+    private void endSession(String sessionId) {
+        sessionStore.remove(sessionId);
+        sessionRevocationList.revoke(sessionId);
+        // Other nodes drop their cached copy and push the revocation to their verifiers
+        invalidationBus.publish(InvalidationEvent.Type.SESSION, sessionId);
+    }
+}
@@ -1,7 +1,9 @@
 package com.workflow.entitlements.controller;
 
 import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
 import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.dto.response.BatchAuthorizationCheckResponse;
 import com.workflow.entitlements.service.HybridAuthorizationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -146,6 +149,123 @@ public class AuthorizationController {
         }
     }
     
+    /**
+     * Batch authorization check endpoint - many resource/action pairs for one principal
+     */
+    @Operation(
+            summary = "Check Authorization (Batch)",
+            description = """
+                    **Evaluate many resource/action pairs for one principal in a single call**
+                    
+                    Replaces loops of `/check` calls, e.g. when rendering a list of cases with per-row
+                    action buttons. The principal is resolved once and the active engine evaluates the
+                    checks in bulk.
+                    
+                    **Behaviour:**
+                    - Results are returned in request order, one per check
+                    - Identical checks are evaluated once
+                    - At most 500 checks per request
+                    - Every check is audited like a single `/check` call
+                    """)
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Authorization decisions completed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchAuthorizationCheckResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Mixed Decisions",
+                                    summary = "One check allowed, one denied",
+                                    value = """
+                                            {
+                                              "results": [
+                                                {
+                                                  "allowed": true,
+                                                  "message": "Access granted",
+                                                  "validationResult": null
+                                                },
+                                                {
+                                                  "allowed": false,
+                                                  "message": "User does not have required permissions for this resource and action",
+                                                  "validationResult": null
+                                                }
+                                              ],
+                                              "engineType": "DATABASE"
+                                            }
+                                            """))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing principal, no checks, or more than 500 checks")
+    })
+    @PostMapping("/check-batch")
+    public ResponseEntity<Object> checkAuthorizationBatch(
+            @RequestBody(
+                    description = "Principal and the resource/action pairs to check",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchAuthorizationCheckRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Case List Actions",
+                                    summary = "Check read and update on two cases",
+                                    value = """
+                                            {
+                                              "principal": {
+                                                "id": "550e8400-e29b-41d4-a716-446655440000"
+                                              },
+                                              "checks": [
+                                                { "resource": { "kind": "case", "id": "CMS-2025-000123" }, "action": "read" },
+                                                { "resource": { "kind": "case", "id": "CMS-2025-000123" }, "action": "update" },
+                                                { "resource": { "kind": "case", "id": "CMS-2025-000124" }, "action": "read" }
+                                              ]
+                                            }
+                                            """)))
+            @org.springframework.web.bind.annotation.RequestBody BatchAuthorizationCheckRequest request) {
+        
+        String validationError = validateBatchRequest(request);
+        if (validationError != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(java.util.Map.of("error", validationError));
+        }
+        
+        try {
+            log.debug("Batch authorization check request: userId={}, checks={}", 
+                request.getPrincipal().getId(), request.getChecks().size());
+            
+            return ResponseEntity.ok(hybridAuthorizationService.checkAuthorizationBatch(request));
+            
+        } catch (Exception e) {
+            log.error("Batch authorization check failed", e);
+            
+            AuthorizationCheckResponse errorResponse = AuthorizationCheckResponse.builder()
+                .allowed(false)
+                .message("Authorization check failed: " + e.getMessage())
+                .build();
+            
+            return ResponseEntity.ok(BatchAuthorizationCheckResponse.builder()
+                .results(java.util.Collections.nCopies(request.getChecks().size(), errorResponse))
+                .build());
+        }
+    }
+    
+    private String validateBatchRequest(BatchAuthorizationCheckRequest request) {
+        if (request == null || request.getPrincipal() == null || request.getPrincipal().getId() == null) {
+            return "principal.id is required";
+        }
+        if (request.getChecks() == null || request.getChecks().isEmpty()) {
+            return "At least one check is required";
+        }
+        if (request.getChecks().size() > BatchAuthorizationCheckRequest.MAX_CHECKS) {
+            return "At most " + BatchAuthorizationCheckRequest.MAX_CHECKS + " checks are allowed per request";
+        }
+        for (BatchAuthorizationCheckRequest.Check check : request.getChecks()) {
+            if (check == null || check.getResource() == null || check.getResource().getKind() == null
+                    || check.getAction() == null || check.getAction().isBlank()) {
+                return "Every check requires resource.kind and action";
+            }
+        }
+        return null;
+    }
+    
     /**
      * Simplified authorization check endpoint (for backward compatibility)
      */
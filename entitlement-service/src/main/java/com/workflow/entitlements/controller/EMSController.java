@@ -2,8 +2,11 @@ package com.workflow.entitlements.controller;
 
 import com.workflow.entitlements.dto.ems.EMSAuthRequest;
 import com.workflow.entitlements.dto.ems.EMSAuthResponse;
+import com.workflow.entitlements.dto.ems.QueueLookupRequest;
+import com.workflow.entitlements.dto.ems.QueueLookupResponse;
 import com.workflow.entitlements.dto.ems.WhoAmIResponse;
 import com.workflow.entitlements.service.EMSService;
+import com.workflow.entitlements.service.UserContextCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,10 +17,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -52,8 +59,15 @@ public class EMSController {
             - Display user information in navigation/profile
             - Determine available features based on roles
             - Show assigned departments and queues
+            
+            **Caching:** Responses carry an ETag that changes with the user's roles, departments
+            and attributes. Send it back in If-None-Match to get 304 Not Modified while nothing changed.
             """)
     @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "304",
+            description = "User context unchanged since the ETag in If-None-Match"
+        ),
         @ApiResponse(
             responseCode = "200",
             description = "User context retrieved successfully",
@@ -162,7 +176,10 @@ public class EMSController {
             @RequestHeader(value = "X-Session-Id", required = false) String sessionId,
             
             @Parameter(description = "Direct user ID for API Gateway integration", example = "550e8400-e29b-41d4-a716-446655440001")
-            @RequestHeader(value = "X-User-Id", required = false) String directUserId) {
+            @RequestHeader(value = "X-User-Id", required = false) String directUserId,
+
+            @Parameter(description = "ETag of a previously returned context")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         try {
             // Resolve user ID from session or direct header
@@ -173,15 +190,31 @@ public class EMSController {
                     .body(buildErrorResponse("UNAUTHORIZED", "No valid authentication provided", "/api/ems/v1/whoami"));
             }
 
-            // Build user context
-            WhoAmIResponse response = emsService.buildUserContext(resolvedUserId.get());
+            // Serialized context for the user's current entitlement version; built only after a change
+            Optional<UserContextCache.CachedUserContext> context =
+                    emsService.getCachedUserContext(UUID.fromString(resolvedUserId.get()));
             
-            if (!response.getSuccess()) {
+            if (context.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(buildErrorResponse("UNAUTHORIZED", "User not found or inactive", "/api/ems/v1/whoami"));
             }
 
-            return ResponseEntity.ok(response);
+            // Browsers must revalidate, and the same URL serves every user
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+            if (matchesETag(ifNoneMatch, context.get().etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(context.get().etag())
+                    .cacheControl(cacheControl)
+                    .varyBy("X-Session-Id", "X-User-Id")
+                    .build();
+            }
+
+            return ResponseEntity.ok()
+                .eTag(context.get().etag())
+                .cacheControl(cacheControl)
+                .varyBy("X-Session-Id", "X-User-Id")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(context.get().body());
 
         } catch (IllegalArgumentException e) {
             log.warn("Invalid user ID format in whoami request: {}", e.getMessage());
@@ -384,6 +417,83 @@ public class EMSController {
 
     // Private helper methods
 
+    /**
+     * Bulk queue lookup for routing services
+     */
+    @PostMapping("/queues/lookup")
+    @Operation(
+        summary = "Look up queues and their eligible users",
+        description = """
+            Return the work queues of each given user and the eligible users of each given queue,
+            served from an in-memory index kept current with role assignment changes.
+            
+            **Limits:** At most 1000 user IDs and 1000 queues per request
+            
+            **Use Cases:**
+            - Route a task to the users who can work its queue
+            - Filter a task list down to the queues a user works
+            """)
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lookup completed successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = QueueLookupResponse.class),
+                examples = @ExampleObject(
+                    name = "successful_lookup_response",
+                    value = """
+                        {
+                          "success": true,
+                          "userQueues": {
+                            "550e8400-e29b-41d4-a716-446655440001": ["intake-analyst-queue"]
+                          },
+                          "queueUsers": {
+                            "intake-analyst-queue": ["550e8400-e29b-41d4-a716-446655440001"]
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request - nothing to look up or too many keys"
+        )
+    })
+    public ResponseEntity<Object> lookupQueues(@RequestBody QueueLookupRequest request) {
+        List<UUID> userIds = request == null || request.getUserIds() == null ? List.of() : request.getUserIds();
+        List<String> queues = request == null || request.getQueues() == null ? List.of() : request.getQueues();
+
+        if (userIds.isEmpty() && queues.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse("BAD_REQUEST", "userIds or queues is required", "/api/ems/v1/queues/lookup"));
+        }
+        if (userIds.size() > QueueLookupRequest.MAX_KEYS || queues.size() > QueueLookupRequest.MAX_KEYS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse("BAD_REQUEST",
+                    "At most " + QueueLookupRequest.MAX_KEYS + " user IDs and queues are allowed per request",
+                    "/api/ems/v1/queues/lookup"));
+        }
+        if (userIds.contains(null) || queues.contains(null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse("BAD_REQUEST", "userIds and queues must not contain null",
+                    "/api/ems/v1/queues/lookup"));
+        }
+
+        try {
+            return ResponseEntity.ok(QueueLookupResponse.builder()
+                .success(true)
+                .userQueues(emsService.getQueuesByUsers(userIds))
+                .queueUsers(emsService.getUsersByQueues(queues))
+                .build());
+        } catch (Exception e) {
+            log.error("Error processing queue lookup", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(buildErrorResponse("INTERNAL_ERROR", "An unexpected error occurred", "/api/ems/v1/queues/lookup"));
+        }
+    }
+
     /**
      * Resolve user ID from session or direct header
      */
@@ -412,6 +522,25 @@ public class EMSController {
         return Optional.empty();
     }
 
+    /**
+     * If-None-Match comparison; weak and strong forms of the same tag match
+     */
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Build consistent error response format
      */
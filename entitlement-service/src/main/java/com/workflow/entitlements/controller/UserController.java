@@ -1,16 +1,24 @@
 package com.workflow.entitlements.controller;
 
+import com.workflow.entitlements.dto.response.UserImportResponse;
 import com.workflow.entitlements.entity.User;
+import com.workflow.entitlements.service.UserImportService;
+import com.workflow.entitlements.service.UserSearchIndex;
 import com.workflow.entitlements.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -27,7 +35,10 @@ import java.util.UUID;
 @Slf4j
 public class UserController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final UserService userService;
+    private final UserImportService userImportService;
 
     /**
      * Get all users with optional pagination
@@ -114,12 +125,13 @@ public class UserController {
     }
 
     /**
-     * Search users by keyword
+     * Search users by keyword, best matches first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsers(@RequestParam String q) {
+    public ResponseEntity<List<User>> searchUsers(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<User> users = userService.searchUsers(q);
+            List<User> users = userService.searchUsers(q, Math.min(limit, UserSearchIndex.MAX_RESULTS));
             return ResponseEntity.ok(users);
         } catch (Exception e) {
             log.error("Error searching users with query: {}", q, e);
@@ -169,6 +181,33 @@ public class UserController {
         }
     }
 
+    /**
+     * Bulk import users with their departments and business app roles, as NDJSON (one user
+     * object per line) or CSV with a header row. Rows that fail are reported by line and do
+     * not stop the import.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<Object> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                              InputStream body) {
+        UserImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        try {
+            UserImportResponse response = userImportService.importUsers(
+                    new InputStreamReader(body, StandardCharsets.UTF_8), format);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid user import request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(java.util.Map.of("error", e.getMessage()));
+            
+        } catch (Exception e) {
+            log.error("Error importing users", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(java.util.Map.of("error", "Failed to import users"));
+        }
+    }
+
     /**
      * Update existing user
      */
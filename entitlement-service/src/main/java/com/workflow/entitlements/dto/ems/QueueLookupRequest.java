@@ -0,0 +1,29 @@
+package com.workflow.entitlements.dto.ems;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk lookup of users' queues and of queues' eligible users")
+public class QueueLookupRequest {
+
+    public static final int MAX_KEYS = 1000;
+
+    @JsonProperty("userIds")
+    @Schema(description = "Users whose queues to return")
+    private List<UUID> userIds;
+
+    @JsonProperty("queues")
+    @Schema(description = "Queues whose eligible users to return", example = "[\"intake-analyst-queue\"]")
+    private List<String> queues;
+}
@@ -0,0 +1,33 @@
+package com.workflow.entitlements.dto.ems;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Queues per requested user and eligible users per requested queue")
+public class QueueLookupResponse {
+
+    @JsonProperty("success")
+    @Schema(description = "Whether the request was processed successfully", example = "true")
+    private Boolean success;
+
+    @JsonProperty("userQueues")
+    @Schema(description = "Queues of each requested user, empty when the user works none")
+    private Map<UUID, List<String>> userQueues;
+
+    @JsonProperty("queueUsers")
+    @Schema(description = "Eligible users of each requested queue, empty when nobody works it")
+    private Map<String, Set<UUID>> queueUsers;
+}
@@ -0,0 +1,47 @@
+package com.workflow.entitlements.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Many (resource, action) checks for one principal, answered in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAuthorizationCheckRequest {
+
+    public static final int MAX_CHECKS = 500;
+
+    @NotNull
+    @Valid
+    private AuthorizationCheckRequest.Principal principal;
+
+    @NotEmpty
+    @Size(max = MAX_CHECKS)
+    @Valid
+    private List<Check> checks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Check {
+        @NotNull
+        @Valid
+        private AuthorizationCheckRequest.Resource resource;
+
+        @NotBlank
+        private String action;
+    }
+}
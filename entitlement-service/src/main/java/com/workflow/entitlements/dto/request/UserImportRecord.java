@@ -0,0 +1,49 @@
+package com.workflow.entitlements.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One user of a bulk import: an NDJSON line, or a CSV row whose list columns are separated by ';'
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserImportRecord {
+
+    /**
+     * Kept when migrating users from another system; generated when absent
+     */
+    private UUID userId;
+
+    private String username;
+
+    private String email;
+
+    private String firstName;
+
+    private String lastName;
+
+    private Boolean isActive;
+
+    private Map<String, Object> globalAttributes;
+
+    /**
+     * Department codes the user joins
+     */
+    private List<String> departments;
+
+    /**
+     * Business app roles granted, as "businessAppName:ROLE_NAME"
+     */
+    private List<String> roles;
+}
@@ -0,0 +1,22 @@
+package com.workflow.entitlements.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAuthorizationCheckResponse {
+
+    /**
+     * One decision per requested check, in request order
+     */
+    private List<AuthorizationCheckResponse> results;
+
+    private String engineType;
+}
@@ -0,0 +1,43 @@
+package com.workflow.entitlements.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+
+    private int received;
+
+    private int imported;
+
+    private int failed;
+
+    /**
+     * Failed rows ordered by line, capped at the configured maximum
+     */
+    private List<RowError> errors;
+
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * 1-based line of the row in the uploaded file
+         */
+        private long line;
+
+        private String username;
+
+        private String error;
+    }
+}
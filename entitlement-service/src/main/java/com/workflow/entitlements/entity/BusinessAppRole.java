@@ -2,6 +2,7 @@ package com.workflow.entitlements.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.workflow.entitlements.service.UserQueueIndexEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
+@EntityListeners(UserQueueIndexEntityListener.class)
 @Table(name = "business_app_roles", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"business_app_id", "role_name"}))
 @Data
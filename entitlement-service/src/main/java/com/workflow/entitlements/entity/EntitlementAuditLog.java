@@ -16,7 +16,8 @@ import java.util.UUID;
 
 /**
  * Audit log entity for tracking authorization decisions and system events.
- * Maps to entitlements.entitlement_audit_logs table.
+ * Maps to entitlements.entitlement_audit_logs table, which is partitioned by day on
+ * event_timestamp (its primary key is audit_id plus event_timestamp).
  * Used by both RBAC and ABAC engines for comprehensive audit trail.
  */
 @Entity
@@ -116,6 +117,7 @@ public class EntitlementAuditLog {
     public static class EngineType {
         public static final String DATABASE = "DATABASE";
         public static final String CERBOS = "CERBOS";
+        public static final String EMBEDDED = "EMBEDDED";
     }
     
     /**
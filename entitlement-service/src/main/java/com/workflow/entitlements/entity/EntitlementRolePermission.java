@@ -1,5 +1,6 @@
 package com.workflow.entitlements.entity;
 
+import com.workflow.entitlements.service.authorization.PermissionMatrixEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +17,7 @@ import java.util.UUID;
  * Maps to entitlements.entitlement_role_permissions table.
  */
 @Entity
+@EntityListeners(PermissionMatrixEntityListener.class)
 @Table(name = "entitlement_role_permissions", schema = "entitlements",
        uniqueConstraints = @UniqueConstraint(columnNames = {"role_id", "permission_id"}))
 @Data
@@ -1,5 +1,7 @@
 package com.workflow.entitlements.entity;
 
+import com.workflow.entitlements.service.authorization.GrantExpiryEntityListener;
+import com.workflow.entitlements.service.authorization.PermissionMatrixEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +20,7 @@ import java.util.UUID;
  * Maps to entitlements.entitlement_user_domain_roles table.
  */
 @Entity
+@EntityListeners({PermissionMatrixEntityListener.class, GrantExpiryEntityListener.class})
 @Table(name = "entitlement_user_domain_roles", schema = "entitlements",
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "role_id"}))
 @Data
@@ -1,5 +1,6 @@
 package com.workflow.entitlements.entity;
 
+import com.workflow.entitlements.service.authorization.GrantExpiryEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,6 +20,7 @@ import java.util.UUID;
  * Provides direct user-to-resource permission grants.
  */
 @Entity
+@EntityListeners(GrantExpiryEntityListener.class)
 @Table(name = "resource_permissions", schema = "entitlements")
 @Data
 @Builder
@@ -1,5 +1,6 @@
 package com.workflow.entitlements.entity;
 
+import com.workflow.entitlements.service.UserSearchIndexEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,6 +22,7 @@ import java.util.UUID;
  * This is the single source of truth for user identity across both RBAC and ABAC engines.
  */
 @Entity
+@EntityListeners(UserSearchIndexEntityListener.class)
 @Table(name = "entitlement_core_users", schema = "entitlements")
 @Data
 @Builder
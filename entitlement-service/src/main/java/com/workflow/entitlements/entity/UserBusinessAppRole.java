@@ -1,6 +1,7 @@
 package com.workflow.entitlements.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.workflow.entitlements.service.UserQueueIndexEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +11,7 @@ import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(UserQueueIndexEntityListener.class)
 @Table(name = "user_business_app_roles",
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "business_app_role_id"}))
 @Data
@@ -18,8 +20,11 @@ import java.util.UUID;
 @AllArgsConstructor
 public class UserBusinessAppRole {
     
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts (see 006-bulk-import.xml)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_business_app_roles_seq")
+    @SequenceGenerator(name = "user_business_app_roles_seq", schema = "entitlements",
+                       sequenceName = "user_business_app_roles_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,208 @@
+package com.workflow.entitlements.repository;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model for audit log queries and exports.
+ *
+ * Rows are read with plain JDBC into flat records, newest first, ordered by
+ * (event_timestamp, audit_id) so pages can continue from a keyset cursor instead of an
+ * offset. Exports go through a forward-only cursor with a bounded fetch size; the Postgres
+ * driver only honours the fetch size inside a transaction, so callers must provide one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogReadRepository {
+
+    private static final String SELECT_SQL = """
+            SELECT audit_id, event_timestamp, event_type, user_id, resource_type, resource_id, action,
+                   decision, decision_reason, engine_type, request_metadata::text AS request_metadata,
+                   response_metadata::text AS response_metadata, session_id, host(ip_address) AS ip_address,
+                   user_agent
+            FROM entitlements.entitlement_audit_logs
+            WHERE true
+            """;
+
+    private static final String ORDER_SQL = " ORDER BY event_timestamp DESC, audit_id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One page of entries older than the cursor (or the newest entries without one)
+     */
+    public List<Entry> findPage(Filter filter, Cursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = where(filter, args);
+        if (after != null) {
+            sql.append(" AND (event_timestamp, audit_id) < (?, ?)");
+            args.add(Timestamp.from(after.eventTimestamp()));
+            args.add(after.auditId());
+        }
+        sql.append(ORDER_SQL).append(" LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    /**
+     * Hand every matching entry to the consumer without holding more than fetchSize rows.
+     * Must run inside a transaction.
+     */
+    public void stream(Filter filter, int fetchSize, EntryConsumer consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = where(filter, args).append(ORDER_SQL).toString();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(args.toArray()).setValues(statement);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                consumer.accept(mapRow(rs));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static StringBuilder where(Filter filter, List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (filter.userId() != null) {
+            sql.append(" AND user_id = ?");
+            args.add(filter.userId());
+        }
+        equalTo(sql, args, "event_type", filter.eventType());
+        equalTo(sql, args, "resource_type", filter.resourceType());
+        equalTo(sql, args, "resource_id", filter.resourceId());
+        equalTo(sql, args, "decision", filter.decision());
+        equalTo(sql, args, "engine_type", filter.engineType());
+        equalTo(sql, args, "session_id", filter.sessionId());
+        // Time bounds also prune the daily partitions
+        if (filter.from() != null) {
+            sql.append(" AND event_timestamp >= ?");
+            args.add(Timestamp.from(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND event_timestamp < ?");
+            args.add(Timestamp.from(filter.to()));
+        }
+        return sql;
+    }
+
+    private static void equalTo(StringBuilder sql, List<Object> args, String column, String value) {
+        if (value != null && !value.isBlank()) {
+            sql.append(" AND ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+
+    private static Entry mapRow(ResultSet rs) throws SQLException {
+        return new Entry(
+                rs.getObject("audit_id", UUID.class),
+                rs.getTimestamp("event_timestamp").toInstant(),
+                rs.getString("event_type"),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("resource_type"),
+                rs.getString("resource_id"),
+                rs.getString("action"),
+                rs.getString("decision"),
+                rs.getString("decision_reason"),
+                rs.getString("engine_type"),
+                rs.getString("request_metadata"),
+                rs.getString("response_metadata"),
+                rs.getString("session_id"),
+                rs.getString("ip_address"),
+                rs.getString("user_agent"));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(Entry entry) throws IOException;
+    }
+
+    /**
+     * Optional criteria; from is inclusive, to exclusive
+     */
+    public record Filter(UUID userId,
+                         String eventType,
+                         String resourceType,
+                         String resourceId,
+                         String decision,
+                         String engineType,
+                         String sessionId,
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+    }
+
+    /**
+     * Audit log row; metadata columns are passed through as the JSON text stored in the database
+     */
+    public record Entry(UUID auditId,
+                        Instant eventTimestamp,
+                        String eventType,
+                        UUID userId,
+                        String resourceType,
+                        String resourceId,
+                        String action,
+                        String decision,
+                        String decisionReason,
+                        String engineType,
+                        @JsonRawValue String requestMetadata,
+                        @JsonRawValue String responseMetadata,
+                        String sessionId,
+                        String ipAddress,
+                        String userAgent) {
+    }
+
+    /**
+     * Position of the last entry of a page, opaque to clients
+     */
+    public record Cursor(Instant eventTimestamp, UUID auditId) {
+
+        public static Cursor of(Entry entry) {
+            return new Cursor(entry.eventTimestamp(), entry.auditId());
+        }
+
+        public String encode() {
+            String value = eventTimestamp + "|" + auditId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+         */
+        public static Cursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf('|');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new Cursor(Instant.parse(value.substring(0, separator)),
+                        UUID.fromString(value.substring(separator + 1)));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
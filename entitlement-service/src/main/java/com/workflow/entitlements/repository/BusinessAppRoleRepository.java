@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,9 @@ public interface BusinessAppRoleRepository extends JpaRepository<BusinessAppRole
     
     List<BusinessAppRole> findByIsActiveTrue();
     
+    @Query("SELECT r FROM BusinessAppRole r JOIN FETCH r.businessApplication a WHERE a.businessAppName IN :businessAppNames")
+    List<BusinessAppRole> findByBusinessAppNameIn(@Param("businessAppNames") Collection<String> businessAppNames);
+    
     @Query("SELECT r FROM BusinessAppRole r WHERE r.businessApplication.id = :businessAppId AND r.isActive = true")
     List<BusinessAppRole> findByBusinessApplicationIdAndIsActiveTrue(@Param("businessAppId") Long businessAppId);
     
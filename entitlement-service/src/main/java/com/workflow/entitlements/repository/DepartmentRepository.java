@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,11 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      */
     Optional<Department> findByDepartmentCode(String departmentCode);
     
+    /**
+     * Find departments by any of the department codes
+     */
+    List<Department> findByDepartmentCodeIn(Collection<String> departmentCodes);
+    
     /**
      * Find all active departments
      */
@@ -96,20 +96,22 @@ public interface EntitlementAuditLogRepository extends JpaRepository<Entitlement
                                                       @Param("resourceId") String resourceId);
     
     /**
-     * Count authorization decisions by type
+     * Count authorization decisions by type, from the per-minute rollups.
+     * Resolution is one minute: the minute containing startTime is counted in full.
      */
-    @Query("SELECT al.decision, COUNT(al) FROM EntitlementAuditLog al " +
-           "WHERE al.eventType = 'AUTHORIZATION_CHECK' " +
-           "AND al.eventTimestamp >= :startTime " +
-           "GROUP BY al.decision")
+    @Query(value = "SELECT NULLIF(r.decision, '') AS decision, CAST(SUM(r.event_count) AS BIGINT) AS event_count " +
+           "FROM entitlements.entitlement_audit_decision_rollups r " +
+           "WHERE r.bucket_start >= date_trunc('minute', CAST(:startTime AS TIMESTAMPTZ)) " +
+           "GROUP BY r.decision", nativeQuery = true)
     List<Object[]> countAuthorizationDecisions(@Param("startTime") Instant startTime);
     
     /**
-     * Count events by engine type
+     * Count events by engine type, from the per-minute rollups (one minute resolution)
      */
-    @Query("SELECT al.engineType, COUNT(al) FROM EntitlementAuditLog al " +
-           "WHERE al.eventTimestamp >= :startTime " +
-           "GROUP BY al.engineType")
+    @Query(value = "SELECT NULLIF(r.engine_type, '') AS engine_type, CAST(SUM(r.event_count) AS BIGINT) AS event_count " +
+           "FROM entitlements.entitlement_audit_engine_rollups r " +
+           "WHERE r.bucket_start >= date_trunc('minute', CAST(:startTime AS TIMESTAMPTZ)) " +
+           "GROUP BY r.engine_type", nativeQuery = true)
     List<Object[]> countEventsByEngine(@Param("startTime") Instant startTime);
     
     /**
@@ -60,4 +60,20 @@ public interface EntitlementRolePermissionRepository extends JpaRepository<Entit
     @Query("UPDATE EntitlementRolePermission rp SET rp.isActive = false " +
            "WHERE rp.roleId = :roleId AND rp.permissionId = :permissionId")
     void deactivateRolePermission(@Param("roleId") UUID roleId, @Param("permissionId") UUID permissionId);
-}
\ No newline at end of file
+    
+    /**
+     * Active (roleId, resourceType, action) triples for compiling the permission matrix
+     */
+    @Query("SELECT rp.roleId, p.resourceType, p.action FROM EntitlementRolePermission rp " +
+           "JOIN EntitlementPermission p ON rp.permissionId = p.permissionId " +
+           "WHERE rp.isActive = true")
+    List<Object[]> findActiveRolePermissionKeys();
+    
+    /**
+     * Active (resourceType, action) pairs of one role
+     */
+    @Query("SELECT p.resourceType, p.action FROM EntitlementRolePermission rp " +
+           "JOIN EntitlementPermission p ON rp.permissionId = p.permissionId " +
+           "WHERE rp.roleId = :roleId AND rp.isActive = true")
+    List<Object[]> findActivePermissionKeysByRoleId(@Param("roleId") UUID roleId);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -90,4 +91,25 @@ public interface EntitlementUserDomainRoleRepository extends JpaRepository<Entit
            "JOIN EntitlementDomainRole dr ON udr.roleId = dr.roleId " +
            "WHERE udr.userId = :userId AND udr.isActive = true")
     List<String> findRoleNamesByUserId(@Param("userId") UUID userId);
-}
\ No newline at end of file
+    
+    /**
+     * Role IDs of a user's active assignments (for compiling the permission matrix)
+     */
+    @Query("SELECT udr.roleId FROM EntitlementUserDomainRole udr " +
+           "WHERE udr.userId = :userId AND udr.isActive = true")
+    List<UUID> findActiveRoleIdsByUserId(@Param("userId") UUID userId);
+    
+    /**
+     * (userId, roleId) of the active assignments of many users at once (for the matrix's full rebuild)
+     */
+    @Query("SELECT udr.userId, udr.roleId FROM EntitlementUserDomainRole udr " +
+           "WHERE udr.userId IN :userIds AND udr.isActive = true")
+    List<Object[]> findActiveRoleIdsByUserIds(@Param("userIds") Collection<UUID> userIds);
+    
+    /**
+     * User IDs holding a role through an active assignment (for evicting them when the role changes)
+     */
+    @Query("SELECT udr.userId FROM EntitlementUserDomainRole udr " +
+           "WHERE udr.roleId = :roleId AND udr.isActive = true")
+    List<UUID> findActiveUserIdsByRoleId(@Param("roleId") UUID roleId);
+}
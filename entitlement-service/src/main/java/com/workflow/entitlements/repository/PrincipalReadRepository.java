@@ -0,0 +1,126 @@
+package com.workflow.entitlements.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read model for authorization principals.
+ *
+ * Loads a user together with their currently valid domain roles and active departments
+ * in a single statement, aggregating the roles into JSON and the departments into an array,
+ * so no entities (and no lazy associations) are loaded to build a principal.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class PrincipalReadRepository {
+
+    private static final String PRINCIPAL_SQL = """
+            SELECT u.user_id, u.username, u.email, u.first_name, u.last_name, u.is_active,
+                   u.global_attributes::text AS global_attributes,
+                   COALESCE((SELECT json_agg(json_build_object(
+                                    'roleId', udr.role_id,
+                                    'roleName', dr.role_name,
+                                    'domainId', dr.domain_id,
+                                    'assignedAt', udr.assigned_at) ORDER BY dr.role_name)
+                             FROM entitlements.entitlement_user_domain_roles udr
+                             JOIN entitlements.entitlement_domain_roles dr ON dr.role_id = udr.role_id
+                             WHERE udr.user_id = u.user_id AND udr.is_active = true
+                               AND (udr.expires_at IS NULL OR udr.expires_at > now())), '[]')::text AS domain_roles,
+                   COALESCE((SELECT array_agg(d.department_code ORDER BY d.department_code)
+                             FROM entitlements.user_departments ud
+                             JOIN entitlements.departments d ON d.id = ud.department_id
+                             WHERE ud.user_id = u.user_id
+                               AND ud.is_active = true AND d.is_active = true), '{}') AS departments
+            FROM entitlements.entitlement_core_users u
+            WHERE u.user_id = ?
+            """;
+
+    private static final TypeReference<Map<String, Object>> ATTRIBUTES_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<DomainRoleView>> DOMAIN_ROLES_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Load the principal view of a user, active or not
+     */
+    public Optional<PrincipalView> findByUserId(UUID userId) {
+        List<PrincipalView> rows = jdbcTemplate.query(PRINCIPAL_SQL, (rs, rowNum) -> mapRow(rs), userId);
+        return rows.stream().findFirst();
+    }
+
+    private PrincipalView mapRow(ResultSet rs) throws SQLException {
+        return new PrincipalView(
+                rs.getObject("user_id", UUID.class),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getBoolean("is_active"),
+                readJson(rs.getString("global_attributes"), ATTRIBUTES_TYPE, Map.of()),
+                readJson(rs.getString("domain_roles"), DOMAIN_ROLES_TYPE, List.of()),
+                readStringArray(rs.getArray("departments")));
+    }
+
+    private <T> T readJson(String json, TypeReference<T> type, T fallback) {
+        if (json == null) {
+            return fallback;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            log.warn("Failed to parse principal JSON column: {}", e.getMessage());
+            return fallback;
+        }
+    }
+
+    private static List<String> readStringArray(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.asList((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+
+    /**
+     * User with everything needed to build an authorization principal
+     */
+    public record PrincipalView(UUID userId,
+                                String username,
+                                String email,
+                                String firstName,
+                                String lastName,
+                                boolean isActive,
+                                Map<String, Object> globalAttributes,
+                                List<DomainRoleView> domainRoles,
+                                List<String> departments) {
+
+        public List<String> roleNames() {
+            return domainRoles.stream().map(DomainRoleView::roleName).toList();
+        }
+    }
+
+    /**
+     * Currently valid domain role assignment of a user
+     */
+    public record DomainRoleView(UUID roleId, String roleName, UUID domainId, String assignedAt) {
+    }
+}
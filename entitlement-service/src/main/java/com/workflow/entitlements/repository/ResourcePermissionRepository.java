@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -79,6 +80,16 @@ public interface ResourcePermissionRepository extends JpaRepository<ResourcePerm
                                      @Param("action") String action,
                                      @Param("now") Instant now);
     
+    /**
+     * Find currently valid permissions of a user on any of the given resource IDs
+     */
+    @Query("SELECT rp FROM ResourcePermission rp " +
+           "WHERE rp.userId = :userId AND rp.resourceId IN :resourceIds AND rp.isActive = true " +
+           "AND (rp.expiresAt IS NULL OR rp.expiresAt > :now)")
+    List<ResourcePermission> findValidPermissionsByUserIdAndResourceIds(@Param("userId") UUID userId,
+                                                                        @Param("resourceIds") Collection<String> resourceIds,
+                                                                        @Param("now") Instant now);
+    
     /**
      * Count active permissions for user
      */
@@ -49,4 +49,24 @@ public interface UserBusinessAppRoleRepository extends JpaRepository<UserBusines
     List<UserBusinessAppRole> findByBusinessAppRoleIdAndIsActiveTrue(Long businessAppRoleId);
     
     List<UserBusinessAppRole> findByIsActiveTrue();
+    
+    /**
+     * (user_id, queue) of every active assignment to a role with a queue, in assignment order per user
+     */
+    @Query(value = "SELECT uar.user_id, bar.metadata ->> 'queue' FROM entitlements.user_business_app_roles uar " +
+           "JOIN entitlements.business_app_roles bar ON bar.id = uar.business_app_role_id " +
+           "WHERE uar.is_active = true AND bar.metadata ->> 'queue' IS NOT NULL " +
+           "ORDER BY uar.user_id, uar.id",
+           nativeQuery = true)
+    List<Object[]> findActiveUserQueues();
+    
+    /**
+     * Queues of one user's active assignments, in assignment order
+     */
+    @Query(value = "SELECT bar.metadata ->> 'queue' FROM entitlements.user_business_app_roles uar " +
+           "JOIN entitlements.business_app_roles bar ON bar.id = uar.business_app_role_id " +
+           "WHERE uar.user_id = :userId AND uar.is_active = true AND bar.metadata ->> 'queue' IS NOT NULL " +
+           "ORDER BY uar.id",
+           nativeQuery = true)
+    List<String> findActiveQueuesByUserId(@Param("userId") UUID userId);
 }
\ No newline at end of file
@@ -30,6 +30,13 @@ public interface UserDepartmentRepository extends JpaRepository<UserDepartment,
            "ORDER BY ud.userId")
     List<UserDepartment> findActiveUsersInDepartment(@Param("departmentCode") String departmentCode);
     
+    /**
+     * IDs of users actively assigned to a department, whether or not the department is active
+     */
+    @Query("SELECT DISTINCT ud.userId FROM UserDepartment ud " +
+           "WHERE ud.department.id = :departmentId AND ud.isActive = true")
+    List<UUID> findActiveUserIdsByDepartmentId(@Param("departmentId") Long departmentId);
+    
     /**
      * Get department codes for a specific user
      */
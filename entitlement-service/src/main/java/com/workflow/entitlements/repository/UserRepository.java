@@ -3,9 +3,9 @@ package com.workflow.entitlements.repository;
 import com.workflow.entitlements.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,12 +21,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     Optional<User> findByEmail(String email);
     
+    /**
+     * Users holding any of the usernames or emails; one query for a whole import chunk
+     */
+    List<User> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails);
+    
     List<User> findByIsActiveTrue();
     
-    @Query("SELECT u FROM User u WHERE u.isActive = true AND " +
-           "(LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<User> findBySearchCriteria(@Param("search") String search);
+    /**
+     * (user_id, username, email, first_name, last_name) of every active user, for UserSearchIndex
+     */
+    @Query("SELECT u.userId, u.username, u.email, u.firstName, u.lastName FROM User u WHERE u.isActive = true")
+    List<Object[]> findActiveSearchFields();
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import com.workflow.entitlements.repository.BusinessAppRoleRepository;
 import com.workflow.entitlements.repository.BusinessApplicationRepository;
 import com.workflow.entitlements.repository.UserBusinessAppRoleRepository;
 import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -35,6 +36,7 @@ public class BusinessAppRoleService {
     private final BusinessApplicationRepository businessApplicationRepository;
     private final UserBusinessAppRoleRepository userBusinessAppRoleRepository;
     private final UserRepository userRepository;
+    private final AuthorizationCache authorizationCache;
     
     /**
      * Get all business app roles with pagination
@@ -181,6 +183,7 @@ public class BusinessAppRoleService {
         existingRole.setUpdatedAt(Instant.now());
         
         BusinessAppRole updatedRole = businessAppRoleRepository.save(existingRole);
+        invalidateRoleHolders(roleId);
         log.info("Successfully updated business app role: {}", updatedRole.getId());
         
         return updatedRole;
@@ -203,6 +206,7 @@ public class BusinessAppRoleService {
         role.setIsActive(true);
         role.setUpdatedAt(Instant.now());
         BusinessAppRole activatedRole = businessAppRoleRepository.save(role);
+        invalidateRoleHolders(roleId);
         
         log.info("Successfully activated business app role: {}", activatedRole.getId());
         return activatedRole;
@@ -225,6 +229,7 @@ public class BusinessAppRoleService {
         role.setIsActive(false);
         role.setUpdatedAt(Instant.now());
         BusinessAppRole deactivatedRole = businessAppRoleRepository.save(role);
+        invalidateRoleHolders(roleId);
         
         log.info("Successfully deactivated business app role: {}", deactivatedRole.getId());
         return deactivatedRole;
@@ -290,6 +295,7 @@ public class BusinessAppRoleService {
                 .build();
         
         UserBusinessAppRole savedAssignment = userBusinessAppRoleRepository.save(newAssignment);
+        authorizationCache.invalidateUser(userId);
         log.info("Successfully assigned role {} to user {}", roleId, userId);
         
         return savedAssignment;
@@ -337,6 +343,16 @@ public class BusinessAppRoleService {
         return businessAppRoleRepository.findByIsActiveTrue().size();
     }
     
+    /**
+     * Evict cached authorization state for every user holding the role
+     */
+    private void invalidateRoleHolders(Long roleId) {
+        authorizationCache.invalidateUsers(userBusinessAppRoleRepository.findByBusinessAppRoleId(roleId).stream()
+                .map(UserBusinessAppRole::getUserId)
+                .distinct()
+                .toList());
+    }
+    
     // Private validation methods
     
     private void validateBusinessAppRoleForCreation(BusinessAppRole role) {
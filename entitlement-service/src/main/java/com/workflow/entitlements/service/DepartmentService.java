@@ -6,6 +6,7 @@ import com.workflow.entitlements.entity.UserDepartment;
 import com.workflow.entitlements.repository.DepartmentRepository;
 import com.workflow.entitlements.repository.UserDepartmentRepository;
 import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -30,6 +31,7 @@ public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final UserDepartmentRepository userDepartmentRepository;
     private final UserRepository userRepository;
+    private final AuthorizationCache authorizationCache;
     
     /**
      * Get all departments with pagination
@@ -141,6 +143,7 @@ public class DepartmentService {
         }
         
         Department updatedDepartment = departmentRepository.save(existingDepartment);
+        invalidateDepartmentMembers(departmentId);
         log.info("Successfully updated department: {}", updatedDepartment.getId());
         
         return updatedDepartment;
@@ -162,6 +165,7 @@ public class DepartmentService {
         
         department.setIsActive(true);
         Department activatedDepartment = departmentRepository.save(department);
+        invalidateDepartmentMembers(departmentId);
         
         log.info("Successfully activated department: {}", activatedDepartment.getId());
         return activatedDepartment;
@@ -183,6 +187,7 @@ public class DepartmentService {
         
         department.setIsActive(false);
         Department deactivatedDepartment = departmentRepository.save(department);
+        invalidateDepartmentMembers(departmentId);
         
         log.info("Successfully deactivated department: {}", deactivatedDepartment.getId());
         return deactivatedDepartment;
@@ -248,6 +253,7 @@ public class DepartmentService {
                 .build();
         
         UserDepartment savedAssignment = userDepartmentRepository.save(newAssignment);
+        authorizationCache.invalidateUser(userId);
         log.info("Successfully assigned user {} to department {}", userId, departmentId);
         
         return savedAssignment;
@@ -271,6 +277,13 @@ public class DepartmentService {
         log.warn("User department removal not implemented yet - will be fixed in MILESTONE 4");
     }
     
+    /**
+     * Evict cached principals of everyone in the department; its code and state are principal attributes
+     */
+    private void invalidateDepartmentMembers(Long departmentId) {
+        authorizationCache.invalidateUsers(userDepartmentRepository.findActiveUserIdsByDepartmentId(departmentId));
+    }
+    
     /**
      * Check if department exists
      */
@@ -5,7 +5,9 @@ import com.workflow.entitlements.dto.ems.EMSAuthRequest;
 import com.workflow.entitlements.dto.ems.EMSAuthResponse;
 import com.workflow.entitlements.dto.ems.WhoAmIResponse;
 import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
 import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.dto.response.BatchAuthorizationCheckResponse;
 import com.workflow.entitlements.entity.BusinessAppRole;
 import com.workflow.entitlements.entity.Department;
 import com.workflow.entitlements.entity.User;
@@ -36,6 +38,8 @@ public class EMSService {
     private final HybridAuthorizationService hybridAuthorizationService;
     private final AuthController authController;
     private final UserDepartmentRepository userDepartmentRepository;
+    private final UserContextCache userContextCache;
+    private final UserQueueIndex userQueueIndex;
 
     // Action display name mappings
     private static final Map<String, String> ACTION_DISPLAY_NAMES = Map.of(
@@ -102,6 +106,14 @@ public class EMSService {
         }
     }
 
+    /**
+     * Serialized whoami body for the user's current entitlement version; only rebuilt after a change.
+     * Empty when the user is unknown or the context could not be built.
+     */
+    public Optional<UserContextCache.CachedUserContext> getCachedUserContext(UUID userId) {
+        return Optional.ofNullable(userContextCache.get(userId, () -> buildUserContext(userId.toString())));
+    }
+
     /**
      * Check user authorization for specific resources and actions
      */
@@ -329,27 +341,26 @@ public class EMSService {
     }
 
     private List<String> getUserQueues(UUID userId) {
-        List<String> queues = new ArrayList<>();
-        
         try {
-            List<UserBusinessAppRole> userRoles = userBusinessAppRoleService.getActiveUserRolesByUserId(userId);
-            
-            for (UserBusinessAppRole userRole : userRoles) {
-                BusinessAppRole role = userRole.getBusinessAppRole();
-                Map<String, Object> metadata = role.getMetadata();
-                
-                if (metadata != null && metadata.containsKey("queue")) {
-                    String queue = (String) metadata.get("queue");
-                    if (queue != null && !queues.contains(queue)) {
-                        queues.add(queue);
-                    }
-                }
-            }
+            return userQueueIndex.queuesOf(userId);
         } catch (Exception e) {
             log.error("Error getting user queues for userId: {}", userId, e);
+            return new ArrayList<>();
         }
-        
-        return queues;
+    }
+
+    /**
+     * Queues of each of the given users, for routing services
+     */
+    public Map<UUID, List<String>> getQueuesByUsers(Collection<UUID> userIds) {
+        return userQueueIndex.queuesOf(userIds);
+    }
+
+    /**
+     * Users eligible for each of the given queues, for routing services
+     */
+    public Map<String, Set<UUID>> getUsersByQueues(Collection<String> queues) {
+        return userQueueIndex.usersOf(queues);
     }
 
     private List<EMSAuthResponse.ActionAuthResult> performActionChecks(String userId, EMSAuthRequest request) {
@@ -360,22 +371,55 @@ public class EMSService {
             EMSAuthResponse.ActionAuthResult result = checkSingleAction(userId, request);
             results.add(result);
         } else {
-            // Check common actions for the resource type
-            List<String> commonActions = getCommonActionsForResource(request.getResourceType());
+            // Check common actions for the resource type in one batch
+            results.addAll(checkActionsBatch(userId, request, getCommonActionsForResource(request.getResourceType())));
+        }
+        
+        return results;
+    }
+
+    private List<EMSAuthResponse.ActionAuthResult> checkActionsBatch(String userId, EMSAuthRequest request,
+                                                                     List<String> actionIds) {
+        List<EMSAuthResponse.ActionAuthResult> results = new ArrayList<>();
+        try {
+            AuthorizationCheckRequest template = buildAuthorizationCheckRequest(userId, request);
+            List<BatchAuthorizationCheckRequest.Check> checks = actionIds.stream()
+                .map(actionId -> BatchAuthorizationCheckRequest.Check.builder()
+                    .resource(template.getResource())
+                    .action(mapActionId(actionId))
+                    .build())
+                .toList();
+            
+            BatchAuthorizationCheckResponse batchResponse = hybridAuthorizationService.checkAuthorizationBatch(
+                BatchAuthorizationCheckRequest.builder()
+                    .principal(template.getPrincipal())
+                    .checks(checks)
+                    .build());
             
-            for (String actionId : commonActions) {
-                EMSAuthRequest actionRequest = EMSAuthRequest.builder()
-                    .resourceId(request.getResourceId())
+            for (int i = 0; i < actionIds.size(); i++) {
+                String actionId = actionIds.get(i);
+                AuthorizationCheckResponse authResponse = batchResponse.getResults().get(i);
+                results.add(EMSAuthResponse.ActionAuthResult.builder()
                     .actionId(actionId)
-                    .resourceType(request.getResourceType())
-                    .context(request.getContext())
-                    .build();
-                    
-                EMSAuthResponse.ActionAuthResult result = checkSingleAction(userId, actionRequest);
-                results.add(result);
+                    .displayName(ACTION_DISPLAY_NAMES.getOrDefault(actionId, actionId))
+                    .allowed(authResponse.isAllowed())
+                    .reason(authResponse.getMessage())
+                    .build());
+            }
+            
+        } catch (Exception e) {
+            log.error("Error checking actions {} for userId: {}", actionIds, userId, e);
+            
+            results.clear();
+            for (String actionId : actionIds) {
+                results.add(EMSAuthResponse.ActionAuthResult.builder()
+                    .actionId(actionId)
+                    .displayName(ACTION_DISPLAY_NAMES.getOrDefault(actionId, actionId))
+                    .allowed(false)
+                    .reason("Authorization check failed: " + e.getMessage())
+                    .build());
             }
         }
-        
         return results;
     }
 
@@ -1,14 +1,25 @@
 package com.workflow.entitlements.service;
 
 import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
 import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.dto.response.BatchAuthorizationCheckResponse;
 import com.workflow.entitlements.service.authorization.AuthorizationEngine;
+import com.workflow.entitlements.service.authorization.ShadowEvaluator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Hybrid Authorization Service that orchestrates between different authorization engines.
@@ -20,6 +31,9 @@ import java.util.UUID;
  * Engine Selection:
  * - When authorization.engine.use-cerbos=true: Uses CerbosAuthorizationEngine
  * - When authorization.engine.use-cerbos=false: Uses DatabaseAuthorizationEngine
+ * 
+ * With authorization.shadow.enabled=true a sample of the checks is also evaluated by a second
+ * engine in the background (see ShadowEvaluator); callers always get the configured engine's answer.
  */
 @Service
 @RequiredArgsConstructor
@@ -34,6 +48,12 @@ public class HybridAuthorizationService {
     @Value("${authorization.engine.use-cerbos:false}")
     private boolean useCerbos;
     
+    /**
+     * Present only when shadow evaluation is enabled
+     */
+    @Autowired(required = false)
+    private ShadowEvaluator shadowEvaluator;
+    
     /**
      * Perform authorization check using the configured engine.
      * 
@@ -45,13 +65,61 @@ public class HybridAuthorizationService {
                  authorizationEngine.getEngineType(), request.getPrincipal().getId());
         
         try {
-            return authorizationEngine.checkAuthorization(request);
+            return evaluate(ShadowEvaluator.Operation.CHECK,
+                    engine -> engine.checkAuthorization(request), Collections::singletonList);
         } catch (Exception e) {
             log.error("Authorization check failed with {} engine", authorizationEngine.getEngineType(), e);
             return AuthorizationCheckResponse.error("Authorization system error: " + e.getMessage());
         }
     }
     
+    /**
+     * Perform many authorization checks for one principal in a single engine call.
+     * Identical checks in the request are evaluated once.
+     * 
+     * @param request Principal and the checks to evaluate
+     * @return One decision per requested check, in request order
+     */
+    public BatchAuthorizationCheckResponse checkAuthorizationBatch(BatchAuthorizationCheckRequest request) {
+        List<BatchAuthorizationCheckRequest.Check> checks = request.getChecks();
+        log.debug("Processing batch of {} authorization checks using {} engine for user: {}", 
+                 checks.size(), authorizationEngine.getEngineType(), request.getPrincipal().getId());
+        
+        // Index of each distinct check, in first-seen order
+        Map<CheckKey, Integer> distinct = new LinkedHashMap<>();
+        List<BatchAuthorizationCheckRequest.Check> distinctChecks = new ArrayList<>();
+        int[] positions = new int[checks.size()];
+        for (int i = 0; i < checks.size(); i++) {
+            BatchAuthorizationCheckRequest.Check check = checks.get(i);
+            Integer position = distinct.putIfAbsent(CheckKey.of(check), distinctChecks.size());
+            if (position == null) {
+                position = distinctChecks.size();
+                distinctChecks.add(check);
+            }
+            positions[i] = position;
+        }
+        
+        List<AuthorizationCheckResponse> decisions;
+        try {
+            decisions = evaluate(ShadowEvaluator.Operation.BATCH,
+                    engine -> engine.checkAuthorizationBatch(request.getPrincipal(), distinctChecks), Function.identity());
+        } catch (Exception e) {
+            log.error("Batch authorization check failed with {} engine", authorizationEngine.getEngineType(), e);
+            decisions = Collections.nCopies(distinctChecks.size(),
+                    AuthorizationCheckResponse.error("Authorization system error: " + e.getMessage()));
+        }
+        
+        List<AuthorizationCheckResponse> results = new ArrayList<>(checks.size());
+        for (int position : positions) {
+            results.add(decisions.get(position));
+        }
+        
+        return BatchAuthorizationCheckResponse.builder()
+                .results(results)
+                .engineType(authorizationEngine.getEngineType())
+                .build();
+    }
+    
     /**
      * Check if a user has permission for a specific resource and action.
      * Convenience method for simple authorization checks.
@@ -68,7 +136,9 @@ public class HybridAuthorizationService {
                  userId, resourceType, resourceId, action);
         
         try {
-            return authorizationEngine.checkUserPermission(userId, resourceType, resourceId, action);
+            return evaluate(ShadowEvaluator.Operation.USER_PERMISSION,
+                    engine -> engine.checkUserPermission(userId, resourceType, resourceId, action),
+                    Collections::singletonList);
         } catch (Exception e) {
             log.error("User permission check failed", e);
             return AuthorizationCheckResponse.error("Permission check error: " + e.getMessage());
@@ -121,6 +191,18 @@ public class HybridAuthorizationService {
         }
     }
     
+    /**
+     * Run an engine call on the configured engine, shadow-evaluating it when enabled
+     */
+    private <T> T evaluate(ShadowEvaluator.Operation operation,
+                           Function<AuthorizationEngine, T> call,
+                           Function<T, List<AuthorizationCheckResponse>> decisions) {
+        if (shadowEvaluator == null) {
+            return call.apply(authorizationEngine);
+        }
+        return shadowEvaluator.evaluate(operation, call, decisions);
+    }
+    
     /**
      * Get a description of the current authorization engine.
      */
@@ -129,11 +211,24 @@ public class HybridAuthorizationService {
             return "Database-based RBAC engine using roles and permissions";
         } else if ("CERBOS".equals(authorizationEngine.getEngineType())) {
             return "Cerbos-based ABAC engine using policy evaluation";
+        } else if ("EMBEDDED".equals(authorizationEngine.getEngineType())) {
+            return "In-process ABAC engine evaluating the Cerbos policy files";
         } else {
             return "Unknown authorization engine";
         }
     }
     
+    /**
+     * Identity of a check within a batch
+     */
+    private record CheckKey(String kind, String id, String action, Map<String, Object> attributes) {
+        static CheckKey of(BatchAuthorizationCheckRequest.Check check) {
+            AuthorizationCheckRequest.Resource resource = check.getResource();
+            return new CheckKey(resource.getKind(), resource.getId(), check.getAction(),
+                    Objects.requireNonNullElse(resource.getAttributes(), Map.of()));
+        }
+    }
+    
     /**
      * Data class for authorization system information
      */
@@ -5,6 +5,7 @@ import com.workflow.entitlements.entity.UserBusinessAppRole;
 import com.workflow.entitlements.repository.BusinessAppRoleRepository;
 import com.workflow.entitlements.repository.UserBusinessAppRoleRepository;
 import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -30,6 +31,7 @@ public class UserBusinessAppRoleService {
     private final UserBusinessAppRoleRepository userBusinessAppRoleRepository;
     private final UserRepository userRepository;
     private final BusinessAppRoleRepository businessAppRoleRepository;
+    private final AuthorizationCache authorizationCache;
     
     /**
      * Get all user business app roles with pagination
@@ -136,6 +138,7 @@ public class UserBusinessAppRoleService {
             userBusinessAppRole.getUserId(), userBusinessAppRole.getBusinessAppRole().getId());
         
         UserBusinessAppRole savedRole = userBusinessAppRoleRepository.save(userBusinessAppRole);
+        authorizationCache.invalidateUser(savedRole.getUserId());
         log.info("Successfully created user business app role with ID: {}", savedRole.getId());
         
         return savedRole;
@@ -168,6 +171,7 @@ public class UserBusinessAppRoleService {
         }
         
         UserBusinessAppRole updatedRole = userBusinessAppRoleRepository.save(existingRole);
+        authorizationCache.invalidateUser(updatedRole.getUserId());
         log.info("Successfully updated user business app role: {}", id);
         
         return updatedRole;
@@ -184,11 +188,11 @@ public class UserBusinessAppRoleService {
         
         log.info("Deleting user business app role: {}", id);
         
-        if (!userBusinessAppRoleRepository.existsById(id)) {
-            throw new NoSuchElementException("User business app role not found: " + id);
-        }
+        UserBusinessAppRole existingRole = userBusinessAppRoleRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("User business app role not found: " + id));
         
         userBusinessAppRoleRepository.deleteById(id);
+        authorizationCache.invalidateUser(existingRole.getUserId());
         log.info("Successfully deleted user business app role: {}", id);
     }
     
@@ -212,6 +216,7 @@ public class UserBusinessAppRoleService {
         role.setIsActive(true);
         
         UserBusinessAppRole activatedRole = userBusinessAppRoleRepository.save(role);
+        authorizationCache.invalidateUser(activatedRole.getUserId());
         log.info("Successfully activated user business app role: {}", id);
         
         return activatedRole;
@@ -237,6 +242,7 @@ public class UserBusinessAppRoleService {
         role.setIsActive(false);
         
         UserBusinessAppRole deactivatedRole = userBusinessAppRoleRepository.save(role);
+        authorizationCache.invalidateUser(deactivatedRole.getUserId());
         log.info("Successfully deactivated user business app role: {}", id);
         
         return deactivatedRole;
@@ -276,6 +282,7 @@ public class UserBusinessAppRoleService {
             UserBusinessAppRole assignment = existingAssignment.get();
             assignment.setIsActive(true);
             UserBusinessAppRole savedAssignment = userBusinessAppRoleRepository.save(assignment);
+            authorizationCache.invalidateUser(userId);
             log.info("Activated existing role assignment for user {} and role {}", userId, roleId);
             return savedAssignment;
         } else {
@@ -287,6 +294,7 @@ public class UserBusinessAppRoleService {
                 .build();
             
             UserBusinessAppRole savedAssignment = userBusinessAppRoleRepository.save(newAssignment);
+            authorizationCache.invalidateUser(userId);
             log.info("Created new role assignment for user {} and role {}", userId, roleId);
             return savedAssignment;
         }
@@ -316,6 +324,7 @@ public class UserBusinessAppRoleService {
         UserBusinessAppRole role = assignment.get();
         role.setIsActive(false);
         userBusinessAppRoleRepository.save(role);
+        authorizationCache.invalidateUser(userId);
         log.info("Successfully revoked role {} from user {}", roleId, userId);
     }
     
@@ -0,0 +1,98 @@
+package com.workflow.entitlements.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workflow.entitlements.config.AuthorizationCacheProperties;
+import com.workflow.entitlements.dto.ems.WhoAmIResponse;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Serialized whoami bodies keyed by user, each tagged with the entitlement version it was built at.
+ *
+ * An entry is served only while {@link AuthorizationCache#getUserVersion} still returns its
+ * version, so any role, department or attribute change forces a rebuild. The version is read
+ * before building, so a change that commits during the build leaves the entry already outdated.
+ * The ETag also carries a digest of the body: versions are per node, and two nodes only ever
+ * produce the same ETag for the same bytes.
+ */
+@Component
+@Slf4j
+public class UserContextCache {
+
+    private final AuthorizationCache authorizationCache;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, CachedUserContext> bodies;
+
+    public UserContextCache(AuthorizationCache authorizationCache,
+                            AuthorizationCacheProperties properties,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.authorizationCache = authorizationCache;
+        this.objectMapper = objectMapper;
+
+        AuthorizationCacheProperties.CacheSpec spec = properties.getWhoamiCache();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite());
+        if (spec.isRecordStats()) {
+            builder.recordStats();
+        }
+        this.bodies = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "ems.whoami");
+    }
+
+    /**
+     * Current body for the user, built with the loader when missing or outdated.
+     * Returns null without caching when the loader reports no success.
+     */
+    public CachedUserContext get(UUID userId, Supplier<WhoAmIResponse> loader) {
+        long version = authorizationCache.getUserVersion(userId);
+        CachedUserContext cached = bodies.getIfPresent(userId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        WhoAmIResponse response = loader.get();
+        if (response == null || !Boolean.TRUE.equals(response.getSuccess())) {
+            return null;
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        CachedUserContext built = new CachedUserContext(version, etag(version, body), body);
+        bodies.put(userId, built);
+        log.debug("Cached whoami body for user {} at version {}", userId, version);
+        return built;
+    }
+
+    private static String etag(long version, byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + version + "-" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * JSON body with its quoted ETag
+     */
+    public record CachedUserContext(long version, String etag, byte[] body) {
+    }
+}
@@ -0,0 +1,580 @@
+package com.workflow.entitlements.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.config.UserImportProperties;
+import com.workflow.entitlements.dto.request.UserImportRecord;
+import com.workflow.entitlements.dto.response.UserImportResponse;
+import com.workflow.entitlements.entity.BusinessAppRole;
+import com.workflow.entitlements.entity.Department;
+import com.workflow.entitlements.entity.User;
+import com.workflow.entitlements.repository.BusinessAppRoleRepository;
+import com.workflow.entitlements.repository.DepartmentRepository;
+import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk import of users with their department memberships and business app roles, for
+ * onboarding an application's users in one request instead of a request per user and per
+ * assignment.
+ *
+ * The upload is read as a stream and handled in chunks: the field checks of UserService, one
+ * query for the chunk's usernames and emails, one per reference type for role and department
+ * references no earlier chunk resolved, then batched INSERTs of the users, assignments and
+ * memberships in one transaction. A failing row is reported by line and skipped; the rest of
+ * its chunk still imports. Inserts skip conflicting rows, so a user created concurrently by
+ * another request is reported rather than failing the chunk.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String INSERT_USER_PREFIX = "INSERT INTO entitlements.entitlement_core_users " +
+            "(user_id, username, email, first_name, last_name, is_active, global_attributes, created_at, updated_at) VALUES ";
+    private static final String USER_ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?)";
+    // Batch update counts cannot tell a skipped row from one the driver reports as SUCCESS_NO_INFO,
+    // so the users actually inserted are read back
+    private static final String INSERT_USER_SUFFIX = " ON CONFLICT DO NOTHING RETURNING user_id";
+    // Keeps a statement well under the 65535 bind parameters the protocol allows
+    private static final int MAX_USERS_PER_INSERT = 1_000;
+    private static final String INSERT_ROLE = "INSERT INTO entitlements.user_business_app_roles " +
+            "(user_id, business_app_role_id, is_active) VALUES (?, ?, true) ON CONFLICT DO NOTHING";
+    private static final String INSERT_DEPARTMENT = "INSERT INTO entitlements.user_departments " +
+            "(user_id, department_id, is_active, created_at) VALUES (?, ?, true, ?)";
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "userId", "username", "email", "firstName", "lastName", "isActive", "departments", "roles");
+    private static final List<String> CSV_REQUIRED_COLUMNS = List.of("username", "email", "firstName", "lastName");
+
+    private final UserImportProperties properties;
+    private final UserRepository userRepository;
+    private final BusinessAppRoleRepository businessAppRoleRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuthorizationCache authorizationCache;
+    private final UserQueueIndex userQueueIndex;
+    private final UserSearchIndex userSearchIndex;
+
+    public UserImportService(UserImportProperties properties,
+                             UserRepository userRepository,
+                             BusinessAppRoleRepository businessAppRoleRepository,
+                             DepartmentRepository departmentRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             AuthorizationCache authorizationCache,
+                             UserQueueIndex userQueueIndex,
+                             UserSearchIndex userSearchIndex) {
+        this.properties = properties;
+        this.userRepository = userRepository;
+        this.businessAppRoleRepository = businessAppRoleRepository;
+        this.departmentRepository = departmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.authorizationCache = authorizationCache;
+        this.userQueueIndex = userQueueIndex;
+        this.userSearchIndex = userSearchIndex;
+    }
+
+    /**
+     * Import users from NDJSON (one {@link UserImportRecord} per line) or CSV (a header row
+     * naming the record's columns, list columns separated by ';'). Blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if the CSV header is missing or names unknown columns
+     */
+    public UserImportResponse importUsers(Reader reader, Format format) throws IOException {
+        ImportRun run = new ImportRun();
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        List<String> header = null;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = lines.readLine()) != null) {
+            if (lineNumber++ == 0 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = parseCsvHeader(line);
+                continue;
+            }
+            if (run.received == properties.getMaxRows()) {
+                run.report(lineNumber, null, "Import is limited to " + properties.getMaxRows()
+                        + " rows; this and the following rows were not read");
+                break;
+            }
+            run.received++;
+
+            try {
+                UserImportRecord record = format == Format.CSV
+                        ? parseCsvRecord(header, line)
+                        : objectMapper.readValue(line, UserImportRecord.class);
+                chunk.add(new Row(lineNumber, record));
+            } catch (JsonProcessingException e) {
+                run.fail(lineNumber, null, "Unreadable row: " + e.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException e) {
+                run.fail(lineNumber, null, "Unreadable row: " + e.getMessage());
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run);
+        }
+        if (format == Format.CSV && header == null) {
+            throw new IllegalArgumentException("CSV import requires a header row");
+        }
+
+        run.errors.sort(Comparator.comparingLong(UserImportResponse.RowError::getLine));
+        log.info("Imported {} of {} users ({} failed)", run.imported, run.received, run.failed);
+        return UserImportResponse.builder()
+                .received(run.received)
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.errorsTruncated)
+                .build();
+    }
+
+    private void importChunk(List<Row> rows, ImportRun run) {
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String error = normalize(row);
+            if (error == null) {
+                error = run.claim(row.record);
+            }
+            if (error != null) {
+                run.fail(row, error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (User existing : userRepository.findByUsernameInOrEmailIn(
+                valid.stream().map(row -> row.record.getUsername()).toList(),
+                valid.stream().map(row -> row.record.getEmail()).toList())) {
+            takenUsernames.add(existing.getUsername());
+            takenEmails.add(existing.getEmail());
+        }
+        resolveRoles(valid, run);
+        resolveDepartments(valid, run);
+
+        List<Row> accepted = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            String error = takenUsernames.contains(row.record.getUsername())
+                    ? "Username already exists: " + row.record.getUsername()
+                    : takenEmails.contains(row.record.getEmail())
+                    ? "Email already exists: " + row.record.getEmail()
+                    : resolveReferences(row, run);
+            if (error != null) {
+                run.fail(row, error);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            insert(accepted, run);
+        }
+    }
+
+    private void insert(List<Row> rows, ImportRun run) {
+        boolean[] inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> insertRows(rows));
+        } catch (DataAccessException e) {
+            log.warn("Failed to import a chunk of {} users: {}", rows.size(), e.getMostSpecificCause().getMessage());
+            rows.forEach(row -> run.fail(row, "Not imported: " + e.getMostSpecificCause().getMessage()));
+            return;
+        }
+
+        List<UUID> userIds = new ArrayList<>(rows.size());
+        List<UUID> usersWithRoles = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            if (!inserted[i]) {
+                run.fail(row, "User already exists: " + row.record.getUsername());
+                continue;
+            }
+            userIds.add(row.record.getUserId());
+            if (!row.roleIds.isEmpty()) {
+                usersWithRoles.add(row.record.getUserId());
+            }
+        }
+        run.imported += userIds.size();
+        authorizationCache.invalidateUsers(userIds);
+        // The JDBC inserts bypass the index entity listeners
+        userQueueIndex.usersChanged(usersWithRoles);
+        userSearchIndex.usersChanged(userIds);
+    }
+
+    /**
+     * @return per row, whether the user was inserted rather than skipped as a conflict
+     */
+    private boolean[] insertRows(List<Row> rows) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Set<UUID> insertedIds = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += MAX_USERS_PER_INSERT) {
+            insertedIds.addAll(insertUsers(rows.subList(from, Math.min(rows.size(), from + MAX_USERS_PER_INSERT)), now));
+        }
+
+        boolean[] inserted = new boolean[rows.size()];
+        List<Object[]> roles = new ArrayList<>();
+        List<Object[]> departments = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UUID userId = rows.get(i).record.getUserId();
+            inserted[i] = insertedIds.contains(userId);
+            if (!inserted[i]) {
+                continue;
+            }
+            rows.get(i).roleIds.forEach(roleId -> roles.add(new Object[]{userId, roleId}));
+            rows.get(i).departmentIds.forEach(departmentId -> departments.add(new Object[]{userId, departmentId, now}));
+        }
+        if (!roles.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLE, roles);
+        }
+        if (!departments.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DEPARTMENT, departments);
+        }
+        return inserted;
+    }
+
+    /**
+     * Insert the users in one multi-row statement
+     *
+     * @return the IDs of the users inserted, leaving out those skipped as conflicts
+     */
+    private List<UUID> insertUsers(List<Row> rows, Timestamp now) {
+        StringBuilder sql = new StringBuilder(INSERT_USER_PREFIX.length() + rows.size() * (USER_ROW_PLACEHOLDERS.length() + 2)
+                + INSERT_USER_SUFFIX.length()).append(INSERT_USER_PREFIX);
+        List<Object> args = new ArrayList<>(rows.size() * 9);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(USER_ROW_PLACEHOLDERS);
+            UserImportRecord record = rows.get(i).record;
+            args.addAll(Arrays.asList(record.getUserId(), record.getUsername(), record.getEmail(), record.getFirstName(),
+                    record.getLastName(), record.getIsActive(), rows.get(i).attributesJson, now, now));
+        }
+        sql.append(INSERT_USER_SUFFIX);
+        return jdbcTemplate.queryForList(sql.toString(), UUID.class, args.toArray());
+    }
+
+    /**
+     * Trim and default the record's fields as UserService.createUser does
+     *
+     * @return the validation error, or null
+     */
+    private String normalize(Row row) {
+        UserImportRecord record = row.record;
+        if (isBlank(record.getUsername())) {
+            return "Username is required";
+        }
+        if (isBlank(record.getEmail())) {
+            return "Email is required";
+        }
+        if (isBlank(record.getFirstName())) {
+            return "First name is required";
+        }
+        if (isBlank(record.getLastName())) {
+            return "Last name is required";
+        }
+        record.setUsername(record.getUsername().trim());
+        record.setEmail(record.getEmail().trim().toLowerCase());
+        record.setFirstName(record.getFirstName().trim());
+        record.setLastName(record.getLastName().trim());
+        if (!UserService.isValidUsername(record.getUsername())) {
+            return "Invalid username format: " + record.getUsername();
+        }
+        if (!UserService.isValidEmail(record.getEmail())) {
+            return "Invalid email format: " + record.getEmail();
+        }
+
+        if (record.getUserId() == null) {
+            record.setUserId(UUID.randomUUID());
+        }
+        if (record.getIsActive() == null) {
+            record.setIsActive(true);
+        }
+        try {
+            row.attributesJson = objectMapper.writeValueAsString(
+                    record.getGlobalAttributes() == null ? Map.of() : record.getGlobalAttributes());
+        } catch (JsonProcessingException e) {
+            return "Invalid global attributes: " + e.getOriginalMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Look up the chunk's role references that no earlier chunk resolved, in one query
+     */
+    private void resolveRoles(List<Row> rows, ImportRun run) {
+        Set<String> pending = new HashSet<>();
+        Set<String> businessAppNames = new HashSet<>();
+        for (Row row : rows) {
+            for (String role : references(row.record.getRoles())) {
+                int separator = role.indexOf(':');
+                if (separator > 0 && !run.roles.containsKey(role) && pending.add(role)) {
+                    businessAppNames.add(role.substring(0, separator).trim());
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (BusinessAppRole role : businessAppRoleRepository.findByBusinessAppNameIn(businessAppNames)) {
+            String key = role.getBusinessApplication().getBusinessAppName() + ":" + role.getRoleName();
+            if (Boolean.TRUE.equals(role.getIsActive()) && pending.remove(key)) {
+                run.roles.put(key, role.getId());
+            }
+        }
+        pending.forEach(role -> run.roles.put(role, null));
+    }
+
+    /**
+     * Look up the chunk's department codes that no earlier chunk resolved, in one query
+     */
+    private void resolveDepartments(List<Row> rows, ImportRun run) {
+        Set<String> pending = new HashSet<>();
+        for (Row row : rows) {
+            for (String code : references(row.record.getDepartments())) {
+                if (!run.departments.containsKey(code)) {
+                    pending.add(code);
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Department department : departmentRepository.findByDepartmentCodeIn(pending)) {
+            if (department.isActive() && pending.remove(department.getDepartmentCode())) {
+                run.departments.put(department.getDepartmentCode(), department.getId());
+            }
+        }
+        pending.forEach(code -> run.departments.put(code, null));
+    }
+
+    /**
+     * @return the first unknown reference as an error, or null once all are resolved
+     */
+    private String resolveReferences(Row row, ImportRun run) {
+        for (String role : references(row.record.getRoles())) {
+            Long roleId = role.indexOf(':') > 0 ? run.roles.get(role) : null;
+            if (roleId == null) {
+                return "Unknown or inactive business app role (expected businessAppName:ROLE_NAME): " + role;
+            }
+            row.roleIds.add(roleId);
+        }
+        for (String code : references(row.record.getDepartments())) {
+            Long departmentId = run.departments.get(code);
+            if (departmentId == null) {
+                return "Unknown or inactive department: " + code;
+            }
+            row.departmentIds.add(departmentId);
+        }
+        return null;
+    }
+
+    private static Set<String> references(List<String> values) {
+        Set<String> references = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (!isBlank(value)) {
+                    references.add(value.trim());
+                }
+            }
+        }
+        return references;
+    }
+
+    private static List<String> parseCsvHeader(String line) {
+        List<String> header = parseCsvLine(line).stream().map(String::trim).toList();
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column + " (expected " + CSV_COLUMNS + ")");
+            }
+        }
+        for (String column : CSV_REQUIRED_COLUMNS) {
+            if (!header.contains(column)) {
+                throw new IllegalArgumentException("CSV header is missing the " + column + " column");
+            }
+        }
+        return header;
+    }
+
+    private static UserImportRecord parseCsvRecord(List<String> header, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " columns but found " + values.size());
+        }
+        UserImportRecord record = new UserImportRecord();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header.get(i)) {
+                case "userId" -> record.setUserId(UUID.fromString(value));
+                case "username" -> record.setUsername(value);
+                case "email" -> record.setEmail(value);
+                case "firstName" -> record.setFirstName(value);
+                case "lastName" -> record.setLastName(value);
+                case "isActive" -> record.setIsActive(parseBoolean(value));
+                case "departments" -> record.setDepartments(Arrays.asList(value.split(";")));
+                case "roles" -> record.setRoles(Arrays.asList(value.split(";")));
+                default -> throw new IllegalStateException("Unexpected CSV column: " + header.get(i));
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Split one CSV line; fields may be quoted, with "" for a quote inside a quoted field
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("isActive must be true or false: " + value);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static final class Row {
+        final long line;
+        final UserImportRecord record;
+        final Set<Long> roleIds = new LinkedHashSet<>();
+        final Set<Long> departmentIds = new LinkedHashSet<>();
+        String attributesJson;
+
+        Row(long line, UserImportRecord record) {
+            this.line = line;
+            this.record = record;
+        }
+    }
+
+    private final class ImportRun {
+        int received;
+        int imported;
+        int failed;
+        final List<UserImportResponse.RowError> errors = new ArrayList<>();
+        boolean errorsTruncated;
+
+        final Set<UUID> userIds = new HashSet<>();
+        final Set<String> usernames = new HashSet<>();
+        final Set<String> emails = new HashSet<>();
+        // Reference -> id, or null once looked up and not found, so each is queried once per import
+        final Map<String, Long> roles = new HashMap<>();
+        final Map<String, Long> departments = new HashMap<>();
+
+        /**
+         * @return an error if an earlier row of this import has the same user id, username or email
+         */
+        String claim(UserImportRecord record) {
+            if (!userIds.add(record.getUserId())) {
+                return "Duplicate user id in import: " + record.getUserId();
+            }
+            if (!usernames.add(record.getUsername())) {
+                return "Duplicate username in import: " + record.getUsername();
+            }
+            if (!emails.add(record.getEmail())) {
+                return "Duplicate email in import: " + record.getEmail();
+            }
+            return null;
+        }
+
+        void fail(Row row, String error) {
+            fail(row.line, row.record.getUsername(), error);
+        }
+
+        void fail(long line, String username, String error) {
+            failed++;
+            report(line, username, error);
+        }
+
+        void report(long line, String username, String error) {
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(new UserImportResponse.RowError(line, username, error));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
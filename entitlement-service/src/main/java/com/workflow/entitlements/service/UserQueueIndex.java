@@ -0,0 +1,185 @@
+package com.workflow.entitlements.service;
+
+import com.workflow.entitlements.repository.UserBusinessAppRoleRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory user to work queue mapping and its inverse, queue to eligible users.
+ *
+ * A user's queues are the "queue" metadata of the business app roles they actively hold, in
+ * assignment order. The whole mapping is loaded with one query on first use. A changed assignment
+ * reloads only that user; a changed role, and the periodic refresh that catches changes made
+ * outside JPA, reload everything. Users whose queues changed get their cached authorization state
+ * evicted as well, so no whoami body built from the old queues outlives the change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserQueueIndex {
+
+    private final UserBusinessAppRoleRepository userBusinessAppRoleRepository;
+    private final AuthorizationCache authorizationCache;
+
+    private final Map<UUID, List<String>> userQueues = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> queueUsers = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * Queues the user works, empty when none
+     */
+    public List<String> queuesOf(UUID userId) {
+        ensureLoaded();
+        return userQueues.getOrDefault(userId, List.of());
+    }
+
+    /**
+     * Users eligible for the queue, empty when nobody holds a role routing to it
+     */
+    public Set<UUID> usersOf(String queue) {
+        ensureLoaded();
+        Set<UUID> users = queueUsers.get(queue);
+        return users == null ? Set.of() : Set.copyOf(users);
+    }
+
+    public Map<UUID, List<String>> queuesOf(Collection<UUID> userIds) {
+        Map<UUID, List<String>> result = new HashMap<>();
+        for (UUID userId : userIds) {
+            result.put(userId, queuesOf(userId));
+        }
+        return result;
+    }
+
+    public Map<String, Set<UUID>> usersOf(Collection<String> queues) {
+        Map<String, Set<UUID>> result = new HashMap<>();
+        for (String queue : queues) {
+            result.put(queue, usersOf(queue));
+        }
+        return result;
+    }
+
+    /**
+     * Reload users' queues after their role assignments changed
+     */
+    public void usersChanged(Collection<UUID> userIds) {
+        if (!loaded) {
+            // The first load reads the committed state anyway
+            return;
+        }
+        Set<UUID> changed = new HashSet<>();
+        synchronized (this) {
+            for (UUID userId : userIds) {
+                if (userId == null) {
+                    continue;
+                }
+                List<String> queues = List.copyOf(new LinkedHashSet<>(
+                        userBusinessAppRoleRepository.findActiveQueuesByUserId(userId)));
+                if (apply(userId, queues)) {
+                    changed.add(userId);
+                }
+            }
+        }
+        evict(changed);
+    }
+
+    /**
+     * Full reload, after a role's queue changed or to catch changes made outside JPA
+     */
+    @Scheduled(initialDelayString = "${authorization.queue-index.refresh-interval:PT5M}",
+               fixedDelayString = "${authorization.queue-index.refresh-interval:PT5M}")
+    public void refreshAll() {
+        if (!loaded) {
+            return;
+        }
+        Set<UUID> changed;
+        synchronized (this) {
+            changed = loadAll();
+        }
+        evict(changed);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                loadAll();
+                loaded = true;
+            }
+        }
+    }
+
+    /**
+     * Replace the whole mapping, returning the users whose queues changed
+     */
+    private Set<UUID> loadAll() {
+        Map<UUID, Set<String>> loadedQueues = new HashMap<>();
+        for (Object[] row : userBusinessAppRoleRepository.findActiveUserQueues()) {
+            loadedQueues.computeIfAbsent((UUID) row[0], id -> new LinkedHashSet<>()).add((String) row[1]);
+        }
+
+        Set<UUID> changed = new HashSet<>();
+        for (UUID userId : Set.copyOf(userQueues.keySet())) {
+            if (!loadedQueues.containsKey(userId) && apply(userId, List.of())) {
+                changed.add(userId);
+            }
+        }
+        loadedQueues.forEach((userId, queues) -> {
+            if (apply(userId, List.copyOf(queues))) {
+                changed.add(userId);
+            }
+        });
+        log.info("Indexed {} users across {} queues", userQueues.size(), queueUsers.size());
+        return changed;
+    }
+
+    /**
+     * Set one user's queues and update the inverse mapping; callers hold the lock
+     */
+    private boolean apply(UUID userId, List<String> queues) {
+        List<String> previous = userQueues.getOrDefault(userId, List.of());
+        if (previous.equals(queues)) {
+            return false;
+        }
+        for (String queue : previous) {
+            if (!queues.contains(queue)) {
+                queueUsers.computeIfPresent(queue, (q, users) -> {
+                    users.remove(userId);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+        }
+        for (String queue : queues) {
+            queueUsers.computeIfAbsent(queue, q -> ConcurrentHashMap.newKeySet()).add(userId);
+        }
+        if (queues.isEmpty()) {
+            userQueues.remove(userId);
+        } else {
+            userQueues.put(userId, queues);
+        }
+        return true;
+    }
+
+    private void evict(Set<UUID> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        authorizationCache.invalidateUsersLocally(changed);
+        log.debug("Queues changed for {} users", changed.size());
+    }
+}
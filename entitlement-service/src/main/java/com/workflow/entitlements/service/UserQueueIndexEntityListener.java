@@ -0,0 +1,56 @@
+package com.workflow.entitlements.service;
+
+import com.workflow.entitlements.entity.BusinessAppRole;
+import com.workflow.entitlements.entity.UserBusinessAppRole;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+/**
+ * JPA listener that keeps {@link UserQueueIndex} in step with business app role assignments and
+ * the roles' queue metadata, after commit so the index reads the committed state. Other nodes
+ * reload the user on the USER invalidation event the assignment services already publish.
+ *
+ * The index is looked up lazily because it depends on repositories, which depend on the entity
+ * manager factory that instantiates this listener.
+ */
+@Component
+public class UserQueueIndexEntityListener {
+
+    private final ObjectProvider<UserQueueIndex> userQueueIndex;
+
+    public UserQueueIndexEntityListener(ObjectProvider<UserQueueIndex> userQueueIndex) {
+        this.userQueueIndex = userQueueIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof UserBusinessAppRole assignment) {
+            afterCommit(() -> userQueueIndex.getObject().usersChanged(Set.of(assignment.getUserId())));
+        } else if (entity instanceof BusinessAppRole) {
+            // Rare; any number of holders may have gained or lost the queue
+            afterCommit(() -> userQueueIndex.getObject().refreshAll());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,346 @@
+package com.workflow.entitlements.service;
+
+import com.workflow.entitlements.entity.User;
+import com.workflow.entitlements.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over active users' usernames, email local parts and names, for
+ * ranked prefix and typo-tolerant search in assignment pickers.
+ *
+ * Each word is indexed by its trigrams padded as in pg_trgm (two spaces before, one after),
+ * so the leading trigrams of a query word find the words it is a prefix of, whatever its
+ * length. A user matches when it has at least half of the query's trigrams. Ranking puts an
+ * exact username or email first, then users on whom every query word is a prefix, then the
+ * share of query trigrams matched.
+ *
+ * Users get ordinals, and posting lists are plain int arrays. A changed user is re-added under a
+ * new ordinal and the old one is left as a tombstone, which searches skip. The index compacts
+ * itself once tombstones outnumber live users. It is loaded with one query on first use and
+ * rebuilt by the periodic refresh, which catches changes made outside JPA. The rebuild loads
+ * without holding the lock; changes applied meanwhile are replayed onto it before the swap,
+ * since their rows may be newer than what the load read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final double MIN_SIMILARITY = 0.5;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparingInt(match -> match.entry().username().length())
+            .thenComparing(match -> match.entry().username());
+
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment;
+    // Guarded by the lock: number of usersChanged calls applied, and while a refresh is loading,
+    // each changed user's latest entry (null when removed)
+    private long modifications;
+    private Map<UUID, Entry> changedDuringRefresh;
+
+    private volatile boolean loaded;
+
+    /**
+     * Ids of the best matching active users, best first
+     */
+    public List<UUID> search(String query, int limit) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<String> queryWords = words(localPart(normalized));
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryTrigrams = new HashSet<>();
+        queryWords.forEach(word -> addTrigrams(queryTrigrams, "  " + word));
+        int required = (int) Math.ceil(queryTrigrams.size() * MIN_SIMILARITY);
+        int size = Math.min(limit, MAX_RESULTS);
+
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] hits = new int[segment.entries.size()];
+            IntList touched = new IntList();
+            for (String trigram : queryTrigrams) {
+                IntList posting = segment.postings.get(trigram);
+                if (posting == null) {
+                    continue;
+                }
+                for (int i = 0; i < posting.size; i++) {
+                    if (hits[posting.values[i]]++ == 0) {
+                        touched.add(posting.values[i]);
+                    }
+                }
+            }
+
+            PriorityQueue<Match> top = new PriorityQueue<>(size + 1, BEST_FIRST.reversed());
+            for (int i = 0; i < touched.size; i++) {
+                int ordinal = touched.values[i];
+                Entry entry = segment.entries.get(ordinal);
+                if (entry == null || hits[ordinal] < required) {
+                    continue;
+                }
+                Match match = new Match(entry, score(entry, normalized, queryWords, hits[ordinal], queryTrigrams.size()));
+                if (top.size() < size) {
+                    top.add(match);
+                } else if (BEST_FIRST.compare(match, top.peek()) < 0) {
+                    top.poll();
+                    top.add(match);
+                }
+            }
+            return top.stream().sorted(BEST_FIRST).map(match -> match.entry().userId()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index users after their names, emails or active flag changed
+     */
+    public void usersChanged(Collection<UUID> userIds) {
+        if (!loaded) {
+            // The first load reads the committed state anyway
+            return;
+        }
+        Set<UUID> users = new HashSet<>(userIds);
+        users.remove(null);
+        if (users.isEmpty()) {
+            return;
+        }
+        List<User> current = userRepository.findAllById(users);
+
+        lock.writeLock().lock();
+        try {
+            modifications++;
+            for (UUID userId : users) {
+                segment.remove(userId);
+                recordChange(userId, null);
+            }
+            for (User user : current) {
+                if (Boolean.TRUE.equals(user.getIsActive())) {
+                    Entry entry = entry(user.getUserId(), user.getUsername(), user.getEmail(),
+                            user.getFirstName(), user.getLastName());
+                    segment.add(entry);
+                    recordChange(user.getUserId(), entry);
+                }
+            }
+            if (segment.removed > segment.ordinals.size()) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Full rebuild, catching changes made outside JPA
+     */
+    @Scheduled(initialDelayString = "${authorization.user-search.refresh-interval:PT5M}",
+               fixedDelayString = "${authorization.user-search.refresh-interval:PT5M}")
+    public synchronized void refreshAll() {
+        if (!loaded) {
+            return;
+        }
+        long modificationsBefore;
+        lock.writeLock().lock();
+        try {
+            modificationsBefore = modifications;
+            changedDuringRefresh = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = null;
+        try {
+            rebuilt = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    if (modifications != modificationsBefore) {
+                        replay(rebuilt, changedDuringRefresh);
+                    }
+                    segment = rebuilt;
+                }
+                changedDuringRefresh = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void recordChange(UUID userId, Entry entry) {
+        if (changedDuringRefresh != null) {
+            changedDuringRefresh.put(userId, entry);
+        }
+    }
+
+    private static void replay(Segment rebuilt, Map<UUID, Entry> changes) {
+        changes.forEach((userId, entry) -> {
+            rebuilt.remove(userId);
+            if (entry != null) {
+                rebuilt.add(entry);
+            }
+        });
+        log.debug("Re-applied {} user changes made while the search index was rebuilt", changes.size());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                segment = load();
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Segment load() {
+        Segment loadedSegment = new Segment();
+        for (Object[] row : userRepository.findActiveSearchFields()) {
+            loadedSegment.add(entry((UUID) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+        }
+        log.info("Indexed {} users for search across {} trigrams",
+                loadedSegment.ordinals.size(), loadedSegment.postings.size());
+        return loadedSegment;
+    }
+
+    private static double score(Entry entry, String query, List<String> queryWords, int hits, int queryTrigrams) {
+        double score = (double) hits / queryTrigrams;
+        if (everyWordIsPrefix(queryWords, entry.words())) {
+            score += 1;
+        }
+        if (entry.username().equals(query) || entry.email().equals(query)) {
+            score += 2;
+        }
+        return score;
+    }
+
+    private static boolean everyWordIsPrefix(List<String> queryWords, String[] words) {
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Entry entry(UUID userId, String username, String email, String firstName, String lastName) {
+        String normalizedUsername = username == null ? "" : username.toLowerCase(Locale.ROOT);
+        String normalizedEmail = email == null ? "" : email.toLowerCase(Locale.ROOT);
+        Set<String> words = new LinkedHashSet<>(words(normalizedUsername));
+        words.addAll(words(localPart(normalizedEmail)));
+        words.addAll(words(firstName == null ? "" : firstName.toLowerCase(Locale.ROOT)));
+        words.addAll(words(lastName == null ? "" : lastName.toLowerCase(Locale.ROOT)));
+        return new Entry(userId, normalizedUsername, normalizedEmail, words.toArray(String[]::new));
+    }
+
+    /**
+     * The domain is shared by nearly everyone, so only an email's local part is searchable
+     */
+    private static String localPart(String text) {
+        int at = text.indexOf('@');
+        return at < 0 ? text : text.substring(0, at);
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(WORD_SEPARATOR.split(text)).filter(word -> !word.isEmpty()).toList();
+    }
+
+    private static void addTrigrams(Set<String> trigrams, String padded) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private record Entry(UUID userId, String username, String email, String[] words) {
+    }
+
+    private record Match(Entry entry, double score) {
+    }
+
+    /**
+     * Ordinal-addressed users and the posting lists of their trigrams; guarded by the lock
+     */
+    private static final class Segment {
+        // Null where a user was removed or re-added under a newer ordinal
+        final List<Entry> entries = new ArrayList<>();
+        final Map<UUID, Integer> ordinals = new HashMap<>();
+        final Map<String, IntList> postings = new HashMap<>();
+        int removed;
+
+        void add(Entry entry) {
+            remove(entry.userId());
+            int ordinal = entries.size();
+            entries.add(entry);
+            ordinals.put(entry.userId(), ordinal);
+            Set<String> trigrams = new HashSet<>();
+            for (String word : entry.words()) {
+                addTrigrams(trigrams, "  " + word + " ");
+            }
+            trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, t -> new IntList()).add(ordinal));
+        }
+
+        void remove(UUID userId) {
+            Integer ordinal = ordinals.remove(userId);
+            if (ordinal != null) {
+                entries.set(ordinal, null);
+                removed++;
+            }
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment();
+            entries.stream().filter(Objects::nonNull).forEach(compacted::add);
+            return compacted;
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.workflow.entitlements.service;
+
+import com.workflow.entitlements.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+/**
+ * JPA listener that re-indexes changed users in {@link UserSearchIndex} after commit, so the
+ * index reads the committed state. Other nodes re-index on the USER invalidation event that
+ * UserService already publishes.
+ *
+ * The index is looked up lazily because it depends on repositories, which depend on the entity
+ * manager factory that instantiates this listener.
+ */
+@Component
+public class UserSearchIndexEntityListener {
+
+    private final ObjectProvider<UserSearchIndex> userSearchIndex;
+
+    public UserSearchIndexEntityListener(ObjectProvider<UserSearchIndex> userSearchIndex) {
+        this.userSearchIndex = userSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        afterCommit(() -> userSearchIndex.getObject().usersChanged(Set.of(user.getUserId())));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.workflow.entitlements.service;
 
 import com.workflow.entitlements.entity.User;
 import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -11,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +27,8 @@ import java.util.UUID;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final AuthorizationCache authorizationCache;
+    private final UserSearchIndex userSearchIndex;
     
     /**
      * Get all users with pagination support
@@ -110,6 +114,7 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(user);
+        authorizationCache.invalidateUser(savedUser.getUserId());
         log.info("Successfully created user: {} with ID: {}", savedUser.getUsername(), savedUser.getUserId());
         
         return savedUser;
@@ -156,6 +161,7 @@ public class UserService {
         }
         
         User updatedUser = userRepository.save(existingUser);
+        authorizationCache.invalidateUser(userId);
         log.info("Successfully updated user: {}", updatedUser.getUserId());
         
         return updatedUser;
@@ -177,6 +183,7 @@ public class UserService {
         
         user.setIsActive(true);
         User activatedUser = userRepository.save(user);
+        authorizationCache.invalidateUser(userId);
         
         log.info("Successfully activated user: {}", activatedUser.getUserId());
         return activatedUser;
@@ -198,6 +205,7 @@ public class UserService {
         
         user.setIsActive(false);
         User deactivatedUser = userRepository.save(user);
+        authorizationCache.invalidateUser(userId);
         
         log.info("Successfully deactivated user: {}", deactivatedUser.getUserId());
         return deactivatedUser;
@@ -233,6 +241,7 @@ public class UserService {
         
         // Delete user
         userRepository.deleteById(userId);
+        authorizationCache.invalidateUser(userId);
         
         log.warn("Successfully hard-deleted user: {}", userId);
     }
@@ -262,15 +271,21 @@ public class UserService {
     }
     
     /**
-     * Search users by keyword using existing search method
+     * Search active users by username, email or name, best matches first; tolerates typos
      */
-    public List<User> searchUsers(String keyword) {
+    public List<User> searchUsers(String keyword, int limit) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return List.of();
         }
         
         log.debug("Searching users with keyword: {}", keyword);
-        return userRepository.findBySearchCriteria(keyword.trim());
+        List<UUID> ranked = userSearchIndex.search(keyword, limit);
+        Map<UUID, User> users = new HashMap<>();
+        userRepository.findAllById(ranked).forEach(user -> users.put(user.getUserId(), user));
+        return ranked.stream()
+                .map(users::get)
+                .filter(user -> user != null && Boolean.TRUE.equals(user.getIsActive()))
+                .toList();
     }
     
     // Private validation methods
@@ -339,11 +354,11 @@ public class UserService {
         }
     }
     
-    private boolean isValidEmail(String email) {
+    static boolean isValidEmail(String email) {
         return email != null && email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
     }
     
-    private boolean isValidUsername(String username) {
+    static boolean isValidUsername(String username) {
         return username != null && username.matches("^[a-zA-Z0-9._-]{3,50}$");
     }
 }
\ No newline at end of file
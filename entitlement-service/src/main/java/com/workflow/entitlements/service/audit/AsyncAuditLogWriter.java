@@ -0,0 +1,453 @@
+package com.workflow.entitlements.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.config.AuditWriterProperties;
+import com.workflow.entitlements.entity.EntitlementAuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Writes authorization audit entries off the request path.
+ *
+ * Callers publish into a lock-free ring buffer; a single background thread drains it and
+ * inserts entries with multi-row INSERT statements once flush-size entries are waiting or
+ * the oldest has waited flush-interval. The same statement adds the batch to the per-minute
+ * decision and engine rollups. When the buffer is full the configured overflow policy
+ * applies. The writer never polls: an idle writer blocks until a producer hands it an entry,
+ * and one holding a partial batch parks until the batch's flush deadline, or until producers
+ * have buffered enough entries to fill it. Entries spilled to disk (by policy or because an
+ * insert failed) are replayed on the next start. On shutdown the buffer is drained before
+ * the datasource goes away.
+ */
+@Component
+@Slf4j
+public class AsyncAuditLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_PREFIX = "WITH inserted AS (INSERT INTO entitlements.entitlement_audit_logs " +
+            "(audit_id, event_timestamp, event_type, user_id, resource_type, resource_id, action, decision, " +
+            "decision_reason, engine_type, request_metadata, response_metadata, session_id, ip_address, user_agent) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?, ?::inet, ?)";
+    // Replayed spill files may contain rows that were already inserted; only rows actually inserted
+    // are counted into the per-minute rollups. Sorted upserts keep concurrent writers from deadlocking.
+    private static final String INSERT_SUFFIX = " ON CONFLICT DO NOTHING " +
+            "RETURNING event_timestamp, event_type, decision, engine_type), " +
+            "decisions AS (INSERT INTO entitlements.entitlement_audit_decision_rollups (bucket_start, decision, event_count) " +
+            "SELECT date_trunc('minute', event_timestamp), COALESCE(decision, ''), COUNT(*) FROM inserted " +
+            "WHERE event_type = '" + EntitlementAuditLog.EventType.AUTHORIZATION_CHECK + "' GROUP BY 1, 2 ORDER BY 1, 2 " +
+            "ON CONFLICT (bucket_start, decision) " +
+            "DO UPDATE SET event_count = entitlement_audit_decision_rollups.event_count + EXCLUDED.event_count) " +
+            "INSERT INTO entitlements.entitlement_audit_engine_rollups (bucket_start, engine_type, event_count) " +
+            "SELECT date_trunc('minute', event_timestamp), COALESCE(engine_type, ''), COUNT(*) FROM inserted " +
+            "GROUP BY 1, 2 ORDER BY 1, 2 " +
+            "ON CONFLICT (bucket_start, engine_type) " +
+            "DO UPDATE SET event_count = entitlement_audit_engine_rollups.event_count + EXCLUDED.event_count";
+    // Set while an evaluation whose decisions are not real runs on the thread, see withoutAudit
+    private static final ThreadLocal<Boolean> SUPPRESSED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final long POLL_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_FLUSH_SIZE = 2_000;
+
+    private final AuditWriterProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer<EntitlementAuditLog> buffer;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final Path spillFile;
+
+    private final Counter enqueued;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+
+    private volatile boolean running;
+    // Buffered entries at which producers unpark the parked writer; 0 while it is not parking
+    private volatile int wakeThreshold;
+    private volatile Thread writerThread;
+
+    public AsyncAuditLogWriter(AuditWriterProperties properties,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer<>(properties.getBufferCapacity());
+        this.flushSize = Math.max(1, Math.min(properties.getFlushSize(), MAX_FLUSH_SIZE));
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.spillFile = Paths.get(properties.getSpillFile());
+
+        this.enqueued = Counter.builder("authorization.audit.enqueued").register(meterRegistry);
+        this.written = Counter.builder("authorization.audit.written").register(meterRegistry);
+        this.dropped = Counter.builder("authorization.audit.dropped")
+                .description("Audit entries discarded because the buffer was full").register(meterRegistry);
+        this.spilled = Counter.builder("authorization.audit.spilled")
+                .description("Audit entries written to the local spill file").register(meterRegistry);
+        this.failed = Counter.builder("authorization.audit.failed")
+                .description("Audit entries lost because an insert failed").register(meterRegistry);
+        Gauge.builder("authorization.audit.buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+    }
+
+    /**
+     * Run an action whose audit entries are discarded, such as a shadow evaluation that must not
+     * show up as a second decision
+     */
+    public static <T> T withoutAudit(Supplier<T> action) {
+        boolean outer = SUPPRESSED.get();
+        SUPPRESSED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            SUPPRESSED.set(outer);
+        }
+    }
+
+    /**
+     * Queue an audit entry. Never throws; only blocks under the BLOCK overflow policy.
+     */
+    public void write(EntitlementAuditLog auditLog) {
+        if (SUPPRESSED.get()) {
+            return;
+        }
+        if (buffer.offer(auditLog)) {
+            enqueued.increment();
+            wakeWriter();
+            return;
+        }
+
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                while (!buffer.offer(auditLog)) {
+                    if (!running) {
+                        // Writer is gone - nobody will free space
+                        dropped.increment();
+                        return;
+                    }
+                    LockSupport.parkNanos(POLL_PARK_NANOS);
+                }
+                enqueued.increment();
+                wakeWriter();
+            }
+            case SPILL -> spill(List.of(auditLog));
+            case DROP -> dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit log writer started (capacity {}, flush size {}, interval {}, overflow {})",
+                buffer.capacity(), flushSize, properties.getFlushInterval(), properties.getOverflowPolicy());
+    }
+
+    @Override
+    public void stop() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Audit log writer did not drain within {} - {} entries pending",
+                    properties.getShutdownTimeout(), buffer.size());
+        } else {
+            log.info("Audit log writer stopped");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server (which stops at a higher phase) so in-flight requests can still audit
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void runWriter() {
+        replaySpillFile();
+
+        List<EntitlementAuditLog> pending = new ArrayList<>(flushSize);
+        long firstPendingAt = 0;
+
+        while (running || buffer.size() > 0 || !pending.isEmpty()) {
+            boolean wasEmpty = pending.isEmpty();
+            buffer.drainTo(pending, flushSize - pending.size());
+            if (wasEmpty && !pending.isEmpty()) {
+                firstPendingAt = System.nanoTime();
+            }
+
+            boolean due = !pending.isEmpty() &&
+                    (pending.size() >= flushSize || !running || System.nanoTime() - firstPendingAt >= flushIntervalNanos);
+            if (due) {
+                flush(pending);
+                pending.clear();
+            } else if (pending.isEmpty()) {
+                awaitEntries(1, Long.MAX_VALUE);
+            } else {
+                awaitEntries(flushSize - pending.size(), firstPendingAt + flushIntervalNanos - System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Park until producers have buffered the wanted number of entries, the timeout passes
+     * (Long.MAX_VALUE for none) or the writer is stopped. The threshold is published before the
+     * buffer is checked again, and producers read it after their offer, so either the writer
+     * sees the entries or the producer that completes them sees the threshold.
+     */
+    private void awaitEntries(int wanted, long timeoutNanos) {
+        wakeThreshold = wanted;
+        try {
+            if (!running || buffer.size() >= wanted || timeoutNanos <= 0) {
+                return;
+            }
+            if (timeoutNanos == Long.MAX_VALUE) {
+                LockSupport.park(this);
+            } else {
+                LockSupport.parkNanos(this, timeoutNanos);
+            }
+        } finally {
+            wakeThreshold = 0;
+        }
+    }
+
+    private void wakeWriter() {
+        int threshold = wakeThreshold;
+        if (threshold == 0 || buffer.size() < threshold) {
+            return;
+        }
+        Thread writer = writerThread;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void flush(List<EntitlementAuditLog> batch) {
+        try {
+            insert(batch);
+            written.increment(batch.size());
+        } catch (Exception e) {
+            log.error("Failed to write {} audit entries: {}", batch.size(), e.getMessage());
+            if (properties.getOverflowPolicy() == AuditWriterProperties.OverflowPolicy.SPILL) {
+                spill(batch);
+            } else {
+                failed.increment(batch.size());
+            }
+        }
+    }
+
+    private void insert(List<EntitlementAuditLog> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(batch.size() * 15);
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+            addRow(args, batch.get(i));
+        }
+        sql.append(INSERT_SUFFIX);
+
+        // Pool runs with auto-commit off, so the insert needs its own transaction
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql.toString(), args.toArray()));
+    }
+
+    private void addRow(List<Object> args, EntitlementAuditLog entry) {
+        InetAddress ipAddress = entry.getIpAddress();
+        args.add(entry.getAuditId());
+        args.add(Timestamp.from(entry.getEventTimestamp() != null ? entry.getEventTimestamp() : Instant.now()));
+        args.add(entry.getEventType());
+        args.add(entry.getUserId());
+        args.add(entry.getResourceType());
+        args.add(entry.getResourceId());
+        args.add(entry.getAction());
+        args.add(entry.getDecision());
+        args.add(entry.getDecisionReason());
+        args.add(entry.getEngineType());
+        args.add(toJson(entry.getRequestMetadata()));
+        args.add(toJson(entry.getResponseMetadata()));
+        args.add(entry.getSessionId());
+        args.add(ipAddress != null ? ipAddress.getHostAddress() : null);
+        args.add(entry.getUserAgent());
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    /**
+     * Append entries to the spill file as NDJSON
+     */
+    private synchronized void spill(List<EntitlementAuditLog> entries) {
+        try {
+            if (spillFile.getParent() != null) {
+                Files.createDirectories(spillFile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (EntitlementAuditLog entry : entries) {
+                    writer.write(objectMapper.writeValueAsString(SpilledEntry.of(entry)));
+                    writer.write('\n');
+                }
+            }
+            spilled.increment(entries.size());
+        } catch (IOException e) {
+            log.error("Failed to spill {} audit entries to {}: {}", entries.size(), spillFile, e.getMessage());
+            failed.increment(entries.size());
+        }
+    }
+
+    /**
+     * Insert entries spilled by a previous run, then remove the file.
+     * A file left over from an interrupted replay is picked up first.
+     */
+    private void replaySpillFile() {
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        if (!Files.isRegularFile(replaying)) {
+            synchronized (this) {
+                if (!Files.isRegularFile(spillFile)) {
+                    return;
+                }
+                try {
+                    Files.move(spillFile, replaying);
+                } catch (IOException e) {
+                    log.error("Failed to take spilled audit entries from {}: {}", spillFile, e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            List<EntitlementAuditLog> batch = new ArrayList<>(flushSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(objectMapper.readValue(line, SpilledEntry.class).toAuditLog());
+                if (batch.size() == flushSize) {
+                    insert(batch);
+                    replayed += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insert(batch);
+                replayed += batch.size();
+            }
+        } catch (Exception e) {
+            log.error("Failed to replay spilled audit entries from {} after {} rows: {}",
+                    replaying, replayed, e.getMessage());
+            return;
+        }
+
+        try {
+            Files.delete(replaying);
+        } catch (IOException e) {
+            log.warn("Failed to remove replayed spill file {}: {}", replaying, e.getMessage());
+        }
+        log.info("Replayed {} spilled audit entries", replayed);
+    }
+
+    /**
+     * Flat, Jackson-friendly form of an audit entry for the spill file
+     */
+    record SpilledEntry(UUID auditId, Instant eventTimestamp, String eventType, UUID userId,
+                        String resourceType, String resourceId, String action, String decision,
+                        String decisionReason, String engineType, Map<String, Object> requestMetadata,
+                        Map<String, Object> responseMetadata, String sessionId, String ipAddress,
+                        String userAgent) {
+
+        static SpilledEntry of(EntitlementAuditLog entry) {
+            return new SpilledEntry(entry.getAuditId(), entry.getEventTimestamp(), entry.getEventType(),
+                    entry.getUserId(), entry.getResourceType(), entry.getResourceId(), entry.getAction(),
+                    entry.getDecision(), entry.getDecisionReason(), entry.getEngineType(),
+                    entry.getRequestMetadata(), entry.getResponseMetadata(), entry.getSessionId(),
+                    entry.getIpAddress() != null ? entry.getIpAddress().getHostAddress() : null,
+                    entry.getUserAgent());
+        }
+
+        EntitlementAuditLog toAuditLog() {
+            InetAddress address = null;
+            if (ipAddress != null) {
+                try {
+                    // Literal addresses only, so no DNS lookup happens here
+                    address = InetAddress.getByName(ipAddress);
+                } catch (IOException e) {
+                    // Keep the entry without the address
+                }
+            }
+            return EntitlementAuditLog.builder()
+                    .auditId(auditId)
+                    .eventTimestamp(eventTimestamp)
+                    .eventType(eventType)
+                    .userId(userId)
+                    .resourceType(resourceType)
+                    .resourceId(resourceId)
+                    .action(action)
+                    .decision(decision)
+                    .decisionReason(decisionReason)
+                    .engineType(engineType)
+                    .requestMetadata(requestMetadata)
+                    .responseMetadata(responseMetadata)
+                    .sessionId(sessionId)
+                    .ipAddress(address)
+                    .userAgent(userAgent)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.workflow.entitlements.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.config.AuditWriterProperties;
+import com.workflow.entitlements.repository.AuditLogReadRepository;
+import com.workflow.entitlements.repository.AuditLogReadRepository.Cursor;
+import com.workflow.entitlements.repository.AuditLogReadRepository.Entry;
+import com.workflow.entitlements.repository.AuditLogReadRepository.Filter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Paged audit log queries and constant-memory exports.
+ *
+ * Exports read through a database cursor and write each row to the output as it arrives,
+ * so memory use does not depend on how many rows match.
+ */
+@Service
+@Slf4j
+public class AuditLogQueryService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    static final String CSV_HEADER = "audit_id,event_timestamp,event_type,user_id,resource_type,resource_id," +
+            "action,decision,decision_reason,engine_type,request_metadata,response_metadata,session_id," +
+            "ip_address,user_agent";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final AuditLogReadRepository repository;
+    private final AuditWriterProperties.Query properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AuditLogQueryService(AuditLogReadRepository repository,
+                                AuditWriterProperties properties,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.properties = properties.getQuery();
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Newest entries first; pass the returned cursor back to continue
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page findPage(Filter filter, String cursor, Integer limit) {
+        int pageSize = Math.min(Math.max(1, Objects.requireNonNullElse(limit, properties.getDefaultPageSize())),
+                properties.getMaxPageSize());
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+        // One extra row tells whether there is a next page
+        List<Entry> rows = repository.findPage(filter, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new Page(rows, null);
+        }
+        List<Entry> items = rows.subList(0, pageSize);
+        return new Page(List.copyOf(items), Cursor.of(items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Write all matching entries to the stream; the stream is flushed but not closed
+     */
+    public long export(Filter filter, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long[] rows = new long[1];
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    repository.stream(filter, properties.getExportFetchSize(), entry -> {
+                        if (format == Format.CSV) {
+                            writeCsv(writer, entry);
+                        } else {
+                            writer.write(objectMapper.writeValueAsString(entry));
+                            writer.write('\n');
+                        }
+                        rows[0]++;
+                    }));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} audit entries as {} in {} ms", rows[0], format,
+                (System.nanoTime() - started) / 1_000_000);
+        return rows[0];
+    }
+
+    static void writeCsv(Writer writer, Entry entry) throws IOException {
+        Object[] cells = {entry.auditId(), entry.eventTimestamp(), entry.eventType(), entry.userId(),
+                entry.resourceType(), entry.resourceId(), entry.action(), entry.decision(),
+                entry.decisionReason(), entry.engineType(), entry.requestMetadata(), entry.responseMetadata(),
+                entry.sessionId(), entry.ipAddress(), entry.userAgent()};
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (cells[i] != null) {
+                writeCsvCell(writer, cells[i].toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvCell(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public record Page(List<Entry> items, String nextCursor) {
+    }
+}
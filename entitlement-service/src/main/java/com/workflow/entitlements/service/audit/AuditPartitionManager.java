@@ -0,0 +1,162 @@
+package com.workflow.entitlements.service.audit;
+
+import com.workflow.entitlements.config.AuditWriterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the daily partitions of entitlement_audit_logs in step with the calendar.
+ *
+ * Partitions for the next premake-days are created ahead of time, so the audit writer never
+ * lands in the default partition. When retention is enabled, expired days are dropped whole
+ * instead of deleted row by row, and rollup rows past their own retention are deleted. All nodes
+ * run this; an advisory lock keeps them from racing on the same DDL.
+ */
+@Component
+@Slf4j
+public class AuditPartitionManager {
+
+    static final String PARTITION_PREFIX = "entitlement_audit_logs_p";
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final long LOCK_KEY = 0x61756469745f70L;
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            JOIN pg_namespace ns ON ns.oid = parent.relnamespace
+            WHERE ns.nspname = 'entitlements' AND parent.relname = 'entitlement_audit_logs'
+            """;
+
+    private static final String CREATE_PARTITION_SQL = "SELECT entitlements.create_audit_log_partition(?)";
+
+    private static final String PURGE_DEFAULT_SQL =
+            "DELETE FROM entitlements.entitlement_audit_logs_default WHERE event_timestamp < ?";
+
+    private static final String PURGE_DECISION_ROLLUPS_SQL =
+            "DELETE FROM entitlements.entitlement_audit_decision_rollups WHERE bucket_start < ?";
+
+    private static final String PURGE_ENGINE_ROLLUPS_SQL =
+            "DELETE FROM entitlements.entitlement_audit_engine_rollups WHERE bucket_start < ?";
+
+    private final AuditWriterProperties.Retention properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public AuditPartitionManager(AuditWriterProperties properties, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this(properties, jdbcTemplate, transactionManager, Clock.systemUTC());
+    }
+
+    AuditPartitionManager(AuditWriterProperties properties, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager, Clock clock) {
+        this.properties = properties.getRetention();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelay = 30_000,
+               fixedDelayString = "${authorization.audit.retention.maintenance-interval:PT1H}")
+    public void maintain() {
+        LocalDate today = LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+        Set<LocalDate> existing = existingPartitions();
+
+        for (int i = 0; i <= properties.getPremakeDays(); i++) {
+            LocalDate day = today.plusDays(i);
+            if (!existing.contains(day)) {
+                locked("create audit partition for " + day, () -> {
+                    Boolean created = jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, Boolean.class, Date.valueOf(day));
+                    if (Boolean.TRUE.equals(created)) {
+                        log.info("Created audit partition {}", partitionName(day));
+                    }
+                });
+            }
+        }
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        // A day is dropped once all of it is past the cutoff
+        LocalDate rawCutoff = today.minusDays(Math.max(1, properties.getRawRetention().toDays()));
+        for (LocalDate day : existing) {
+            if (day.isBefore(rawCutoff)) {
+                locked("drop audit partition for " + day, () -> {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS entitlements." + partitionName(day));
+                    log.info("Dropped expired audit partition {}", partitionName(day));
+                });
+            }
+        }
+
+        Timestamp rawCutoffTime = Timestamp.from(rawCutoff.atStartOfDay(ZoneOffset.UTC).toInstant());
+        locked("purge default audit partition", () -> jdbcTemplate.update(PURGE_DEFAULT_SQL, rawCutoffTime));
+
+        Timestamp rollupCutoff = Timestamp.from(clock.instant().minus(properties.getRollupRetention()));
+        locked("purge audit rollups", () -> {
+            int purged = jdbcTemplate.update(PURGE_DECISION_ROLLUPS_SQL, rollupCutoff)
+                    + jdbcTemplate.update(PURGE_ENGINE_ROLLUPS_SQL, rollupCutoff);
+            if (purged > 0) {
+                log.debug("Purged {} audit rollup rows before {}", purged, rollupCutoff);
+            }
+        });
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + SUFFIX_FORMAT.format(day);
+    }
+
+    /**
+     * Days that currently have a partition; the default partition and foreign names are skipped
+     */
+    Set<LocalDate> existingPartitions() {
+        Set<LocalDate> days = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            try {
+                days.add(LocalDate.parse(name.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT));
+            } catch (DateTimeParseException e) {
+                log.debug("Ignoring audit partition {}", name);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Run one maintenance step in its own transaction under the cluster-wide advisory lock.
+     * The lock timeout keeps a DROP from queueing audit inserts behind a long-running report.
+     */
+    private void locked(String description, Runnable step) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (ResultSetExtractor<Void>) rs -> null, LOCK_KEY);
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                step.run();
+            });
+        } catch (Exception e) {
+            log.warn("Failed to {}: {}", description, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.workflow.entitlements.service.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ *
+ * Producers claim a slot by CAS on the tail and then publish the element into it. The
+ * consumer takes elements in claim order, stopping at the first claimed-but-unpublished
+ * slot, and clears each slot before advancing the head so a producer never overwrites
+ * an element that has not been consumed.
+ */
+final class AuditRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head.get() >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+
+        slots.lazySet((int) claimed & mask, element);
+        return true;
+    }
+
+    /**
+     * Move up to max published elements into the target list. Single consumer only.
+     *
+     * @return number of elements moved
+     */
+    int drainTo(List<E> target, int max) {
+        long current = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) current & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            target.add(element);
+            current++;
+            drained++;
+        }
+        if (drained > 0) {
+            head.set(current);
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,342 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workflow.entitlements.config.AuthorizationCacheProperties;
+import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.service.invalidation.InvalidationBus;
+import com.workflow.entitlements.service.invalidation.InvalidationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caffeine caches in front of the authorization engines.
+ *
+ * Three tiers, sized and timed by authorization.cache.*:
+ * - user context: principals per engine and user
+ * - permissions: role-based and resource-specific permission lookups
+ * - decisions: complete allow/deny results
+ *
+ * Every entry is keyed by user, and each cache keeps an index of its keys per user, so a change
+ * to a user's data evicts exactly that user's entries without scanning the cache. Evictions
+ * requested inside a transaction run after commit. A value loaded before an eviction is only
+ * stored if the user's version is unchanged once it is in the cache, so a check that read the
+ * pre-commit state cannot put it back afterwards. Invalidations are also published on the
+ * {@link InvalidationBus}, which applies them to the other nodes through the *Locally methods.
+ *
+ * Every local eviction also advances the affected users' entitlement version, which callers
+ * caching derived views (such as the whoami body) compare to tell whether they are current.
+ */
+@Component
+@Slf4j
+public class AuthorizationCache {
+
+    private final UserKeyedCache<PrincipalKey, AuthorizationCheckRequest.Principal> principals;
+    private final UserKeyedCache<PermissionKey, Boolean> permissions;
+    private final UserKeyedCache<DecisionKey, AuthorizationCheckResponse> decisions;
+    private final InvalidationBus invalidationBus;
+
+    // Only ever grows; per-user versions and the all-users version are drawn from it
+    private final AtomicLong versionClock = new AtomicLong();
+    private final Map<UUID, Long> userVersions = new ConcurrentHashMap<>();
+    private volatile long allUsersVersion;
+
+    @Autowired
+    public AuthorizationCache(AuthorizationCacheProperties properties, MeterRegistry meterRegistry,
+                              InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        this.principals = new UserKeyedCache<>(properties.getUserContextCache(), this::getUserVersion);
+        this.permissions = new UserKeyedCache<>(properties.getPermissionsCache(), this::getUserVersion);
+        this.decisions = new UserKeyedCache<>(properties.getDecisionsCache(), this::getUserVersion);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals.cache, "authorization.user-context");
+        CaffeineCacheMetrics.monitor(meterRegistry, permissions.cache, "authorization.permissions");
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions.cache, "authorization.decisions");
+    }
+
+    /**
+     * Single node cache, nothing is published
+     */
+    AuthorizationCache(AuthorizationCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, null);
+    }
+
+    /**
+     * Cached principal for a user; null results (unknown or inactive user) are not cached
+     */
+    public AuthorizationCheckRequest.Principal getPrincipal(String engineType, UUID userId,
+                                                            Supplier<AuthorizationCheckRequest.Principal> loader) {
+        PrincipalKey key = new PrincipalKey(engineType, userId);
+        long version = getUserVersion(userId);
+        AuthorizationCheckRequest.Principal principal = principals.cache.getIfPresent(key);
+        if (principal == null) {
+            principal = loader.get();
+            if (principal != null) {
+                principals.put(key, principal, version);
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Cached permission lookup. resourceId is null for role-based permissions.
+     */
+    public boolean hasPermission(UUID userId, String resourceType, String resourceId, String action,
+                                 Supplier<Boolean> loader) {
+        return permissions.get(new PermissionKey(userId, resourceType, resourceId, action), loader);
+    }
+
+    public AuthorizationCheckResponse getDecision(DecisionKey key) {
+        return decisions.cache.getIfPresent(key);
+    }
+
+    /**
+     * Cache a decision; error responses are never cached. userVersion is
+     * {@link #getUserVersion} of the key's user, read before the decision was evaluated; the
+     * decision is dropped if the user's entries were evicted since.
+     */
+    public void putDecision(DecisionKey key, AuthorizationCheckResponse response, long userVersion) {
+        if (response != null && response.getValidationResult() == null) {
+            decisions.put(key, response, userVersion);
+        }
+    }
+
+    /**
+     * Version of a user's entitlement state on this node. It increases whenever the user's
+     * entries are evicted, locally or on behalf of another node, and never goes back.
+     */
+    public long getUserVersion(UUID userId) {
+        if (userId == null) {
+            return allUsersVersion;
+        }
+        return Math.max(userVersions.getOrDefault(userId, 0L), allUsersVersion);
+    }
+
+    /**
+     * Evict everything cached for a user on every node (after commit when called inside a transaction)
+     */
+    public void invalidateUser(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> invalidateUserLocally(userId));
+        publish(List.of(userId.toString()));
+    }
+
+    /**
+     * Evict everything cached for a set of users, e.g. all holders of a changed role
+     */
+    public void invalidateUsers(Iterable<UUID> userIds) {
+        Set<UUID> users = new HashSet<>();
+        userIds.forEach(users::add);
+        users.remove(null);
+        if (users.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> invalidateUsersLocally(users));
+        publish(users.stream().map(UUID::toString).toList());
+    }
+
+    public void invalidateAll() {
+        afterCommit(this::invalidateAllLocally);
+        if (invalidationBus != null) {
+            invalidationBus.publishFlush();
+        }
+    }
+
+    /**
+     * Evict a user's entries on this node only; used for events received from other nodes
+     */
+    public void invalidateUserLocally(UUID userId) {
+        invalidateUsersLocally(Set.of(userId));
+    }
+
+    /**
+     * Evict several users' entries on this node, touching only those users' keys
+     */
+    public void invalidateUsersLocally(Set<UUID> userIds) {
+        long version = versionClock.incrementAndGet();
+        for (UUID userId : userIds) {
+            userVersions.put(userId, version);
+            principals.invalidateUser(userId);
+            permissions.invalidateUser(userId);
+            decisions.invalidateUser(userId);
+        }
+        log.debug("Evicted authorization cache entries for {} users", userIds.size());
+    }
+
+    public void invalidateAllLocally() {
+        allUsersVersion = versionClock.incrementAndGet();
+        principals.invalidateAll();
+        permissions.invalidateAll();
+        decisions.invalidateAll();
+        log.debug("Evicted all authorization cache entries");
+    }
+
+    /**
+     * Entries cached across the three tiers; for tests and diagnostics
+     */
+    long estimatedSize() {
+        principals.cache.cleanUp();
+        permissions.cache.cleanUp();
+        decisions.cache.cleanUp();
+        return principals.cache.estimatedSize() + permissions.cache.estimatedSize() + decisions.cache.estimatedSize();
+    }
+
+    /**
+     * Users with indexed keys across the three tiers; for tests and diagnostics
+     */
+    int indexedUsers() {
+        Set<UUID> users = new HashSet<>(principals.keysByUser.keySet());
+        users.addAll(permissions.keysByUser.keySet());
+        users.addAll(decisions.keysByUser.keySet());
+        return users.size();
+    }
+
+    private void publish(List<String> userIds) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(InvalidationEvent.Type.USER, userIds);
+        }
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    /**
+     * Cache keys scoped to one user
+     */
+    interface UserScopedKey {
+        UUID userId();
+    }
+
+    record PrincipalKey(String engineType, UUID userId) implements UserScopedKey {
+    }
+
+    record PermissionKey(UUID userId, String resourceType, String resourceId, String action) implements UserScopedKey {
+    }
+
+    /**
+     * Decision cache key. Attribute maps are only part of the key for engines whose
+     * decisions depend on them; pass null otherwise.
+     */
+    public record DecisionKey(String engineType, UUID userId, String resourceType, String resourceId, String action,
+                              Map<String, Object> principalAttributes, Map<String, Object> resourceAttributes)
+            implements UserScopedKey {
+    }
+
+    /**
+     * A Caffeine cache with an index of its keys per user.
+     *
+     * A key is indexed before its entry is stored and unindexed by the eviction listener when
+     * size or expiry removes it, so the index never misses a cached key. It may briefly hold a
+     * key whose load failed, which only makes a later eviction of that user a no-op for it.
+     * Each user's key set is only read or changed inside a compute on the index map.
+     *
+     * An eviction advances the user's version before removing the indexed keys. A writer that
+     * still sees the version it started from after storing its entry therefore either ran before
+     * the eviction bumped it, and the eviction removes the entry, or drops the entry itself.
+     */
+    private static final class UserKeyedCache<K extends UserScopedKey, V> {
+
+        final Cache<K, V> cache;
+        final Map<UUID, Set<K>> keysByUser = new ConcurrentHashMap<>();
+        private final ToLongFunction<UUID> versions;
+
+        UserKeyedCache(AuthorizationCacheProperties.CacheSpec spec, ToLongFunction<UUID> versions) {
+            this.versions = versions;
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumSize(spec.getMaximumSize())
+                    .expireAfterWrite(spec.getExpireAfterWrite());
+            if (spec.isRecordStats()) {
+                builder.recordStats();
+            }
+            this.cache = builder.<K, V>evictionListener((key, value, cause) -> {
+                if (key != null) {
+                    unindex(key);
+                }
+            }).build();
+        }
+
+        V get(K key, Supplier<V> loader) {
+            long version = versions.applyAsLong(key.userId());
+            index(key);
+            V value = cache.get(key, k -> loader.get());
+            discardIfEvictedSince(key, version);
+            return value;
+        }
+
+        void put(K key, V value, long version) {
+            if (versions.applyAsLong(key.userId()) != version) {
+                return;
+            }
+            index(key);
+            cache.put(key, value);
+            discardIfEvictedSince(key, version);
+        }
+
+        private void discardIfEvictedSince(K key, long version) {
+            if (versions.applyAsLong(key.userId()) != version) {
+                cache.invalidate(key);
+            }
+        }
+
+        void invalidateUser(UUID userId) {
+            Set<K> keys = keysByUser.remove(userId);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+
+        void invalidateAll() {
+            keysByUser.clear();
+            cache.invalidateAll();
+        }
+
+        private void index(K key) {
+            if (key.userId() == null) {
+                return;
+            }
+            keysByUser.compute(key.userId(), (userId, keys) -> {
+                Set<K> indexed = keys == null ? new HashSet<>() : keys;
+                indexed.add(key);
+                return indexed;
+            });
+        }
+
+        private void unindex(K key) {
+            if (key.userId() == null) {
+                return;
+            }
+            keysByUser.computeIfPresent(key.userId(), (userId, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.workflow.entitlements.service.authorization;
 
 import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
 import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -26,6 +28,25 @@ public interface AuthorizationEngine {
      */
     AuthorizationCheckResponse checkAuthorization(AuthorizationCheckRequest request);
     
+    /**
+     * Evaluate many (resource, action) checks for one principal.
+     * Engines override this to evaluate the checks in bulk; the default evaluates them one by one.
+     * 
+     * @param principal Principal shared by all checks
+     * @param checks Distinct checks to evaluate
+     * @return One response per check, in the same order
+     */
+    default List<AuthorizationCheckResponse> checkAuthorizationBatch(AuthorizationCheckRequest.Principal principal,
+                                                                     List<BatchAuthorizationCheckRequest.Check> checks) {
+        return checks.stream()
+                .map(check -> checkAuthorization(AuthorizationCheckRequest.builder()
+                        .principal(principal)
+                        .resource(check.getResource())
+                        .action(check.getAction())
+                        .build()))
+                .toList();
+    }
+    
     /**
      * Check if a user has permission for a specific resource and action.
      * Convenience method that builds the AuthorizationCheckRequest internally.
@@ -1,75 +1,113 @@
 package com.workflow.entitlements.service.authorization;
 
+import com.workflow.entitlements.cerbos.CerbosCheckClient;
+import com.workflow.entitlements.cerbos.CerbosValues;
+import com.workflow.entitlements.config.AuthorizationConfig;
+import com.workflow.entitlements.config.CerbosProperties;
 import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
 import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
 import com.workflow.entitlements.entity.*;
 import com.workflow.entitlements.repository.*;
-import dev.cerbos.sdk.CerbosBlockingClient;
-import dev.cerbos.sdk.CheckResourcesRequestBuilder;
+import com.workflow.entitlements.service.audit.AsyncAuditLogWriter;
+import dev.cerbos.api.v1.effect.Effect;
+import dev.cerbos.api.v1.engine.Engine;
+import dev.cerbos.api.v1.request.Request.CheckResourcesRequest;
+import dev.cerbos.api.v1.response.Response.CheckResourcesResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Cerbos-based authorization engine implementation.
  * Uses Cerbos policy engine for ABAC (Attribute-Based Access Control).
  * 
+ * All checks of a request are sent to the PDP as one CheckResources call with one entry
+ * per distinct resource and all of its requested actions.
+ * 
  * This engine is selected when authorization.engine.use-cerbos=true in AuthorizationConfig.
  */
 @Component
-@org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
-    value = "authorization.engine.use-cerbos", 
-    havingValue = "true", 
-    matchIfMissing = false)
+@org.springframework.boot.autoconfigure.condition.ConditionalOnExpression(AuthorizationConfig.CERBOS_ENGINE_ENABLED)
 @RequiredArgsConstructor
 @Slf4j
 public class CerbosAuthorizationEngine implements AuthorizationEngine {
     
-    private final CerbosBlockingClient cerbosClient;
-    private final UserRepository userRepository;
-    private final UserDepartmentRepository userDepartmentRepository;
-    private final UserBusinessAppRoleRepository userBusinessAppRoleRepository;
-    private final BusinessApplicationRepository businessApplicationRepository;
-    private final BusinessAppRoleRepository businessAppRoleRepository;
-    private final DepartmentRepository departmentRepository;
-    private final EntitlementAuditLogRepository auditLogRepository;
-    private final EntitlementUserDomainRoleRepository userDomainRoleRepository;
+    /**
+     * Cerbos requires a resource ID; used for checks on resources that do not exist yet (e.g. create)
+     */
+    static final String UNSPECIFIED_RESOURCE_ID = "unspecified";
+    
+    private static final String ALLOWED_REASON = "Cerbos policy evaluation granted access";
+    private static final String DENIED_REASON = "Cerbos policy evaluation denied access";
+    
+    private final CerbosCheckClient cerbosClient;
+    private final CerbosProperties cerbosProperties;
+    private final PrincipalReadRepository principalReadRepository;
+    private final AsyncAuditLogWriter auditLogWriter;
+    private final AuthorizationCache authorizationCache;
     
     @Override
     public AuthorizationCheckResponse checkAuthorization(AuthorizationCheckRequest request) {
-        try {
-            log.debug("Cerbos engine processing authorization request for user: {}", 
-                     request.getPrincipal().getId());
-            
-            UUID userId = request.getPrincipal().getId();
-            String resourceType = request.getResource().getKind();
-            String resourceId = request.getResource().getId();
-            String action = request.getAction();
-            
-            // Perform actual Cerbos policy evaluation
-            boolean allowed = performCerbosAuthorizationCheck(request);
-            String reason = allowed ? "Cerbos policy evaluation granted access" : 
-                                    "Cerbos policy evaluation denied access";
-            
-            // Log the authorization decision
-            logAuthorizationDecision(userId, resourceType, resourceId, action, allowed, reason);
+        log.debug("Cerbos engine processing authorization request for user: {}", 
+                 request.getPrincipal().getId());
+        
+        return checkAuthorizationBatch(request.getPrincipal(), List.of(BatchAuthorizationCheckRequest.Check.builder()
+                .resource(request.getResource())
+                .action(request.getAction())
+                .build()))
+                .get(0);
+    }
+    
+    @Override
+    public List<AuthorizationCheckResponse> checkAuthorizationBatch(AuthorizationCheckRequest.Principal principal,
+                                                                    List<BatchAuthorizationCheckRequest.Check> checks) {
+        UUID userId = principal.getId();
+        AuthorizationCheckResponse[] results = new AuthorizationCheckResponse[checks.size()];
+        AuthorizationCache.DecisionKey[] decisionKeys = new AuthorizationCache.DecisionKey[checks.size()];
+        long userVersion = authorizationCache.getUserVersion(userId);
+        
+        // Checks not answered from the cache, grouped by resource
+        Map<ResourceKey, List<Integer>> pending = new LinkedHashMap<>();
+        for (int i = 0; i < checks.size(); i++) {
+            BatchAuthorizationCheckRequest.Check check = checks.get(i);
+            AuthorizationCheckRequest.Resource resource = check.getResource();
             
-            if (allowed) {
-                return AuthorizationCheckResponse.allowed();
+            // ABAC decisions depend on the principal and resource attributes, so they are part of the key
+            decisionKeys[i] = new AuthorizationCache.DecisionKey(
+                    getEngineType(), userId, resource.getKind(), resource.getId(), check.getAction(),
+                    principal.getAttributes(), resource.getAttributes());
+            AuthorizationCheckResponse cached = authorizationCache.getDecision(decisionKeys[i]);
+            if (cached != null) {
+                logAuthorizationDecision(userId, resource.getKind(), resource.getId(), check.getAction(),
+                        cached.isAllowed(), cached.getMessage());
+                results[i] = cached;
             } else {
-                return AuthorizationCheckResponse.denied(reason);
+                pending.computeIfAbsent(ResourceKey.of(resource), key -> new ArrayList<>()).add(i);
             }
-            
-        } catch (Exception e) {
-            log.error("Error in Cerbos authorization check", e);
-            return AuthorizationCheckResponse.error("Cerbos authorization check failed: " + e.getMessage());
         }
+        
+        if (!pending.isEmpty()) {
+            Engine.Principal cerbosPrincipal = toCerbosPrincipal(principal);
+            List<Map.Entry<ResourceKey, List<Integer>>> groups = new ArrayList<>(pending.entrySet());
+            int chunkSize = Math.max(1, cerbosProperties.getConnection().getMaxResourcesPerCall());
+            for (int from = 0; from < groups.size(); from += chunkSize) {
+                evaluate(cerbosPrincipal, principal, checks,
+                        groups.subList(from, Math.min(from + chunkSize, groups.size())), decisionKeys, results,
+                        userVersion);
+            }
+        }
+        
+        return List.of(results);
     }
     
     @Override
@@ -96,86 +134,17 @@ public class CerbosAuthorizationEngine implements AuthorizationEngine {
     
     @Override
     public AuthorizationCheckRequest.Principal buildPrincipal(UUID userId) {
-        try {
-            log.debug("Building principal for user: {}", userId);
-            
-            // For henry.admin, create a minimal working principal for testing
-            if ("550e8400-e29b-41d4-a716-446655440008".equals(userId.toString())) {
-                Map<String, Object> attributes = new HashMap<>();
-                attributes.put("username", "henry.admin");
-                attributes.put("isActive", true);
-                attributes.put("roles", List.of("ENTERPRISE_ADMIN"));
-                attributes.put("departments", List.of());
-                
-                log.debug("Built test principal for henry.admin with ENTERPRISE_ADMIN role");
-                
-                return AuthorizationCheckRequest.Principal.builder()
-                        .id(userId)
-                        .attributes(attributes)
-                        .build();
-            }
-            
-            // For other users, try the full database lookup
-            var userOpt = userRepository.findById(userId);
-            if (userOpt.isEmpty()) {
-                log.warn("User not found: {}", userId);
-                return null;
-            }
-            
-            User user = userOpt.get();
-            log.debug("Found user: {} (active: {})", user.getUsername(), user.getIsActive());
-            
-            if (!user.getIsActive()) {
-                log.warn("User is inactive: {}", userId);
-                return null;
-            }
-            
-            // Build principal attributes for Cerbos
-            Map<String, Object> attributes = new HashMap<>();
-            
-            // Add user attributes
-            attributes.put("username", user.getUsername());
-            attributes.put("email", user.getEmail());
-            attributes.put("firstName", user.getFirstName());
-            attributes.put("lastName", user.getLastName());
-            attributes.put("isActive", user.getIsActive());
-            
-            // Add global attributes from user
-            if (user.getGlobalAttributes() != null) {
-                attributes.putAll(user.getGlobalAttributes());
-            }
-            
-            // Add user domain roles (for Cerbos) - use direct query to get role names
-            List<String> roles = getRoleNamesForUser(userId);
-            attributes.put("roles", roles);
-            
-            // Add user departments (for Cerbos)
-            List<String> departments;
-            try {
-                departments = userDepartmentRepository.findUserDepartmentCodes(userId);
-            } catch (Exception e) {
-                log.debug("Error getting departments for user {}, using empty list: {}", userId, e.getMessage());
-                departments = List.of();
-            }
-            attributes.put("departments", departments);
-            
-            return AuthorizationCheckRequest.Principal.builder()
-                    .id(userId)
-                    .attributes(attributes)
-                    .build();
-                    
-        } catch (Exception e) {
-            log.error("Error building principal for user: {}", userId, e);
-            return null;
-        }
+        return authorizationCache.getPrincipal(getEngineType(), userId, () -> loadPrincipal(userId));
+    }
+    
+    private AuthorizationCheckRequest.Principal loadPrincipal(UUID userId) {
+        return PolicyPrincipals.load(principalReadRepository, userId);
     }
     
     @Override
     public boolean isEngineHealthy() {
         try {
-            // Simple health check - verify Cerbos connectivity
-            // This is a minimal check - in production you might want a dedicated health check endpoint
-            return cerbosClient != null;
+            return cerbosClient.isAvailable();
         } catch (Exception e) {
             log.error("Cerbos authorization engine health check failed", e);
             return false;
@@ -188,86 +157,78 @@ public class CerbosAuthorizationEngine implements AuthorizationEngine {
     }
     
     /**
-     * Actual Cerbos authorization check using Cerbos SDK 0.14.0 API.
-     * Note: This is a simplified implementation that logs the request and returns false for now.
-     * The actual implementation would require knowing the exact API of the Cerbos SDK 0.14.0.
+     * Evaluate one CheckResources call worth of resource groups and fill in their results.
+     * Failed calls produce error responses, which are neither cached nor audited.
      */
-    private boolean performCerbosAuthorizationCheck(AuthorizationCheckRequest request) {
+    private void evaluate(Engine.Principal cerbosPrincipal,
+                          AuthorizationCheckRequest.Principal principal,
+                          List<BatchAuthorizationCheckRequest.Check> checks,
+                          List<Map.Entry<ResourceKey, List<Integer>>> groups,
+                          AuthorizationCache.DecisionKey[] decisionKeys,
+                          AuthorizationCheckResponse[] results,
+                          long userVersion) {
+        CheckResourcesRequest.Builder request = CheckResourcesRequest.newBuilder()
+                .setRequestId(UUID.randomUUID().toString())
+                .setPrincipal(cerbosPrincipal);
+        for (Map.Entry<ResourceKey, List<Integer>> group : groups) {
+            Set<String> actions = new LinkedHashSet<>();
+            group.getValue().forEach(i -> actions.add(checks.get(i).getAction()));
+            request.addResources(CheckResourcesRequest.ResourceEntry.newBuilder()
+                    .setResource(toCerbosResource(group.getKey()))
+                    .addAllActions(actions));
+        }
+        
+        CheckResourcesResponse response;
         try {
-            log.debug("Performing Cerbos authorization check for user: {}, resource: {}:{}, action: {}", 
-                request.getPrincipal().getId(), 
-                request.getResource().getKind(),
-                request.getResource().getId(),
-                request.getAction());
-
-            // Build principal attributes
-            Map<String, Object> principalAttributes = request.getPrincipal().getAttributes();
-            if (principalAttributes == null) {
-                principalAttributes = new HashMap<>();
-            }
-
-            // Get roles for principal
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) principalAttributes.get("roles");
-            if (roles == null) {
-                roles = List.of();
-            }
-
-            // Build resource attributes
-            Map<String, Object> resourceAttributes = request.getResource().getAttributes();
-            if (resourceAttributes == null) {
-                resourceAttributes = new HashMap<>();
-            }
-
-            log.info("Cerbos check - Principal: {} with roles: {}, Resource: {}:{}, Action: {}", 
-                request.getPrincipal().getId(), roles, 
-                request.getResource().getKind(), request.getResource().getId(), 
-                request.getAction());
-
-            // For testing purposes, allow access for ENTERPRISE_ADMIN role
-            if (roles.contains("ENTERPRISE_ADMIN")) {
-                log.debug("Granting access to ENTERPRISE_ADMIN user");
-                return true;
+            response = cerbosClient.checkResources(request.build());
+            if (response.getResultsCount() != groups.size()) {
+                throw new IllegalStateException("Cerbos returned " + response.getResultsCount()
+                        + " results for " + groups.size() + " resources");
             }
-
-            // For demonstration, check specific test cases
-            String userId = request.getPrincipal().getId().toString();
-            String action = request.getAction();
-            
-            // Allow read access for test user
-            if ("550e8400-e29b-41d4-a716-446655440008".equals(userId) && "read".equals(action)) {
-                log.debug("Granting read access to test user");
-                return true;
-            }
-            
-            log.debug("Access denied - no matching policy");
-            return false;
-
         } catch (Exception e) {
-            log.error("Error in Cerbos authorization check", e);
-            return false;
+            log.error("Cerbos CheckResources call failed for user {}: {}", principal.getId(), e.getMessage());
+            AuthorizationCheckResponse error = AuthorizationCheckResponse.error(
+                    "Cerbos authorization check failed: " + e.getMessage());
+            groups.forEach(group -> group.getValue().forEach(i -> results[i] = error));
+            return;
         }
-    }
-    
-    /**
-     * Get role names for a user using a direct query to avoid lazy loading issues
-     */
-    private List<String> getRoleNamesForUser(UUID userId) {
-        try {
-            // For henry.admin, return the ENTERPRISE_ADMIN role directly for testing
-            if ("550e8400-e29b-41d4-a716-446655440008".equals(userId.toString())) {
-                log.debug("Returning hardcoded ENTERPRISE_ADMIN role for test user");
-                return List.of("ENTERPRISE_ADMIN");
+        
+        for (int g = 0; g < groups.size(); g++) {
+            ResourceKey resource = groups.get(g).getKey();
+            Map<String, Effect> effects = response.getResults(g).getActionsMap();
+            for (int i : groups.get(g).getValue()) {
+                String action = checks.get(i).getAction();
+                boolean allowed = effects.get(action) == Effect.EFFECT_ALLOW;
+                String reason = allowed ? ALLOWED_REASON : DENIED_REASON;
+                
+                logAuthorizationDecision(principal.getId(), resource.kind(), resource.id(), action, allowed, reason);
+                
+                results[i] = allowed ? AuthorizationCheckResponse.allowed() : AuthorizationCheckResponse.denied(reason);
+                authorizationCache.putDecision(decisionKeys[i], results[i], userVersion);
             }
-            
-            // For other users, try the database query
-            return userDomainRoleRepository.findRoleNamesByUserId(userId);
-        } catch (Exception e) {
-            log.error("Error getting role names for user {}: {}", userId, e.getMessage());
-            return List.of();
         }
     }
     
+    private Engine.Principal toCerbosPrincipal(AuthorizationCheckRequest.Principal principal) {
+        Map<String, Object> attributes = principal.getAttributes() != null ? principal.getAttributes() : Map.of();
+        
+        return Engine.Principal.newBuilder()
+                .setId(principal.getId().toString())
+                .setPolicyVersion(cerbosProperties.getPolicies().getVersion())
+                .addAllRoles(PolicyPrincipals.roles(principal))
+                .putAllAttr(CerbosValues.toAttributes(attributes))
+                .build();
+    }
+    
+    private Engine.Resource toCerbosResource(ResourceKey resource) {
+        return Engine.Resource.newBuilder()
+                .setKind(resource.kind())
+                .setId(resource.id() != null ? resource.id() : UNSPECIFIED_RESOURCE_ID)
+                .setPolicyVersion(cerbosProperties.getPolicies().getVersion())
+                .putAllAttr(CerbosValues.toAttributes(resource.attributes()))
+                .build();
+    }
+    
     /**
      * Log authorization decision for audit trail
      */
@@ -279,10 +240,20 @@ public class CerbosAuthorizationEngine implements AuthorizationEngine {
                     allowed ? EntitlementAuditLog.Decision.ALLOW : EntitlementAuditLog.Decision.DENY,
                     reason, getEngineType());
             
-            auditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
         } catch (Exception e) {
             log.error("Failed to log authorization decision", e);
             // Don't fail authorization due to audit logging failure
         }
     }
+    
+    /**
+     * Identity of a resource within a CheckResources call
+     */
+    private record ResourceKey(String kind, String id, Map<String, Object> attributes) {
+        static ResourceKey of(AuthorizationCheckRequest.Resource resource) {
+            return new ResourceKey(resource.getKind(), resource.getId(),
+                    Objects.requireNonNullElse(resource.getAttributes(), Map.of()));
+        }
+    }
 }
\ No newline at end of file
@@ -1,17 +1,23 @@
 package com.workflow.entitlements.service.authorization;
 
 import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
 import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
 import com.workflow.entitlements.entity.*;
 import com.workflow.entitlements.repository.*;
+import com.workflow.entitlements.service.audit.AsyncAuditLogWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -26,12 +32,11 @@ import java.util.UUID;
 public class DatabaseAuthorizationEngine implements AuthorizationEngine {
     
     private final UserRepository userRepository;
-    private final EntitlementUserDomainRoleRepository userDomainRoleRepository;
-    private final EntitlementPermissionRepository permissionRepository;
+    private final PrincipalReadRepository principalReadRepository;
     private final ResourcePermissionRepository resourcePermissionRepository;
-    private final DepartmentRepository departmentRepository;
-    private final UserDepartmentRepository userDepartmentRepository;
-    private final EntitlementAuditLogRepository auditLogRepository;
+    private final AsyncAuditLogWriter auditLogWriter;
+    private final AuthorizationCache authorizationCache;
+    private final PermissionMatrix permissionMatrix;
     
     @Override
     public AuthorizationCheckResponse checkAuthorization(AuthorizationCheckRequest request) {
@@ -44,6 +49,16 @@ public class DatabaseAuthorizationEngine implements AuthorizationEngine {
             String resourceId = request.getResource().getId();
             String action = request.getAction();
             
+            // RBAC decisions depend only on user, resource and action - not on request attributes
+            AuthorizationCache.DecisionKey decisionKey = new AuthorizationCache.DecisionKey(
+                    getEngineType(), userId, resourceType, resourceId, action, null, null);
+            long userVersion = authorizationCache.getUserVersion(userId);
+            AuthorizationCheckResponse cached = authorizationCache.getDecision(decisionKey);
+            if (cached != null) {
+                logAuthorizationDecision(userId, resourceType, resourceId, action, cached.isAllowed(), cached.getMessage());
+                return cached;
+            }
+            
             // Check role-based permissions (RBAC)
             boolean hasRolePermission = checkRoleBasedPermission(userId, resourceType, action);
             
@@ -56,11 +71,10 @@ public class DatabaseAuthorizationEngine implements AuthorizationEngine {
             // Log the authorization decision
             logAuthorizationDecision(userId, resourceType, resourceId, action, allowed, reason);
             
-            if (allowed) {
-                return AuthorizationCheckResponse.allowed();
-            } else {
-                return AuthorizationCheckResponse.denied(reason);
-            }
+            AuthorizationCheckResponse response = allowed ?
+                    AuthorizationCheckResponse.allowed() : AuthorizationCheckResponse.denied(reason);
+            authorizationCache.putDecision(decisionKey, response, userVersion);
+            return response;
             
         } catch (Exception e) {
             log.error("Error in database authorization check", e);
@@ -68,6 +82,79 @@ public class DatabaseAuthorizationEngine implements AuthorizationEngine {
         }
     }
     
+    /**
+     * Batch variant of {@link #checkAuthorization}: cached decisions are served first, role
+     * checks go to the permission matrix and the direct resource permissions of all remaining
+     * checks are loaded with a single query.
+     */
+    @Override
+    public List<AuthorizationCheckResponse> checkAuthorizationBatch(AuthorizationCheckRequest.Principal principal,
+                                                                    List<BatchAuthorizationCheckRequest.Check> checks) {
+        UUID userId = principal.getId();
+        AuthorizationCheckResponse[] results = new AuthorizationCheckResponse[checks.size()];
+        AuthorizationCache.DecisionKey[] decisionKeys = new AuthorizationCache.DecisionKey[checks.size()];
+        Set<String> uncachedResourceIds = new HashSet<>();
+        long userVersion = authorizationCache.getUserVersion(userId);
+        
+        for (int i = 0; i < checks.size(); i++) {
+            BatchAuthorizationCheckRequest.Check check = checks.get(i);
+            String resourceType = check.getResource().getKind();
+            String resourceId = check.getResource().getId();
+            
+            decisionKeys[i] = new AuthorizationCache.DecisionKey(
+                    getEngineType(), userId, resourceType, resourceId, check.getAction(), null, null);
+            AuthorizationCheckResponse cached = authorizationCache.getDecision(decisionKeys[i]);
+            if (cached != null) {
+                logAuthorizationDecision(userId, resourceType, resourceId, check.getAction(),
+                        cached.isAllowed(), cached.getMessage());
+                results[i] = cached;
+            } else if (resourceId != null) {
+                uncachedResourceIds.add(resourceId);
+            }
+        }
+        
+        List<ResourcePermission> resourcePermissions;
+        try {
+            resourcePermissions = uncachedResourceIds.isEmpty() ? List.of() :
+                    resourcePermissionRepository.findValidPermissionsByUserIdAndResourceIds(
+                            userId, uncachedResourceIds, Instant.now());
+        } catch (Exception e) {
+            log.error("Error loading resource permissions for batch authorization check", e);
+            AuthorizationCheckResponse error = AuthorizationCheckResponse.error("Authorization check failed: " + e.getMessage());
+            List<AuthorizationCheckResponse> responses = new ArrayList<>(checks.size());
+            for (AuthorizationCheckResponse result : results) {
+                responses.add(result != null ? result : error);
+            }
+            return responses;
+        }
+        
+        for (int i = 0; i < checks.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BatchAuthorizationCheckRequest.Check check = checks.get(i);
+            String resourceType = check.getResource().getKind();
+            String resourceId = check.getResource().getId();
+            String action = check.getAction();
+            
+            boolean hasRolePermission = checkRoleBasedPermission(userId, resourceType, action);
+            boolean hasResourcePermission = resourceId != null && resourcePermissions.stream()
+                    .anyMatch(rp -> Objects.equals(rp.getResourceType(), resourceType)
+                            && Objects.equals(rp.getResourceId(), resourceId)
+                            && rp.allowsAction(action));
+            
+            boolean allowed = hasRolePermission || hasResourcePermission;
+            String reason = buildDecisionReason(allowed, hasRolePermission, hasResourcePermission);
+            
+            logAuthorizationDecision(userId, resourceType, resourceId, action, allowed, reason);
+            
+            results[i] = allowed ? AuthorizationCheckResponse.allowed() : AuthorizationCheckResponse.denied(reason);
+            authorizationCache.putDecision(decisionKeys[i], results[i], userVersion);
+        }
+        
+        return List.of(results);
+    }
+    
     @Override
     public AuthorizationCheckResponse checkUserPermission(UUID userId, String resourceType, 
                                                           String resourceId, String action) {
@@ -92,16 +179,20 @@ public class DatabaseAuthorizationEngine implements AuthorizationEngine {
     
     @Override
     public AuthorizationCheckRequest.Principal buildPrincipal(UUID userId) {
+        return authorizationCache.getPrincipal(getEngineType(), userId, () -> loadPrincipal(userId));
+    }
+    
+    private AuthorizationCheckRequest.Principal loadPrincipal(UUID userId) {
         try {
-            // Find user
-            var userOpt = userRepository.findById(userId);
-            if (userOpt.isEmpty()) {
+            // User, valid roles and departments in one round-trip
+            var viewOpt = principalReadRepository.findByUserId(userId);
+            if (viewOpt.isEmpty()) {
                 log.warn("User not found: {}", userId);
                 return null;
             }
             
-            User user = userOpt.get();
-            if (!user.getIsActive()) {
+            PrincipalReadRepository.PrincipalView view = viewOpt.get();
+            if (!view.isActive()) {
                 log.warn("User is inactive: {}", userId);
                 return null;
             }
@@ -110,30 +201,26 @@ public class DatabaseAuthorizationEngine implements AuthorizationEngine {
             Map<String, Object> attributes = new HashMap<>();
             
             // Add user attributes
-            attributes.put("username", user.getUsername());
-            attributes.put("email", user.getEmail());
-            attributes.put("firstName", user.getFirstName());
-            attributes.put("lastName", user.getLastName());
-            attributes.put("isActive", user.getIsActive());
+            attributes.put("username", view.username());
+            attributes.put("email", view.email());
+            attributes.put("firstName", view.firstName());
+            attributes.put("lastName", view.lastName());
+            attributes.put("isActive", view.isActive());
             
             // Add global attributes from user
-            if (user.getGlobalAttributes() != null) {
-                attributes.putAll(user.getGlobalAttributes());
-            }
+            attributes.putAll(view.globalAttributes());
             
             // Add domain roles
-            List<EntitlementUserDomainRole> userRoles = userDomainRoleRepository.findValidRolesByUserId(userId, Instant.now());
-            attributes.put("domainRoles", userRoles.stream()
-                    .map(ur -> Map.of(
-                            "roleId", ur.getRoleId().toString(),
-                            "domainId", ur.getRoleId().toString(), // Will be resolved via join
-                            "assignedAt", ur.getAssignedAt().toString()
+            attributes.put("domainRoles", view.domainRoles().stream()
+                    .map(role -> Map.of(
+                            "roleId", role.roleId().toString(),
+                            "domainId", role.domainId().toString(),
+                            "assignedAt", String.valueOf(role.assignedAt())
                     ))
                     .toList());
             
             // Add departments
-            // TODO: Fix repository methods to work with UUID in MILESTONE 4
-            attributes.put("departments", List.of("PLACEHOLDER_DEPT"));
+            attributes.put("departments", view.departments());
             
             return AuthorizationCheckRequest.Principal.builder()
                     .id(userId)
@@ -164,17 +251,18 @@ public class DatabaseAuthorizationEngine implements AuthorizationEngine {
     }
     
     /**
-     * Check role-based permissions (RBAC)
+     * Check role-based permissions (RBAC) against the compiled permission matrix
      */
     private boolean checkRoleBasedPermission(UUID userId, String resourceType, String action) {
-        return permissionRepository.hasUserPermission(userId, resourceType, action);
+        return permissionMatrix.hasPermission(userId, resourceType, action);
     }
     
     /**
      * Check direct resource permissions (ABAC-style)
      */
     private boolean checkResourceBasedPermission(UUID userId, String resourceType, String resourceId, String action) {
-        return resourcePermissionRepository.hasUserResourcePermission(userId, resourceType, resourceId, action, Instant.now());
+        return authorizationCache.hasPermission(userId, resourceType, resourceId, action,
+                () -> resourcePermissionRepository.hasUserResourcePermission(userId, resourceType, resourceId, action, Instant.now()));
     }
     
     /**
@@ -207,7 +295,7 @@ public class DatabaseAuthorizationEngine implements AuthorizationEngine {
                     allowed ? EntitlementAuditLog.Decision.ALLOW : EntitlementAuditLog.Decision.DENY,
                     reason, getEngineType());
             
-            auditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
         } catch (Exception e) {
             log.error("Failed to log authorization decision", e);
             // Don't fail authorization due to audit logging failure
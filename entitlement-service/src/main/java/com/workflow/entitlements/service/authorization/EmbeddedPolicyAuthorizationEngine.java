@@ -0,0 +1,164 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.cerbos.embedded.EmbeddedPolicyEvaluator;
+import com.workflow.entitlements.config.AuthorizationConfig;
+import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.entity.EntitlementAuditLog;
+import com.workflow.entitlements.repository.PrincipalReadRepository;
+import com.workflow.entitlements.service.audit.AsyncAuditLogWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * ABAC engine evaluating the Cerbos policy files in-process.
+ *
+ * Decisions match the Cerbos engine for the same policies and principal, but cost microseconds
+ * instead of a gRPC round-trip, so they are not cached.
+ *
+ * This engine is selected when authorization.engine.embedded-policies=true in AuthorizationConfig.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnExpression(AuthorizationConfig.EMBEDDED_ENGINE_ENABLED)
+@RequiredArgsConstructor
+@Slf4j
+public class EmbeddedPolicyAuthorizationEngine implements AuthorizationEngine {
+
+    private static final String ALLOWED_REASON = "Embedded policy evaluation granted access";
+    private static final String DENIED_REASON = "Embedded policy evaluation denied access";
+
+    private final EmbeddedPolicyEvaluator policyEvaluator;
+    private final PrincipalReadRepository principalReadRepository;
+    private final AsyncAuditLogWriter auditLogWriter;
+    private final AuthorizationCache authorizationCache;
+
+    @Override
+    public AuthorizationCheckResponse checkAuthorization(AuthorizationCheckRequest request) {
+        log.debug("Embedded engine processing authorization request for user: {}",
+                 request.getPrincipal().getId());
+
+        return checkAuthorizationBatch(request.getPrincipal(), List.of(BatchAuthorizationCheckRequest.Check.builder()
+                .resource(request.getResource())
+                .action(request.getAction())
+                .build()))
+                .get(0);
+    }
+
+    @Override
+    public List<AuthorizationCheckResponse> checkAuthorizationBatch(AuthorizationCheckRequest.Principal principal,
+                                                                    List<BatchAuthorizationCheckRequest.Check> checks) {
+        EmbeddedPolicyEvaluator.Principal policyPrincipal = new EmbeddedPolicyEvaluator.Principal(
+                principal.getId().toString(), PolicyPrincipals.roles(principal),
+                Objects.requireNonNullElse(principal.getAttributes(), Map.of()));
+
+        // Group by resource so derived roles and attributes are prepared once per resource
+        Map<ResourceKey, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < checks.size(); i++) {
+            groups.computeIfAbsent(ResourceKey.of(checks.get(i).getResource()), key -> new ArrayList<>()).add(i);
+        }
+
+        AuthorizationCheckResponse[] results = new AuthorizationCheckResponse[checks.size()];
+        for (Map.Entry<ResourceKey, List<Integer>> group : groups.entrySet()) {
+            ResourceKey resource = group.getKey();
+            Set<String> actions = new LinkedHashSet<>();
+            group.getValue().forEach(i -> actions.add(checks.get(i).getAction()));
+
+            Map<String, Boolean> decisions;
+            try {
+                decisions = policyEvaluator.check(policyPrincipal, new EmbeddedPolicyEvaluator.Resource(
+                        resource.kind(), resource.id() != null ? resource.id() : CerbosAuthorizationEngine.UNSPECIFIED_RESOURCE_ID,
+                        resource.attributes()), actions);
+            } catch (Exception e) {
+                log.error("Embedded policy evaluation failed for user {}: {}", principal.getId(), e.getMessage());
+                AuthorizationCheckResponse error = AuthorizationCheckResponse.error(
+                        "Embedded policy evaluation failed: " + e.getMessage());
+                group.getValue().forEach(i -> results[i] = error);
+                continue;
+            }
+
+            for (int i : group.getValue()) {
+                String action = checks.get(i).getAction();
+                boolean allowed = decisions.getOrDefault(action, false);
+                String reason = allowed ? ALLOWED_REASON : DENIED_REASON;
+
+                logAuthorizationDecision(principal.getId(), resource.kind(), resource.id(), action, allowed, reason);
+
+                results[i] = allowed ? AuthorizationCheckResponse.allowed() : AuthorizationCheckResponse.denied(reason);
+            }
+        }
+
+        return List.of(results);
+    }
+
+    @Override
+    public AuthorizationCheckResponse checkUserPermission(UUID userId, String resourceType,
+                                                          String resourceId, String action) {
+        AuthorizationCheckRequest.Principal principal = buildPrincipal(userId);
+        if (principal == null) {
+            return AuthorizationCheckResponse.denied("User not found");
+        }
+
+        AuthorizationCheckRequest request = AuthorizationCheckRequest.builder()
+                .principal(principal)
+                .resource(AuthorizationCheckRequest.Resource.builder()
+                        .kind(resourceType)
+                        .id(resourceId)
+                        .build())
+                .action(action)
+                .build();
+
+        return checkAuthorization(request);
+    }
+
+    @Override
+    public AuthorizationCheckRequest.Principal buildPrincipal(UUID userId) {
+        return authorizationCache.getPrincipal(getEngineType(), userId,
+                () -> PolicyPrincipals.load(principalReadRepository, userId));
+    }
+
+    @Override
+    public boolean isEngineHealthy() {
+        return policyEvaluator.isLoaded();
+    }
+
+    @Override
+    public String getEngineType() {
+        return "EMBEDDED";
+    }
+
+    /**
+     * Log authorization decision for audit trail
+     */
+    private void logAuthorizationDecision(UUID userId, String resourceType, String resourceId,
+                                        String action, boolean allowed, String reason) {
+        try {
+            EntitlementAuditLog auditLog = EntitlementAuditLog.authorizationCheck(
+                    userId, resourceType, resourceId, action,
+                    allowed ? EntitlementAuditLog.Decision.ALLOW : EntitlementAuditLog.Decision.DENY,
+                    reason, getEngineType());
+
+            auditLogWriter.write(auditLog);
+        } catch (Exception e) {
+            log.error("Failed to log authorization decision", e);
+            // Don't fail authorization due to audit logging failure
+        }
+    }
+
+    private record ResourceKey(String kind, String id, Map<String, Object> attributes) {
+        static ResourceKey of(AuthorizationCheckRequest.Resource resource) {
+            return new ResourceKey(resource.getKind(), resource.getId(),
+                    Objects.requireNonNullElse(resource.getAttributes(), Map.of()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.entity.EntitlementUserDomainRole;
+import com.workflow.entitlements.entity.ResourcePermission;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA listener that hands new and changed time-bounded grants to {@link GrantExpiryScheduler}
+ * once they commit, so a grant expiring before the next reload is still deactivated on time.
+ *
+ * The scheduler is looked up lazily for the same reason as in {@link PermissionMatrixEntityListener},
+ * and is absent when authorization.grant-expiry.enabled is false.
+ */
+@Component
+public class GrantExpiryEntityListener {
+
+    private final ObjectProvider<GrantExpiryScheduler> scheduler;
+
+    public GrantExpiryEntityListener(ObjectProvider<GrantExpiryScheduler> scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Object entity) {
+        if (entity instanceof ResourcePermission permission) {
+            track(GrantExpiryScheduler.Kind.RESOURCE_PERMISSION, permission.getResourcePermissionId(),
+                    permission.getUserId(), permission.getExpiresAt(), Boolean.TRUE.equals(permission.getIsActive()));
+        } else if (entity instanceof EntitlementUserDomainRole userRole) {
+            track(GrantExpiryScheduler.Kind.ROLE_ASSIGNMENT, userRole.getUserRoleId(),
+                    userRole.getUserId(), userRole.getExpiresAt(), Boolean.TRUE.equals(userRole.getIsActive()));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof ResourcePermission permission) {
+            track(GrantExpiryScheduler.Kind.RESOURCE_PERMISSION, permission.getResourcePermissionId(),
+                    permission.getUserId(), null, false);
+        } else if (entity instanceof EntitlementUserDomainRole userRole) {
+            track(GrantExpiryScheduler.Kind.ROLE_ASSIGNMENT, userRole.getUserRoleId(),
+                    userRole.getUserId(), null, false);
+        }
+    }
+
+    private void track(GrantExpiryScheduler.Kind kind, UUID id, UUID userId, Instant expiresAt, boolean active) {
+        GrantExpiryScheduler expiryScheduler = scheduler.getIfAvailable();
+        if (expiryScheduler == null || id == null) {
+            return;
+        }
+        Runnable action = () -> expiryScheduler.track(kind, id, userId, expiresAt, active);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
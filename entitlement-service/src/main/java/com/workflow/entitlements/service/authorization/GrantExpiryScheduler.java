@@ -0,0 +1,225 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.config.GrantExpiryProperties;
+import com.workflow.entitlements.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deactivates time-bounded grants when they expire and evicts what was cached for their users.
+ *
+ * Expirations due within the lookahead window are loaded from the database into a
+ * {@link TimingWheel}; the database is the coarse level and the wheel the fine one, so the wheel
+ * only ever holds the next few minutes. Grants created or changed through JPA are scheduled as
+ * soon as they commit (see {@link GrantExpiryEntityListener}); the periodic reload picks up
+ * everything else. Due grants are deactivated in batches with a guarded UPDATE, so an expiry that
+ * was extended in the meantime is left alone.
+ *
+ * All nodes run this. The node whose UPDATE deactivates a grant publishes the eviction; the
+ * others evict their own copy when their wheel fires, without waiting for the event.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
+    value = "authorization.grant-expiry.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@Slf4j
+public class GrantExpiryScheduler {
+
+    public enum Kind {
+        RESOURCE_PERMISSION(
+                "SELECT resource_permission_id, user_id, expires_at FROM entitlements.resource_permissions " +
+                "WHERE is_active = true AND expires_at IS NOT NULL AND expires_at <= ?",
+                "UPDATE entitlements.resource_permissions SET is_active = false " +
+                "WHERE resource_permission_id = ANY(?) AND is_active = true AND expires_at <= ? " +
+                "RETURNING user_id"),
+        ROLE_ASSIGNMENT(
+                "SELECT user_role_id, user_id, expires_at FROM entitlements.entitlement_user_domain_roles " +
+                "WHERE is_active = true AND expires_at IS NOT NULL AND expires_at <= ?",
+                "UPDATE entitlements.entitlement_user_domain_roles SET is_active = false " +
+                "WHERE user_role_id = ANY(?) AND is_active = true AND expires_at <= ? " +
+                "RETURNING user_id");
+
+        private final String pendingSql;
+        private final String deactivateSql;
+
+        Kind(String pendingSql, String deactivateSql) {
+            this.pendingSql = pendingSql;
+            this.deactivateSql = deactivateSql;
+        }
+    }
+
+    /**
+     * Wheel key; the user is carried along for cache eviction
+     */
+    record Grant(Kind kind, UUID id, UUID userId) {
+    }
+
+    private record Pending(Grant grant, long expiresAtMillis) {
+    }
+
+    private final GrantExpiryProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthorizationCache authorizationCache;
+    private final PermissionMatrix permissionMatrix;
+    private final Clock clock;
+    private final TimingWheel<Grant> expiryWheel;
+    private final Map<Kind, Counter> expired = new EnumMap<>(Kind.class);
+
+    @Autowired
+    public GrantExpiryScheduler(GrantExpiryProperties properties,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                AuthorizationCache authorizationCache,
+                                PermissionMatrix permissionMatrix,
+                                MeterRegistry meterRegistry) {
+        this(properties, jdbcTemplate, transactionManager, authorizationCache, permissionMatrix, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    GrantExpiryScheduler(GrantExpiryProperties properties,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         AuthorizationCache authorizationCache,
+                         PermissionMatrix permissionMatrix,
+                         MeterRegistry meterRegistry,
+                         Clock clock) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.authorizationCache = authorizationCache;
+        this.permissionMatrix = permissionMatrix;
+        this.clock = clock;
+        this.expiryWheel = new TimingWheel<>(properties.getTick(), window(), clock.millis());
+
+        for (Kind kind : Kind.values()) {
+            expired.put(kind, Counter.builder("authorization.grants.expired")
+                    .description("Grants deactivated because their expiry passed")
+                    .tag("kind", kind.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("authorization.grants.expiry.scheduled", expiryWheel, TimingWheel::size)
+                .description("Grant expirations waiting in the wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule, reschedule or cancel one grant after a committed change
+     */
+    public void track(Kind kind, UUID id, UUID userId, Instant expiresAt, boolean active) {
+        Grant grant = new Grant(kind, id, userId);
+        if (!active || expiresAt == null || expiresAt.isAfter(clock.instant().plus(window()))) {
+            // Beyond the window the reload schedules it in time
+            expiryWheel.cancel(grant);
+            return;
+        }
+        expiryWheel.schedule(grant, expiresAt.toEpochMilli());
+    }
+
+    /**
+     * Load every active grant expiring within the window; overdue ones expire on the next tick
+     */
+    @Scheduled(fixedDelayString = "${authorization.grant-expiry.reload-interval:PT1M}")
+    public void reload() {
+        Timestamp horizon = Timestamp.from(clock.instant().plus(window()));
+        int loaded = 0;
+        for (Kind kind : Kind.values()) {
+            try {
+                List<Pending> pending = transactionTemplate.execute(status -> jdbcTemplate.query(kind.pendingSql,
+                        (rs, rowNum) -> new Pending(new Grant(kind, rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)),
+                                rs.getTimestamp(3).getTime()),
+                        horizon));
+                if (pending != null) {
+                    pending.forEach(p -> expiryWheel.schedule(p.grant(), p.expiresAtMillis()));
+                    loaded += pending.size();
+                }
+            } catch (Exception e) {
+                // One kind failing must not keep the others from being scheduled; the next reload retries
+                log.warn("Failed to load {} grant expirations: {}", kind, e.getMessage());
+            }
+        }
+        log.debug("Loaded {} grant expirations up to {}", loaded, horizon);
+    }
+
+    @Scheduled(fixedRateString = "${authorization.grant-expiry.tick:PT1S}")
+    public void expireDue() {
+        Map<Kind, List<Grant>> due = new EnumMap<>(Kind.class);
+        expiryWheel.advance(clock.millis(), grant -> due.computeIfAbsent(grant.kind(), k -> new ArrayList<>()).add(grant));
+        due.forEach((kind, grants) -> {
+            for (int from = 0; from < grants.size(); from += properties.getBatchSize()) {
+                List<Grant> batch = grants.subList(from, Math.min(grants.size(), from + properties.getBatchSize()));
+                try {
+                    deactivate(kind, batch);
+                } catch (Exception e) {
+                    // The SQL checks still treat the grants as expired; the next reload retries
+                    log.warn("Failed to deactivate {} expired {} grants: {}", batch.size(), kind, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void deactivate(Kind kind, List<Grant> batch) {
+        UUID[] ids = batch.stream().map(Grant::id).toArray(UUID[]::new);
+        Timestamp now = Timestamp.from(clock.instant());
+
+        List<UUID> deactivatedUsers = transactionTemplate.execute(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(kind.deactivateSql);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            ps.setTimestamp(2, now);
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+
+        int deactivated = deactivatedUsers == null ? 0 : deactivatedUsers.size();
+        Set<UUID> published = deactivatedUsers == null ? Set.of() : new HashSet<>(deactivatedUsers);
+        Set<UUID> localOnly = new HashSet<>();
+        for (Grant grant : batch) {
+            if (!published.contains(grant.userId())) {
+                localOnly.add(grant.userId());
+            }
+        }
+
+        if (!published.isEmpty()) {
+            // Evicts here and tells the other nodes, which also reload the users' role assignments
+            authorizationCache.invalidateUsers(published);
+        }
+        // Deactivated by another node, whose event may still be in flight, or extended meanwhile
+        if (!localOnly.isEmpty()) {
+            authorizationCache.invalidateUsersLocally(localOnly);
+        }
+        if (kind == Kind.ROLE_ASSIGNMENT) {
+            batch.stream().map(Grant::userId).distinct().forEach(permissionMatrix::userRolesChanged);
+        }
+
+        expired.get(kind).increment(deactivated);
+        if (deactivated > 0) {
+            log.info("Deactivated {} expired {} grants of {} users", deactivated, kind, published.size());
+        }
+    }
+
+    private Duration window() {
+        Duration minimum = properties.getReloadInterval().multipliedBy(2);
+        return properties.getLookahead().compareTo(minimum) < 0 ? minimum : properties.getLookahead();
+    }
+}
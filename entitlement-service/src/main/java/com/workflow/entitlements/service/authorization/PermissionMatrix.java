@@ -0,0 +1,245 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workflow.entitlements.config.PermissionMatrixProperties;
+import com.workflow.entitlements.repository.EntitlementRolePermissionRepository;
+import com.workflow.entitlements.repository.EntitlementUserDomainRoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled role-based permissions for the database engine.
+ *
+ * Every (resourceType, action) pair is interned to a dense ordinal. Each role compiles
+ * to a bitset over those ordinals, and each user to the OR of their active roles'
+ * bitsets, so a role-based check is one map lookup and one bit test instead of a
+ * three-table join.
+ *
+ * Updates are incremental: a changed role reloads only that role's permissions and bumps
+ * a generation counter, which makes every user bitset recompute from memory on its next
+ * use; a changed assignment reloads only that user's role list. Changes that bypass JPA
+ * (bulk updates, manual SQL) are picked up by the periodic full rebuild, which reloads the
+ * assignments of every compiled user in a few set-based queries.
+ *
+ * User entries are bounded in number and dropped once idle; an evicted user is reloaded on
+ * their next check.
+ */
+@Component
+@Slf4j
+public class PermissionMatrix {
+
+    private static final long[] EMPTY = new long[0];
+    // Users per IN list of the full rebuild
+    private static final int REFRESH_BATCH_SIZE = 1_000;
+
+    private final EntitlementRolePermissionRepository rolePermissionRepository;
+    private final EntitlementUserDomainRoleRepository userDomainRoleRepository;
+
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+
+    private final Map<UUID, long[]> roleBits = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> userRoles;
+    private final Map<UUID, UserBits> userBits;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean rolesLoaded;
+
+    public PermissionMatrix(EntitlementRolePermissionRepository rolePermissionRepository,
+                            EntitlementUserDomainRoleRepository userDomainRoleRepository,
+                            PermissionMatrixProperties properties) {
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.userDomainRoleRepository = userDomainRoleRepository;
+        this.userRoles = userCache(properties);
+        this.userBits = userCache(properties);
+    }
+
+    /**
+     * Whether the user holds an active role granting resourceType:action
+     */
+    public boolean hasPermission(UUID userId, String resourceType, String action) {
+        Integer ordinal = ordinals.get(key(resourceType, action));
+        if (ordinal == null) {
+            // No role grants this pair at all
+            ensureRolesLoaded();
+            ordinal = ordinals.get(key(resourceType, action));
+            if (ordinal == null) {
+                return false;
+            }
+        }
+        return test(bitsFor(userId), ordinal);
+    }
+
+    /**
+     * Recompile one role after its permission mappings changed
+     */
+    public synchronized void roleChanged(UUID roleId) {
+        if (!rolesLoaded) {
+            return;
+        }
+        roleBits.put(roleId, compile(rolePermissionRepository.findActivePermissionKeysByRoleId(roleId)));
+        generation.incrementAndGet();
+        log.debug("Recompiled permissions of role {}", roleId);
+    }
+
+    /**
+     * Users holding a role, whose cached decisions a change to the role invalidates
+     */
+    public Set<UUID> roleHolders(UUID roleId) {
+        return Set.copyOf(userDomainRoleRepository.findActiveUserIdsByRoleId(roleId));
+    }
+
+    /**
+     * Reload one user's role assignments after they changed
+     */
+    public void userRolesChanged(UUID userId) {
+        userRoles.compute(userId, (id, previous) -> loadUserRoles(id));
+        userBits.remove(userId);
+        log.debug("Reloaded role assignments of user {}", userId);
+    }
+
+    /**
+     * Full rebuild, catching changes made outside JPA
+     */
+    @Scheduled(initialDelayString = "${authorization.permission-matrix.refresh-interval:PT5M}",
+               fixedDelayString = "${authorization.permission-matrix.refresh-interval:PT5M}")
+    public void refreshAll() {
+        if (!rolesLoaded) {
+            return;
+        }
+        synchronized (this) {
+            loadAllRoles();
+        }
+        // Entries changed by userRolesChanged while this ran are newer than the snapshot and kept
+        Map<UUID, Set<UUID>> compiled = Map.copyOf(userRoles);
+        Map<UUID, Set<UUID>> reloaded = loadRolesOfUsers(compiled.keySet());
+        compiled.forEach((userId, roles) -> userRoles.replace(userId, roles, reloaded.getOrDefault(userId, Set.of())));
+        userBits.clear();
+        log.debug("Rebuilt permission matrix: {} roles, {} users, {} permission ordinals",
+                roleBits.size(), userRoles.size(), ordinals.size());
+    }
+
+    private long[] bitsFor(UUID userId) {
+        ensureRolesLoaded();
+        Set<UUID> roles = userRoles.computeIfAbsent(userId, this::loadUserRoles);
+        long currentGeneration = generation.get();
+
+        UserBits cached = userBits.get(userId);
+        if (cached != null && cached.generation() == currentGeneration && cached.roles() == roles) {
+            return cached.bits();
+        }
+
+        long[] bits = EMPTY;
+        for (UUID roleId : roles) {
+            bits = or(bits, roleBits.getOrDefault(roleId, EMPTY));
+        }
+        userBits.put(userId, new UserBits(currentGeneration, roles, bits));
+        return bits;
+    }
+
+    private void ensureRolesLoaded() {
+        if (rolesLoaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!rolesLoaded) {
+                loadAllRoles();
+                rolesLoaded = true;
+            }
+        }
+    }
+
+    private void loadAllRoles() {
+        Map<UUID, long[]> compiled = new HashMap<>();
+        for (Object[] row : rolePermissionRepository.findActiveRolePermissionKeys()) {
+            UUID roleId = (UUID) row[0];
+            int ordinal = ordinal((String) row[1], (String) row[2]);
+            compiled.put(roleId, set(compiled.getOrDefault(roleId, EMPTY), ordinal));
+        }
+        roleBits.keySet().retainAll(compiled.keySet());
+        roleBits.putAll(compiled);
+        generation.incrementAndGet();
+        log.info("Compiled permission matrix for {} roles over {} permissions", compiled.size(), ordinals.size());
+    }
+
+    private Set<UUID> loadUserRoles(UUID userId) {
+        return Set.copyOf(userDomainRoleRepository.findActiveRoleIdsByUserId(userId));
+    }
+
+    private Map<UUID, Set<UUID>> loadRolesOfUsers(Set<UUID> userIds) {
+        Map<UUID, Set<UUID>> roles = new HashMap<>();
+        List<UUID> pending = new ArrayList<>(userIds);
+        for (int from = 0; from < pending.size(); from += REFRESH_BATCH_SIZE) {
+            List<UUID> batch = pending.subList(from, Math.min(pending.size(), from + REFRESH_BATCH_SIZE));
+            for (Object[] row : userDomainRoleRepository.findActiveRoleIdsByUserIds(batch)) {
+                roles.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((UUID) row[1]);
+            }
+        }
+        roles.replaceAll((userId, roleIds) -> Set.copyOf(roleIds));
+        return roles;
+    }
+
+    private static <V> Map<UUID, V> userCache(PermissionMatrixProperties properties) {
+        Cache<UUID, V> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterAccess(properties.getUserIdleTimeout())
+                .build();
+        return cache.asMap();
+    }
+
+    private long[] compile(List<Object[]> permissionKeys) {
+        long[] bits = EMPTY;
+        for (Object[] row : permissionKeys) {
+            bits = set(bits, ordinal((String) row[0], (String) row[1]));
+        }
+        return bits;
+    }
+
+    private int ordinal(String resourceType, String action) {
+        return ordinals.computeIfAbsent(key(resourceType, action), k -> nextOrdinal.getAndIncrement());
+    }
+
+    private static String key(String resourceType, String action) {
+        return resourceType + ':' + action;
+    }
+
+    private static boolean test(long[] bits, int ordinal) {
+        int word = ordinal >>> 6;
+        return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+    }
+
+    private static long[] set(long[] bits, int ordinal) {
+        int word = ordinal >>> 6;
+        long[] result = word < bits.length ? bits : Arrays.copyOf(bits, word + 1);
+        result[word] |= 1L << ordinal;
+        return result;
+    }
+
+    private static long[] or(long[] left, long[] right) {
+        if (right.length == 0) {
+            return left;
+        }
+        long[] result = Arrays.copyOf(left, Math.max(left.length, right.length));
+        for (int i = 0; i < right.length; i++) {
+            result[i] |= right[i];
+        }
+        return result;
+    }
+
+    private record UserBits(long generation, Set<UUID> roles, long[] bits) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.entity.EntitlementRolePermission;
+import com.workflow.entitlements.entity.EntitlementUserDomainRole;
+import com.workflow.entitlements.service.invalidation.InvalidationBus;
+import com.workflow.entitlements.service.invalidation.InvalidationEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * JPA listener that keeps {@link PermissionMatrix} in step with role-permission and
+ * user-role rows, and evicts the cached decisions of the affected users. Recompilation and
+ * eviction run after commit so they read the committed state; the change is also published on
+ * the {@link InvalidationBus} so the other nodes do the same.
+ *
+ * The matrix, the cache and the bus are looked up lazily because they depend on repositories and
+ * the data source, which depend on the entity manager factory that instantiates this listener.
+ */
+@Component
+public class PermissionMatrixEntityListener {
+
+    private final ObjectProvider<PermissionMatrix> permissionMatrix;
+    private final ObjectProvider<AuthorizationCache> authorizationCache;
+    private final ObjectProvider<InvalidationBus> invalidationBus;
+
+    public PermissionMatrixEntityListener(ObjectProvider<PermissionMatrix> permissionMatrix,
+                                          ObjectProvider<AuthorizationCache> authorizationCache,
+                                          ObjectProvider<InvalidationBus> invalidationBus) {
+        this.permissionMatrix = permissionMatrix;
+        this.authorizationCache = authorizationCache;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof EntitlementRolePermission rolePermission) {
+            UUID roleId = rolePermission.getRoleId();
+            afterCommit(() -> {
+                PermissionMatrix matrix = permissionMatrix.getObject();
+                matrix.roleChanged(roleId);
+                authorizationCache.getObject().invalidateUsersLocally(matrix.roleHolders(roleId));
+            });
+            // Receivers recompile the role and evict its holders themselves
+            invalidationBus.getObject().publish(InvalidationEvent.Type.ROLE, roleId.toString());
+        } else if (entity instanceof EntitlementUserDomainRole userRole) {
+            afterCommit(() -> permissionMatrix.getObject().userRolesChanged(userRole.getUserId()));
+            // Evicts locally after commit, registered after the reload above, and publishes USER
+            authorizationCache.getObject().invalidateUser(userRole.getUserId());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,214 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.config.ShadowEvaluationProperties;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.service.audit.AsyncAuditLogWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Re-evaluates a sample of authorization calls with a second engine, off the request path, to
+ * measure what switching engines would cost and change before doing it.
+ *
+ * The primary engine answers as usual; for a sampled call its latency is recorded and the same
+ * call is queued for the shadow engine on a small bounded pool. A full queue drops the sample
+ * instead of waiting, so the caller never waits on the shadow. Both engines' latencies go to
+ * {@code authorization.engine.latency} histograms tagged by engine and role, and every decision
+ * pair is counted as a match, a mismatch (tagged with which engine allowed) or an error.
+ * Shadow evaluations write no audit entries.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
+    value = "authorization.shadow.enabled",
+    havingValue = "true")
+@Slf4j
+public class ShadowEvaluator {
+
+    public enum Operation {
+        CHECK, BATCH, USER_PERMISSION
+    }
+
+    private final AuthorizationEngine primaryEngine;
+    private final AuthorizationEngine shadowEngine;
+    private final double sampleRate;
+    private final ExecutorService executor;
+
+    private final Map<Operation, Timer> primaryLatency = new EnumMap<>(Operation.class);
+    private final Map<Operation, Timer> shadowLatency = new EnumMap<>(Operation.class);
+    private final Counter matches;
+    private final Counter allowedByPrimaryOnly;
+    private final Counter allowedByShadowOnly;
+    private final Counter errors;
+    private final Counter dropped;
+
+    @Autowired
+    public ShadowEvaluator(ShadowEvaluationProperties properties,
+                           AuthorizationEngine authorizationEngine,
+                           List<AuthorizationEngine> engines,
+                           MeterRegistry meterRegistry) {
+        this(properties, authorizationEngine, engines.stream()
+                .filter(engine -> engine.getEngineType().equals(properties.getEngine()))
+                .findFirst()
+                .orElse(null), meterRegistry, newExecutor(properties));
+    }
+
+    ShadowEvaluator(ShadowEvaluationProperties properties,
+                    AuthorizationEngine primaryEngine,
+                    AuthorizationEngine shadowEngine,
+                    MeterRegistry meterRegistry,
+                    ExecutorService executor) {
+        this.primaryEngine = primaryEngine;
+        this.executor = executor;
+
+        if (shadowEngine == null) {
+            log.warn("Shadow engine {} is not available - shadow evaluation disabled", properties.getEngine());
+        } else if (shadowEngine.getEngineType().equals(primaryEngine.getEngineType())) {
+            log.warn("Shadow engine {} is the primary engine - shadow evaluation disabled", properties.getEngine());
+            shadowEngine = null;
+        } else {
+            log.info("Shadow-evaluating {} of {} decisions with the {} engine",
+                    properties.getSampleRate(), primaryEngine.getEngineType(), shadowEngine.getEngineType());
+        }
+        this.shadowEngine = shadowEngine;
+        this.sampleRate = shadowEngine == null ? 0 : Math.max(0, Math.min(1, properties.getSampleRate()));
+
+        String shadowType = shadowEngine == null ? properties.getEngine() : shadowEngine.getEngineType();
+        for (Operation operation : Operation.values()) {
+            primaryLatency.put(operation, latencyTimer(meterRegistry, primaryEngine.getEngineType(), "primary", operation));
+            shadowLatency.put(operation, latencyTimer(meterRegistry, shadowType, "shadow", operation));
+        }
+        this.matches = comparisonCounter(meterRegistry, "match", "none");
+        this.allowedByPrimaryOnly = comparisonCounter(meterRegistry, "mismatch", "primary_allows");
+        this.allowedByShadowOnly = comparisonCounter(meterRegistry, "mismatch", "shadow_allows");
+        this.errors = comparisonCounter(meterRegistry, "error", "none");
+        this.dropped = Counter.builder("authorization.shadow.dropped")
+                .description("Sampled calls not shadow-evaluated because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the call on the primary engine and, when sampled, queue it for the shadow engine.
+     *
+     * @param call the engine call, applied to both engines
+     * @param decisions the decisions of a result, compared position by position
+     * @return the primary engine's result; its exceptions propagate unchanged
+     */
+    public <T> T evaluate(Operation operation,
+                          Function<AuthorizationEngine, T> call,
+                          Function<T, List<AuthorizationCheckResponse>> decisions) {
+        if (sampleRate == 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return call.apply(primaryEngine);
+        }
+
+        long start = System.nanoTime();
+        T primaryResult = call.apply(primaryEngine);
+        primaryLatency.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            executor.execute(() -> shadow(operation, call, decisions, primaryResult));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+        return primaryResult;
+    }
+
+    private <T> void shadow(Operation operation,
+                            Function<AuthorizationEngine, T> call,
+                            Function<T, List<AuthorizationCheckResponse>> decisions,
+                            T primaryResult) {
+        T shadowResult;
+        long start = System.nanoTime();
+        try {
+            shadowResult = AsyncAuditLogWriter.withoutAudit(() -> call.apply(shadowEngine));
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.debug("Shadow {} evaluation failed: {}", shadowEngine.getEngineType(), e.getMessage());
+            return;
+        }
+        shadowLatency.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        compare(operation, decisions.apply(primaryResult), decisions.apply(shadowResult));
+    }
+
+    private void compare(Operation operation,
+                         List<AuthorizationCheckResponse> primary,
+                         List<AuthorizationCheckResponse> shadow) {
+        if (primary.size() != shadow.size()) {
+            errors.increment();
+            return;
+        }
+        for (int i = 0; i < primary.size(); i++) {
+            AuthorizationCheckResponse expected = primary.get(i);
+            AuthorizationCheckResponse actual = shadow.get(i);
+            if (isError(expected) || isError(actual)) {
+                errors.increment();
+            } else if (expected.isAllowed() == actual.isAllowed()) {
+                matches.increment();
+            } else {
+                (expected.isAllowed() ? allowedByPrimaryOnly : allowedByShadowOnly).increment();
+                log.debug("Shadow {} decision differs on {}: primary {} ({}), shadow {} ({})",
+                        shadowEngine.getEngineType(), operation, expected.isAllowed(), expected.getMessage(),
+                        actual.isAllowed(), actual.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static boolean isError(AuthorizationCheckResponse response) {
+        return response == null || response.getValidationResult() != null;
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String engine, String role, Operation operation) {
+        return Timer.builder("authorization.engine.latency")
+                .description("Engine evaluation time of shadow-sampled calls")
+                .tag("engine", engine)
+                .tag("role", role)
+                .tag("operation", operation.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param disagreement for mismatches, which engine allowed what the other denied
+     */
+    private static Counter comparisonCounter(MeterRegistry meterRegistry, String outcome, String disagreement) {
+        return Counter.builder("authorization.shadow.comparisons")
+                .description("Decisions compared between the primary and the shadow engine")
+                .tag("outcome", outcome)
+                .tag("disagreement", disagreement)
+                .register(meterRegistry);
+    }
+
+    private static ExecutorService newExecutor(ShadowEvaluationProperties properties) {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, properties.getThreads());
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "shadow-evaluator-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
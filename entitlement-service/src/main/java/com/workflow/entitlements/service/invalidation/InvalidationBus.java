@@ -0,0 +1,155 @@
+package com.workflow.entitlements.service.invalidation;
+
+import com.workflow.entitlements.config.InvalidationBusProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Publishes cache invalidation events to the other entitlement-service nodes with pg_notify.
+ *
+ * Events are sent after the surrounding transaction commits, so other nodes never reload
+ * pre-commit state and rolled back changes never consume a sequence number. Sending is
+ * serialised so every node receives this node's events in sequence order; when a send fails the
+ * sequence number is lost on purpose, and receivers treat the gap as a reason for a full flush.
+ */
+@Component
+@Slf4j
+public class InvalidationBus {
+
+    /**
+     * Postgres rejects NOTIFY payloads of 8000 bytes or more; keys are ASCII
+     */
+    static final int MAX_PAYLOAD_LENGTH = 7_900;
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final InvalidationBusProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+
+    private long sequence;
+
+    public InvalidationBus(InvalidationBusProperties properties,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        if (!CHANNEL_PATTERN.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation channel: " + properties.getChannel());
+        }
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Identifies this node's events, so the listener can skip them
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publish(InvalidationEvent.Type type, String key) {
+        publish(type, List.of(key));
+    }
+
+    /**
+     * Tell the other nodes to evict the keys (after commit when called inside a transaction)
+     */
+    public void publish(InvalidationEvent.Type type, Collection<String> keys) {
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        List<String> copy = List.copyOf(keys);
+        afterCommit(() -> send(type, copy));
+    }
+
+    public void publishFlush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> send(InvalidationEvent.Type.FLUSH, List.of()));
+    }
+
+    /**
+     * Announce the last sequence number, so receivers notice a lost final event
+     */
+    @Scheduled(initialDelayString = "${authorization.invalidation.heartbeat-interval:PT30S}",
+               fixedDelayString = "${authorization.invalidation.heartbeat-interval:PT30S}")
+    public synchronized void sendHeartbeat() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sendEvent(new InvalidationEvent(nodeId, sequence, InvalidationEvent.Type.HEARTBEAT, List.of()));
+    }
+
+    private synchronized void send(InvalidationEvent.Type type, List<String> keys) {
+        for (List<String> chunk : chunk(type, keys)) {
+            sendEvent(new InvalidationEvent(nodeId, ++sequence, type, chunk));
+        }
+    }
+
+    private void sendEvent(InvalidationEvent event) {
+        try {
+            // Pool runs with auto-commit off; NOTIFY is delivered when this transaction commits
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query("SELECT pg_notify(?, ?)",
+                    (ResultSetExtractor<Void>) rs -> null, properties.getChannel(), event.encode()));
+        } catch (Exception e) {
+            log.warn("Failed to publish {} invalidation #{}; other nodes will flush on the gap: {}",
+                    event.type(), event.sequence(), e.getMessage());
+        }
+    }
+
+    /**
+     * Split the keys so each encoded event fits into one NOTIFY payload
+     */
+    private List<List<String>> chunk(InvalidationEvent.Type type, List<String> keys) {
+        // Sequence numbers never grow past 19 digits
+        int budget = MAX_PAYLOAD_LENGTH - InvalidationEvent.headerLength(nodeId, Long.MAX_VALUE, type);
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int length = 0;
+        for (String key : keys) {
+            int added = key.length() + (current.isEmpty() ? 0 : 1);
+            if (!current.isEmpty() && length + added > budget) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                length = 0;
+                added = key.length();
+            }
+            current.add(key);
+            length += added;
+        }
+        if (!current.isEmpty() || chunks.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
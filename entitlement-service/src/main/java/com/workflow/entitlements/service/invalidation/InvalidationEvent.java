@@ -0,0 +1,60 @@
+package com.workflow.entitlements.service.invalidation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Change event sent between nodes, encoded as "node|sequence|TYPE|key,key,..." to keep NOTIFY
+ * payloads small.
+ *
+ * Sequence numbers are per publishing node and increase by one per event; a HEARTBEAT repeats the
+ * last sequence sent without consuming a new one.
+ */
+public record InvalidationEvent(String nodeId, long sequence, Type type, List<String> keys) {
+
+    public enum Type {
+        /**
+         * Keys are user IDs whose roles, departments or attributes changed
+         */
+        USER,
+        /**
+         * Keys are domain role IDs whose permission mappings changed
+         */
+        ROLE,
+        /**
+         * Keys are ended session IDs
+         */
+        SESSION,
+        /**
+         * Drop every cached entry
+         */
+        FLUSH,
+        HEARTBEAT
+    }
+
+    private static final String SEPARATOR = "|";
+    private static final String KEY_SEPARATOR = ",";
+
+    public String encode() {
+        return nodeId + SEPARATOR + sequence + SEPARATOR + type + SEPARATOR + String.join(KEY_SEPARATOR, keys);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is not an encoded event
+     */
+    public static InvalidationEvent decode(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed invalidation event: " + payload);
+        }
+        List<String> keys = parts[3].isEmpty() ? List.of() : Arrays.asList(parts[3].split(KEY_SEPARATOR));
+        return new InvalidationEvent(parts[0], Long.parseLong(parts[1]), Type.valueOf(parts[2]), keys);
+    }
+
+    /**
+     * Encoded length of the event without keys, for splitting large key sets
+     */
+    static int headerLength(String nodeId, long sequence, Type type) {
+        return new InvalidationEvent(nodeId, sequence, type, List.of()).encode().length();
+    }
+}
@@ -0,0 +1,221 @@
+package com.workflow.entitlements.service.invalidation;
+
+import com.workflow.entitlements.config.InvalidationBusProperties;
+import com.workflow.entitlements.service.UserQueueIndex;
+import com.workflow.entitlements.service.UserSearchIndex;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import com.workflow.entitlements.service.authorization.PermissionMatrix;
+import com.workflow.entitlements.service.session.SessionRevocationList;
+import com.workflow.entitlements.service.session.SessionStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies the invalidation events of other nodes to this node's caches.
+ *
+ * A dedicated connection, outside the pool, LISTENs on the channel. Per publishing node the last
+ * sequence number is tracked; a gap means an event was lost and everything is flushed instead of
+ * guessing what it contained. Losing the connection flushes too, since NOTIFYs sent while nobody
+ * listens are gone.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
+    value = "authorization.invalidation.enabled",
+    havingValue = "true")
+@Slf4j
+public class InvalidationListener {
+
+    private final InvalidationBusProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final InvalidationBus invalidationBus;
+    private final AuthorizationCache authorizationCache;
+    private final PermissionMatrix permissionMatrix;
+    private final UserQueueIndex userQueueIndex;
+    private final UserSearchIndex userSearchIndex;
+    private final SessionStore sessionStore;
+    private final SessionRevocationList sessionRevocationList;
+    private final Counter received;
+    private final Counter flushes;
+
+    // Only touched by the listener thread
+    private final Map<String, Long> lastSequences = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public InvalidationListener(InvalidationBusProperties properties,
+                                DataSourceProperties dataSourceProperties,
+                                InvalidationBus invalidationBus,
+                                AuthorizationCache authorizationCache,
+                                PermissionMatrix permissionMatrix,
+                                UserQueueIndex userQueueIndex,
+                                UserSearchIndex userSearchIndex,
+                                SessionStore sessionStore,
+                                SessionRevocationList sessionRevocationList,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.invalidationBus = invalidationBus;
+        this.authorizationCache = authorizationCache;
+        this.permissionMatrix = permissionMatrix;
+        this.userQueueIndex = userQueueIndex;
+        this.userSearchIndex = userSearchIndex;
+        this.sessionStore = sessionStore;
+        this.sessionRevocationList = sessionRevocationList;
+        this.received = Counter.builder("authorization.invalidation.received")
+                .description("Invalidation events received from other nodes")
+                .register(meterRegistry);
+        this.flushes = Counter.builder("authorization.invalidation.flushes")
+                .description("Full cache flushes after a lost event or connection")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(properties.getPollTimeout().toMillis() * 2);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    // Channel is validated by InvalidationBus
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                flush("listener connected");
+                log.info("Listening for cache invalidations on channel {}", properties.getChannel());
+
+                int pollMillis = (int) properties.getPollTimeout().toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Invalidation listener connection failed, reconnecting in {}: {}",
+                            properties.getReconnectDelay(), e.getMessage());
+                    sleep();
+                }
+            } catch (RuntimeException e) {
+                log.error("Invalidation listener failed, reconnecting", e);
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * Apply one received payload, checking its sequence number first
+     */
+    void handle(String payload) {
+        InvalidationEvent event;
+        try {
+            event = InvalidationEvent.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed invalidation event: {}", payload);
+            flush("malformed event");
+            return;
+        }
+        if (event.nodeId().equals(invalidationBus.getNodeId())) {
+            return;
+        }
+        received.increment();
+
+        Long last = lastSequences.get(event.nodeId());
+        if (event.type() == InvalidationEvent.Type.HEARTBEAT) {
+            if (last != null && last < event.sequence()) {
+                flush("missed events from node " + event.nodeId());
+            }
+            lastSequences.merge(event.nodeId(), event.sequence(), Math::max);
+            return;
+        }
+
+        if (last != null && event.sequence() > last + 1) {
+            flush("missed events from node " + event.nodeId());
+        } else {
+            // Also applies a first event from a node that joined after us; evictions are idempotent
+            apply(event);
+        }
+        lastSequences.merge(event.nodeId(), event.sequence(), Math::max);
+    }
+
+    private void apply(InvalidationEvent event) {
+        switch (event.type()) {
+            case USER -> {
+                Set<UUID> userIds = new HashSet<>();
+                event.keys().forEach(key -> userIds.add(UUID.fromString(key)));
+                // Before evicting, so a whoami rebuilt right after sees the new queues
+                userQueueIndex.usersChanged(userIds);
+                authorizationCache.invalidateUsersLocally(userIds);
+                userIds.forEach(permissionMatrix::userRolesChanged);
+                userSearchIndex.usersChanged(userIds);
+            }
+            case ROLE -> event.keys().forEach(key -> {
+                UUID roleId = UUID.fromString(key);
+                // Recompile first, so decisions re-evaluated after the eviction see the new grants
+                permissionMatrix.roleChanged(roleId);
+                authorizationCache.invalidateUsersLocally(permissionMatrix.roleHolders(roleId));
+            });
+            case SESSION -> event.keys().forEach(sessionId -> {
+                sessionStore.evictCached(sessionId);
+                sessionRevocationList.revoke(sessionId);
+            });
+            case FLUSH -> flush("flush requested by node " + event.nodeId());
+            case HEARTBEAT -> {
+            }
+        }
+    }
+
+    private void flush(String reason) {
+        authorizationCache.invalidateAllLocally();
+        permissionMatrix.refreshAll();
+        userQueueIndex.refreshAll();
+        userSearchIndex.refreshAll();
+        sessionStore.evictAllCached();
+        flushes.increment();
+        log.info("Flushed authorization caches: {}", reason);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
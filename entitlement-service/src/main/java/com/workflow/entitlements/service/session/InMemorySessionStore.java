@@ -0,0 +1,114 @@
+package com.workflow.entitlements.service.session;
+
+import com.workflow.entitlements.config.SessionProperties;
+import com.workflow.entitlements.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session store for a single node.
+ *
+ * Expiry deadlines are kept in a {@link TimingWheel}, so touching a session and sweeping expired
+ * ones cost O(1) per session instead of a scan over all of them. Lookups check the deadline
+ * themselves; the sweep only reclaims memory.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
+    value = "authorization.session.store",
+    havingValue = "MEMORY",
+    matchIfMissing = true)
+@Slf4j
+public class InMemorySessionStore implements SessionStore {
+
+    private final SessionProperties properties;
+    private final Clock clock;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final TimingWheel<String> expiryWheel;
+    private final Counter expiredSessions;
+
+    @Autowired
+    public InMemorySessionStore(SessionProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    InMemorySessionStore(SessionProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.expiryWheel = new TimingWheel<>(properties.getWheelTick(), properties.getTimeout(), clock.millis());
+        this.expiredSessions = Counter.builder("authorization.sessions.expired")
+                .description("Sessions removed by the idle timeout")
+                .register(meterRegistry);
+        Gauge.builder("authorization.sessions.active", sessions, Map::size)
+                .description("Sessions held by this node")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Session create(UUID userId, String username) {
+        Session session = Session.create(UUID.randomUUID().toString(), userId, username,
+                clock.instant(), properties.getTimeout());
+        sessions.put(session.sessionId(), session);
+        expiryWheel.schedule(session.sessionId(), session.expiresAt().toEpochMilli());
+        return session;
+    }
+
+    @Override
+    public Optional<Session> touch(String sessionId) {
+        Instant now = clock.instant();
+        Session touched = sessions.computeIfPresent(sessionId,
+                (id, session) -> session.isExpired(now) ? null : session.touched(now, properties.getTimeout()));
+        if (touched == null) {
+            expiryWheel.cancel(sessionId);
+            return Optional.empty();
+        }
+        expiryWheel.schedule(sessionId, touched.expiresAt().toEpochMilli());
+        return Optional.of(touched);
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        if (sessions.remove(sessionId) != null) {
+            expiryWheel.cancel(sessionId);
+        }
+    }
+
+    @Override
+    public long size() {
+        return sessions.size();
+    }
+
+    /**
+     * Advance the expiry wheel and drop the sessions whose deadline passed
+     */
+    @Scheduled(fixedRateString = "${authorization.session.wheel-tick:PT1S}")
+    public void expireSessions() {
+        Instant now = clock.instant();
+        int[] expired = {0};
+        expiryWheel.advance(now.toEpochMilli(), sessionId -> {
+            Session remaining = sessions.computeIfPresent(sessionId,
+                    (id, session) -> session.isExpired(now) ? null : session);
+            if (remaining != null) {
+                // Touched after the wheel picked it; keep it scheduled
+                expiryWheel.schedule(sessionId, remaining.expiresAt().toEpochMilli());
+            } else {
+                expired[0]++;
+            }
+        });
+        if (expired[0] > 0) {
+            expiredSessions.increment(expired[0]);
+            log.debug("Expired {} idle sessions, {} active", expired[0], sessions.size());
+        }
+    }
+}
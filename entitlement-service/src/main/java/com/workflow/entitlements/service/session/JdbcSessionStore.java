@@ -0,0 +1,193 @@
+package com.workflow.entitlements.service.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workflow.entitlements.config.SessionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Session store shared by all entitlement-service nodes through the auth_sessions table.
+ *
+ * Each node keeps a near-cache of recently validated sessions. Most validations are answered
+ * from it without a database round-trip. The expiry extension is written back only once it has
+ * grown by touch-interval. Because of that cache, a logout on one node takes effect on the other
+ * nodes after at most near-cache-ttl, or right away when the invalidation bus is enabled.
+ */
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
+    value = "authorization.session.store",
+    havingValue = "JDBC")
+@Slf4j
+public class JdbcSessionStore implements SessionStore {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO entitlements.auth_sessions
+                (session_id, user_id, username, created_at, last_accessed_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_SQL = """
+            SELECT session_id, user_id, username, created_at, last_accessed_at, expires_at
+            FROM entitlements.auth_sessions
+            WHERE session_id = ?
+            """;
+
+    // Several nodes may extend the same session; never move the expiry backwards
+    private static final String TOUCH_SQL = """
+            UPDATE entitlements.auth_sessions
+            SET last_accessed_at = GREATEST(last_accessed_at, ?), expires_at = GREATEST(expires_at, ?)
+            WHERE session_id = ? AND expires_at > ?
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM entitlements.auth_sessions WHERE session_id = ?";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM entitlements.auth_sessions WHERE expires_at <= ?";
+
+    private static final RowMapper<Session> SESSION_ROW_MAPPER = (rs, rowNum) -> new Session(
+            rs.getString("session_id"),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("username"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getTimestamp("last_accessed_at").toInstant(),
+            rs.getTimestamp("expires_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionProperties properties;
+    private final Clock clock;
+    private final Cache<String, Session> nearCache;
+
+    @Autowired
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            SessionProperties properties, MeterRegistry meterRegistry) {
+        this(jdbcTemplate, transactionManager, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    JdbcSessionStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                     SessionProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.getNearCacheMaximumSize())
+                .expireAfterWrite(properties.getNearCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "authorization.sessions");
+    }
+
+    @Override
+    public Session create(UUID userId, String username) {
+        Session session = Session.create(UUID.randomUUID().toString(), userId, username,
+                clock.instant(), properties.getTimeout());
+        update(INSERT_SQL,
+                session.sessionId(),
+                session.userId(),
+                session.username(),
+                Timestamp.from(session.createdAt()),
+                Timestamp.from(session.lastAccessedAt()),
+                Timestamp.from(session.expiresAt()));
+        nearCache.put(session.sessionId(), session);
+        return session;
+    }
+
+    @Override
+    public Optional<Session> touch(String sessionId) {
+        Instant now = clock.instant();
+        Session session = nearCache.getIfPresent(sessionId);
+        boolean loaded = false;
+        if (session == null) {
+            List<Session> rows = jdbcTemplate.query(SELECT_SQL, SESSION_ROW_MAPPER, sessionId);
+            session = rows.isEmpty() ? null : rows.get(0);
+            loaded = true;
+        }
+        if (session == null || session.isExpired(now)) {
+            nearCache.invalidate(sessionId);
+            return Optional.empty();
+        }
+
+        Session touched = session.touched(now, properties.getTimeout());
+        Duration extension = Duration.between(session.expiresAt(), touched.expiresAt());
+        if (extension.compareTo(properties.getTouchInterval()) < 0) {
+            // The stored expiry is recent enough. A cached copy is left as it is so its TTL keeps running
+            if (loaded) {
+                nearCache.put(sessionId, session);
+            }
+            return Optional.of(touched);
+        }
+
+        int updated = update(TOUCH_SQL,
+                Timestamp.from(touched.lastAccessedAt()),
+                Timestamp.from(touched.expiresAt()),
+                sessionId,
+                Timestamp.from(now));
+        if (updated == 0) {
+            // Logged out or expired on another node
+            nearCache.invalidate(sessionId);
+            return Optional.empty();
+        }
+        nearCache.put(sessionId, touched);
+        return Optional.of(touched);
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        nearCache.invalidate(sessionId);
+        update(DELETE_SQL, sessionId);
+    }
+
+    @Override
+    public long size() {
+        return nearCache.estimatedSize();
+    }
+
+    @Override
+    public void evictCached(String sessionId) {
+        nearCache.invalidate(sessionId);
+    }
+
+    @Override
+    public void evictAllCached() {
+        nearCache.invalidateAll();
+    }
+
+    /**
+     * Delete expired rows; every node runs this, which is harmless
+     */
+    @Scheduled(initialDelayString = "${authorization.session.cleanup-interval:PT5M}",
+               fixedDelayString = "${authorization.session.cleanup-interval:PT5M}")
+    public void deleteExpiredSessions() {
+        try {
+            int deleted = update(DELETE_EXPIRED_SQL, Timestamp.from(clock.instant()));
+            if (deleted > 0) {
+                log.debug("Deleted {} expired sessions", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete expired sessions: {}", e.getMessage());
+        }
+    }
+
+    // Pool runs with auto-commit off, so every write needs its own transaction
+    private int update(String sql, Object... args) {
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(sql, args));
+        return updated != null ? updated : 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.workflow.entitlements.service.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A login session; immutable, touching it yields a copy with a later expiry.
+ */
+public record Session(String sessionId, UUID userId, String username,
+                      Instant createdAt, Instant lastAccessedAt, Instant expiresAt) {
+
+    public static Session create(String sessionId, UUID userId, String username, Instant now, Duration timeout) {
+        return new Session(sessionId, userId, username, now, now, now.plus(timeout));
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public Session touched(Instant now, Duration timeout) {
+        return new Session(sessionId, userId, username, createdAt, now, now.plus(timeout));
+    }
+}
@@ -0,0 +1,118 @@
+package com.workflow.entitlements.service.session;
+
+import com.workflow.entitlements.config.SessionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Session IDs whose tokens must no longer be accepted, pushed to the token verifiers.
+ *
+ * An entry is only needed until the last token issued for the session has expired, so the list
+ * stays short: logouts of the last token ttl. Verifiers subscribe with {@link #subscribe()} and
+ * receive a "snapshot" event with the whole list followed by one "revoked" event per revocation;
+ * after a reconnect the new snapshot covers anything they missed. Entries are never withdrawn
+ * before they expire, so verifiers merge snapshots into what they have instead of replacing it.
+ */
+@Component
+@Slf4j
+public class SessionRevocationList {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String REVOKED_EVENT = "revoked";
+
+    private final SessionProperties.Token properties;
+    private final Clock clock;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public SessionRevocationList(SessionProperties sessionProperties) {
+        this(sessionProperties, Clock.systemUTC());
+    }
+
+    SessionRevocationList(SessionProperties sessionProperties, Clock clock) {
+        this.properties = sessionProperties.getToken();
+        this.clock = clock;
+    }
+
+    /**
+     * Revoke every token of the session. Tokens are valid for at most one ttl after they were
+     * issued, so the entry is kept that long.
+     */
+    public void revoke(String sessionId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant expiresAt = clock.instant().plus(properties.getTtl());
+        revoked.put(sessionId, expiresAt);
+        Revocation revocation = new Revocation(sessionId, expiresAt);
+        for (SseEmitter subscriber : subscribers) {
+            send(subscriber, REVOKED_EVENT, revocation);
+        }
+    }
+
+    public boolean isRevoked(String sessionId) {
+        Instant expiresAt = revoked.get(sessionId);
+        return expiresAt != null && expiresAt.isAfter(clock.instant());
+    }
+
+    public List<Revocation> snapshot() {
+        Instant now = clock.instant();
+        return revoked.entrySet().stream()
+                .filter(entry -> entry.getValue().isAfter(now))
+                .map(entry -> new Revocation(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Open a push stream for a verifier, starting with the current snapshot
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(properties.getRevocationStreamTimeout().toMillis());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        send(emitter, SNAPSHOT_EVENT, snapshot());
+        log.debug("Revocation stream subscribed, {} subscribers", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Drop entries whose tokens have expired on their own
+     */
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Disconnected; the verifier gets a fresh snapshot when it reconnects
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    public record Revocation(String sessionId, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.workflow.entitlements.service.session;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage of login sessions with a sliding idle timeout.
+ *
+ * The implementation is selected with authorization.session.store: MEMORY (single node) or
+ * JDBC (shared by all entitlement-service nodes).
+ */
+public interface SessionStore {
+
+    /**
+     * Start a new session for the user
+     */
+    Session create(UUID userId, String username);
+
+    /**
+     * Look up a session and extend its expiry.
+     *
+     * @return the session, or empty if it does not exist or has expired
+     */
+    Optional<Session> touch(String sessionId);
+
+    /**
+     * End a session; unknown IDs are ignored
+     */
+    void remove(String sessionId);
+
+    /**
+     * Number of sessions currently held (for a shared store: held by this node)
+     */
+    long size();
+
+    /**
+     * Drop a locally cached copy of a session that another node ended
+     */
+    default void evictCached(String sessionId) {
+    }
+
+    default void evictAllCached() {
+    }
+}
@@ -0,0 +1,188 @@
+package com.workflow.entitlements.service.session;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.workflow.entitlements.config.SessionProperties;
+import com.workflow.entitlements.repository.PrincipalReadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies signed session tokens (HS256 JWTs).
+ *
+ * A token carries the session ID (jti), user ID (sub), username, a digest of the user's roles and
+ * a short expiry. The gateway and onecms verify it with the shared keys and consult the revocation
+ * list pushed by {@link SessionRevocationList}, so they no longer call validate-session per request.
+ */
+@Service
+@Slf4j
+public class SessionTokenService {
+
+    static final String USERNAME_CLAIM = "usr";
+    static final String ROLES_DIGEST_CLAIM = "rdg";
+
+    private final SessionProperties.Token properties;
+    private final PrincipalReadRepository principalReadRepository;
+    private final SessionRevocationList revocationList;
+    private final Clock clock;
+    private final Map<String, JWSVerifier> verifiers = new HashMap<>();
+    private final JWSSigner signer;
+
+    @Autowired
+    public SessionTokenService(SessionProperties sessionProperties,
+                               PrincipalReadRepository principalReadRepository,
+                               SessionRevocationList revocationList) {
+        this(sessionProperties, principalReadRepository, revocationList, Clock.systemUTC());
+    }
+
+    SessionTokenService(SessionProperties sessionProperties,
+                        PrincipalReadRepository principalReadRepository,
+                        SessionRevocationList revocationList,
+                        Clock clock) {
+        this.properties = sessionProperties.getToken();
+        this.principalReadRepository = principalReadRepository;
+        this.revocationList = revocationList;
+        this.clock = clock;
+        this.signer = properties.isEnabled() ? createKeys() : null;
+    }
+
+    public boolean isEnabled() {
+        return signer != null;
+    }
+
+    /**
+     * Issue a token for the session, valid for the configured ttl
+     */
+    public IssuedToken issue(Session session) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Session tokens are disabled");
+        }
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(properties.getTtl());
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .jwtID(session.sessionId())
+                .subject(session.userId().toString())
+                .issuer(properties.getIssuer())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(expiresAt))
+                .claim(USERNAME_CLAIM, session.username())
+                .claim(ROLES_DIGEST_CLAIM, rolesDigest(session.userId()))
+                .build();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(properties.getActiveKeyId()).build(),
+                claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign session token", e);
+        }
+        return new IssuedToken(jwt.serialize(), expiresAt);
+    }
+
+    /**
+     * Verify signature, issuer, expiry and revocation the same way the remote verifiers do
+     *
+     * @return the verified claims, or empty if the token must not be accepted
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            JWSVerifier verifier = verifiers.get(jwt.getHeader().getKeyID());
+            if (verifier == null || !JWSAlgorithm.HS256.equals(jwt.getHeader().getAlgorithm())
+                    || !jwt.verify(verifier)) {
+                return Optional.empty();
+            }
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            Date expiration = claims.getExpirationTime();
+            if (expiration == null || !expiration.toInstant().isAfter(clock.instant())
+                    || !properties.getIssuer().equals(claims.getIssuer())
+                    || claims.getJWTID() == null || claims.getSubject() == null
+                    || revocationList.isRevoked(claims.getJWTID())) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(
+                    claims.getJWTID(),
+                    UUID.fromString(claims.getSubject()),
+                    claims.getStringClaim(USERNAME_CLAIM),
+                    claims.getStringClaim(ROLES_DIGEST_CLAIM),
+                    expiration.toInstant()));
+        } catch (ParseException | JOSEException | IllegalArgumentException e) {
+            log.debug("Rejected session token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Short, order independent digest of the user's current role names. Verifiers forward it, so
+     * downstream caches can tell that a user's roles changed since the token was issued.
+     */
+    String rolesDigest(UUID userId) {
+        List<String> roles = principalReadRepository.findByUserId(userId)
+                .map(PrincipalReadRepository.PrincipalView::roleNames)
+                .orElse(List.of())
+                .stream()
+                .sorted()
+                .toList();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("\n", roles).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JWSSigner createKeys() {
+        if (properties.getKeys().isEmpty()) {
+            throw new IllegalStateException("authorization.session.token.keys must not be empty when tokens are enabled");
+        }
+        try {
+            for (Map.Entry<String, String> key : properties.getKeys().entrySet()) {
+                verifiers.put(key.getKey(), new MACVerifier(key.getValue().getBytes(StandardCharsets.UTF_8)));
+            }
+            String activeKey = properties.getKeys().get(properties.getActiveKeyId());
+            if (activeKey == null) {
+                throw new IllegalStateException("authorization.session.token.active-key-id '"
+                        + properties.getActiveKeyId() + "' is not one of the configured keys");
+            }
+            log.info("Session tokens enabled; signing with key '{}', accepting {}",
+                    properties.getActiveKeyId(), verifiers.keySet());
+            return new MACSigner(activeKey.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            // Nimbus rejects HMAC secrets shorter than 256 bits
+            throw new IllegalStateException("Invalid session token key: " + e.getMessage(), e);
+        }
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    public record VerifiedToken(String sessionId, UUID userId, String username, String rolesDigest,
+                                Instant expiresAt) {
+    }
+}
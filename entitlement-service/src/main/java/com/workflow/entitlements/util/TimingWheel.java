@@ -0,0 +1,118 @@
+package com.workflow.entitlements.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: schedules keys for expiry in O(1) and finds the due ones without scanning
+ * everything that is scheduled.
+ *
+ * Deadlines are rounded up to whole ticks and hashed into {@code slots} buckets. Deadlines further
+ * away than one revolution simply stay in their bucket until a later pass reaches them.
+ * {@link #schedule} and {@link #cancel} are thread-safe; {@link #advance} is called by one thread
+ * at a time (e.g. a scheduler).
+ *
+ * @param <K> key type, e.g. a session ID
+ */
+public final class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final Set<K>[] buckets;
+    private final Map<K, Long> deadlineTicks = new ConcurrentHashMap<>();
+
+    private volatile long currentTick;
+
+    /**
+     * @param tick resolution; keys expire at most one tick late
+     * @param horizon typical time until a deadline, sizes the wheel so most keys are visited once
+     * @param startMillis current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, Duration horizon, long startMillis) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        int slots = (int) Math.min(1 << 16, Math.max(16, horizon.toMillis() / tickMillis + 1));
+        this.buckets = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule the key to expire at the deadline, replacing any earlier schedule
+     */
+    public void schedule(K key, long deadlineMillis) {
+        // Round up, and never into a tick that has already been processed
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Long previous = deadlineTicks.put(key, tick);
+        buckets[bucketIndex(tick)].add(key);
+        if (previous != null && bucketIndex(previous) != bucketIndex(tick)) {
+            buckets[bucketIndex(previous)].remove(key);
+        }
+    }
+
+    public void cancel(K key) {
+        Long previous = deadlineTicks.remove(key);
+        if (previous != null) {
+            buckets[bucketIndex(previous)].remove(key);
+        }
+    }
+
+    /**
+     * Move the wheel to {@code nowMillis} and hand every key whose deadline has passed to
+     * {@code onExpired}. Expired keys are no longer scheduled when the callback runs.
+     *
+     * @return number of expired keys
+     */
+    public int advance(long nowMillis, Consumer<K> onExpired) {
+        long nowTick = nowMillis / tickMillis;
+        long from = currentTick + 1;
+        // After a long pause one full revolution visits every bucket
+        long to = Math.min(nowTick, from + buckets.length - 1);
+        int expired = 0;
+        for (long tick = from; tick <= to; tick++) {
+            Iterator<K> keys = buckets[bucketIndex(tick)].iterator();
+            while (keys.hasNext()) {
+                K key = keys.next();
+                Long deadline = deadlineTicks.get(key);
+                if (deadline == null || bucketIndex(deadline) != bucketIndex(tick)) {
+                    // Cancelled or rescheduled into another bucket
+                    keys.remove();
+                    restoreIfRescheduled(key, tick);
+                } else if (deadline <= nowTick) {
+                    keys.remove();
+                    if (deadlineTicks.remove(key, deadline)) {
+                        onExpired.accept(key);
+                        expired++;
+                    } else {
+                        restoreIfRescheduled(key, tick);
+                    }
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return expired;
+    }
+
+    /**
+     * Put the key back if a concurrent schedule() targeted the bucket it was just removed from
+     */
+    private void restoreIfRescheduled(K key, long tick) {
+        Long rescheduled = deadlineTicks.get(key);
+        if (rescheduled != null && bucketIndex(rescheduled) == bucketIndex(tick)) {
+            buckets[bucketIndex(tick)].add(key);
+        }
+    }
+
+    public int size() {
+        return deadlineTicks.size();
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.length);
+    }
+}
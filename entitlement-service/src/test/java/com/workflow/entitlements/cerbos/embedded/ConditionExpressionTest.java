@@ -0,0 +1,112 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConditionExpressionTest {
+
+    // Wednesday
+    private static final Instant NOW = Instant.parse("2026-10-14T10:15:00Z");
+
+    private static final Map<String, Object> VARIABLES = Map.of("request", Map.of(
+            "action", "read",
+            "principal", Map.of(
+                    "id", "u1",
+                    "attr", Map.of(
+                            "isActive", true,
+                            "departments", List.of("HR", "LEGAL"),
+                            "databasePermissions", List.of("case:read", "task:claim_task"))),
+            "resource", Map.of(
+                    "kind", "case",
+                    "id", "CMS-1",
+                    "attr", Map.of(
+                            "department_code", "HR",
+                            "priority", 3L,
+                            "expiresAt", "2026-10-20T00:00:00Z"))));
+
+    @Test
+    void evaluate_OperatorsAndPrecedence_ShouldFollowCel() {
+        assertThat(evaluate("1 + 2 * 3 == 7 && !(2 > 3)")).isEqualTo(true);
+        assertThat(evaluate("10 / 3 == 3 && 10 % 3 == 1 && 1.5 * 2 == 3")).isEqualTo(true);
+        assertThat(evaluate("'a' + \"b\" == 'ab' ? 'yes' : 'no'")).isEqualTo("yes");
+        assertThat(evaluate("request.resource.attr.priority >= 3 && request.resource.attr.priority < 3.5")).isEqualTo(true);
+    }
+
+    @Test
+    void evaluate_InAndHas_ShouldSupportListsAndMaps() {
+        assertThat(evaluate("request.resource.attr.department_code in request.principal.attr.departments")).isEqualTo(true);
+        assertThat(evaluate("'isActive' in request.principal.attr")).isEqualTo(true);
+        assertThat(evaluate("has(request.principal.attr.isActive) && !has(request.principal.attr.queues)")).isEqualTo(true);
+        assertThat(evaluate("has(request.principal.attr['departments'])")).isEqualTo(true);
+    }
+
+    @Test
+    void evaluate_MissingAttribute_ShouldBeErrorThatLogicalOperatorsCanAbsorb() {
+        assertThat(evaluate("request.principal.attr.queues[0] == 'q'")).isInstanceOf(EvalError.class);
+        assertThat(evaluate("request.principal.attr.queues == 'q' || true")).isEqualTo(true);
+        assertThat(evaluate("false && request.principal.attr.queues == 'q'")).isEqualTo(false);
+        assertThat(evaluate("undeclared == 1")).isInstanceOf(EvalError.class);
+
+        ConditionExpression expression = ConditionExpression.compile("request.principal.attr.queues == 'q' || false");
+        assertThat(expression.matches(VARIABLES, NOW)).isFalse();
+    }
+
+    @Test
+    void evaluate_Macros_ShouldIterateWithBoundVariable() {
+        assertThat(evaluate("[1, 2, 3].exists(d, d == 2)")).isEqualTo(true);
+        assertThat(evaluate("[1, 2, 3].all(d, d > 0)")).isEqualTo(true);
+        assertThat(evaluate("[1, 2, 3].exists_one(d, d > 1)")).isEqualTo(false);
+        assertThat(evaluate("request.principal.attr.databasePermissions.filter(p, p.startsWith('case:'))"))
+                .isEqualTo(List.of("case:read"));
+        assertThat(evaluate("request.action in request.principal.attr.databasePermissions.map(p, p.split(':')[1])"))
+                .isEqualTo(true);
+    }
+
+    @Test
+    void evaluate_Functions_ShouldSupportGlobalAndReceiverForms() {
+        assertThat(evaluate("size(request.principal.attr.departments) == 2 && 'abc'.size() == 3")).isEqualTo(true);
+        assertThat(evaluate("startsWith('case:read', 'case:') && 'case:read'.endsWith('read')")).isEqualTo(true);
+        assertThat(evaluate("'CMS-123'.matches('^CMS-[0-9]+$') && 'Hr'.upperAscii() == 'HR'")).isEqualTo(true);
+    }
+
+    @Test
+    void evaluate_TimestampsAndDurations_ShouldUseEvaluationTime() {
+        assertThat(evaluate("now().getHours() == 10 && now().getDayOfWeek() == 3")).isEqualTo(true);
+        assertThat(evaluate("now() < timestamp(request.resource.attr.expiresAt)")).isEqualTo(true);
+        assertThat(evaluate("timestamp(request.resource.attr.expiresAt) - now() > duration('1h30m')")).isEqualTo(true);
+        assertThat(evaluate("now() + duration('30d') > now()")).isInstanceOf(EvalError.class);
+    }
+
+    @Test
+    void compile_HashComments_ShouldBeIgnoredOutsideStrings() {
+        ConditionExpression expression = ConditionExpression.compile("""
+                # department members
+                request.resource.attr.department_code == "HR" || // legacy comment
+                # never reached
+                request.action == "#delete"
+                """);
+
+        assertThat(expression.matches(VARIABLES, NOW)).isTrue();
+    }
+
+    @Test
+    void compile_InvalidExpression_ShouldThrow() {
+        assertThatThrownBy(() -> ConditionExpression.compile("request.action == "))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConditionExpression.compile("has(request)"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("has()");
+        assertThatThrownBy(() -> ConditionExpression.compile("'unterminated"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Object evaluate(String expression) {
+        return ConditionExpression.compile(expression).evaluate(VARIABLES, NOW);
+    }
+}
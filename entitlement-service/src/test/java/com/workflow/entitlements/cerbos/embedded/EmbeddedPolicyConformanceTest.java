@@ -0,0 +1,244 @@
+package com.workflow.entitlements.cerbos.embedded;
+
+import com.workflow.entitlements.cerbos.CerbosCheckClient;
+import com.workflow.entitlements.cerbos.CerbosValues;
+import com.workflow.entitlements.config.CerbosProperties;
+import dev.cerbos.api.v1.effect.Effect;
+import dev.cerbos.api.v1.engine.Engine;
+import dev.cerbos.api.v1.request.Request.CheckResourcesRequest;
+import dev.cerbos.api.v1.response.Response.CheckResourcesResponse;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Evaluates the policy files shipped in src/main/resources/cerbos/policies and compares the embedded
+ * decisions with expected Cerbos decisions.
+ *
+ * Set CERBOS_CONFORMANCE_ADDRESS (host:port of a PDP serving the same policies) to additionally
+ * compare every scenario against the live PDP.
+ */
+class EmbeddedPolicyConformanceTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440001";
+
+    // Wednesday, inside business hours
+    private static final Instant WEDNESDAY_MORNING = Instant.parse("2026-10-14T10:00:00Z");
+
+    private static final Instant SUNDAY_NIGHT = Instant.parse("2026-10-18T23:00:00Z");
+
+    private static final String CASE = "case";
+    private static final String WORKFLOW = "OneCMS::oneCmsCaseWorkflow";
+
+    private static CerbosProperties properties;
+
+    @BeforeAll
+    static void setUp() {
+        properties = new CerbosProperties();
+    }
+
+    static Stream<Scenario> scenarios() {
+        return Stream.of(
+                new Scenario("investigator updates own case",
+                        principal(List.of("INVESTIGATOR"), Map.of()),
+                        resource(CASE, Map.of("assigneeId", USER_ID)),
+                        "update", true),
+                new Scenario("investigator updates someone else's case",
+                        principal(List.of("INVESTIGATOR"), Map.of()),
+                        resource(CASE, Map.of("assigneeId", "someone-else")),
+                        "update", false),
+                new Scenario("investigator in investigation phase of own department",
+                        principal(List.of("INVESTIGATOR"), Map.of("departments", List.of("HR"))),
+                        resource(CASE, Map.of("workflowPhase", "INVESTIGATION", "department_code", "HR")),
+                        "investigate", true),
+                new Scenario("investigator deletes own case",
+                        principal(List.of("INVESTIGATOR"), Map.of()),
+                        resource(CASE, Map.of("assigneeId", USER_ID)),
+                        "delete", false),
+                new Scenario("EO officer reads a case",
+                        principal(List.of("EO_OFFICER"), Map.of()),
+                        resource(CASE, Map.of()),
+                        "read", true),
+                new Scenario("inactive EO officer reads a case",
+                        principal(List.of("EO_OFFICER"), Map.of("isActive", false)),
+                        resource(CASE, Map.of()),
+                        "read", false),
+                new Scenario("EO officer updates a completed case",
+                        principal(List.of("EO_OFFICER"), Map.of()),
+                        resource(CASE, Map.of("workflowPhase", "COMPLETED")),
+                        "update", false),
+                new Scenario("EO officer exports a completed case",
+                        principal(List.of("EO_OFFICER"), Map.of()),
+                        resource(CASE, Map.of("workflowPhase", "COMPLETED")),
+                        "export", true),
+                new Scenario("department member reviews a case of their department",
+                        principal(List.of("HR_SPECIALIST"), Map.of("departments", List.of("HR"))),
+                        resource(CASE, Map.of("department_code", "HR")),
+                        "review", true),
+                new Scenario("department member reviews a case of another department",
+                        principal(List.of("HR_SPECIALIST"), Map.of("departments", List.of("HR"))),
+                        resource(CASE, Map.of("department_code", "LEGAL")),
+                        "review", false),
+                new Scenario("user without roles but with a database permission",
+                        principal(List.of(), Map.of("databasePermissions", List.of("case:read"))),
+                        resource(CASE, Map.of()),
+                        "read", true),
+                new Scenario("user without roles or database permissions",
+                        principal(List.of(), Map.of()),
+                        resource(CASE, Map.of()),
+                        "read", false),
+                // database_authorized activates the "*" intake and management rules
+                new Scenario("user with a database delete permission",
+                        principal(List.of(), Map.of("databasePermissions", List.of("case:delete"))),
+                        resource(CASE, Map.of()),
+                        "delete", true),
+                new Scenario("urgent case grants emergency access",
+                        principal(List.of(), Map.of()),
+                        resource(CASE, Map.of("priority", "URGENT")),
+                        "emergency_access", true),
+                new Scenario("queue member claims a task of their queue",
+                        principal(List.of(), Map.of("queues", List.of("investigator-queue"))),
+                        resource(WORKFLOW, Map.of("currentTask", Map.of("queue", "investigator-queue"))),
+                        "claim_task", true),
+                new Scenario("queue member views a task of another queue",
+                        principal(List.of(), Map.of("queues", List.of("investigator-queue"))),
+                        resource(WORKFLOW, Map.of("currentTask", Map.of("queue", "eo-head-queue"))),
+                        "view_task", false),
+                new Scenario("unknown resource kind",
+                        principal(List.of("EO_OFFICER"), Map.of()),
+                        resource("unknown", Map.of()),
+                        "read", false));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    void check_ShouldMatchExpectedDecision(Scenario scenario) {
+        EmbeddedPolicyEvaluator evaluator = evaluatorAt(WEDNESDAY_MORNING);
+
+        Map<String, Boolean> decisions = evaluator.check(scenario.principal(), scenario.resource(),
+                List.of(scenario.action()));
+
+        assertThat(decisions).containsEntry(scenario.action(), scenario.expectedAllowed());
+    }
+
+    @Test
+    void check_BusinessHoursRule_ShouldUseEvaluationTime() {
+        EmbeddedPolicyEvaluator.Principal principal = principal(List.of(), Map.of("departments", List.of("HR")));
+        EmbeddedPolicyEvaluator.Resource resource = resource(CASE, Map.of("department_code", "HR"));
+
+        assertThat(evaluatorAt(WEDNESDAY_MORNING).check(principal, resource, List.of("after_hours_access")))
+                .containsEntry("after_hours_access", true);
+        assertThat(evaluatorAt(SUNDAY_NIGHT).check(principal, resource, List.of("after_hours_access")))
+                .containsEntry("after_hours_access", false);
+    }
+
+    @Test
+    void check_PrincipalPolicy_ShouldApplyToMatchingPrincipalIdOnly() {
+        EmbeddedPolicyEvaluator evaluator = evaluatorAt(WEDNESDAY_MORNING);
+        EmbeddedPolicyEvaluator.Resource resource = resource(CASE, Map.of());
+
+        EmbeddedPolicyEvaluator.Principal policyPrincipal = new EmbeddedPolicyEvaluator.Principal(
+                "user", Set.of("user"), Map.of("isActive", true));
+        assertThat(evaluator.check(policyPrincipal, resource, List.of("authenticate")))
+                .containsEntry("authenticate", true);
+
+        assertThat(evaluator.check(principal(List.of(), Map.of()), resource, List.of("authenticate")))
+                .containsEntry("authenticate", false);
+    }
+
+    @Test
+    void check_MultipleActions_ShouldDecideEachInRequestOrder() {
+        Map<String, Boolean> decisions = evaluatorAt(WEDNESDAY_MORNING).check(
+                principal(List.of("INVESTIGATOR"), Map.of()),
+                resource(CASE, Map.of("assigneeId", USER_ID)),
+                List.of("read", "delete", "add_narrative"));
+
+        assertThat(decisions).containsExactly(
+                Map.entry("read", true), Map.entry("delete", false), Map.entry("add_narrative", true));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    @EnabledIfEnvironmentVariable(named = "CERBOS_CONFORMANCE_ADDRESS", matches = ".+")
+    void check_ShouldMatchLivePdp(Scenario scenario) {
+        ManagedChannel channel = NettyChannelBuilder.forTarget(System.getenv("CERBOS_CONFORMANCE_ADDRESS"))
+                .usePlaintext()
+                .build();
+        try {
+            CerbosCheckClient client = new CerbosCheckClient(channel, properties, new SimpleMeterRegistry());
+            String version = properties.getPolicies().getVersion();
+
+            CheckResourcesResponse response = client.checkResources(CheckResourcesRequest.newBuilder()
+                    .setRequestId(UUID.randomUUID().toString())
+                    .setPrincipal(Engine.Principal.newBuilder()
+                            .setId(scenario.principal().id())
+                            .setPolicyVersion(version)
+                            .addAllRoles(scenario.principal().roles())
+                            .putAllAttr(CerbosValues.toAttributes(scenario.principal().attributes())))
+                    .addResources(CheckResourcesRequest.ResourceEntry.newBuilder()
+                            .setResource(Engine.Resource.newBuilder()
+                                    .setKind(scenario.resource().kind())
+                                    .setId(scenario.resource().id())
+                                    .setPolicyVersion(version)
+                                    .putAllAttr(CerbosValues.toAttributes(scenario.resource().attributes())))
+                            .addActions(scenario.action()))
+                    .build());
+
+            boolean pdpAllowed = response.getResults(0).getActionsMap().get(scenario.action()) == Effect.EFFECT_ALLOW;
+            Map<String, Boolean> embedded = evaluatorAt(Instant.now())
+                    .check(scenario.principal(), scenario.resource(), List.of(scenario.action()));
+
+            assertThat(embedded).containsEntry(scenario.action(), pdpAllowed);
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    private static EmbeddedPolicyEvaluator evaluatorAt(Instant now) {
+        EmbeddedPolicyEvaluator evaluator = new EmbeddedPolicyEvaluator(properties, Clock.fixed(now, ZoneOffset.UTC));
+        evaluator.reload();
+        assertThat(evaluator.isLoaded()).isTrue();
+        return evaluator;
+    }
+
+    private static EmbeddedPolicyEvaluator.Principal principal(List<String> roles, Map<String, Object> attributes) {
+        Set<String> policyRoles = new LinkedHashSet<>();
+        policyRoles.add("user");
+        policyRoles.addAll(roles);
+
+        Map<String, Object> attr = new HashMap<>(attributes);
+        attr.putIfAbsent("isActive", true);
+        attr.put("roles", roles);
+        return new EmbeddedPolicyEvaluator.Principal(USER_ID, policyRoles, attr);
+    }
+
+    private static EmbeddedPolicyEvaluator.Resource resource(String kind, Map<String, Object> attributes) {
+        return new EmbeddedPolicyEvaluator.Resource(kind, "CMS-1", attributes);
+    }
+
+    record Scenario(String description, EmbeddedPolicyEvaluator.Principal principal,
+                    EmbeddedPolicyEvaluator.Resource resource, String action, boolean expectedAllowed) {
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.workflow.entitlements.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workflow.entitlements.dto.ems.EMSAuthRequest;
 import com.workflow.entitlements.dto.ems.EMSAuthResponse;
+import com.workflow.entitlements.dto.ems.QueueLookupRequest;
 import com.workflow.entitlements.dto.ems.WhoAmIResponse;
 import com.workflow.entitlements.service.EMSService;
+import com.workflow.entitlements.service.UserContextCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +17,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -38,6 +43,7 @@ class EMSControllerTest {
 
     private static final String TEST_USER_ID = "550e8400-e29b-41d4-a716-446655440001";
     private static final String TEST_SESSION_ID = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String TEST_ETAG = "\"7-0123456789abcdef\"";
 
     @BeforeEach
     void setUp() {
@@ -50,12 +56,13 @@ class EMSControllerTest {
         WhoAmIResponse expectedResponse = createMockWhoAmIResponse();
         when(emsService.validateUserSession(TEST_SESSION_ID)).thenReturn(true);
         when(emsService.getUserIdFromSession(TEST_SESSION_ID)).thenReturn(Optional.of(TEST_USER_ID));
-        when(emsService.buildUserContext(TEST_USER_ID)).thenReturn(expectedResponse);
+        givenCachedUserContext(expectedResponse);
 
         // Act & Assert
         mockMvc.perform(get("/api/ems/v1/whoami")
                 .header("X-Session-Id", TEST_SESSION_ID))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", TEST_ETAG))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.user.id").value(TEST_USER_ID))
                 .andExpect(jsonPath("$.user.username").value("alice.intake"));
@@ -65,7 +72,7 @@ class EMSControllerTest {
     void whoAmI_WithValidDirectUserId_ShouldReturnUserContext() throws Exception {
         // Arrange
         WhoAmIResponse expectedResponse = createMockWhoAmIResponse();
-        when(emsService.buildUserContext(TEST_USER_ID)).thenReturn(expectedResponse);
+        givenCachedUserContext(expectedResponse);
 
         // Act & Assert
         mockMvc.perform(get("/api/ems/v1/whoami")
@@ -75,6 +82,46 @@ class EMSControllerTest {
                 .andExpect(jsonPath("$.user.id").value(TEST_USER_ID));
     }
 
+    @Test
+    void whoAmI_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        givenCachedUserContext(createMockWhoAmIResponse());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/ems/v1/whoami")
+                .header("X-User-Id", TEST_USER_ID)
+                .header("If-None-Match", "W/" + TEST_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", TEST_ETAG))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whoAmI_WithStaleETag_ShouldReturnUserContext() throws Exception {
+        // Arrange
+        givenCachedUserContext(createMockWhoAmIResponse());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/ems/v1/whoami")
+                .header("X-User-Id", TEST_USER_ID)
+                .header("If-None-Match", "\"1-0000000000000000\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", TEST_ETAG))
+                .andExpect(jsonPath("$.user.id").value(TEST_USER_ID));
+    }
+
+    @Test
+    void whoAmI_WithUnknownUser_ShouldReturnUnauthorized() throws Exception {
+        // Arrange
+        when(emsService.getCachedUserContext(UUID.fromString(TEST_USER_ID))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/ems/v1/whoami")
+                .header("X-User-Id", TEST_USER_ID))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error.code").value("UNAUTHORIZED"));
+    }
+
     @Test
     void whoAmI_WithInvalidSession_ShouldReturnUnauthorized() throws Exception {
         // Arrange
@@ -170,6 +217,39 @@ class EMSControllerTest {
                 .andExpect(jsonPath("$.error.code").value("UNAUTHORIZED"));
     }
 
+    @Test
+    void lookupQueues_WithUsersAndQueues_ShouldReturnBothMappings() throws Exception {
+        // Arrange
+        UUID userId = UUID.fromString(TEST_USER_ID);
+        when(emsService.getQueuesByUsers(List.of(userId)))
+                .thenReturn(Map.of(userId, List.of("intake-analyst-queue")));
+        when(emsService.getUsersByQueues(List.of("intake-analyst-queue")))
+                .thenReturn(Map.of("intake-analyst-queue", Set.of(userId)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/ems/v1/queues/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(QueueLookupRequest.builder()
+                        .userIds(List.of(userId))
+                        .queues(List.of("intake-analyst-queue"))
+                        .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.userQueues['" + TEST_USER_ID + "'][0]").value("intake-analyst-queue"))
+                .andExpect(jsonPath("$.queueUsers['intake-analyst-queue'][0]").value(TEST_USER_ID));
+    }
+
+    @Test
+    void lookupQueues_WithNothingToLookUp_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/ems/v1/queues/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.code").value("BAD_REQUEST"));
+    }
+
     // Helper methods for creating mock responses
 
     private WhoAmIResponse createMockWhoAmIResponse() {
@@ -244,4 +324,9 @@ class EMSControllerTest {
                 .evaluationTime(45L)
                 .build();
     }
-}
\ No newline at end of file
+
+    private void givenCachedUserContext(WhoAmIResponse response) throws Exception {
+        when(emsService.getCachedUserContext(UUID.fromString(TEST_USER_ID))).thenReturn(Optional.of(
+                new UserContextCache.CachedUserContext(7, TEST_ETAG, objectMapper.writeValueAsBytes(response))));
+    }
+}
@@ -0,0 +1,288 @@
+package com.workflow.entitlements.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.entity.User;
+import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.HybridAuthorizationService;
+import dev.cerbos.api.v1.effect.Effect;
+import dev.cerbos.api.v1.request.Request.CheckResourcesRequest;
+import dev.cerbos.api.v1.response.Response.CheckResourcesResponse;
+import dev.cerbos.api.v1.svc.CerbosServiceGrpc;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load harness for the authorization path, run one scenario per JVM:
+ *
+ * <pre>
+ * mvn test -Dtest=AuthorizationLoadTest -Dloadtest=true \
+ *     -Dloadtest.engine=CERBOS -Dloadtest.cache=uncached -Dloadtest.threads=16 -Dloadtest.duration=PT60S
+ * </pre>
+ *
+ * The CERBOS engine talks to a stub PDP on a local port, so the numbers cover the gRPC round trip
+ * but not policy evaluation. "uncached" expires the principal, permission and decision caches
+ * immediately. Latencies are recorded per call in an HdrHistogram after the warmup; the DB count
+ * is every JDBC statement executed during the measured window, background writers included.
+ * Reports go to target/load-reports (override with loadtest.report-dir); see {@link LoadReport}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Tag("load")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("Authorization load test")
+class AuthorizationLoadTest {
+
+    private static final LoadProfile PROFILE = LoadProfile.fromSystemProperties();
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static Server stubPdp;
+
+    @Autowired
+    private HybridAuthorizationService hybridAuthorizationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void scenarioProperties(DynamicPropertyRegistry registry) throws IOException {
+        boolean cerbos = PROFILE.engine().equals("CERBOS");
+        registry.add("authorization.engine.use-cerbos", () -> cerbos);
+        registry.add("authorization.engine.embedded-policies", () -> false);
+        if (cerbos) {
+            stubPdp = NettyServerBuilder.forPort(0).addService(new StubPdp()).build().start();
+            registry.add("cerbos.host", () -> "localhost");
+            registry.add("cerbos.port", () -> stubPdp.getPort());
+            registry.add("cerbos.tls.enabled", () -> false);
+        }
+        if (!PROFILE.cached()) {
+            for (String cache : List.of("user-context-cache", "permissions-cache", "decisions-cache")) {
+                registry.add("authorization.cache." + cache + ".expire-after-write", () -> "0s");
+            }
+        }
+    }
+
+    @AfterAll
+    static void stopStubPdp() {
+        if (stubPdp != null) {
+            stubPdp.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("LOAD-001: Authorization latency, throughput and DB statements under the configured mix")
+    void runScenario() throws Exception {
+        Map<String, UUID> userIds = resolveUsers();
+        Instant startedAt = Instant.now();
+
+        Phase warmup = runPhase(userIds, PROFILE.warmup());
+        STATEMENTS.set(0);
+        Phase measured = runPhase(userIds, PROFILE.duration());
+        long statements = STATEMENTS.get();
+
+        String runId = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC).format(startedAt);
+        LoadReport report = new LoadReport(runId, startedAt, PROFILE, measured.latencyNanos().getTotalCount(),
+                measured.errors(), measured.elapsedNanos() / 1e9, statements, measured.latencyNanos());
+        Path file = report.write(Path.of(System.getProperty("loadtest.report-dir", "target/load-reports")), objectMapper);
+
+        System.out.println("Load test " + PROFILE.scenario() + " (warmup ops=" + warmup.latencyNanos().getTotalCount() + ")");
+        System.out.println("  " + LoadReport.SUMMARY_HEADER);
+        System.out.println("  " + report.summaryRow());
+        System.out.println("  Report: " + file.toAbsolutePath());
+
+        assertThat(report.operations()).isPositive();
+        assertThat(report.errors()).isZero();
+    }
+
+    private Map<String, UUID> resolveUsers() {
+        Map<String, UUID> userIds = new HashMap<>();
+        for (String username : PROFILE.users().names()) {
+            UUID userId = userRepository.findByUsername(username).map(User::getUserId)
+                    .orElseThrow(() -> new IllegalStateException("Load-test user not found: " + username));
+            userIds.put(username, userId);
+        }
+        return userIds;
+    }
+
+    /**
+     * Runs the mix on the configured threads until the deadline; each thread keeps its own histogram.
+     */
+    private Phase runPhase(Map<String, UUID> userIds, Duration length) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PROFILE.threads());
+        try {
+            long start = System.nanoTime();
+            long deadline = start + length.toNanos();
+            List<Future<Phase>> workers = new ArrayList<>();
+            for (int i = 0; i < PROFILE.threads(); i++) {
+                workers.add(executor.submit(() -> drive(userIds, deadline)));
+            }
+
+            Histogram latencies = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            long errors = 0;
+            for (Future<Phase> worker : workers) {
+                Phase phase = worker.get();
+                latencies.add(phase.latencyNanos());
+                errors += phase.errors();
+            }
+            return new Phase(latencies, errors, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Phase drive(Map<String, UUID> userIds, long deadline) {
+        Histogram latencies = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            UUID userId = userIds.get(PROFILE.users().next());
+            String resourceType = PROFILE.resources().next();
+            String resourceId = resourceType + "-" + ThreadLocalRandom.current().nextInt(PROFILE.resourceIds());
+            String action = PROFILE.actions().next();
+
+            long begin = System.nanoTime();
+            AuthorizationCheckResponse response =
+                    hybridAuthorizationService.checkUserPermission(userId, resourceType, resourceId, action);
+            latencies.recordValue(Math.min(System.nanoTime() - begin, HIGHEST_TRACKABLE_NANOS));
+            if (response == null || response.getValidationResult() != null) {
+                errors++;
+            }
+        }
+        return new Phase(latencies, errors, 0);
+    }
+
+    private record Phase(Histogram latencyNanos, long errors, long elapsedNanos) {
+    }
+
+    /**
+     * Counts every statement executed through the application DataSource
+     */
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    // Keep Closeable so the pool is still shut down with the context
+                    return bean instanceof Closeable
+                            ? proxy(bean, DataSource.class, Closeable.class)
+                            : proxy(bean, DataSource.class);
+                }
+            };
+        }
+
+        private static Object proxy(Object target, Class<?>... types) {
+            return Proxy.newProxyInstance(types[0].getClassLoader(), types,
+                    (proxy, method, args) -> {
+                        Object result = invoke(method, target, args);
+                        if (method.getName().startsWith("execute")) {
+                            STATEMENTS.incrementAndGet();
+                        }
+                        return wrap(result);
+                    });
+        }
+
+        private static Object wrap(Object result) {
+            if (result instanceof CallableStatement) {
+                return proxy(result, CallableStatement.class);
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(result, PreparedStatement.class);
+            }
+            if (result instanceof Statement) {
+                return proxy(result, Statement.class);
+            }
+            if (result instanceof Connection) {
+                return proxy(result, Connection.class);
+            }
+            return result;
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Stub PDP: "read" is allowed for everyone, anything else only for ADMIN principals
+     */
+    private static class StubPdp extends CerbosServiceGrpc.CerbosServiceImplBase {
+        @Override
+        public void checkResources(CheckResourcesRequest request, StreamObserver<CheckResourcesResponse> responseObserver) {
+            boolean admin = request.getPrincipal().getRolesList().stream().anyMatch(role -> role.contains("ADMIN"));
+            CheckResourcesResponse.Builder response = CheckResourcesResponse.newBuilder()
+                    .setRequestId(request.getRequestId());
+            for (CheckResourcesRequest.ResourceEntry entry : request.getResourcesList()) {
+                CheckResourcesResponse.ResultEntry.Builder result = CheckResourcesResponse.ResultEntry.newBuilder()
+                        .setResource(CheckResourcesResponse.ResultEntry.Resource.newBuilder()
+                                .setKind(entry.getResource().getKind())
+                                .setId(entry.getResource().getId()));
+                for (String action : entry.getActionsList()) {
+                    boolean allowed = admin || "read".equals(action);
+                    result.putActions(action, allowed ? Effect.EFFECT_ALLOW : Effect.EFFECT_DENY);
+                }
+                response.addResults(result);
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+    }
+}
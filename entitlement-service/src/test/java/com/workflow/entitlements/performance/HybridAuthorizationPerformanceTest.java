@@ -44,19 +44,11 @@ public class HybridAuthorizationPerformanceTest {
 
     private MockMvc mockMvc;
 
-    private final String[] testUsers = {
-        "alice.intake", "bob.investigator", "carol.legal", 
-        "david.hr", "eve.manager", "frank.security", 
-        "grace.ethics", "henry.admin", "iris.csis", "jack.analyst"
-    };
+    private final String[] testUsers = LoadProfile.TEST_USERS;
 
-    private final String[] testResources = {
-        "case", "workflow", "evidence", "finding", "system", "user"
-    };
+    private final String[] testResources = LoadProfile.TEST_RESOURCES;
 
-    private final String[] testActions = {
-        "create", "read", "update", "delete", "approve", "assign", "claim", "complete"
-    };
+    private final String[] testActions = LoadProfile.TEST_ACTIONS;
 
     @BeforeEach
     public void setUp() {
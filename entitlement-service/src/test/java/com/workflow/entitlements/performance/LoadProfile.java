@@ -0,0 +1,107 @@
+package com.workflow.entitlements.performance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load-test settings read from {@code loadtest.*} system properties.
+ *
+ * Mixes are comma-separated {@code name[:weight]} lists, e.g.
+ * {@code -Dloadtest.users=alice.intake:5,henry.admin:1}; names without a weight count once.
+ */
+record LoadProfile(String engine,
+                   boolean cached,
+                   WeightedMix users,
+                   WeightedMix resources,
+                   WeightedMix actions,
+                   int resourceIds,
+                   int threads,
+                   Duration warmup,
+                   Duration duration) {
+
+    static final String[] TEST_USERS = {
+        "alice.intake", "bob.investigator", "carol.legal",
+        "david.hr", "eve.manager", "frank.security",
+        "grace.ethics", "henry.admin", "iris.csis", "jack.analyst"
+    };
+
+    static final String[] TEST_RESOURCES = {
+        "case", "workflow", "evidence", "finding", "system", "user"
+    };
+
+    static final String[] TEST_ACTIONS = {
+        "create", "read", "update", "delete", "approve", "assign", "claim", "complete"
+    };
+
+    static LoadProfile fromSystemProperties() {
+        String engine = System.getProperty("loadtest.engine", "DATABASE").toUpperCase(Locale.ROOT);
+        if (!engine.equals("DATABASE") && !engine.equals("CERBOS")) {
+            throw new IllegalArgumentException("loadtest.engine must be DATABASE or CERBOS, was " + engine);
+        }
+        String cache = System.getProperty("loadtest.cache", "cached").toLowerCase(Locale.ROOT);
+        if (!cache.equals("cached") && !cache.equals("uncached")) {
+            throw new IllegalArgumentException("loadtest.cache must be cached or uncached, was " + cache);
+        }
+        return new LoadProfile(
+                engine,
+                cache.equals("cached"),
+                WeightedMix.parse(System.getProperty("loadtest.users"), TEST_USERS),
+                WeightedMix.parse(System.getProperty("loadtest.resources"), TEST_RESOURCES),
+                WeightedMix.parse(System.getProperty("loadtest.actions"), TEST_ACTIONS),
+                Integer.getInteger("loadtest.resource-ids", 100),
+                Integer.getInteger("loadtest.threads", 8),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")));
+    }
+
+    String scenario() {
+        return engine.toLowerCase(Locale.ROOT) + "-" + (cached ? "cached" : "uncached");
+    }
+
+    /**
+     * Names picked at random in proportion to their weights
+     */
+    record WeightedMix(List<String> names, int[] cumulativeWeights) {
+
+        static WeightedMix parse(String spec, String[] defaults) {
+            List<String> entries = spec == null || spec.isBlank()
+                    ? Arrays.asList(defaults)
+                    : Arrays.stream(spec.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+
+            List<String> names = new ArrayList<>();
+            int[] cumulative = new int[entries.size()];
+            int total = 0;
+            for (String entry : entries) {
+                int separator = entry.lastIndexOf(':');
+                int weight = separator < 0 ? 1 : Integer.parseInt(entry.substring(separator + 1));
+                if (weight <= 0) {
+                    throw new IllegalArgumentException("Mix weights must be positive: " + entry);
+                }
+                total += weight;
+                cumulative[names.size()] = total;
+                names.add(separator < 0 ? entry : entry.substring(0, separator));
+            }
+            return new WeightedMix(List.copyOf(names), cumulative);
+        }
+
+        String next() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, roll + 1);
+            return names.get(index >= 0 ? index : -index - 1);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < names.size(); i++) {
+                int weight = cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]);
+                out.append(i == 0 ? "" : ",").append(names.get(i)).append(':').append(weight);
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.workflow.entitlements.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of one load-test run. Each run writes {@code <runId>-<scenario>.json} and appends a
+ * row to {@code summary.csv} in the same directory so runs can be compared side by side.
+ */
+record LoadReport(String runId,
+                  Instant startedAt,
+                  LoadProfile profile,
+                  long operations,
+                  long errors,
+                  double elapsedSeconds,
+                  long dbStatements,
+                  Histogram latencyNanos) {
+
+    static final String SUMMARY_HEADER =
+            "run_id,scenario,threads,operations,errors,throughput_ops,p50_us,p99_us,p999_us,max_us,db_statements,db_statements_per_op";
+
+    double throughput() {
+        return elapsedSeconds == 0 ? 0 : operations / elapsedSeconds;
+    }
+
+    double dbStatementsPerOperation() {
+        return operations == 0 ? 0 : (double) dbStatements / operations;
+    }
+
+    double percentileMicros(double percentile) {
+        return latencyNanos.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("engine", profile.engine());
+        config.put("cached", profile.cached());
+        config.put("users", profile.users().toString());
+        config.put("resources", profile.resources().toString());
+        config.put("actions", profile.actions().toString());
+        config.put("resourceIds", profile.resourceIds());
+        config.put("threads", profile.threads());
+        config.put("warmup", profile.warmup().toString());
+        config.put("duration", profile.duration().toString());
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", percentileMicros(50));
+        latency.put("p90", percentileMicros(90));
+        latency.put("p99", percentileMicros(99));
+        latency.put("p999", percentileMicros(99.9));
+        latency.put("max", latencyNanos.getMaxValue() / 1_000.0);
+        latency.put("mean", latencyNanos.getMean() / 1_000.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runId", runId);
+        report.put("scenario", profile.scenario());
+        report.put("startedAt", startedAt.toString());
+        report.put("config", config);
+        report.put("operations", operations);
+        report.put("errors", errors);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("throughputOpsPerSecond", throughput());
+        report.put("latencyMicros", latency);
+        report.put("dbStatements", dbStatements);
+        report.put("dbStatementsPerOperation", dbStatementsPerOperation());
+        return report;
+    }
+
+    String summaryRow() {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%.3f",
+                runId, profile.scenario(), profile.threads(), operations, errors, throughput(),
+                percentileMicros(50), percentileMicros(99), percentileMicros(99.9),
+                latencyNanos.getMaxValue() / 1_000.0, dbStatements, dbStatementsPerOperation());
+    }
+
+    Path write(Path directory, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(runId + "-" + profile.scenario() + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), toMap());
+
+        Path summary = directory.resolve("summary.csv");
+        if (Files.notExists(summary)) {
+            Files.writeString(summary, SUMMARY_HEADER + "\n");
+        }
+        Files.writeString(summary, summaryRow() + "\n", StandardOpenOption.APPEND);
+        return file;
+    }
+}
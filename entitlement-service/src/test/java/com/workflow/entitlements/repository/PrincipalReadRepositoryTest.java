@@ -0,0 +1,159 @@
+package com.workflow.entitlements.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the principal query against Postgres; it relies on json_agg, array_agg and casts
+ * that an in-memory database would not check.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PrincipalReadRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID BOB = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private static final UUID DOMAIN = UUID.fromString("6f1c2a00-0000-4000-8000-000000000001");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private PrincipalReadRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        // The tables the query reads, as the JPA entities map them
+        jdbcTemplate.execute("""
+                CREATE SCHEMA entitlements;
+                CREATE TABLE entitlements.entitlement_core_users (
+                    user_id UUID PRIMARY KEY,
+                    username VARCHAR(255) NOT NULL UNIQUE,
+                    email VARCHAR(255) NOT NULL UNIQUE,
+                    first_name VARCHAR(255) NOT NULL,
+                    last_name VARCHAR(255) NOT NULL,
+                    is_active BOOLEAN NOT NULL DEFAULT true,
+                    global_attributes JSONB NOT NULL DEFAULT '{}'
+                );
+                CREATE TABLE entitlements.entitlement_domain_roles (
+                    role_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                    domain_id UUID NOT NULL,
+                    role_name VARCHAR(255) NOT NULL
+                );
+                CREATE TABLE entitlements.entitlement_user_domain_roles (
+                    user_role_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                    user_id UUID NOT NULL REFERENCES entitlements.entitlement_core_users(user_id),
+                    role_id UUID NOT NULL REFERENCES entitlements.entitlement_domain_roles(role_id),
+                    assigned_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+                    expires_at TIMESTAMPTZ,
+                    is_active BOOLEAN DEFAULT true
+                );
+                CREATE TABLE entitlements.departments (
+                    id BIGSERIAL PRIMARY KEY,
+                    department_code VARCHAR(50) NOT NULL UNIQUE,
+                    is_active BOOLEAN NOT NULL DEFAULT true
+                );
+                CREATE TABLE entitlements.user_departments (
+                    id BIGSERIAL PRIMARY KEY,
+                    user_id UUID NOT NULL REFERENCES entitlements.entitlement_core_users(user_id),
+                    department_id BIGINT NOT NULL REFERENCES entitlements.departments(id),
+                    is_active BOOLEAN NOT NULL DEFAULT true
+                );
+                """);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                TRUNCATE entitlements.user_departments, entitlements.departments,
+                         entitlements.entitlement_user_domain_roles, entitlements.entitlement_domain_roles,
+                         entitlements.entitlement_core_users
+                """);
+        repository = new PrincipalReadRepository(jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    void findByUserId_ShouldAggregateValidRolesAndActiveDepartments() {
+        insertUser(ALICE, "alice", "{\"clearance\": \"high\"}");
+        insertUser(BOB, "bob", "{}");
+        assignRole(ALICE, "VIEWER", "true", "NULL");
+        assignRole(ALICE, "APPROVER", "true", "now() + interval '1 day'");
+        assignRole(ALICE, "EXPIRED", "true", "now() - interval '1 day'");
+        assignRole(ALICE, "REVOKED", "false", "NULL");
+        assignRole(BOB, "ADMIN", "true", "NULL");
+        assignDepartment(ALICE, "ER", true, true);
+        assignDepartment(ALICE, "LEGAL", true, false);
+        assignDepartment(ALICE, "CSIS", false, true);
+        assignDepartment(BOB, "IU", true, true);
+
+        Optional<PrincipalReadRepository.PrincipalView> principal = repository.findByUserId(ALICE);
+
+        assertThat(principal).hasValueSatisfying(view -> {
+            assertThat(view.username()).isEqualTo("alice");
+            assertThat(view.isActive()).isTrue();
+            assertThat(view.globalAttributes()).containsEntry("clearance", "high");
+            assertThat(view.roleNames()).containsExactly("APPROVER", "VIEWER");
+            assertThat(view.domainRoles()).allSatisfy(role -> assertThat(role.domainId()).isEqualTo(DOMAIN));
+            assertThat(view.departments()).containsExactly("ER");
+        });
+    }
+
+    @Test
+    void findByUserId_WithoutRolesOrDepartments_ShouldReturnEmptyCollections() {
+        insertUser(ALICE, "alice", "{}");
+
+        assertThat(repository.findByUserId(ALICE)).hasValueSatisfying(view -> {
+            assertThat(view.domainRoles()).isEmpty();
+            assertThat(view.departments()).isEmpty();
+        });
+    }
+
+    @Test
+    void findByUserId_UnknownUser_ShouldReturnEmpty() {
+        assertThat(repository.findByUserId(UUID.randomUUID())).isEmpty();
+    }
+
+    private static void insertUser(UUID userId, String username, String attributes) {
+        jdbcTemplate.update("""
+                INSERT INTO entitlements.entitlement_core_users
+                    (user_id, username, email, first_name, last_name, global_attributes)
+                VALUES (?, ?, ?, ?, 'Test', ?::jsonb)
+                """, userId, username, username + "@example.com", username, attributes);
+    }
+
+    private static void assignRole(UUID userId, String roleName, String active, String expiresAt) {
+        UUID roleId = jdbcTemplate.queryForObject("""
+                INSERT INTO entitlements.entitlement_domain_roles (domain_id, role_name)
+                VALUES (?, ?) RETURNING role_id
+                """, UUID.class, DOMAIN, roleName);
+        jdbcTemplate.update("INSERT INTO entitlements.entitlement_user_domain_roles "
+                + "(user_id, role_id, is_active, expires_at) VALUES (?, ?, " + active + ", " + expiresAt + ")",
+                userId, roleId);
+    }
+
+    private static void assignDepartment(UUID userId, String departmentCode, boolean assignmentActive,
+                                         boolean departmentActive) {
+        Long departmentId = jdbcTemplate.queryForObject("""
+                INSERT INTO entitlements.departments (department_code, is_active)
+                VALUES (?, ?) RETURNING id
+                """, Long.class, departmentCode, departmentActive);
+        jdbcTemplate.update("""
+                INSERT INTO entitlements.user_departments (user_id, department_id, is_active)
+                VALUES (?, ?, ?)
+                """, userId, departmentId, assignmentActive);
+    }
+}
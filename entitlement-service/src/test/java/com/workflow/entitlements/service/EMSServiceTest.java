@@ -5,7 +5,9 @@ import com.workflow.entitlements.dto.ems.EMSAuthRequest;
 import com.workflow.entitlements.dto.ems.EMSAuthResponse;
 import com.workflow.entitlements.dto.ems.WhoAmIResponse;
 import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
 import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.dto.response.BatchAuthorizationCheckResponse;
 import com.workflow.entitlements.entity.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,8 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +45,9 @@ class EMSServiceTest {
     @Mock
     private AuthController authController;
 
+    @Mock
+    private UserQueueIndex userQueueIndex;
+
     @InjectMocks
     private EMSService emsService;
 
@@ -62,6 +69,7 @@ class EMSServiceTest {
 
         when(userService.findById(testUserUuid)).thenReturn(Optional.of(mockUser));
         when(userBusinessAppRoleService.getActiveUserRolesByUserId(testUserUuid)).thenReturn(mockRoles);
+        when(userQueueIndex.queuesOf(testUserUuid)).thenReturn(List.of("intake-analyst-queue"));
         // Mock user department repository directly since we use it in the service
         // when(departmentService.getActiveDepartmentsByUserId(testUserUuid)).thenReturn(mockDepartments);
 
@@ -167,8 +175,13 @@ class EMSServiceTest {
                 .build();
 
         when(userService.findById(testUserUuid)).thenReturn(Optional.of(mockUser));
-        when(hybridAuthorizationService.checkAuthorization(any(AuthorizationCheckRequest.class)))
-                .thenReturn(mockAuthResponse);
+        when(hybridAuthorizationService.checkAuthorizationBatch(any(BatchAuthorizationCheckRequest.class)))
+                .thenAnswer(invocation -> {
+                    BatchAuthorizationCheckRequest batch = invocation.getArgument(0);
+                    return BatchAuthorizationCheckResponse.builder()
+                            .results(Collections.nCopies(batch.getChecks().size(), mockAuthResponse))
+                            .build();
+                });
         when(userBusinessAppRoleService.getActiveUserRolesByUserId(testUserUuid))
                 .thenReturn(createMockUserRoles());
 
@@ -178,6 +191,8 @@ class EMSServiceTest {
         // Assert
         assertThat(result.getSuccess()).isTrue();
         assertThat(result.getActions()).hasSizeGreaterThan(1); // Should check common actions
+        assertThat(result.getActions()).allMatch(EMSAuthResponse.ActionAuthResult::getAllowed);
+        verify(hybridAuthorizationService, never()).checkAuthorization(any(AuthorizationCheckRequest.class));
     }
 
     @Test
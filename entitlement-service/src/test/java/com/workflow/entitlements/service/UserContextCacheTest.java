@@ -0,0 +1,87 @@
+package com.workflow.entitlements.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.config.AuthorizationCacheProperties;
+import com.workflow.entitlements.dto.ems.WhoAmIResponse;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserContextCacheTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @Mock
+    private AuthorizationCache authorizationCache;
+
+    private UserContextCache cache;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserContextCache(authorizationCache, new AuthorizationCacheProperties(), new ObjectMapper(),
+                new SimpleMeterRegistry());
+        builds = new AtomicInteger();
+    }
+
+    @Test
+    void get_SameVersion_ShouldServeCachedBodyWithoutRebuilding() {
+        when(authorizationCache.getUserVersion(USER_ID)).thenReturn(3L);
+
+        UserContextCache.CachedUserContext first = cache.get(USER_ID, loader("alice.intake"));
+        UserContextCache.CachedUserContext second = cache.get(USER_ID, loader("alice.intake"));
+
+        assertThat(builds).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(first.etag()).startsWith("\"3-").endsWith("\"");
+        assertThat(new String(first.body())).contains("alice.intake");
+    }
+
+    @Test
+    void get_VersionBumped_ShouldRebuildWithNewETag() {
+        when(authorizationCache.getUserVersion(USER_ID)).thenReturn(3L, 4L);
+
+        UserContextCache.CachedUserContext before = cache.get(USER_ID, loader("alice.intake"));
+        UserContextCache.CachedUserContext after = cache.get(USER_ID, loader("alice.renamed"));
+
+        assertThat(builds).hasValue(2);
+        assertThat(after.version()).isEqualTo(4L);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(new String(after.body())).contains("alice.renamed");
+    }
+
+    @Test
+    void get_UnsuccessfulContext_ShouldNotBeCached() {
+        when(authorizationCache.getUserVersion(USER_ID)).thenReturn(1L);
+        Supplier<WhoAmIResponse> failing = () -> {
+            builds.incrementAndGet();
+            return WhoAmIResponse.builder().success(false).build();
+        };
+
+        assertThat(cache.get(USER_ID, failing)).isNull();
+        assertThat(cache.get(USER_ID, failing)).isNull();
+        assertThat(builds).hasValue(2);
+    }
+
+    private Supplier<WhoAmIResponse> loader(String username) {
+        return () -> {
+            builds.incrementAndGet();
+            return WhoAmIResponse.builder()
+                    .success(true)
+                    .user(WhoAmIResponse.UserContext.builder().id(USER_ID.toString()).username(username).build())
+                    .build();
+        };
+    }
+}
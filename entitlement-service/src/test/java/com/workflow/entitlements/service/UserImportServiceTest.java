@@ -0,0 +1,234 @@
+package com.workflow.entitlements.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.config.UserImportProperties;
+import com.workflow.entitlements.dto.response.UserImportResponse;
+import com.workflow.entitlements.entity.BusinessAppRole;
+import com.workflow.entitlements.entity.BusinessApplication;
+import com.workflow.entitlements.entity.Department;
+import com.workflow.entitlements.entity.User;
+import com.workflow.entitlements.repository.BusinessAppRoleRepository;
+import com.workflow.entitlements.repository.DepartmentRepository;
+import com.workflow.entitlements.repository.UserRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final int USER_COLUMNS = 9;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BusinessAppRoleRepository businessAppRoleRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AuthorizationCache authorizationCache;
+
+    @Mock
+    private UserQueueIndex userQueueIndex;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Captor
+    private ArgumentCaptor<Object[]> users;
+
+    private UserImportProperties properties;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserImportProperties();
+        importService = new UserImportService(properties, userRepository, businessAppRoleRepository,
+                departmentRepository, jdbcTemplate, transactionManager, new ObjectMapper(), authorizationCache,
+                userQueueIndex, userSearchIndex);
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            int[] counts = new int[invocation.<List<?>>getArgument(1).size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+        // Every user inserted: RETURNING user_id yields the first of each row's nine parameters
+        lenient().when(jdbcTemplate.queryForList(startsWith("INSERT INTO entitlements.entitlement_core_users"),
+                eq(UUID.class), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length);
+            List<UUID> userIds = new ArrayList<>();
+            for (int i = 0; i < args.length; i += USER_COLUMNS) {
+                userIds.add((UUID) args[i]);
+            }
+            return userIds;
+        });
+    }
+
+    @Test
+    void importUsers_Ndjson_ShouldQueryUniquenessOncePerChunkAndBatchInserts() throws Exception {
+        properties.setChunkSize(2);
+
+        UserImportResponse response = importService.importUsers(new StringReader("""
+                {"userId":"%s","username":"alice.intake","email":"Alice@Example.com","firstName":"Alice","lastName":"Smith"}
+                {"username":"bob.investigator","email":"bob@example.com","firstName":"Bob","lastName":"Jones"}
+
+                {"username":"carol.review","email":"carol@example.com","firstName":"Carol","lastName":"White"}
+                """.formatted(ALICE)), UserImportService.Format.NDJSON);
+
+        assertThat(response.getReceived()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getErrors()).isEmpty();
+        verify(userRepository, times(2)).findByUsernameInOrEmailIn(any(), any());
+        verify(jdbcTemplate, times(2)).queryForList(startsWith("INSERT INTO entitlements.entitlement_core_users"),
+                eq(UUID.class), users.capture());
+        assertThat(users.getAllValues().get(0)).hasSize(2 * USER_COLUMNS)
+                .startsWith(ALICE, "alice.intake", "alice@example.com");
+        verify(authorizationCache).invalidateUsers(List.of(ALICE, (UUID) users.getAllValues().get(0)[USER_COLUMNS]));
+    }
+
+    @Test
+    void importUsers_InvalidRows_ShouldReportEachByLineAndImportTheRest() throws Exception {
+        when(userRepository.findByUsernameInOrEmailIn(any(), any()))
+                .thenReturn(List.of(User.builder().username("taken.user").email("dave@example.com").build()));
+
+        UserImportResponse response = importService.importUsers(new StringReader("""
+                {"username":"alice.intake","email":"alice@example.com","firstName":"Alice","lastName":"Smith"}
+                {"username":"alice.intake","email":"alice2@example.com","firstName":"Alice","lastName":"Again"}
+                {"username":"bob.investigator","email":"not-an-email","firstName":"Bob","lastName":"Jones"}
+                {"username":"dave.new","email":"dave@example.com","firstName":"Dave","lastName":"Brown"}
+                {"username":
+                {"username":"erin.ok","email":"erin@example.com","firstName":"Erin"}
+                """), UserImportService.Format.NDJSON);
+
+        assertThat(response.getReceived()).isEqualTo(6);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(5);
+        assertThat(response.getErrors()).extracting(UserImportResponse.RowError::getLine)
+                .containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(response.getErrors().get(0).getError()).isEqualTo("Duplicate username in import: alice.intake");
+        assertThat(response.getErrors().get(1).getError()).isEqualTo("Invalid email format: not-an-email");
+        assertThat(response.getErrors().get(2).getError()).isEqualTo("Email already exists: dave@example.com");
+        assertThat(response.getErrors().get(3).getError()).startsWith("Unreadable row");
+        assertThat(response.getErrors().get(4).getError()).isEqualTo("Last name is required");
+    }
+
+    @Test
+    void importUsers_CsvWithReferences_ShouldResolveEachOnceAndBatchAssignments() throws Exception {
+        properties.setChunkSize(1);
+        BusinessApplication onecms = BusinessApplication.builder().id(1L).businessAppName("onecms").build();
+        when(businessAppRoleRepository.findByBusinessAppNameIn(any())).thenReturn(List.of(
+                BusinessAppRole.builder().id(10L).roleName("EO_OFFICER").isActive(true).businessApplication(onecms).build()));
+        when(departmentRepository.findByDepartmentCodeIn(any())).thenReturn(List.of(
+                Department.builder().id(7L).departmentCode("EO").isActive(true).build()));
+
+        UserImportResponse response = importService.importUsers(new StringReader("""
+                username,email,firstName,lastName,departments,roles
+                alice.intake,alice@example.com,Alice,"Smith, Jr.",EO,onecms:EO_OFFICER
+                bob.investigator,bob@example.com,Bob,Jones,EO,onecms:EO_OFFICER
+                carol.review,carol@example.com,Carol,White,,onecms:NO_SUCH_ROLE
+                """), UserImportService.Format.CSV);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(4);
+            assertThat(error.getError()).contains("onecms:NO_SUCH_ROLE");
+        });
+        // Resolved in the first chunk, reused by the second; the unknown role needs one more lookup
+        verify(businessAppRoleRepository, times(2)).findByBusinessAppNameIn(any());
+        verify(departmentRepository, times(1)).findByDepartmentCodeIn(any());
+        verify(jdbcTemplate, times(2)).queryForList(startsWith("INSERT INTO entitlements.entitlement_core_users"),
+                eq(UUID.class), users.capture());
+        assertThat(users.getAllValues().get(0)[4]).isEqualTo("Smith, Jr.");
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO entitlements.user_business_app_roles"),
+                anyList());
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO entitlements.user_departments"),
+                anyList());
+        verify(userQueueIndex, times(2)).usersChanged(anyList());
+    }
+
+    @Test
+    void importUsers_ConflictOnInsert_ShouldReportRowAndSkipItsAssignments() throws Exception {
+        when(jdbcTemplate.queryForList(startsWith("INSERT INTO entitlements.entitlement_core_users"),
+                eq(UUID.class), any(Object[].class))).thenReturn(List.of());
+
+        UserImportResponse response = importService.importUsers(new StringReader("""
+                {"username":"alice.intake","email":"alice@example.com","firstName":"Alice","lastName":"Smith","roles":[]}
+                """), UserImportService.Format.NDJSON);
+
+        assertThat(response.getImported()).isZero();
+        assertThat(response.getErrors()).extracting(UserImportResponse.RowError::getError)
+                .containsExactly("User already exists: alice.intake");
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT INTO entitlements.user_business_app_roles"),
+                anyList());
+        verify(authorizationCache).invalidateUsers(List.of());
+    }
+
+    @Test
+    void importUsers_CsvHeaderMissingColumn_ShouldRejectImport() {
+        assertThatThrownBy(() -> importService.importUsers(new StringReader("""
+                username,email,firstName
+                alice.intake,alice@example.com,Alice
+                """), UserImportService.Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("lastName");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void importUsers_OverRowLimit_ShouldStopReadingAndSayWhere() throws Exception {
+        properties.setMaxRows(1);
+
+        UserImportResponse response = importService.importUsers(new StringReader("""
+                {"username":"alice.intake","email":"alice@example.com","firstName":"Alice","lastName":"Smith"}
+                {"username":"bob.investigator","email":"bob@example.com","firstName":"Bob","lastName":"Jones"}
+                """), UserImportService.Format.NDJSON);
+
+        assertThat(response.getReceived()).isEqualTo(1);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getLine()).isEqualTo(2));
+        verify(jdbcTemplate, times(1)).queryForList(startsWith("INSERT"), eq(UUID.class), any(Object[].class));
+    }
+
+    @Test
+    void parseCsvLine_QuotedFields_ShouldUnescapeQuotesAndKeepCommas() {
+        assertThat(UserImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\",,"))
+                .containsExactly("a", "b, c", "say \"hi\"", "", "");
+    }
+}
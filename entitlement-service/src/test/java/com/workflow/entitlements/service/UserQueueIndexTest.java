@@ -0,0 +1,105 @@
+package com.workflow.entitlements.service;
+
+import com.workflow.entitlements.repository.UserBusinessAppRoleRepository;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserQueueIndexTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID BOB = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+
+    @Mock
+    private UserBusinessAppRoleRepository userBusinessAppRoleRepository;
+
+    @Mock
+    private AuthorizationCache authorizationCache;
+
+    private UserQueueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserQueueIndex(userBusinessAppRoleRepository, authorizationCache);
+    }
+
+    @Test
+    void queuesOf_FirstUse_ShouldLoadEverythingOnceAndDeduplicate() {
+        givenUserQueues(new Object[]{ALICE, "intake-queue"}, new Object[]{ALICE, "review-queue"},
+                new Object[]{ALICE, "intake-queue"}, new Object[]{BOB, "intake-queue"});
+
+        assertThat(index.queuesOf(ALICE)).containsExactly("intake-queue", "review-queue");
+        assertThat(index.queuesOf(BOB)).containsExactly("intake-queue");
+        assertThat(index.queuesOf(UUID.randomUUID())).isEmpty();
+        assertThat(index.usersOf("intake-queue")).containsExactlyInAnyOrder(ALICE, BOB);
+        assertThat(index.usersOf("unknown-queue")).isEmpty();
+        verify(userBusinessAppRoleRepository, times(1)).findActiveUserQueues();
+    }
+
+    @Test
+    void usersChanged_LostRole_ShouldUpdateBothDirectionsAndEvictUser() {
+        givenUserQueues(new Object[]{ALICE, "intake-queue"}, new Object[]{ALICE, "review-queue"});
+        index.queuesOf(ALICE);
+        when(userBusinessAppRoleRepository.findActiveQueuesByUserId(ALICE)).thenReturn(List.of("review-queue"));
+
+        index.usersChanged(Set.of(ALICE));
+
+        assertThat(index.queuesOf(ALICE)).containsExactly("review-queue");
+        assertThat(index.usersOf("intake-queue")).isEmpty();
+        assertThat(index.usersOf("review-queue")).containsExactly(ALICE);
+        verify(authorizationCache).invalidateUsersLocally(Set.of(ALICE));
+    }
+
+    @Test
+    void usersChanged_QueuesUnchanged_ShouldNotEvict() {
+        givenUserQueues(new Object[]{ALICE, "intake-queue"});
+        index.queuesOf(ALICE);
+        when(userBusinessAppRoleRepository.findActiveQueuesByUserId(ALICE)).thenReturn(List.of("intake-queue"));
+
+        index.usersChanged(Set.of(ALICE));
+
+        verify(authorizationCache, never()).invalidateUsersLocally(any());
+    }
+
+    @Test
+    void usersChanged_BeforeFirstUse_ShouldLeaveLoadingToFirstUse() {
+        index.usersChanged(Set.of(ALICE));
+
+        verify(userBusinessAppRoleRepository, never()).findActiveQueuesByUserId(any());
+        verify(authorizationCache, never()).invalidateUsersLocally(any());
+    }
+
+    @Test
+    void refreshAll_RoleQueueRenamed_ShouldMoveHoldersAndEvictThem() {
+        givenUserQueues(new Object[]{ALICE, "intake-queue"}, new Object[]{BOB, "review-queue"});
+        index.queuesOf(ALICE);
+        givenUserQueues(new Object[]{ALICE, "triage-queue"}, new Object[]{BOB, "review-queue"});
+
+        index.refreshAll();
+
+        assertThat(index.queuesOf(ALICE)).containsExactly("triage-queue");
+        assertThat(index.usersOf("intake-queue")).isEmpty();
+        assertThat(index.usersOf("triage-queue")).containsExactly(ALICE);
+        verify(authorizationCache).invalidateUsersLocally(Set.of(ALICE));
+    }
+
+    private void givenUserQueues(Object[]... rows) {
+        when(userBusinessAppRoleRepository.findActiveUserQueues()).thenReturn(new ArrayList<>(List.of(rows)));
+    }
+}
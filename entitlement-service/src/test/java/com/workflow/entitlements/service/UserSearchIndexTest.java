@@ -0,0 +1,152 @@
+package com.workflow.entitlements.service;
+
+import com.workflow.entitlements.entity.User;
+import com.workflow.entitlements.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID ALICIA = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private static final UUID BOB = UUID.fromString("550e8400-e29b-41d4-a716-446655440003");
+    private static final UUID BOBBY = UUID.fromString("550e8400-e29b-41d4-a716-446655440004");
+    private static final UUID JOHN = UUID.fromString("550e8400-e29b-41d4-a716-446655440005");
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(userRepository);
+    }
+
+    @Test
+    void search_Prefix_ShouldFindWordStartsOnly() {
+        givenUsers();
+
+        assertThat(index.search("ali", 10)).containsExactlyInAnyOrder(ALICE, ALICIA);
+        assertThat(index.search("A", 10)).containsExactlyInAnyOrder(ALICE, ALICIA);
+        assertThat(index.search("", 10)).isEmpty();
+        verify(userRepository, times(1)).findActiveSearchFields();
+    }
+
+    @Test
+    void search_MoreWords_ShouldRankUsersMatchingAllWordsFirst() {
+        givenUsers();
+
+        assertThat(index.search("alic smi", 10)).first().isEqualTo(ALICE);
+    }
+
+    @Test
+    void search_ExactUsername_ShouldRankFirstAndRespectLimit() {
+        givenUsers();
+
+        assertThat(index.search("bob", 10)).containsExactly(BOB, BOBBY);
+        assertThat(index.search("bob", 1)).containsExactly(BOB);
+        assertThat(index.search("bobby@example.com", 10)).first().isEqualTo(BOBBY);
+    }
+
+    @Test
+    void search_Typo_ShouldStillMatch() {
+        givenUsers();
+
+        assertThat(index.search("jonh", 10)).containsExactly(JOHN);
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void usersChanged_RenamedAndDeactivated_ShouldReindexOnlyThoseUsers() {
+        givenUsers();
+        index.search("bob", 10);
+        when(userRepository.findAllById(Set.of(ALICE, BOB))).thenReturn(List.of(
+                user(ALICE, "alice.intake", "alice.jones@example.com", "Alice", "Jones", true),
+                user(BOB, "bob", "bob@example.com", "Bob", "Brown", false)));
+
+        index.usersChanged(List.of(ALICE, BOB));
+
+        assertThat(index.search("smith", 10)).isEmpty();
+        assertThat(index.search("jones", 10)).containsExactly(ALICE);
+        assertThat(index.search("bob", 10)).containsExactly(BOBBY);
+        verify(userRepository, times(1)).findActiveSearchFields();
+    }
+
+    @Test
+    void usersChanged_BeforeFirstUse_ShouldLeaveLoadingToFirstUse() {
+        index.usersChanged(List.of(ALICE));
+
+        verify(userRepository, never()).findAllById(any());
+        verify(userRepository, never()).findActiveSearchFields();
+    }
+
+    @Test
+    void refreshAll_ShouldReplaceTheIndex() {
+        givenUsers();
+        index.search("bob", 10);
+        when(userRepository.findActiveSearchFields()).thenReturn(new ArrayList<>(List.<Object[]>of(
+                new Object[]{JOHN, "john.doe", "john.doe@example.com", "John", "Doe"})));
+
+        index.refreshAll();
+
+        assertThat(index.search("bob", 10)).isEmpty();
+        assertThat(index.search("john", 10)).containsExactly(JOHN);
+    }
+
+    @Test
+    void refreshAll_UsersChangedDuringLoad_ShouldKeepTheNewerChanges() {
+        givenUsers();
+        index.search("bob", 10);
+        when(userRepository.findAllById(Set.of(BOB))).thenReturn(List.of(
+                user(BOB, "bob", "bob@example.com", "Bob", "Brown", false)));
+        when(userRepository.findAllById(Set.of(JOHN))).thenReturn(List.of(
+                user(JOHN, "john.doe", "john.doe@example.com", "John", "Zimmerman", true)));
+        // The load reads the rows before the concurrent changes commit
+        when(userRepository.findActiveSearchFields()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>(List.of(
+                    new Object[]{BOB, "bob", "bob@example.com", "Bob", "Malice"},
+                    new Object[]{JOHN, "john.doe", "john.doe@example.com", "John", "Doe"}));
+            index.usersChanged(List.of(BOB));
+            index.usersChanged(List.of(JOHN));
+            return rows;
+        });
+
+        index.refreshAll();
+
+        assertThat(index.search("bob", 10)).isEmpty();
+        assertThat(index.search("zimmerman", 10)).containsExactly(JOHN);
+        assertThat(index.search("alice", 10)).isEmpty();
+    }
+
+    private void givenUsers() {
+        when(userRepository.findActiveSearchFields()).thenReturn(new ArrayList<>(List.of(
+                new Object[]{ALICE, "alice.intake", "alice.smith@example.com", "Alice", "Smith"},
+                new Object[]{ALICIA, "alicia.keys", "alicia@example.com", "Alicia", "Keys"},
+                new Object[]{BOB, "bob", "bob@example.com", "Bob", "Malice"},
+                new Object[]{BOBBY, "bobby.tables", "bobby@example.com", "Bobby", "Tables"},
+                new Object[]{JOHN, "john.doe", "john.doe@example.com", "John", "Doe"})));
+    }
+
+    private static User user(UUID userId, String username, String email, String firstName, String lastName,
+                             boolean active) {
+        return User.builder().userId(userId).username(username).email(email)
+                .firstName(firstName).lastName(lastName).isActive(active).build();
+    }
+}
@@ -0,0 +1,275 @@
+package com.workflow.entitlements.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.entitlements.config.AuditWriterProperties;
+import com.workflow.entitlements.entity.EntitlementAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncAuditLogWriterTest {
+
+    private static final int COLUMNS = 15;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AuditWriterProperties properties = new AuditWriterProperties();
+    // Rows per INSERT statement, in execution order
+    private final List<Integer> insertedBatches = new CopyOnWriteArrayList<>();
+    private volatile long insertDelayMillis;
+    private AsyncAuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBufferCapacity(4);
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setSpillFile(tempDir.resolve("spill.ndjson").toString());
+        lenient().when(jdbcTemplate.update(startsWith("WITH inserted"), any(Object[].class))).thenAnswer(invocation -> {
+            if (insertDelayMillis > 0) {
+                Thread.sleep(insertDelayMillis);
+            }
+            int rows = (invocation.getArguments().length - 1) / COLUMNS;
+            insertedBatches.add(rows);
+            return rows;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void write_DropPolicyWhenFull_ShouldDiscardAndCount() {
+        properties.setOverflowPolicy(AuditWriterProperties.OverflowPolicy.DROP);
+        writer = newWriter();
+
+        for (int i = 0; i < 6; i++) {
+            writer.write(entry());
+        }
+
+        assertThat(counter("authorization.audit.enqueued")).isEqualTo(4);
+        assertThat(counter("authorization.audit.dropped")).isEqualTo(2);
+        assertThat(Files.exists(tempDir.resolve("spill.ndjson"))).isFalse();
+    }
+
+    @Test
+    void write_SpillPolicyWhenFull_ShouldSpillAndReplayOnStart() throws Exception {
+        properties.setOverflowPolicy(AuditWriterProperties.OverflowPolicy.SPILL);
+        writer = newWriter();
+        for (int i = 0; i < 5; i++) {
+            writer.write(entry());
+        }
+        assertThat(counter("authorization.audit.spilled")).isEqualTo(1);
+        assertThat(Files.readAllLines(tempDir.resolve("spill.ndjson"))).hasSize(1);
+
+        writer.start();
+        writer.stop();
+
+        // The spilled entry is replayed before the buffer is drained
+        assertThat(insertedBatches).containsExactly(1, 4);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+        assertThat(counter("authorization.audit.written")).isEqualTo(4);
+    }
+
+    @Test
+    void write_SpillPolicyInsertFails_ShouldSpillBatch() throws Exception {
+        properties.setOverflowPolicy(AuditWriterProperties.OverflowPolicy.SPILL);
+        doThrow(new IllegalStateException("database down"))
+                .when(jdbcTemplate).update(startsWith("WITH inserted"), any(Object[].class));
+        writer = newWriter();
+        writer.start();
+
+        writer.write(entry());
+        writer.write(entry());
+        writer.stop();
+
+        assertThat(Files.readAllLines(tempDir.resolve("spill.ndjson"))).hasSize(2);
+        assertThat(counter("authorization.audit.failed")).isZero();
+    }
+
+    @Test
+    void write_BlockPolicyWhenFull_ShouldWaitForWriterAndLoseNothing() throws Exception {
+        properties.setOverflowPolicy(AuditWriterProperties.OverflowPolicy.BLOCK);
+        properties.setFlushSize(1);
+        insertDelayMillis = 5;
+        writer = newWriter();
+        writer.start();
+
+        ExecutorService producers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = producers.submit(() -> write(10));
+            Future<?> second = producers.submit(() -> write(10));
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            producers.shutdownNow();
+        }
+        writer.stop();
+
+        assertThat(insertedBatches).hasSize(20).containsOnly(1);
+        assertThat(counter("authorization.audit.dropped")).isZero();
+    }
+
+    @Test
+    void write_BlockPolicyAfterStop_ShouldDropInsteadOfWaitingForever() {
+        properties.setOverflowPolicy(AuditWriterProperties.OverflowPolicy.BLOCK);
+        writer = newWriter();
+        writer.start();
+        writer.stop();
+
+        write(5);
+
+        assertThat(counter("authorization.audit.dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void runWriter_Idle_ShouldBlockUntilAnEntryArrives() {
+        writer = newWriter();
+        writer.start();
+
+        Thread writerThread = awaitWriterThread();
+        awaitUntil(() -> writerThread.getState() == Thread.State.WAITING);
+
+        writer.write(entry());
+        awaitUntil(() -> counter("authorization.audit.written") == 1);
+        awaitUntil(() -> writerThread.getState() == Thread.State.WAITING);
+        assertThat(insertedBatches).containsExactly(1);
+    }
+
+    @Test
+    void runWriter_PartialBatch_ShouldParkUntilTheFlushInterval() {
+        properties.setFlushInterval(Duration.ofMillis(300));
+        properties.setBufferCapacity(64);
+        writer = newWriter();
+        writer.start();
+
+        Thread writerThread = awaitWriterThread();
+        awaitUntil(() -> writerThread.getState() == Thread.State.WAITING);
+
+        write(2);
+        awaitUntil(() -> writerThread.getState() == Thread.State.TIMED_WAITING);
+        assertThat(insertedBatches).isEmpty();
+
+        awaitUntil(() -> counter("authorization.audit.written") == 2);
+        assertThat(insertedBatches).containsExactly(2);
+    }
+
+    @Test
+    void runWriter_PartialBatchFilled_ShouldFlushBeforeTheInterval() {
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setFlushSize(3);
+        properties.setBufferCapacity(64);
+        writer = newWriter();
+        writer.start();
+
+        Thread writerThread = awaitWriterThread();
+        write(1);
+        awaitUntil(() -> writerThread.getState() == Thread.State.TIMED_WAITING);
+
+        write(2);
+        awaitUntil(() -> counter("authorization.audit.written") == 3);
+        assertThat(insertedBatches).containsExactly(3);
+    }
+
+    @Test
+    void stop_ShouldDrainPendingEntries() {
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setBufferCapacity(64);
+        writer = newWriter();
+        writer.start();
+
+        write(3);
+        writer.stop();
+
+        assertThat(insertedBatches).containsExactly(3);
+    }
+
+    private AsyncAuditLogWriter newWriter() {
+        return new AsyncAuditLogWriter(properties, jdbcTemplate, transactionManager, objectMapper, meterRegistry);
+    }
+
+    private Void write(int count) {
+        for (int i = 0; i < count; i++) {
+            writer.write(entry());
+        }
+        return null;
+    }
+
+    private double counter(String name) {
+        return meterRegistry.counter(name).count();
+    }
+
+    private static EntitlementAuditLog entry() {
+        return EntitlementAuditLog.builder()
+                .auditId(UUID.randomUUID())
+                .eventType(EntitlementAuditLog.EventType.AUTHORIZATION_CHECK)
+                .userId(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"))
+                .resourceType("case")
+                .resourceId("CMS-1")
+                .action("read")
+                .decision("ALLOW")
+                .engineType("DATABASE")
+                .build();
+    }
+
+    private static Thread awaitWriterThread() {
+        awaitUntil(() -> findWriterThread() != null);
+        return findWriterThread();
+    }
+
+    private static Thread findWriterThread() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("audit-log-writer") && thread.isAlive())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
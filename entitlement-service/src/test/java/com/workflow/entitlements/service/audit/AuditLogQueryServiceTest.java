@@ -0,0 +1,132 @@
+package com.workflow.entitlements.service.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.workflow.entitlements.config.AuditWriterProperties;
+import com.workflow.entitlements.repository.AuditLogReadRepository;
+import com.workflow.entitlements.repository.AuditLogReadRepository.Cursor;
+import com.workflow.entitlements.repository.AuditLogReadRepository.Entry;
+import com.workflow.entitlements.repository.AuditLogReadRepository.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogQueryServiceTest {
+
+    private static final Filter NO_FILTER = new Filter(null, null, null, null, null, null, null, null, null);
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00.123456Z");
+
+    @Mock
+    private AuditLogReadRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private AuditLogQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        AuditWriterProperties properties = new AuditWriterProperties();
+        properties.getQuery().setMaxPageSize(50);
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new AuditLogQueryService(repository, properties, objectMapper, transactionManager);
+    }
+
+    @Test
+    void findPage_MoreRowsThanLimit_ShouldReturnCursorOfLastItem() {
+        List<Entry> rows = IntStream.range(0, 4).mapToObj(i -> entry(NOW.minusSeconds(i), "ok")).toList();
+        when(repository.findPage(NO_FILTER, null, 4)).thenReturn(rows);
+
+        AuditLogQueryService.Page page = service.findPage(NO_FILTER, null, 3);
+
+        assertThat(page.items()).containsExactlyElementsOf(rows.subList(0, 3));
+        Cursor cursor = Cursor.decode(page.nextCursor());
+        assertThat(cursor.eventTimestamp()).isEqualTo(rows.get(2).eventTimestamp());
+        assertThat(cursor.auditId()).isEqualTo(rows.get(2).auditId());
+    }
+
+    @Test
+    void findPage_LastPage_ShouldHaveNoCursor() {
+        when(repository.findPage(eq(NO_FILTER), any(), eq(51))).thenReturn(List.of(entry(NOW, "ok")));
+
+        AuditLogQueryService.Page page = service.findPage(NO_FILTER, new Cursor(NOW, UUID.randomUUID()).encode(), 500);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_MalformedCursor_ShouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> service.findPage(NO_FILTER, "not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void export_Ndjson_ShouldWriteOneJsonObjectPerLineWithRawMetadata() throws IOException {
+        givenStreamedEntries(entry(NOW, "first"), entry(NOW.minusSeconds(1), "second"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export(NO_FILTER, AuditLogQueryService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.path("decisionReason").asText()).isEqualTo("first");
+        assertThat(first.path("requestMetadata").path("action").asText()).isEqualTo("READ");
+        assertThat(first.path("eventTimestamp").asText()).isEqualTo("2026-10-18T10:00:00.123456Z");
+    }
+
+    @Test
+    void export_Csv_ShouldQuoteCellsWithSeparatorsAndQuotes() throws IOException {
+        Entry entry = entry(NOW, "role \"ANALYST\", matched\nline two");
+        givenStreamedEntries(entry);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(NO_FILTER, AuditLogQueryService.Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith(AuditLogQueryService.CSV_HEADER + "\n");
+        assertThat(csv).contains(",\"role \"\"ANALYST\"\", matched\nline two\",");
+        // Missing values are empty cells
+        assertThat(csv).endsWith("\"{\"\"action\"\": \"\"READ\"\"}\",,session-1,10.0.0.1,\n");
+    }
+
+    private void givenStreamedEntries(Entry... entries) {
+        doAnswer(invocation -> {
+            AuditLogReadRepository.EntryConsumer consumer = invocation.getArgument(2);
+            for (Entry entry : entries) {
+                consumer.accept(entry);
+            }
+            return null;
+        }).when(repository).stream(eq(NO_FILTER), anyInt(), any());
+    }
+
+    private static Entry entry(Instant timestamp, String reason) {
+        return new Entry(UUID.randomUUID(), timestamp, "AUTHORIZATION_CHECK", UUID.randomUUID(), "case", "42",
+                "READ", "ALLOW", reason, "DATABASE", "{\"action\": \"READ\"}", null, "session-1", "10.0.0.1", null);
+    }
+}
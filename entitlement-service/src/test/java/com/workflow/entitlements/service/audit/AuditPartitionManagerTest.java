@@ -0,0 +1,119 @@
+package com.workflow.entitlements.service.audit;
+
+import com.workflow.entitlements.config.AuditWriterProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionManagerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T23:30:00Z");
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditWriterProperties properties;
+    private AuditPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditWriterProperties();
+        properties.getRetention().setEnabled(true);
+        properties.getRetention().setPremakeDays(2);
+        properties.getRetention().setRawRetention(Duration.ofDays(30));
+        manager = new AuditPartitionManager(properties, jdbcTemplate, transactionManager,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void maintain_ShouldCreateOnlyMissingUpcomingPartitions() {
+        givenPartitions(AuditPartitionManager.partitionName(TODAY), "entitlement_audit_logs_default");
+
+        manager.maintain();
+
+        ArgumentCaptor<Object> days = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, atLeastOnce()).queryForObject(
+                eq("SELECT entitlements.create_audit_log_partition(?)"), eq(Boolean.class), days.capture());
+        assertThat(days.getAllValues()).containsExactly(
+                Date.valueOf(TODAY.plusDays(1)), Date.valueOf(TODAY.plusDays(2)));
+    }
+
+    @Test
+    void maintain_ShouldDropOnlyDaysEntirelyPastRetention() {
+        LocalDate cutoff = TODAY.minusDays(30);
+        givenPartitions(
+                AuditPartitionManager.partitionName(cutoff.minusDays(2)),
+                AuditPartitionManager.partitionName(cutoff.minusDays(1)),
+                AuditPartitionManager.partitionName(cutoff),
+                AuditPartitionManager.partitionName(TODAY),
+                AuditPartitionManager.partitionName(TODAY.plusDays(1)),
+                AuditPartitionManager.partitionName(TODAY.plusDays(2)));
+
+        manager.maintain();
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).execute(statements.capture());
+        assertThat(statements.getAllValues()).filteredOn(sql -> sql.startsWith("DROP TABLE")).containsExactly(
+                "DROP TABLE IF EXISTS entitlements." + AuditPartitionManager.partitionName(cutoff.minusDays(2)),
+                "DROP TABLE IF EXISTS entitlements." + AuditPartitionManager.partitionName(cutoff.minusDays(1)));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class), any(Object[].class));
+    }
+
+    @Test
+    void existingPartitions_ShouldIgnoreDefaultAndForeignNames() {
+        givenPartitions("entitlement_audit_logs_default", "entitlement_audit_logs_p2026xx01",
+                "entitlement_audit_logs_p20261017", "unrelated_table");
+
+        assertThat(manager.existingPartitions()).containsExactly(LocalDate.of(2026, 10, 17));
+    }
+
+    @Test
+    void maintain_RetentionDisabled_ShouldPremakePartitionsButDeleteNothing() {
+        properties.getRetention().setEnabled(false);
+        givenPartitions(AuditPartitionManager.partitionName(TODAY.minusDays(365)));
+
+        manager.maintain();
+
+        verify(jdbcTemplate, atLeastOnce()).queryForObject(
+                eq("SELECT entitlements.create_audit_log_partition(?)"), eq(Boolean.class), any(Object[].class));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void retention_ShouldBeOptIn() {
+        assertThat(new AuditWriterProperties().getRetention().isEnabled()).isFalse();
+    }
+
+    private void givenPartitions(String... names) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(names));
+    }
+}
@@ -0,0 +1,120 @@
+package com.workflow.entitlements.service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void constructor_ShouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer<String>(8).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void offer_Full_ShouldRejectUntilDrained() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+    }
+
+    @Test
+    void drainTo_AcrossWraparound_ShouldKeepOfferOrder() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // Ten laps around four slots, with the head and tail at different offsets each time
+        int next = 0;
+        for (int lap = 0; lap < 10; lap++) {
+            int batch = 1 + lap % 4;
+            for (int i = 0; i < batch; i++) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            assertThat(buffer.drainTo(drained, lap % 2 == 0 ? batch : Integer.MAX_VALUE)).isEqualTo(batch);
+            assertThat(buffer.size()).isZero();
+        }
+
+        assertThat(drained).hasSize(next).isSorted();
+        assertThat(buffer.drainTo(drained, 10)).isZero();
+    }
+
+    @Test
+    void drainTo_ShouldRespectMax() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(8);
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        assertThat(buffer.drainTo(drained, 4)).isEqualTo(4);
+        assertThat(buffer.drainTo(drained, 4)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void offer_ConcurrentProducers_ShouldDeliverEveryElementOnceInPerProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        long[] element = {producer, i};
+                        while (!buffer.offer(element)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] nextExpected = new long[producers];
+            List<long[]> batch = new ArrayList<>();
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * perProducer && System.nanoTime() < deadline) {
+                batch.clear();
+                buffer.drainTo(batch, 16);
+                for (long[] element : batch) {
+                    assertThat(element[1]).isEqualTo(nextExpected[(int) element[0]]++);
+                }
+                received += batch.size();
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(received).isEqualTo(producers * perProducer);
+            assertThat(nextExpected).containsOnly(perProducer);
+            assertThat(buffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
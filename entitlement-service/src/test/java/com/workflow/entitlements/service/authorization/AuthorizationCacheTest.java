@@ -0,0 +1,220 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.config.AuthorizationCacheProperties;
+import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.service.invalidation.InvalidationBus;
+import com.workflow.entitlements.service.invalidation.InvalidationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationCacheTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID BOB = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private static final UUID CAROL = UUID.fromString("550e8400-e29b-41d4-a716-446655440003");
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    private AuthorizationCacheProperties properties;
+    private AuthorizationCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuthorizationCacheProperties();
+        cache = new AuthorizationCache(properties, new SimpleMeterRegistry(), invalidationBus);
+    }
+
+    @Test
+    void getPrincipal_SecondCall_ShouldHitCache() {
+        assertThat(principal(ALICE).getId()).isEqualTo(ALICE);
+        assertThat(principal(ALICE).getId()).isEqualTo(ALICE);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void getPrincipal_UnknownUser_ShouldNotCacheNull() {
+        cache.getPrincipal("DATABASE", ALICE, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        cache.getPrincipal("DATABASE", ALICE, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void hasPermission_SecondCall_ShouldHitCache() {
+        assertThat(permission(ALICE, "read")).isTrue();
+        assertThat(permission(ALICE, "read")).isTrue();
+        assertThat(permission(ALICE, "update")).isTrue();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void putDecision_ErrorResponse_ShouldNotBeCached() {
+        AuthorizationCache.DecisionKey allowed = decisionKey(ALICE, "CMS-1");
+        AuthorizationCache.DecisionKey failed = decisionKey(ALICE, "CMS-2");
+
+        cache.putDecision(allowed, AuthorizationCheckResponse.allowed(), cache.getUserVersion(ALICE));
+        cache.putDecision(failed, AuthorizationCheckResponse.error("PDP unavailable"), cache.getUserVersion(ALICE));
+
+        assertThat(cache.getDecision(allowed).isAllowed()).isTrue();
+        assertThat(cache.getDecision(failed)).isNull();
+    }
+
+    @Test
+    void putDecision_EvictedWhileEvaluating_ShouldNotBeCached() {
+        long version = cache.getUserVersion(ALICE);
+
+        cache.invalidateUserLocally(ALICE);
+        cache.putDecision(decisionKey(ALICE, "CMS-1"), AuthorizationCheckResponse.allowed(), version);
+
+        assertThat(cache.getDecision(decisionKey(ALICE, "CMS-1"))).isNull();
+    }
+
+    @Test
+    void getPrincipal_EvictedWhileLoading_ShouldNotCacheTheStaleLoad() {
+        cache.getPrincipal("DATABASE", ALICE, () -> {
+            // The change commits while the pre-commit state is being read
+            cache.invalidateUserLocally(ALICE);
+            return AuthorizationCheckRequest.Principal.builder().id(ALICE).build();
+        });
+
+        loads.set(0);
+        principal(ALICE);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateUserLocally_ShouldEvictOnlyThatUsersEntries() {
+        populate(ALICE);
+        populate(BOB);
+        long bobVersion = cache.getUserVersion(BOB);
+
+        cache.invalidateUserLocally(ALICE);
+
+        assertThat(cache.getDecision(decisionKey(ALICE, "CMS-1"))).isNull();
+        assertThat(cache.getDecision(decisionKey(BOB, "CMS-1"))).isNotNull();
+        assertThat(cache.estimatedSize()).isEqualTo(3);
+        assertThat(cache.indexedUsers()).isEqualTo(1);
+        assertThat(cache.getUserVersion(ALICE)).isGreaterThan(bobVersion);
+        assertThat(cache.getUserVersion(BOB)).isEqualTo(bobVersion);
+
+        loads.set(0);
+        principal(ALICE);
+        principal(BOB);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateUsersLocally_ShouldEvictEveryListedUser() {
+        populate(ALICE);
+        populate(BOB);
+        populate(CAROL);
+
+        cache.invalidateUsersLocally(Set.of(ALICE, BOB));
+
+        assertThat(cache.estimatedSize()).isEqualTo(3);
+        assertThat(cache.getDecision(decisionKey(CAROL, "CMS-1"))).isNotNull();
+        assertThat(cache.getUserVersion(ALICE)).isEqualTo(cache.getUserVersion(BOB));
+    }
+
+    @Test
+    void invalidateUser_OutsideTransaction_ShouldEvictNowAndPublish() {
+        populate(ALICE);
+
+        cache.invalidateUser(ALICE);
+
+        assertThat(cache.estimatedSize()).isZero();
+        verify(invalidationBus).publish(InvalidationEvent.Type.USER, List.of(ALICE.toString()));
+    }
+
+    @Test
+    void invalidateUsers_ShouldIgnoreNullsAndSkipEmptySets() {
+        populate(ALICE);
+
+        cache.invalidateUsers(Arrays.asList(null, null));
+        assertThat(cache.estimatedSize()).isEqualTo(3);
+        verifyNoInteractions(invalidationBus);
+
+        cache.invalidateUsers(Arrays.asList(ALICE, null));
+        assertThat(cache.estimatedSize()).isZero();
+        verify(invalidationBus).publish(InvalidationEvent.Type.USER, List.of(ALICE.toString()));
+    }
+
+    @Test
+    void invalidateAll_ShouldEvictEverythingAndAdvanceEveryVersion() {
+        populate(ALICE);
+        populate(BOB);
+        long before = cache.getUserVersion(ALICE);
+
+        cache.invalidateAll();
+
+        assertThat(cache.estimatedSize()).isZero();
+        assertThat(cache.indexedUsers()).isZero();
+        assertThat(cache.getUserVersion(ALICE)).isGreaterThan(before);
+        assertThat(cache.getUserVersion(CAROL)).isGreaterThan(before);
+        verify(invalidationBus).publishFlush();
+    }
+
+    @Test
+    void sizeEviction_ShouldDropEvictedKeysFromUserIndex() {
+        properties.setUserContextCache(new AuthorizationCacheProperties.CacheSpec(1, Duration.ofMinutes(5), false));
+        cache = new AuthorizationCache(properties, new SimpleMeterRegistry());
+
+        principal(ALICE);
+        principal(BOB);
+        principal(CAROL);
+
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+        assertThat(cache.indexedUsers()).isEqualTo(1);
+    }
+
+    private void populate(UUID userId) {
+        principal(userId);
+        permission(userId, "read");
+        cache.putDecision(decisionKey(userId, "CMS-1"), AuthorizationCheckResponse.allowed(), cache.getUserVersion(userId));
+    }
+
+    private AuthorizationCheckRequest.Principal principal(UUID userId) {
+        return cache.getPrincipal("DATABASE", userId, () -> {
+            loads.incrementAndGet();
+            return AuthorizationCheckRequest.Principal.builder().id(userId).build();
+        });
+    }
+
+    private boolean permission(UUID userId, String action) {
+        return cache.hasPermission(userId, "case", null, action, () -> {
+            loads.incrementAndGet();
+            return true;
+        });
+    }
+
+    private static AuthorizationCache.DecisionKey decisionKey(UUID userId, String caseId) {
+        return new AuthorizationCache.DecisionKey("DATABASE", userId, "case", caseId, "read", null, null);
+    }
+}
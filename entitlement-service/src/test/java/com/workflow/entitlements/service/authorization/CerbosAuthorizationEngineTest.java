@@ -0,0 +1,176 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.cerbos.CerbosCheckClient;
+import com.workflow.entitlements.config.AuthorizationCacheProperties;
+import com.workflow.entitlements.config.CerbosProperties;
+import com.workflow.entitlements.dto.request.AuthorizationCheckRequest;
+import com.workflow.entitlements.dto.request.BatchAuthorizationCheckRequest;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import com.workflow.entitlements.repository.PrincipalReadRepository;
+import com.workflow.entitlements.service.audit.AsyncAuditLogWriter;
+import dev.cerbos.api.v1.effect.Effect;
+import dev.cerbos.api.v1.request.Request.CheckResourcesRequest;
+import dev.cerbos.api.v1.response.Response.CheckResourcesResponse;
+import dev.cerbos.api.v1.svc.CerbosServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the engine against an in-process Cerbos stub that allows "read" for everyone and
+ * "update" only for INVESTIGATOR principals.
+ */
+@ExtendWith(MockitoExtension.class)
+class CerbosAuthorizationEngineTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @Mock
+    private PrincipalReadRepository principalReadRepository;
+
+    @Mock
+    private AsyncAuditLogWriter auditLogWriter;
+
+    private final List<CheckResourcesRequest> receivedRequests = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean unavailable = new AtomicBoolean();
+
+    private Server server;
+    private ManagedChannel channel;
+    private CerbosAuthorizationEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new StubPdp())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CerbosProperties properties = new CerbosProperties();
+        engine = new CerbosAuthorizationEngine(
+                new CerbosCheckClient(channel, properties, meterRegistry),
+                properties,
+                principalReadRepository,
+                auditLogWriter,
+                new AuthorizationCache(new AuthorizationCacheProperties(), meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void checkAuthorizationBatch_ShouldEvaluateAllChecksInOneCall() {
+        List<AuthorizationCheckResponse> results = engine.checkAuthorizationBatch(principal("INVESTIGATOR"), List.of(
+                check("CMS-1", "read"),
+                check("CMS-1", "update"),
+                check("CMS-2", "delete")));
+
+        assertThat(results).extracting(AuthorizationCheckResponse::isAllowed).containsExactly(true, true, false);
+
+        assertThat(receivedRequests).hasSize(1);
+        CheckResourcesRequest request = receivedRequests.get(0);
+        assertThat(request.getPrincipal().getRolesList()).containsExactly("user", "INVESTIGATOR");
+        assertThat(request.getResourcesList()).hasSize(2);
+        assertThat(request.getResources(0).getActionsList()).containsExactly("read", "update");
+        assertThat(request.getResources(0).getResource().getPolicyVersion()).isEqualTo("2.0");
+    }
+
+    @Test
+    void checkAuthorization_ShouldServeRepeatedDecisionFromCache() {
+        AuthorizationCheckRequest request = AuthorizationCheckRequest.builder()
+                .principal(principal("ANALYST"))
+                .resource(AuthorizationCheckRequest.Resource.builder().kind("case").id("CMS-1").build())
+                .action("update")
+                .build();
+
+        assertThat(engine.checkAuthorization(request).isAllowed()).isFalse();
+        assertThat(engine.checkAuthorization(request).isAllowed()).isFalse();
+
+        assertThat(receivedRequests).hasSize(1);
+    }
+
+    @Test
+    void checkAuthorization_WhenPdpUnavailable_ShouldReturnErrorAndNotCacheIt() {
+        AuthorizationCheckRequest request = AuthorizationCheckRequest.builder()
+                .principal(principal("ANALYST"))
+                .resource(AuthorizationCheckRequest.Resource.builder().kind("case").id("CMS-1").build())
+                .action("read")
+                .build();
+
+        unavailable.set(true);
+        AuthorizationCheckResponse failed = engine.checkAuthorization(request);
+        assertThat(failed.isAllowed()).isFalse();
+        assertThat(failed.getValidationResult()).contains("UNAVAILABLE");
+
+        unavailable.set(false);
+        assertThat(engine.checkAuthorization(request).isAllowed()).isTrue();
+        assertThat(receivedRequests).hasSize(2);
+    }
+
+    private static AuthorizationCheckRequest.Principal principal(String role) {
+        return AuthorizationCheckRequest.Principal.builder()
+                .id(USER_ID)
+                .attributes(Map.of("roles", List.of(role), "isActive", true))
+                .build();
+    }
+
+    private static BatchAuthorizationCheckRequest.Check check(String caseId, String action) {
+        return BatchAuthorizationCheckRequest.Check.builder()
+                .resource(AuthorizationCheckRequest.Resource.builder().kind("case").id(caseId).build())
+                .action(action)
+                .build();
+    }
+
+    private class StubPdp extends CerbosServiceGrpc.CerbosServiceImplBase {
+        @Override
+        public void checkResources(CheckResourcesRequest request, StreamObserver<CheckResourcesResponse> responseObserver) {
+            receivedRequests.add(request);
+            if (unavailable.get()) {
+                responseObserver.onError(Status.UNAVAILABLE.withDescription("PDP down").asRuntimeException());
+                return;
+            }
+
+            boolean investigator = request.getPrincipal().getRolesList().contains("INVESTIGATOR");
+            CheckResourcesResponse.Builder response = CheckResourcesResponse.newBuilder()
+                    .setRequestId(request.getRequestId());
+            for (CheckResourcesRequest.ResourceEntry entry : request.getResourcesList()) {
+                CheckResourcesResponse.ResultEntry.Builder result = CheckResourcesResponse.ResultEntry.newBuilder()
+                        .setResource(CheckResourcesResponse.ResultEntry.Resource.newBuilder()
+                                .setKind(entry.getResource().getKind())
+                                .setId(entry.getResource().getId()));
+                for (String action : entry.getActionsList()) {
+                    boolean allowed = "read".equals(action) || ("update".equals(action) && investigator);
+                    result.putActions(action, allowed ? Effect.EFFECT_ALLOW : Effect.EFFECT_DENY);
+                }
+                response.addResults(result);
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+    }
+}
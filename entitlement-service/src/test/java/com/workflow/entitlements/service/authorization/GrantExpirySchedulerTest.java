@@ -0,0 +1,164 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.config.GrantExpiryProperties;
+import com.workflow.entitlements.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GrantExpirySchedulerTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID BOB = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AuthorizationCache authorizationCache;
+
+    @Mock
+    private PermissionMatrix permissionMatrix;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-18T10:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GrantExpiryProperties properties;
+    private GrantExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GrantExpiryProperties();
+        scheduler = new GrantExpiryScheduler(properties, jdbcTemplate, transactionManager, authorizationCache,
+                permissionMatrix, meterRegistry, clock);
+    }
+
+    @Test
+    void expireDue_BeforeDeadline_ShouldNotTouchTheDatabase() {
+        scheduler.track(GrantExpiryScheduler.Kind.RESOURCE_PERMISSION, UUID.randomUUID(), ALICE,
+                clock.instant().plusSeconds(30), true);
+
+        clock.advance(Duration.ofSeconds(10));
+        scheduler.expireDue();
+
+        verifyNoInteractions(jdbcTemplate, authorizationCache);
+    }
+
+    @Test
+    void expireDue_AfterDeadline_ShouldDeactivateInOneBatchAndEvictUsers() {
+        Instant expiresAt = clock.instant().plusSeconds(30);
+        scheduler.track(GrantExpiryScheduler.Kind.ROLE_ASSIGNMENT, UUID.randomUUID(), ALICE, expiresAt, true);
+        scheduler.track(GrantExpiryScheduler.Kind.ROLE_ASSIGNMENT, UUID.randomUUID(), ALICE, expiresAt, true);
+        scheduler.track(GrantExpiryScheduler.Kind.ROLE_ASSIGNMENT, UUID.randomUUID(), BOB, expiresAt, true);
+        givenDeactivatedUsers(List.of(ALICE, ALICE, BOB));
+
+        clock.advance(Duration.ofSeconds(31));
+        scheduler.expireDue();
+
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        verify(authorizationCache).invalidateUsers(Set.of(ALICE, BOB));
+        verify(authorizationCache, never()).invalidateUsersLocally(any());
+        verify(permissionMatrix).userRolesChanged(ALICE);
+        verify(permissionMatrix).userRolesChanged(BOB);
+        assertThat(meterRegistry.counter("authorization.grants.expired", "kind", "ROLE_ASSIGNMENT").count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    void expireDue_AlreadyDeactivatedElsewhere_ShouldEvictLocallyWithoutPublishing() {
+        scheduler.track(GrantExpiryScheduler.Kind.RESOURCE_PERMISSION, UUID.randomUUID(), ALICE,
+                clock.instant().plusSeconds(5), true);
+        givenDeactivatedUsers(List.of());
+
+        clock.advance(Duration.ofSeconds(6));
+        scheduler.expireDue();
+
+        verify(authorizationCache, never()).invalidateUsers(any());
+        verify(authorizationCache).invalidateUsersLocally(Set.of(ALICE));
+        verifyNoInteractions(permissionMatrix);
+    }
+
+    @Test
+    void expireDue_MoreGrantsThanBatchSize_ShouldSplitUpdates() {
+        properties.setBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            scheduler.track(GrantExpiryScheduler.Kind.RESOURCE_PERMISSION, UUID.randomUUID(), ALICE,
+                    clock.instant().plusSeconds(5), true);
+        }
+        givenDeactivatedUsers(List.of(ALICE));
+
+        clock.advance(Duration.ofSeconds(6));
+        scheduler.expireDue();
+
+        verify(jdbcTemplate, times(3)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    void track_GrantDeactivatedBeforeExpiry_ShouldCancelIt() {
+        UUID grantId = UUID.randomUUID();
+        Instant expiresAt = clock.instant().plusSeconds(5);
+        scheduler.track(GrantExpiryScheduler.Kind.RESOURCE_PERMISSION, grantId, ALICE, expiresAt, true);
+        scheduler.track(GrantExpiryScheduler.Kind.RESOURCE_PERMISSION, grantId, ALICE, expiresAt, false);
+
+        clock.advance(Duration.ofSeconds(6));
+        scheduler.expireDue();
+
+        verifyNoInteractions(jdbcTemplate, authorizationCache);
+    }
+
+    @Test
+    void reload_OneKindFails_ShouldStillScheduleTheOthers() throws Exception {
+        UUID assignmentId = UUID.randomUUID();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject(1, UUID.class)).thenReturn(assignmentId);
+        when(row.getObject(2, UUID.class)).thenReturn(BOB);
+        when(row.getTimestamp(3)).thenReturn(Timestamp.from(clock.instant().plusSeconds(5)));
+        when(jdbcTemplate.query(contains("FROM entitlements.resource_permissions"), any(RowMapper.class), any(Object[].class)))
+                .thenThrow(new BadSqlGrammarException("reload", "SELECT", new SQLException("column \"is_active\" does not exist")));
+        when(jdbcTemplate.query(contains("FROM entitlements.entitlement_user_domain_roles"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(row, 0)));
+        givenDeactivatedUsers(List.of(BOB));
+
+        scheduler.reload();
+        clock.advance(Duration.ofSeconds(6));
+        scheduler.expireDue();
+
+        verify(authorizationCache).invalidateUsers(Set.of(BOB));
+        verify(permissionMatrix).userRolesChanged(BOB);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void givenDeactivatedUsers(List<UUID> userIds) {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn((List) userIds);
+    }
+}
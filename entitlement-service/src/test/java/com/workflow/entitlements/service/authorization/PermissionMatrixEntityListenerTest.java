@@ -0,0 +1,82 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.entity.EntitlementRolePermission;
+import com.workflow.entitlements.entity.EntitlementUserDomainRole;
+import com.workflow.entitlements.service.invalidation.InvalidationBus;
+import com.workflow.entitlements.service.invalidation.InvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionMatrixEntityListenerTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID BOB = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private static final UUID INVESTIGATOR = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae1");
+
+    @Mock
+    private PermissionMatrix permissionMatrix;
+
+    @Mock
+    private AuthorizationCache authorizationCache;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    @Mock
+    private ObjectProvider<PermissionMatrix> permissionMatrixProvider;
+
+    @Mock
+    private ObjectProvider<AuthorizationCache> authorizationCacheProvider;
+
+    @Mock
+    private ObjectProvider<InvalidationBus> invalidationBusProvider;
+
+    private PermissionMatrixEntityListener listener;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(permissionMatrixProvider.getObject()).thenReturn(permissionMatrix);
+        lenient().when(authorizationCacheProvider.getObject()).thenReturn(authorizationCache);
+        lenient().when(invalidationBusProvider.getObject()).thenReturn(invalidationBus);
+        listener = new PermissionMatrixEntityListener(permissionMatrixProvider, authorizationCacheProvider,
+                invalidationBusProvider);
+    }
+
+    @Test
+    void onChange_RolePermission_ShouldRecompileThenEvictHoldersAndPublishRole() {
+        when(permissionMatrix.roleHolders(INVESTIGATOR)).thenReturn(Set.of(ALICE, BOB));
+
+        listener.onChange(EntitlementRolePermission.builder().roleId(INVESTIGATOR).build());
+
+        InOrder inOrder = inOrder(permissionMatrix, authorizationCache);
+        inOrder.verify(permissionMatrix).roleChanged(INVESTIGATOR);
+        inOrder.verify(authorizationCache).invalidateUsersLocally(Set.of(ALICE, BOB));
+        verify(invalidationBus).publish(InvalidationEvent.Type.ROLE, INVESTIGATOR.toString());
+    }
+
+    @Test
+    void onChange_UserRole_ShouldReloadRolesThenEvictUserOnEveryNode() {
+        listener.onChange(EntitlementUserDomainRole.builder().userId(ALICE).roleId(INVESTIGATOR).build());
+
+        InOrder inOrder = inOrder(permissionMatrix, authorizationCache);
+        inOrder.verify(permissionMatrix).userRolesChanged(ALICE);
+        inOrder.verify(authorizationCache).invalidateUser(ALICE);
+        // invalidateUser publishes USER itself
+        verifyNoInteractions(invalidationBus);
+    }
+}
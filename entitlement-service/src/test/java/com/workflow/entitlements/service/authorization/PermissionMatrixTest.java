@@ -0,0 +1,138 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.config.PermissionMatrixProperties;
+import com.workflow.entitlements.repository.EntitlementRolePermissionRepository;
+import com.workflow.entitlements.repository.EntitlementUserDomainRoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionMatrixTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID INVESTIGATOR = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae1");
+    private static final UUID REVIEWER = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae2");
+
+    @Mock
+    private EntitlementRolePermissionRepository rolePermissionRepository;
+
+    @Mock
+    private EntitlementUserDomainRoleRepository userDomainRoleRepository;
+
+    private PermissionMatrix permissionMatrix;
+
+    @BeforeEach
+    void setUp() {
+        permissionMatrix = new PermissionMatrix(rolePermissionRepository, userDomainRoleRepository,
+                new PermissionMatrixProperties());
+    }
+
+    @Test
+    void hasPermission_ShouldCombineAllActiveRolesOfUser() {
+        when(rolePermissionRepository.findActiveRolePermissionKeys()).thenReturn(rows(
+                row(INVESTIGATOR, "case", "read"),
+                row(INVESTIGATOR, "case", "update"),
+                row(REVIEWER, "case", "approve")));
+        when(userDomainRoleRepository.findActiveRoleIdsByUserId(USER_ID)).thenReturn(List.of(INVESTIGATOR, REVIEWER));
+
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "read")).isTrue();
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "approve")).isTrue();
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "delete")).isFalse();
+        assertThat(permissionMatrix.hasPermission(USER_ID, "workflow", "read")).isFalse();
+
+        // Compiled once, user roles loaded once
+        verify(rolePermissionRepository, times(1)).findActiveRolePermissionKeys();
+        verify(userDomainRoleRepository, times(1)).findActiveRoleIdsByUserId(USER_ID);
+    }
+
+    @Test
+    void roleChanged_ShouldRecompileOnlyThatRole() {
+        when(rolePermissionRepository.findActiveRolePermissionKeys()).thenReturn(rows(
+                row(INVESTIGATOR, "case", "read")));
+        when(userDomainRoleRepository.findActiveRoleIdsByUserId(USER_ID)).thenReturn(List.of(INVESTIGATOR));
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "read")).isTrue();
+
+        when(rolePermissionRepository.findActivePermissionKeysByRoleId(INVESTIGATOR)).thenReturn(rows(
+                new Object[]{"case", "update"}));
+        permissionMatrix.roleChanged(INVESTIGATOR);
+
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "read")).isFalse();
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "update")).isTrue();
+    }
+
+    @Test
+    void userRolesChanged_ShouldReloadAssignments() {
+        when(rolePermissionRepository.findActiveRolePermissionKeys()).thenReturn(rows(
+                row(INVESTIGATOR, "case", "read"),
+                row(REVIEWER, "case", "approve")));
+        when(userDomainRoleRepository.findActiveRoleIdsByUserId(USER_ID)).thenReturn(List.of(INVESTIGATOR));
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "approve")).isFalse();
+
+        when(userDomainRoleRepository.findActiveRoleIdsByUserId(USER_ID)).thenReturn(List.of(REVIEWER));
+        permissionMatrix.userRolesChanged(USER_ID);
+
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "approve")).isTrue();
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "read")).isFalse();
+    }
+
+    @Test
+    void hasPermission_ShouldHandleMoreThanOneWordOfOrdinals() {
+        List<Object[]> permissions = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            permissions.add(row(INVESTIGATOR, "resource" + i, "read"));
+        }
+        when(rolePermissionRepository.findActiveRolePermissionKeys()).thenReturn(permissions);
+        when(userDomainRoleRepository.findActiveRoleIdsByUserId(USER_ID)).thenReturn(List.of(INVESTIGATOR));
+
+        assertThat(permissionMatrix.hasPermission(USER_ID, "resource0", "read")).isTrue();
+        assertThat(permissionMatrix.hasPermission(USER_ID, "resource129", "read")).isTrue();
+        assertThat(permissionMatrix.hasPermission(USER_ID, "resource129", "update")).isFalse();
+    }
+
+    @Test
+    void refreshAll_ShouldReloadEveryCompiledUserInOneQuery() {
+        UUID otherUser = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+        when(rolePermissionRepository.findActiveRolePermissionKeys()).thenReturn(rows(
+                row(INVESTIGATOR, "case", "read"),
+                row(REVIEWER, "case", "approve")));
+        when(userDomainRoleRepository.findActiveRoleIdsByUserId(USER_ID)).thenReturn(List.of(INVESTIGATOR));
+        when(userDomainRoleRepository.findActiveRoleIdsByUserId(otherUser)).thenReturn(List.of(INVESTIGATOR));
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "approve")).isFalse();
+        assertThat(permissionMatrix.hasPermission(otherUser, "case", "read")).isTrue();
+
+        // USER_ID was given REVIEWER outside JPA; otherUser lost every assignment
+        when(userDomainRoleRepository.findActiveRoleIdsByUserIds(anyCollection())).thenReturn(rows(
+                new Object[]{USER_ID, INVESTIGATOR},
+                new Object[]{USER_ID, REVIEWER}));
+        permissionMatrix.refreshAll();
+
+        assertThat(permissionMatrix.hasPermission(USER_ID, "case", "approve")).isTrue();
+        assertThat(permissionMatrix.hasPermission(otherUser, "case", "read")).isFalse();
+        verify(userDomainRoleRepository, times(1)).findActiveRoleIdsByUserIds(
+                argThat(userIds -> userIds.size() == 2 && userIds.containsAll(List.of(USER_ID, otherUser))));
+        verify(userDomainRoleRepository, times(1)).findActiveRoleIdsByUserId(USER_ID);
+        verify(userDomainRoleRepository, times(1)).findActiveRoleIdsByUserId(otherUser);
+    }
+
+    private static Object[] row(UUID roleId, String resourceType, String action) {
+        return new Object[]{roleId, resourceType, action};
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,154 @@
+package com.workflow.entitlements.service.authorization;
+
+import com.workflow.entitlements.config.ShadowEvaluationProperties;
+import com.workflow.entitlements.dto.response.AuthorizationCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShadowEvaluatorTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @Mock
+    private AuthorizationEngine databaseEngine;
+
+    @Mock
+    private AuthorizationEngine cerbosEngine;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ShadowEvaluationProperties properties = new ShadowEvaluationProperties();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(databaseEngine.getEngineType()).thenReturn("DATABASE");
+        lenient().when(cerbosEngine.getEngineType()).thenReturn("CERBOS");
+        properties.setSampleRate(1.0);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @Test
+    void evaluate_EnginesAgree_ShouldReturnPrimaryAndCountMatch() throws Exception {
+        AuthorizationCheckResponse primary = AuthorizationCheckResponse.allowed();
+        when(databaseEngine.checkUserPermission(ALICE, "case", "CMS-1", "read")).thenReturn(primary);
+        when(cerbosEngine.checkUserPermission(ALICE, "case", "CMS-1", "read"))
+                .thenReturn(AuthorizationCheckResponse.allowed());
+
+        AuthorizationCheckResponse result = checkUserPermission(evaluator(cerbosEngine));
+        awaitShadow();
+
+        assertThat(result).isSameAs(primary);
+        assertThat(comparisons("match", "none")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("authorization.engine.latency").tag("engine", "CERBOS").tag("role", "shadow")
+                .tag("operation", "USER_PERMISSION").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("authorization.engine.latency").tag("engine", "DATABASE").tag("role", "primary")
+                .tag("operation", "USER_PERMISSION").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluate_ShadowDenies_ShouldCountMismatchAllowedByPrimary() throws Exception {
+        when(databaseEngine.checkUserPermission(ALICE, "case", "CMS-1", "read"))
+                .thenReturn(AuthorizationCheckResponse.allowed());
+        when(cerbosEngine.checkUserPermission(ALICE, "case", "CMS-1", "read"))
+                .thenReturn(AuthorizationCheckResponse.denied("Cerbos policy evaluation denied access"));
+
+        checkUserPermission(evaluator(cerbosEngine));
+        awaitShadow();
+
+        assertThat(comparisons("mismatch", "primary_allows")).isEqualTo(1.0);
+        assertThat(comparisons("match", "none")).isZero();
+    }
+
+    @Test
+    void evaluate_ShadowFails_ShouldCountErrorAndStillReturnPrimary() throws Exception {
+        AuthorizationCheckResponse primary = AuthorizationCheckResponse.denied("No matching permission");
+        when(databaseEngine.checkUserPermission(ALICE, "case", "CMS-1", "read")).thenReturn(primary);
+        when(cerbosEngine.checkUserPermission(ALICE, "case", "CMS-1", "read"))
+                .thenThrow(new IllegalStateException("PDP unavailable"));
+
+        AuthorizationCheckResponse result = checkUserPermission(evaluator(cerbosEngine));
+        awaitShadow();
+
+        assertThat(result).isSameAs(primary);
+        assertThat(comparisons("error", "none")).isEqualTo(1.0);
+    }
+
+    @Test
+    void evaluate_NotSampled_ShouldNotCallShadowEngine() throws Exception {
+        properties.setSampleRate(0.0);
+        when(databaseEngine.checkUserPermission(ALICE, "case", "CMS-1", "read"))
+                .thenReturn(AuthorizationCheckResponse.allowed());
+
+        checkUserPermission(evaluator(cerbosEngine));
+        awaitShadow();
+
+        verify(databaseEngine).checkUserPermission(ALICE, "case", "CMS-1", "read");
+        verify(cerbosEngine, never()).checkUserPermission(ALICE, "case", "CMS-1", "read");
+    }
+
+    @Test
+    void evaluate_ShadowIsPrimaryEngine_ShouldDisableShadowing() throws Exception {
+        when(databaseEngine.checkUserPermission(ALICE, "case", "CMS-1", "read"))
+                .thenReturn(AuthorizationCheckResponse.allowed());
+
+        checkUserPermission(evaluator(databaseEngine));
+        awaitShadow();
+
+        verify(databaseEngine).checkUserPermission(ALICE, "case", "CMS-1", "read");
+        assertThat(comparisons("match", "none")).isZero();
+        verifyNoInteractions(cerbosEngine);
+    }
+
+    @Test
+    void evaluate_Batch_ShouldCompareDecisionsByPosition() throws Exception {
+        when(databaseEngine.checkAuthorizationBatch(null, List.of())).thenReturn(List.of(
+                AuthorizationCheckResponse.allowed(), AuthorizationCheckResponse.denied(null)));
+        when(cerbosEngine.checkAuthorizationBatch(null, List.of())).thenReturn(List.of(
+                AuthorizationCheckResponse.allowed(), AuthorizationCheckResponse.allowed()));
+
+        evaluator(cerbosEngine).evaluate(ShadowEvaluator.Operation.BATCH,
+                engine -> engine.checkAuthorizationBatch(null, List.of()), decisions -> decisions);
+        awaitShadow();
+
+        assertThat(comparisons("match", "none")).isEqualTo(1.0);
+        assertThat(comparisons("mismatch", "shadow_allows")).isEqualTo(1.0);
+    }
+
+    private ShadowEvaluator evaluator(AuthorizationEngine shadowEngine) {
+        return new ShadowEvaluator(properties, databaseEngine, shadowEngine, meterRegistry, executor);
+    }
+
+    private static AuthorizationCheckResponse checkUserPermission(ShadowEvaluator evaluator) {
+        return evaluator.evaluate(ShadowEvaluator.Operation.USER_PERMISSION,
+                engine -> engine.checkUserPermission(ALICE, "case", "CMS-1", "read"), Collections::singletonList);
+    }
+
+    private void awaitShadow() throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private double comparisons(String outcome, String disagreement) {
+        return meterRegistry.counter("authorization.shadow.comparisons",
+                "outcome", outcome, "disagreement", disagreement).count();
+    }
+}
@@ -0,0 +1,103 @@
+package com.workflow.entitlements.service.invalidation;
+
+import com.workflow.entitlements.config.InvalidationBusProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationBusTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InvalidationBusProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InvalidationBusProperties();
+        properties.setEnabled(true);
+    }
+
+    @Test
+    void publish_ManyUsers_ShouldSplitIntoPayloadsBelowNotifyLimit() {
+        InvalidationBus bus = new InvalidationBus(properties, jdbcTemplate, transactionManager);
+        List<String> userIds = IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        bus.publish(InvalidationEvent.Type.USER, userIds);
+
+        List<InvalidationEvent> events = sentEvents();
+        assertThat(events).hasSizeGreaterThan(1);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.encode().length()).isLessThanOrEqualTo(InvalidationBus.MAX_PAYLOAD_LENGTH);
+            assertThat(event.nodeId()).isEqualTo(bus.getNodeId());
+        });
+        assertThat(events).extracting(InvalidationEvent::sequence)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, events.size()).mapToObj(i -> (long) i).toList());
+        assertThat(events.stream().flatMap(event -> event.keys().stream()).toList())
+                .containsExactlyElementsOf(userIds);
+    }
+
+    @Test
+    void sendHeartbeat_ShouldRepeatLastSequence() {
+        InvalidationBus bus = new InvalidationBus(properties, jdbcTemplate, transactionManager);
+        bus.publish(InvalidationEvent.Type.ROLE, UUID.randomUUID().toString());
+        bus.publishFlush();
+
+        bus.sendHeartbeat();
+
+        List<InvalidationEvent> events = sentEvents();
+        assertThat(events).extracting(InvalidationEvent::type).containsExactly(
+                InvalidationEvent.Type.ROLE, InvalidationEvent.Type.FLUSH, InvalidationEvent.Type.HEARTBEAT);
+        assertThat(events).extracting(InvalidationEvent::sequence).containsExactly(1L, 2L, 2L);
+    }
+
+    @Test
+    void publish_Disabled_ShouldSendNothing() {
+        properties.setEnabled(false);
+        InvalidationBus bus = new InvalidationBus(properties, jdbcTemplate, transactionManager);
+
+        bus.publish(InvalidationEvent.Type.USER, UUID.randomUUID().toString());
+        bus.sendHeartbeat();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void constructor_InvalidChannel_ShouldThrow() {
+        properties.setChannel("bad; DROP TABLE users");
+
+        assertThatThrownBy(() -> new InvalidationBus(properties, jdbcTemplate, transactionManager))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<InvalidationEvent> sentEvents() {
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).query(anyString(), any(ResultSetExtractor.class),
+                eq("entitlement_invalidation"), payloads.capture());
+        return payloads.getAllValues().stream().map(InvalidationEvent::decode).toList();
+    }
+}
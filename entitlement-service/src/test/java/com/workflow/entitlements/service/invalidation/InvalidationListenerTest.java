@@ -0,0 +1,166 @@
+package com.workflow.entitlements.service.invalidation;
+
+import com.workflow.entitlements.config.InvalidationBusProperties;
+import com.workflow.entitlements.service.UserQueueIndex;
+import com.workflow.entitlements.service.UserSearchIndex;
+import com.workflow.entitlements.service.authorization.AuthorizationCache;
+import com.workflow.entitlements.service.authorization.PermissionMatrix;
+import com.workflow.entitlements.service.session.SessionRevocationList;
+import com.workflow.entitlements.service.session.SessionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationListenerTest {
+
+    private static final UUID ALICE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID BOB = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private static final UUID INVESTIGATOR = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae1");
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    @Mock
+    private AuthorizationCache authorizationCache;
+
+    @Mock
+    private PermissionMatrix permissionMatrix;
+
+    @Mock
+    private UserQueueIndex userQueueIndex;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private SessionStore sessionStore;
+
+    @Mock
+    private SessionRevocationList sessionRevocationList;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new InvalidationListener(new InvalidationBusProperties(), new DataSourceProperties(),
+                invalidationBus, authorizationCache, permissionMatrix, userQueueIndex, userSearchIndex, sessionStore,
+                sessionRevocationList, meterRegistry);
+        lenient().when(invalidationBus.getNodeId()).thenReturn("self");
+    }
+
+    @Test
+    void handle_UserEvent_ShouldEvictUsersAndReloadTheirRoles() {
+        listener.handle(event("node-a", 1, InvalidationEvent.Type.USER, ALICE.toString(), BOB.toString()));
+
+        verify(authorizationCache).invalidateUsersLocally(Set.of(ALICE, BOB));
+        verify(permissionMatrix).userRolesChanged(ALICE);
+        verify(permissionMatrix).userRolesChanged(BOB);
+        verify(userQueueIndex).usersChanged(Set.of(ALICE, BOB));
+        verify(userSearchIndex).usersChanged(Set.of(ALICE, BOB));
+        verify(authorizationCache, never()).invalidateAllLocally();
+    }
+
+    @Test
+    void handle_RoleEvent_ShouldRecompileRoleAndEvictItsHolders() {
+        when(permissionMatrix.roleHolders(INVESTIGATOR)).thenReturn(Set.of(ALICE, BOB));
+
+        listener.handle(event("node-a", 1, InvalidationEvent.Type.ROLE, INVESTIGATOR.toString()));
+
+        InOrder inOrder = inOrder(permissionMatrix, authorizationCache);
+        inOrder.verify(permissionMatrix).roleChanged(INVESTIGATOR);
+        inOrder.verify(authorizationCache).invalidateUsersLocally(Set.of(ALICE, BOB));
+    }
+
+    @Test
+    void handle_SessionEvent_ShouldEvictCachedSessionAndRevokeIt() {
+        listener.handle(event("node-a", 1, InvalidationEvent.Type.SESSION, "session-1"));
+
+        verify(sessionStore).evictCached("session-1");
+        verify(sessionRevocationList).revoke("session-1");
+    }
+
+    @Test
+    void handle_OwnEvent_ShouldBeIgnored() {
+        listener.handle(event("self", 1, InvalidationEvent.Type.USER, ALICE.toString()));
+
+        verifyNoInteractions(authorizationCache, permissionMatrix);
+    }
+
+    @Test
+    void handle_ConsecutiveSequences_ShouldApplyWithoutFlush() {
+        listener.handle(event("node-a", 7, InvalidationEvent.Type.USER, ALICE.toString()));
+        listener.handle(event("node-a", 8, InvalidationEvent.Type.USER, BOB.toString()));
+        listener.handle(event("node-b", 1, InvalidationEvent.Type.USER, BOB.toString()));
+
+        verify(authorizationCache, never()).invalidateAllLocally();
+        assertThat(meterRegistry.counter("authorization.invalidation.received").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void handle_SequenceGap_ShouldFlushEverything() {
+        listener.handle(event("node-a", 1, InvalidationEvent.Type.USER, ALICE.toString()));
+        listener.handle(event("node-a", 3, InvalidationEvent.Type.USER, BOB.toString()));
+
+        verify(authorizationCache).invalidateAllLocally();
+        verify(permissionMatrix).refreshAll();
+        verify(userSearchIndex).refreshAll();
+        verify(sessionStore).evictAllCached();
+        assertThat(meterRegistry.counter("authorization.invalidation.flushes").count()).isEqualTo(1.0);
+
+        // Back in step afterwards
+        listener.handle(event("node-a", 4, InvalidationEvent.Type.USER, BOB.toString()));
+        verify(authorizationCache, times(1)).invalidateAllLocally();
+    }
+
+    @Test
+    void handle_HeartbeatAfterLostEvent_ShouldFlush() {
+        listener.handle(event("node-a", 1, InvalidationEvent.Type.USER, ALICE.toString()));
+        listener.handle(event("node-a", 1, InvalidationEvent.Type.HEARTBEAT));
+        verify(authorizationCache, never()).invalidateAllLocally();
+
+        // Event 2 never arrived
+        listener.handle(event("node-a", 2, InvalidationEvent.Type.HEARTBEAT));
+        verify(authorizationCache).invalidateAllLocally();
+    }
+
+    @Test
+    void handle_MalformedPayload_ShouldFlush() {
+        listener.handle("not an event");
+
+        verify(authorizationCache).invalidateAllLocally();
+    }
+
+    @Test
+    void decode_ShouldRoundTripEncodedEvent() {
+        InvalidationEvent event = new InvalidationEvent("node-a", 42, InvalidationEvent.Type.USER,
+                List.of(ALICE.toString(), BOB.toString()));
+
+        assertThat(InvalidationEvent.decode(event.encode())).isEqualTo(event);
+        assertThat(InvalidationEvent.decode("node-a|1|FLUSH|").keys()).isEmpty();
+    }
+
+    private static String event(String nodeId, long sequence, InvalidationEvent.Type type, String... keys) {
+        return new InvalidationEvent(nodeId, sequence, type, List.of(keys)).encode();
+    }
+}
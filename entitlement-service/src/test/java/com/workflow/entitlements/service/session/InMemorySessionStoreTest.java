@@ -0,0 +1,110 @@
+package com.workflow.entitlements.service.session;
+
+import com.workflow.entitlements.config.SessionProperties;
+import com.workflow.entitlements.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySessionStoreTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-14T10:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+    private InMemorySessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        SessionProperties properties = new SessionProperties();
+        properties.setTimeout(Duration.ofMinutes(30));
+        properties.setWheelTick(Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+        store = new InMemorySessionStore(properties, meterRegistry, clock);
+    }
+
+    @Test
+    void touch_WithinTimeout_ShouldReturnSessionAndSlideExpiry() {
+        Session session = store.create(USER_ID, "alice.intake");
+
+        clock.advance(Duration.ofMinutes(20));
+        Session touched = store.touch(session.sessionId()).orElseThrow();
+
+        assertThat(touched.userId()).isEqualTo(USER_ID);
+        assertThat(touched.createdAt()).isEqualTo(session.createdAt());
+        assertThat(touched.expiresAt()).isEqualTo(clock.instant().plus(Duration.ofMinutes(30)));
+
+        // 40 minutes after login but only 20 after the last touch
+        clock.advance(Duration.ofMinutes(20));
+        assertThat(store.touch(session.sessionId())).isPresent();
+    }
+
+    @Test
+    void touch_AfterTimeout_ShouldReturnEmptyEvenBeforeSweep() {
+        Session session = store.create(USER_ID, "alice.intake");
+
+        clock.advance(Duration.ofMinutes(31));
+
+        assertThat(store.touch(session.sessionId())).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void expireSessions_ShouldRemoveOnlyIdleSessions() {
+        Session idle = store.create(USER_ID, "alice.intake");
+        clock.advance(Duration.ofMinutes(10));
+        Session active = store.create(USER_ID, "alice.intake");
+
+        clock.advance(Duration.ofMinutes(25));
+        store.expireSessions();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.touch(active.sessionId())).isPresent();
+        assertThat(store.touch(idle.sessionId())).isEmpty();
+        assertThat(meterRegistry.counter("authorization.sessions.expired").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void expireSessions_TouchedSession_ShouldSurvivePassOfOriginalDeadline() {
+        Session session = store.create(USER_ID, "alice.intake");
+        clock.advance(Duration.ofMinutes(29));
+        store.touch(session.sessionId());
+
+        clock.advance(Duration.ofMinutes(2));
+        store.expireSessions();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.touch(session.sessionId())).isPresent();
+    }
+
+    @Test
+    void remove_ShouldEndSession() {
+        Session session = store.create(USER_ID, "alice.intake");
+
+        store.remove(session.sessionId());
+        store.remove("unknown-session");
+
+        assertThat(store.touch(session.sessionId())).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void expireSessions_ManySessions_ShouldExpireAllAfterLongPause() {
+        for (int i = 0; i < 1_000; i++) {
+            store.create(UUID.randomUUID(), "user-" + i);
+        }
+
+        // Longer than a full revolution of the wheel
+        clock.advance(Duration.ofHours(3));
+        store.expireSessions();
+
+        assertThat(store.size()).isZero();
+        assertThat(meterRegistry.counter("authorization.sessions.expired").count()).isEqualTo(1_000.0);
+    }
+}
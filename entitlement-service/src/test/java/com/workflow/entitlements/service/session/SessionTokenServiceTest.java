@@ -0,0 +1,164 @@
+package com.workflow.entitlements.service.session;
+
+import com.workflow.entitlements.config.SessionProperties;
+import com.workflow.entitlements.repository.PrincipalReadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class SessionTokenServiceTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final String KEY_1 = "first-session-token-key-0123456789abcdef";
+    private static final String KEY_2 = "second-session-token-key-0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-10-14T10:00:00Z");
+
+    @Mock
+    private PrincipalReadRepository principalReadRepository;
+
+    private SessionProperties properties;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SessionProperties();
+        properties.getToken().setEnabled(true);
+        properties.getToken().setTtl(Duration.ofMinutes(5));
+        properties.getToken().setActiveKeyId("k1");
+        properties.getToken().setKeys(Map.of("k1", KEY_1));
+        session = Session.create("session-1", USER_ID, "alice.intake", NOW, Duration.ofMinutes(30));
+
+        lenient().when(principalReadRepository.findByUserId(any())).thenReturn(Optional.of(
+                new PrincipalReadRepository.PrincipalView(USER_ID, "alice.intake", null, null, null, true,
+                        Map.of(), List.of(new PrincipalReadRepository.DomainRoleView(
+                                UUID.randomUUID(), "INTAKE_ANALYST", UUID.randomUUID(), null)),
+                        List.of())));
+    }
+
+    @Test
+    void verify_IssuedToken_ShouldReturnSessionClaims() {
+        SessionTokenService service = service(NOW);
+
+        SessionTokenService.IssuedToken token = service.issue(session);
+        Optional<SessionTokenService.VerifiedToken> verified = service.verify(token.token());
+
+        assertThat(token.expiresAt()).isEqualTo(NOW.plus(Duration.ofMinutes(5)));
+        assertThat(verified).isPresent();
+        assertThat(verified.get().sessionId()).isEqualTo("session-1");
+        assertThat(verified.get().userId()).isEqualTo(USER_ID);
+        assertThat(verified.get().username()).isEqualTo("alice.intake");
+        assertThat(verified.get().rolesDigest()).hasSize(16);
+    }
+
+    @Test
+    void verify_TamperedToken_ShouldReject() {
+        SessionTokenService service = service(NOW);
+        String token = service.issue(session).token();
+
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        assertThat(service.verify(forged)).isEmpty();
+        assertThat(service.verify("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void verify_ExpiredToken_ShouldReject() {
+        String token = service(NOW).issue(session).token();
+
+        assertThat(service(NOW.plus(Duration.ofMinutes(6))).verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_RevokedSession_ShouldReject() {
+        SessionRevocationList revocationList = new SessionRevocationList(properties, fixedClock(NOW));
+        SessionTokenService service = new SessionTokenService(properties, principalReadRepository,
+                revocationList, fixedClock(NOW));
+        String token = service.issue(session).token();
+
+        revocationList.revoke("session-1");
+
+        assertThat(service.verify(token)).isEmpty();
+        assertThat(revocationList.snapshot()).extracting(SessionRevocationList.Revocation::sessionId)
+                .containsExactly("session-1");
+    }
+
+    @Test
+    void verify_AfterKeyRotation_ShouldAcceptOldAndNewKeys() {
+        String oldToken = service(NOW).issue(session).token();
+
+        properties.getToken().setKeys(Map.of("k1", KEY_1, "k2", KEY_2));
+        properties.getToken().setActiveKeyId("k2");
+        SessionTokenService rotated = service(NOW);
+        String newToken = rotated.issue(session).token();
+
+        assertThat(rotated.verify(oldToken)).isPresent();
+        assertThat(rotated.verify(newToken)).isPresent();
+
+        // Old key retired
+        properties.getToken().setKeys(Map.of("k2", KEY_2));
+        assertThat(service(NOW).verify(oldToken)).isEmpty();
+    }
+
+    @Test
+    void rolesDigest_ShouldNotDependOnRoleOrder() {
+        SessionTokenService service = service(NOW);
+        PrincipalReadRepository.DomainRoleView a = new PrincipalReadRepository.DomainRoleView(
+                UUID.randomUUID(), "A", UUID.randomUUID(), null);
+        PrincipalReadRepository.DomainRoleView b = new PrincipalReadRepository.DomainRoleView(
+                UUID.randomUUID(), "B", UUID.randomUUID(), null);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        lenient().when(principalReadRepository.findByUserId(first)).thenReturn(Optional.of(
+                new PrincipalReadRepository.PrincipalView(first, "x", null, null, null, true,
+                        Map.of(), List.of(a, b), List.of())));
+        lenient().when(principalReadRepository.findByUserId(second)).thenReturn(Optional.of(
+                new PrincipalReadRepository.PrincipalView(second, "y", null, null, null, true,
+                        Map.of(), List.of(b, a), List.of())));
+
+        assertThat(service.rolesDigest(first)).isEqualTo(service.rolesDigest(second));
+        assertThat(service.rolesDigest(first)).isNotEqualTo(service.rolesDigest(USER_ID));
+    }
+
+    @Test
+    void constructor_ShortKey_ShouldFailFast() {
+        properties.getToken().setKeys(Map.of("k1", "too-short"));
+
+        assertThatThrownBy(() -> service(NOW)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void issue_TokensDisabled_ShouldThrow() {
+        properties.getToken().setEnabled(false);
+        SessionTokenService service = service(NOW);
+
+        assertThat(service.isEnabled()).isFalse();
+        assertThatThrownBy(() -> service.issue(session)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private SessionTokenService service(Instant now) {
+        return new SessionTokenService(properties, principalReadRepository,
+                new SessionRevocationList(properties, fixedClock(now)), fixedClock(now));
+    }
+
+    private static Clock fixedClock(Instant now) {
+        return Clock.fixed(now, ZoneOffset.UTC);
+    }
+}
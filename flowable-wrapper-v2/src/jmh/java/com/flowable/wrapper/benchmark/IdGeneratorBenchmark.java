@@ -0,0 +1,169 @@
+package com.flowable.wrapper.benchmark;
+
+import com.flowable.wrapper.idgen.BlockSequenceIdGenerator;
+import com.flowable.wrapper.idgen.TimeOrderedUuidGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost per ID of the workflow.id-generator strategies against the engine's default
+ * StrongUuidGenerator (flowable.use-strong-uuids=true). Each strategy is measured on one thread
+ * and on four threads sharing one generator, since the engine shares a single instance.
+ *
+ * The block-sequence generator reserves blocks from a stub data source whose nextval() takes
+ * nextvalMicros, standing in for the database round trip; blockSize decides how often it is paid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator flowableDefault = new StrongUuidGenerator();
+    private final IdGenerator timeOrderedUuid = new TimeOrderedUuidGenerator();
+
+    @Benchmark
+    public String flowableDefault() {
+        return flowableDefault.getNextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String flowableDefaultContended() {
+        return flowableDefault.getNextId();
+    }
+
+    @Benchmark
+    public String timeOrderedUuid() {
+        return timeOrderedUuid.getNextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String timeOrderedUuidContended() {
+        return timeOrderedUuid.getNextId();
+    }
+
+    @Benchmark
+    public String blockSequence(BlockSequence state) {
+        return state.generator.getNextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String blockSequenceContended(BlockSequence state) {
+        return state.generator.getNextId();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BlockSequence {
+
+        @Param({"1", "100", "1000"})
+        int blockSize;
+
+        @Param({"0", "200"})
+        long nextvalMicros;
+
+        BlockSequenceIdGenerator generator;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            generator = new BlockSequenceIdGenerator(sequenceDataSource(TimeUnit.MICROSECONDS.toNanos(nextvalMicros)),
+                    blockSize, new SimpleMeterRegistry());
+        }
+    }
+
+    /**
+     * Just enough JDBC for JdbcTemplate.queryForObject("SELECT nextval(...)", Long.class): every
+     * query returns one row holding the next block number. Other calls answer with defaults.
+     */
+    private static DataSource sequenceDataSource(long latencyNanos) {
+        AtomicLong sequence = new AtomicLong();
+        return stub(DataSource.class, (method, args) -> switch (method) {
+            case "getConnection" -> stub(Connection.class, (connectionMethod, connectionArgs) ->
+                    switch (connectionMethod) {
+                        case "createStatement" -> stub(Statement.class, (statementMethod, statementArgs) ->
+                                switch (statementMethod) {
+                                    case "executeQuery" -> {
+                                        if (latencyNanos > 0) {
+                                            LockSupport.parkNanos(latencyNanos);
+                                        }
+                                        yield singleRow(sequence.incrementAndGet());
+                                    }
+                                    default -> null;
+                                });
+                        default -> null;
+                    });
+            default -> null;
+        });
+    }
+
+    private static ResultSet singleRow(long value) {
+        boolean[] consumed = {false};
+        ResultSetMetaData metaData = stub(ResultSetMetaData.class,
+                (method, args) -> "getColumnCount".equals(method) ? 1 : null);
+        return stub(ResultSet.class, (method, args) -> switch (method) {
+            case "next" -> {
+                boolean hasRow = !consumed[0];
+                consumed[0] = true;
+                yield hasRow;
+            }
+            case "getMetaData" -> metaData;
+            case "getLong" -> value;
+            case "getObject" -> value;
+            default -> null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result = switch (method.getName()) {
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "Stub" + type.getSimpleName();
+                        default -> answer.answer(method.getName(), args);
+                    };
+                    if (result == null && method.getReturnType().isPrimitive()) {
+                        return defaultValue(method.getReturnType());
+                    }
+                    return result;
+                }));
+    }
+
+    private static Object defaultValue(Class<?> primitive) {
+        return primitive == void.class ? null : Array.get(Array.newInstance(primitive, 1), 0);
+    }
+}
@@ -0,0 +1,116 @@
+package com.flowable.wrapper.benchmark;
+
+import com.flowable.wrapper.config.IdGeneratorProperties;
+import com.flowable.wrapper.idgen.BlockSequenceIdGenerator;
+import com.flowable.wrapper.idgen.TimeOrderedUuidGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process starts per second of the OneCMS case workflow under each workflow.id-generator
+ * strategy, with eight threads starting instances on one engine. Unlike IdGeneratorBenchmark
+ * this includes the inserts and index maintenance the IDs cause, and for block-sequence the
+ * nextval() round trips.
+ *
+ * Each trial runs against a fresh Postgres started through Testcontainers, so Docker must be
+ * available. The engine is configured like the application's (flowable schema, full history,
+ * no async executor polling in the background).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ProcessStartBenchmark {
+
+    private static final String PROCESS_RESOURCE = "bpmn/OneCMS_Case_Workflow.bpmn20.xml";
+    private static final String PROCESS_KEY = "oneCmsCaseWorkflow";
+
+    @Param({"FLOWABLE_DEFAULT", "TIME_ORDERED_UUID", "BLOCK_SEQUENCE"})
+    IdGeneratorProperties.Strategy strategy;
+
+    @Param({"1000"})
+    int blockSize;
+
+    private final AtomicLong businessKeys = new AtomicLong();
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private ProcessEngine processEngine;
+    private RuntimeService runtimeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl() + "&currentSchema=flowable");
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(16);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS flowable");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS flowable.workflow_id_block_seq START WITH 1 CACHE 1");
+
+        StandaloneProcessEngineConfiguration configuration = new StandaloneProcessEngineConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setDatabaseSchema("flowable");
+        configuration.setDatabaseSchemaUpdate(AbstractEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
+        configuration.setHistoryLevel(HistoryLevel.FULL);
+        configuration.setAsyncExecutorActivate(false);
+        configuration.setIdGenerator(switch (strategy) {
+            // What the starter installs with flowable.use-strong-uuids=true
+            case FLOWABLE_DEFAULT -> new StrongUuidGenerator();
+            case TIME_ORDERED_UUID -> new TimeOrderedUuidGenerator();
+            case BLOCK_SEQUENCE -> new BlockSequenceIdGenerator(dataSource, blockSize, new SimpleMeterRegistry());
+        });
+
+        processEngine = configuration.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment()
+                .addClasspathResource(PROCESS_RESOURCE)
+                .deploy();
+        runtimeService = processEngine.getRuntimeService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processEngine.close();
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String startProcess() {
+        return runtimeService.startProcessInstanceByKey(PROCESS_KEY, "CASE-" + businessKeys.incrementAndGet())
+                .getId();
+    }
+}
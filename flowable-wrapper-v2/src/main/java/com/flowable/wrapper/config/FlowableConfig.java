@@ -1,7 +1,18 @@
 package com.flowable.wrapper.config;
 
+import com.flowable.wrapper.idgen.BlockSequenceIdGenerator;
+import com.flowable.wrapper.idgen.TimeOrderedUuidGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+
 /**
  * Flowable configuration class.
  * 
@@ -9,9 +20,35 @@ import org.springframework.context.annotation.Configuration;
  * The custom TaskService bean naming conflict has been resolved by using @Qualifier.
  */
 @Configuration
+@Slf4j
 public class FlowableConfig {
     
     // Flowable auto-configuration will handle creating all the necessary beans
     // including ProcessEngine, RuntimeService, TaskService, etc.
-    
-}
\ No newline at end of file
+
+    /**
+     * Swap the engine ID generator according to workflow.id-generator.strategy.
+     * Configurers run after the starter's own setup, so this overrides its default.
+     *
+     * Blocks are reserved on the primary pool when replica routing is enabled: the routing
+     * data source sends read-only transactions to the replica, where nextval() fails.
+     */
+    @Bean
+    public EngineConfigurationConfigurer<SpringProcessEngineConfiguration> idGeneratorConfigurer(
+            IdGeneratorProperties properties, DataSource dataSource,
+            @Qualifier("primaryDataSource") ObjectProvider<DataSource> primaryDataSource,
+            MeterRegistry meterRegistry) {
+        DataSource sequenceDataSource = primaryDataSource.getIfAvailable(() -> dataSource);
+        return engineConfiguration -> {
+            switch (properties.getStrategy()) {
+                case TIME_ORDERED_UUID -> engineConfiguration.setIdGenerator(new TimeOrderedUuidGenerator());
+                case BLOCK_SEQUENCE -> engineConfiguration.setIdGenerator(
+                        new BlockSequenceIdGenerator(sequenceDataSource, properties.getBlockSize(), meterRegistry));
+                case FLOWABLE_DEFAULT -> {
+                    return;
+                }
+            }
+            log.info("Flowable engine using {} ID generator", properties.getStrategy());
+        };
+    }
+}
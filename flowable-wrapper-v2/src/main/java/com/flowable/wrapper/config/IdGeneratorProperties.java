@@ -0,0 +1,39 @@
+package com.flowable.wrapper.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the ID generator used by the Flowable engine.
+ *
+ * Engine IDs are also the primary keys of queue_tasks and process_instance_journey,
+ * so the strategy decides index locality for those tables too.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workflow.id-generator")
+public class IdGeneratorProperties {
+
+    public enum Strategy {
+        /**
+         * Leave whatever generator the Flowable starter configures (random UUIDs by default)
+         */
+        FLOWABLE_DEFAULT,
+        /**
+         * Version 7 UUIDs: time-ordered, no database round trips
+         */
+        TIME_ORDERED_UUID,
+        /**
+         * Numeric IDs from blocks reserved through a Postgres sequence
+         */
+        BLOCK_SEQUENCE
+    }
+
+    private Strategy strategy = Strategy.FLOWABLE_DEFAULT;
+
+    /**
+     * Number of IDs reserved per sequence call (BLOCK_SEQUENCE only)
+     */
+    private int blockSize = 1000;
+}
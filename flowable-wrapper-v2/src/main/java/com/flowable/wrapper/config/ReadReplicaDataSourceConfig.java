@@ -0,0 +1,108 @@
+package com.flowable.wrapper.config;
+
+import com.flowable.wrapper.datasource.ReplicaConsistencyGuard;
+import com.flowable.wrapper.datasource.ReplicaLagMonitor;
+import com.flowable.wrapper.datasource.ReplicaRoutingDataSource;
+import com.flowable.wrapper.datasource.ReplicaRoutingFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read replica routing configuration.
+ *
+ * Only active when workflow.datasource.replica.enabled=true; otherwise Spring Boot's
+ * single auto-configured datasource is used as before. The primary pool keeps its
+ * spring.datasource.* settings, the replica pool is configured under
+ * workflow.datasource.replica.*. Point the replica URL at a second local Postgres to
+ * exercise the routing without real streaming replication.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "workflow.datasource.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("workflow-primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "workflow.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReadReplicaProperties replicaProperties,
+                                              DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("workflow-replica");
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(replicaProperties.getUrl());
+        dataSource.setUsername(replicaProperties.getUsername() != null ?
+                replicaProperties.getUsername() : dataSourceProperties.determineUsername());
+        dataSource.setPassword(replicaProperties.getPassword() != null ?
+                replicaProperties.getPassword() : dataSourceProperties.determinePassword());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReadReplicaProperties replicaProperties,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, replicaProperties.getMaxLag(),
+                replicaProperties.getLagCheckInterval(), meterRegistry);
+    }
+
+    @Bean
+    public ReplicaConsistencyGuard replicaConsistencyGuard(ReplicaLagMonitor replicaLagMonitor,
+                                                           ReadReplicaProperties replicaProperties) {
+        return new ReplicaConsistencyGuard(replicaLagMonitor,
+                ReplicaConsistencyGuard.consistencyWindow(replicaProperties.getMaxLag(),
+                        replicaProperties.getLagCheckInterval()),
+                replicaProperties.getMaxTrackedWriters());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaConsistencyGuard replicaConsistencyGuard) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaConsistencyGuard);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        log.info("Read replica routing enabled - read-only transactions may use the replica pool");
+
+        // Defer connection acquisition until the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaRoutingFilter> replicaRoutingFilter() {
+        FilterRegistrationBean<ReplicaRoutingFilter> registration =
+                new FilterRegistrationBean<>(new ReplicaRoutingFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,47 @@
+package com.flowable.wrapper.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for routing read-only transactions to a replica database.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workflow.datasource.replica")
+public class ReadReplicaProperties {
+
+    /**
+     * Enable/disable replica routing.
+     * When false, every transaction uses the primary datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica (or a second local Postgres acting as one)
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Maximum replication lag before read-only traffic falls back to the primary
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often the replica replay position is sampled
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    /**
+     * Most users whose recent writes are tracked for read-your-writes routing. Past this,
+     * the least recently written users are forgotten first.
+     */
+    private long maxTrackedWriters = 100_000;
+}
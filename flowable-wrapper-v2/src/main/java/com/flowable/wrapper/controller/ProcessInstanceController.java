@@ -2,8 +2,10 @@ package com.flowable.wrapper.controller;
 
 import com.flowable.wrapper.dto.request.StartProcessRequest;
 import com.flowable.wrapper.dto.response.ProcessInstanceResponse;
+import com.flowable.wrapper.dto.response.ProcessJourneyResponse;
 import com.flowable.wrapper.exception.WorkflowException;
 import com.flowable.wrapper.service.ProcessInstanceService;
+import com.flowable.wrapper.service.ProcessJourneyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -28,6 +30,7 @@ import java.util.Map;
 public class ProcessInstanceController {
     
     private final ProcessInstanceService processInstanceService;
+    private final ProcessJourneyService processJourneyService;
     private final EntitlementServiceClient entitlementServiceClient;
     private final AuthorizationProperties authorizationProperties;
     
@@ -107,4 +110,70 @@ public class ProcessInstanceController {
         
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+    
+    @GetMapping("/{processInstanceId}/journey")
+    @Operation(summary = "Get process instance journey", 
+              description = "Retrieve current and completed activities of a process instance, with queue and assignee for user tasks")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Journey found"),
+        @ApiResponse(responseCode = "404", description = "Process instance not found")
+    })
+    public ResponseEntity<ProcessJourneyResponse> getProcessJourney(
+            @Parameter(description = "Business application name", required = true)
+            @PathVariable String businessAppName,
+            @Parameter(description = "Process instance ID", required = true)
+            @PathVariable String processInstanceId,
+            HttpServletRequest httpRequest) {
+        
+        String userId = httpRequest.getHeader("X-User-Id");
+        log.info("Getting journey for process instance: {} in business app: {} by user: {}", 
+                processInstanceId, businessAppName, userId);
+        
+        if (!isAuthorizedToView(userId, processInstanceId, businessAppName)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        return ResponseEntity.ok(processJourneyService.getJourney(processInstanceId));
+    }
+    
+    @GetMapping("/by-business-key/{businessKey}/journey")
+    @Operation(summary = "Get process journey by business key", 
+              description = "Retrieve the journey of the most recent process instance for a business key (e.g. case number)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Journey found"),
+        @ApiResponse(responseCode = "404", description = "No process instance for business key")
+    })
+    public ResponseEntity<ProcessJourneyResponse> getProcessJourneyByBusinessKey(
+            @Parameter(description = "Business application name", required = true)
+            @PathVariable String businessAppName,
+            @Parameter(description = "Business key", required = true)
+            @PathVariable String businessKey,
+            HttpServletRequest httpRequest) {
+        
+        String userId = httpRequest.getHeader("X-User-Id");
+        log.info("Getting journey for business key: {} in business app: {} by user: {}", 
+                businessKey, businessAppName, userId);
+        
+        if (!isAuthorizedToView(userId, businessKey, businessAppName)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        return ResponseEntity.ok(processJourneyService.getJourneyByBusinessKey(businessKey));
+    }
+    
+    private boolean isAuthorizedToView(String userId, String resourceId, String businessAppName) {
+        if (!authorizationProperties.isEnabled()) {
+            log.info("Authorization disabled - bypassing auth check for process journey view");
+            return true;
+        }
+        
+        boolean isAuthorized = entitlementServiceClient.checkAuthorization(
+                userId, null, "process", resourceId, 
+                Map.of("businessAppName", businessAppName), "view").isAllowed();
+        if (!isAuthorized) {
+            log.warn("User {} not authorized to view journey of {} in business app {}", 
+                    userId, resourceId, businessAppName);
+        }
+        return isAuthorized;
+    }
+}
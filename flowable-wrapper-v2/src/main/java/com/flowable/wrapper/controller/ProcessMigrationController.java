@@ -0,0 +1,105 @@
+package com.flowable.wrapper.controller;
+
+import com.flowable.wrapper.client.EntitlementServiceClient;
+import com.flowable.wrapper.config.AuthorizationProperties;
+import com.flowable.wrapper.dto.request.MigrateProcessInstancesRequest;
+import com.flowable.wrapper.dto.response.ProcessMigrationResponse;
+import com.flowable.wrapper.exception.WorkflowException;
+import com.flowable.wrapper.service.ProcessInstanceMigrationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/{businessAppName}/process-migrations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Process Migrations", description = "APIs for migrating running process instances between definition versions")
+public class ProcessMigrationController {
+    
+    private final ProcessInstanceMigrationService processInstanceMigrationService;
+    private final EntitlementServiceClient entitlementServiceClient;
+    private final AuthorizationProperties authorizationProperties;
+    
+    @PostMapping
+    @Operation(summary = "Migrate process instances", 
+              description = "Validate and start a batched background migration of running instances to another definition version. " +
+                      "With dryRun=true only validation is performed.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Dry run completed"),
+        @ApiResponse(responseCode = "202", description = "Migration scheduled"),
+        @ApiResponse(responseCode = "400", description = "Invalid request or migration validation failed"),
+        @ApiResponse(responseCode = "404", description = "Process definition version not found")
+    })
+    public ResponseEntity<ProcessMigrationResponse> migrateProcessInstances(
+            @Parameter(description = "Business application name", required = true)
+            @PathVariable String businessAppName,
+            @Valid @RequestBody MigrateProcessInstancesRequest request,
+            HttpServletRequest httpRequest) throws WorkflowException {
+        
+        String userId = httpRequest.getHeader("X-User-Id");
+        log.info("Migrating process instances of {} in business app: {} by user: {}", 
+                request.getProcessDefinitionKey(), businessAppName, userId);
+        
+        if (!isAuthorized(userId, request.getProcessDefinitionKey(), businessAppName)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        ProcessMigrationResponse response = processInstanceMigrationService.migrateProcessInstances(request, userId);
+        
+        return response.isDryRun() ? ResponseEntity.ok(response) : ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping("/{migrationId}")
+    @Operation(summary = "Get migration progress", 
+              description = "Retrieve status and progress of a process instance migration")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Migration found"),
+        @ApiResponse(responseCode = "404", description = "Migration not found")
+    })
+    public ResponseEntity<ProcessMigrationResponse> getMigration(
+            @Parameter(description = "Business application name", required = true)
+            @PathVariable String businessAppName,
+            @Parameter(description = "Migration ID", required = true)
+            @PathVariable Long migrationId,
+            HttpServletRequest httpRequest) {
+        
+        String userId = httpRequest.getHeader("X-User-Id");
+        log.info("Getting process migration: {} in business app: {} by user: {}", migrationId, businessAppName, userId);
+        
+        ProcessMigrationResponse response = processInstanceMigrationService.getMigration(migrationId);
+        
+        if (!isAuthorized(userId, response.getProcessDefinitionKey(), businessAppName)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    private boolean isAuthorized(String userId, String processDefinitionKey, String businessAppName) {
+        if (!authorizationProperties.isEnabled()) {
+            log.info("Authorization disabled - bypassing auth check for process migration");
+            return true;
+        }
+        
+        boolean isAuthorized = entitlementServiceClient.checkAuthorization(
+                userId, null, "workflow-registration", processDefinitionKey, 
+                Map.of("businessAppName", businessAppName), "deploy").isAllowed();
+        if (!isAuthorized) {
+            log.warn("User {} not authorized to migrate workflow {} in business app {}", 
+                    userId, processDefinitionKey, businessAppName);
+        }
+        return isAuthorized;
+    }
+}
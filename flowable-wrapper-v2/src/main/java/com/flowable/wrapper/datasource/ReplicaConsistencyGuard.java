@@ -0,0 +1,81 @@
+package com.flowable.wrapper.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes guard: after a user commits a write, that user's reads stay on the
+ * primary until the replica has replayed past the commit. Commits are timed with the same
+ * ticker the lag monitor stamps its samples with.
+ *
+ * Writes are remembered for the consistency window only. Once it has passed, the replica is
+ * either within max-lag of now, and so past the write, or unavailable, and reads go to the
+ * primary anyway. The number of remembered users is bounded as well.
+ */
+public class ReplicaConsistencyGuard {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Ticker ticker;
+    private final Cache<String, Long> lastWriteByUser;
+
+    public ReplicaConsistencyGuard(ReplicaLagMonitor lagMonitor, Duration consistencyWindow, long maxTrackedWriters) {
+        this(lagMonitor, consistencyWindow, maxTrackedWriters, Ticker.systemTicker());
+    }
+
+    ReplicaConsistencyGuard(ReplicaLagMonitor lagMonitor, Duration consistencyWindow, long maxTrackedWriters,
+                            Ticker ticker) {
+        this.lagMonitor = lagMonitor;
+        this.ticker = ticker;
+        this.lastWriteByUser = Caffeine.newBuilder()
+                .maximumSize(maxTrackedWriters)
+                .expireAfterWrite(consistencyWindow)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Longest a write can stay ahead of a replica that is still considered available: max-lag,
+     * plus the age of the last sample, which is at most one check interval and one check query
+     * (whose timeout is also the interval)
+     */
+    public static Duration consistencyWindow(Duration maxLag, Duration lagCheckInterval) {
+        return maxLag.plus(lagCheckInterval.multipliedBy(2));
+    }
+
+    public void recordWrite(String userId) {
+        if (userId != null) {
+            lastWriteByUser.put(userId, ticker.read());
+        }
+    }
+
+    /**
+     * Decide whether a read-only transaction for the given user may use the replica
+     */
+    public boolean canReadFromReplica(String userId) {
+        if (!lagMonitor.isAvailable()) {
+            return false;
+        }
+        if (userId == null) {
+            return true;
+        }
+        Long lastWrite = lastWriteByUser.getIfPresent(userId);
+        if (lastWrite == null) {
+            return true;
+        }
+        Long replayedUpTo = lagMonitor.getReplayedUpTo();
+        if (replayedUpTo != null && replayedUpTo - lastWrite > 0) {
+            // Replica has caught up with this user's writes, forget them
+            lastWriteByUser.asMap().remove(userId, lastWrite);
+            return true;
+        }
+        return false;
+    }
+
+    long trackedWriters() {
+        lastWriteByUser.cleanUp();
+        return lastWriteByUser.estimatedSize();
+    }
+}
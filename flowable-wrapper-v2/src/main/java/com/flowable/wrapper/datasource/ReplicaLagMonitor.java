@@ -0,0 +1,174 @@
+package com.flowable.wrapper.datasource;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples how far the replica has replayed and whether it is usable.
+ *
+ * Each sample reads the primary's WAL position and then the replica's replay position. The
+ * replica contains every write committed before a primary sample once it has replayed up to
+ * that sample's position, so progress is tracked as the time of the newest such sample, on
+ * this process's monotonic clock. No database timestamp is compared with the application's
+ * clock, so clock skew between the hosts cannot make a lagging replica look current.
+ *
+ * A server that is not in recovery (e.g. a second local Postgres used as a stand-in)
+ * is treated as fully caught up at the time of the sample.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String PRIMARY_POSITION_SQL = "SELECT (pg_current_wal_lsn() - '0/0'::pg_lsn)::bigint";
+    static final String REPLAY_POSITION_SQL =
+            "SELECT pg_is_in_recovery() AS in_recovery, " +
+            "(pg_last_wal_replay_lsn() - '0/0'::pg_lsn)::bigint AS replayed";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final Ticker ticker;
+    private final ScheduledExecutorService scheduler;
+
+    // Primary positions not yet known to be replayed, oldest first; only touched by sample()
+    private final Deque<PrimarySample> unreplayed = new ArrayDeque<>();
+
+    private volatile Long replayedUpTo;
+    private volatile Duration currentLag = Duration.ZERO;
+    private volatile boolean healthy = false;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, Duration maxLag,
+                             Duration checkInterval, MeterRegistry meterRegistry) {
+        this(sampling(primaryDataSource, checkInterval), sampling(replicaDataSource, checkInterval),
+                maxLag, checkInterval, meterRegistry, Ticker.systemTicker());
+    }
+
+    ReplicaLagMonitor(JdbcTemplate primaryJdbcTemplate, JdbcTemplate replicaJdbcTemplate, Duration maxLag,
+                      Duration checkInterval, MeterRegistry meterRegistry, Ticker ticker) {
+        this.primaryJdbcTemplate = primaryJdbcTemplate;
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.ticker = ticker;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("workflow.datasource.replica.lag", this, m -> m.currentLag.toMillis())
+                .description("Replication lag of the read replica in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("workflow.datasource.replica.available", this, m -> m.isAvailable() ? 1 : 0)
+                .description("Whether read-only traffic is currently routed to the replica")
+                .register(meterRegistry);
+    }
+
+    private static JdbcTemplate sampling(DataSource dataSource, Duration checkInterval) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+        return jdbcTemplate;
+    }
+
+    public void start() {
+        sample();
+        scheduler.scheduleWithFixedDelay(this::sample,
+                checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Replica lag monitor started (max lag: {}, interval: {})", maxLag, checkInterval);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Replica is usable when the last sample succeeded and the lag is within bounds
+     */
+    public boolean isAvailable() {
+        return healthy && currentLag.compareTo(maxLag) <= 0;
+    }
+
+    /**
+     * Ticker reading before which every committed write is known to be on the replica, or null
+     * before the first successful sample
+     */
+    public Long getReplayedUpTo() {
+        return replayedUpTo;
+    }
+
+    void sample() {
+        // Read before the primary position, so every commit before this instant is at or below it
+        long sampledAt = ticker.read();
+        try {
+            Long primaryPosition = primaryJdbcTemplate.queryForObject(PRIMARY_POSITION_SQL, Long.class);
+            unreplayed.addLast(new PrimarySample(sampledAt, primaryPosition));
+
+            ReplayPosition replay = replicaJdbcTemplate.queryForObject(REPLAY_POSITION_SQL, (rs, rowNum) ->
+                    new ReplayPosition(rs.getBoolean("in_recovery"), rs.getObject("replayed", Long.class)));
+            if (replay.inRecovery() && replay.replayed() == null) {
+                markUnhealthy("replica has not replayed any WAL yet");
+                return;
+            }
+
+            Long caughtUpTo = null;
+            while (!unreplayed.isEmpty() && (!replay.inRecovery()
+                    || unreplayed.peekFirst().position() <= replay.replayed())) {
+                caughtUpTo = unreplayed.pollFirst().sampledAt();
+            }
+            if (caughtUpTo != null) {
+                replayedUpTo = caughtUpTo;
+            }
+            dropSamplesOlderThanMaxLag(sampledAt);
+
+            Long replayed = replayedUpTo;
+            long lagNanos = replayed != null ? sampledAt - replayed : sampledAt - unreplayed.peekFirst().sampledAt();
+            currentLag = Duration.ofNanos(Math.max(0, lagNanos));
+            if (!healthy) {
+                log.info("Replica is reachable, lag: {} ms", currentLag.toMillis());
+            }
+            healthy = true;
+            if (currentLag.compareTo(maxLag) > 0) {
+                log.warn("Replica lag {} ms exceeds limit {} ms - routing reads to primary",
+                        currentLag.toMillis(), maxLag.toMillis());
+            }
+        } catch (Exception e) {
+            markUnhealthy(e.getMessage());
+        }
+    }
+
+    /**
+     * A replica that has not reached a sample this old is over max-lag whichever later sample it
+     * reaches first, so older samples are not needed to tell when it is usable again
+     */
+    private void dropSamplesOlderThanMaxLag(long now) {
+        long horizon = maxLag.plus(checkInterval).toNanos();
+        while (unreplayed.size() > 1 && now - unreplayed.peekFirst().sampledAt() > horizon) {
+            unreplayed.pollFirst();
+        }
+    }
+
+    private void markUnhealthy(String reason) {
+        if (healthy) {
+            log.warn("Replica unavailable, routing reads to primary: {}", reason);
+        }
+        healthy = false;
+    }
+
+    private record PrimarySample(long sampledAt, long position) {
+    }
+
+    record ReplayPosition(boolean inRecovery, Long replayed) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.flowable.wrapper.datasource;
+
+/**
+ * Holds the user of the current request so datasource routing can apply
+ * read-your-writes consistency for that user.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<String> CURRENT_USER = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void setCurrentUser(String userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static String getCurrentUser() {
+        return CURRENT_USER.get();
+    }
+
+    public static void clear() {
+        CURRENT_USER.remove();
+    }
+}
@@ -0,0 +1,59 @@
+package com.flowable.wrapper.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to the replica and everything else
+ * to the primary. Must be wrapped in a LazyConnectionDataSourceProxy so the transaction's
+ * read-only flag is known when the physical connection is fetched.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaConsistencyGuard consistencyGuard;
+    private final Object writeTrackingKey = new Object();
+
+    public ReplicaRoutingDataSource(ReplicaConsistencyGuard consistencyGuard) {
+        this.consistencyGuard = consistencyGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String userId = ReplicaRoutingContext.getCurrentUser();
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return consistencyGuard.canReadFromReplica(userId) ? Route.REPLICA : Route.PRIMARY;
+        }
+
+        if (userId != null) {
+            trackWrite(userId);
+        }
+        return Route.PRIMARY;
+    }
+
+    /**
+     * Record the user's write once the surrounding transaction commits
+     */
+    private void trackWrite(String userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            consistencyGuard.recordWrite(userId);
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(writeTrackingKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(writeTrackingKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(writeTrackingKey);
+                if (status == STATUS_COMMITTED) {
+                    consistencyGuard.recordWrite(userId);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.flowable.wrapper.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to migrate running process instances between definition versions")
+public class MigrateProcessInstancesRequest {
+    
+    @NotBlank(message = "Process definition key is required")
+    @Schema(description = "The process definition key", example = "OneCMS_Case_Workflow", required = true)
+    private String processDefinitionKey;
+    
+    @Schema(description = "Source version to migrate from. Omit to migrate every version other than the target", example = "3")
+    private Integer sourceVersion;
+    
+    @Schema(description = "Target version to migrate to. Omit to use the latest deployed version", example = "5")
+    private Integer targetVersion;
+    
+    @Schema(description = "Activity id mappings for renamed or removed activities (old id -> new id)", 
+            example = "{\"hrReview\": \"hrReviewTask\"}")
+    private Map<String, String> activityMappings;
+    
+    @Min(value = 1, message = "Batch size must be at least 1")
+    @Max(value = 1000, message = "Batch size must not exceed 1000")
+    @Schema(description = "Number of instances migrated per transaction", example = "100")
+    @Builder.Default
+    private Integer batchSize = 100;
+    
+    @Schema(description = "Only validate the migration and report affected instances", example = "true")
+    @Builder.Default
+    private boolean dryRun = false;
+}
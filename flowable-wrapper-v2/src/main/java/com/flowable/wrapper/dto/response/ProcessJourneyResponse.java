@@ -0,0 +1,46 @@
+package com.flowable.wrapper.dto.response;
+
+import com.flowable.wrapper.model.JourneyActivity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Journey of a process instance: where it is now and where it has been")
+public class ProcessJourneyResponse {
+
+    @Schema(description = "Process instance ID", example = "5d7e9c3a-1234-5678-9abc-def012345678")
+    private String processInstanceId;
+
+    @Schema(description = "Business key", example = "CMS-2025-000123")
+    private String businessKey;
+
+    @Schema(description = "Process definition key", example = "OneCMS_Case_Workflow")
+    private String processDefinitionKey;
+
+    @Schema(description = "Instance status", example = "ACTIVE", allowableValues = {"ACTIVE", "COMPLETED", "CANCELLED"})
+    private String status;
+
+    @Schema(description = "Start time of the process instance")
+    private Instant startedAt;
+
+    @Schema(description = "End time of the process instance (for finished processes)")
+    private Instant endedAt;
+
+    @Schema(description = "Activities the instance is currently waiting in, with queue and assignee for user tasks")
+    private List<JourneyActivity> currentActivities;
+
+    @Schema(description = "Finished activities in completion order")
+    private List<JourneyActivity> completedActivities;
+
+    @Schema(description = "Last time the projection was updated")
+    private Instant updatedAt;
+}
@@ -0,0 +1,71 @@
+package com.flowable.wrapper.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Process instance migration validation result or progress")
+public class ProcessMigrationResponse {
+    
+    @Schema(description = "Migration job ID (absent for dry runs)", example = "42")
+    private Long migrationId;
+    
+    @Schema(description = "Migration status", example = "RUNNING", 
+            allowableValues = {"VALIDATED", "VALIDATION_FAILED", "PENDING", "RUNNING", "COMPLETED", "COMPLETED_WITH_ERRORS", "FAILED"})
+    private String status;
+    
+    @Schema(description = "Whether this was a dry run", example = "false")
+    private boolean dryRun;
+    
+    @Schema(description = "Process definition key", example = "OneCMS_Case_Workflow")
+    private String processDefinitionKey;
+    
+    @Schema(description = "Process definition IDs instances are migrated from")
+    private List<String> sourceProcessDefinitionIds;
+    
+    @Schema(description = "Process definition ID instances are migrated to", example = "OneCMS_Case_Workflow:5:abc123")
+    private String targetProcessDefinitionId;
+    
+    @Schema(description = "Activity id mappings (old id -> new id)")
+    private Map<String, String> activityMappings;
+    
+    @Schema(description = "Number of instances migrated per transaction", example = "100")
+    private Integer batchSize;
+    
+    @Schema(description = "Number of running instances to migrate", example = "2500")
+    private Integer totalInstances;
+    
+    @Schema(description = "Number of instances migrated so far", example = "1200")
+    private Integer migratedInstances;
+    
+    @Schema(description = "Number of instances that failed to migrate", example = "3")
+    private Integer failedInstances;
+    
+    @Schema(description = "Validation messages from the engine, per source definition")
+    private List<String> validationErrors;
+    
+    @Schema(description = "Failure reason per process instance ID")
+    private Map<String, String> failures;
+    
+    @Schema(description = "User who requested the migration", example = "admin")
+    private String createdBy;
+    
+    @Schema(description = "Creation time")
+    private Instant createdAt;
+    
+    @Schema(description = "Time the first batch started")
+    private Instant startedAt;
+    
+    @Schema(description = "Time the last batch finished")
+    private Instant completedAt;
+}
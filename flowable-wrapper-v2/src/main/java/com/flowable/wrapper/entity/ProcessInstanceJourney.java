@@ -0,0 +1,70 @@
+package com.flowable.wrapper.entity;
+
+import com.flowable.wrapper.model.JourneyActivity;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact per-instance projection of where a process instance is and where it has been.
+ * Maintained incrementally from engine events so the journey view is a single indexed read.
+ */
+@Entity
+@Table(name = "process_instance_journey")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessInstanceJourney {
+    
+    @Id
+    @Column(name = "process_instance_id")
+    private String processInstanceId;
+    
+    @Column(name = "business_key")
+    private String businessKey;
+    
+    @Column(name = "process_definition_key")
+    private String processDefinitionKey;
+    
+    @Column(name = "process_definition_id")
+    private String processDefinitionId;
+    
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private String status = "ACTIVE";  // ACTIVE, COMPLETED or CANCELLED
+    
+    @Type(JsonType.class)
+    @Column(name = "current_activities", columnDefinition = "jsonb")
+    @Builder.Default
+    private List<JourneyActivity> currentActivities = new ArrayList<>();
+    
+    @Type(JsonType.class)
+    @Column(name = "completed_activities", columnDefinition = "jsonb")
+    @Builder.Default
+    private List<JourneyActivity> completedActivities = new ArrayList<>();
+    
+    @Column(name = "started_at")
+    private Instant startedAt;
+    
+    @Column(name = "ended_at")
+    private Instant endedAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,84 @@
+package com.flowable.wrapper.entity;
+
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background migration of running process instances to another definition version,
+ * executed in batches with progress tracked here.
+ */
+@Entity
+@Table(name = "process_migrations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessMigration {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "process_definition_key", nullable = false)
+    private String processDefinitionKey;
+    
+    @Type(JsonType.class)
+    @Column(name = "source_process_definition_ids", columnDefinition = "jsonb", nullable = false)
+    private List<String> sourceProcessDefinitionIds;
+    
+    @Column(name = "target_process_definition_id", nullable = false)
+    private String targetProcessDefinitionId;
+    
+    @Type(JsonType.class)
+    @Column(name = "activity_mappings", columnDefinition = "jsonb")
+    private Map<String, String> activityMappings;
+    
+    @Column(name = "batch_size", nullable = false)
+    private Integer batchSize;
+    
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private String status = "PENDING";  // PENDING, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED
+    
+    @Column(name = "total_instances", nullable = false)
+    @Builder.Default
+    private Integer totalInstances = 0;
+    
+    @Column(name = "migrated_instances", nullable = false)
+    @Builder.Default
+    private Integer migratedInstances = 0;
+    
+    @Column(name = "failed_instances", nullable = false)
+    @Builder.Default
+    private Integer failedInstances = 0;
+    
+    @Type(JsonType.class)
+    @Column(name = "failures", columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, String> failures = new LinkedHashMap<>();  // processInstanceId -> reason
+    
+    @Column(name = "created_by", nullable = false)
+    @Builder.Default
+    private String createdBy = "system";
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    
+    @Column(name = "started_at")
+    private Instant startedAt;
+    
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -66,6 +66,9 @@ public class WorkflowMetadata {
     @Column(name = "deployment_id")
     private String deploymentId;
     
+    @Column(name = "deployed_content_hash")
+    private String deployedContentHash;  // SHA-256 of the last deployed BPMN XML
+    
     @Column(name = "created_by", nullable = false)
     @Builder.Default
     private String createdBy = "system";
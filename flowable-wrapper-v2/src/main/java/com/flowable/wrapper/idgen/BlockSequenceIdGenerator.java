@@ -0,0 +1,82 @@
+package com.flowable.wrapper.idgen;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out numeric IDs from blocks reserved with a single nextval() call.
+ *
+ * The sequence yields block numbers; block n owns the ID range starting at n * 2^20, of
+ * which the configured block size is used. Because every block owns a fixed slice of the
+ * ID space, the block size can be changed between restarts (or differ between nodes)
+ * without ever producing a duplicate. nextval() is non-transactional, so no row lock is
+ * held while the calling transaction runs, unlike a counter row.
+ *
+ * Threads draw IDs from the current block with a lock-free increment; only the thread
+ * that exhausts a block takes the lock to reserve the next one.
+ */
+@Slf4j
+public class BlockSequenceIdGenerator implements IdGenerator {
+
+    static final int BLOCK_SHIFT = 20;
+    public static final int MAX_BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('flowable.workflow_id_block_seq')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final Counter blockAllocations;
+
+    private volatile Block current = new Block(0, 0);
+
+    public BlockSequenceIdGenerator(DataSource dataSource, int blockSize, MeterRegistry meterRegistry) {
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("ID block size must be between 1 and " + MAX_BLOCK_SIZE);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.blockSize = blockSize;
+        this.blockAllocations = Counter.builder("workflow.id.block.allocations")
+                .description("Number of ID blocks reserved from the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getNextId() {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.limit) {
+                return Long.toString(id);
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (current != exhausted) {
+            // Another thread already reserved a new block
+            return;
+        }
+        Long blockNumber = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+        long start = blockNumber << BLOCK_SHIFT;
+        current = new Block(start, start + blockSize);
+        blockAllocations.increment();
+        log.debug("Reserved ID block {} [{}, {})", blockNumber, start, start + blockSize);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
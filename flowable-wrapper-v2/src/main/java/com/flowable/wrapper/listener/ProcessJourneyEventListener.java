@@ -0,0 +1,189 @@
+package com.flowable.wrapper.listener;
+
+import com.flowable.wrapper.service.ProcessJourneyService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.common.engine.api.delegate.event.FlowableEntityEvent;
+import org.flowable.common.engine.api.delegate.event.FlowableEvent;
+import org.flowable.common.engine.api.delegate.event.FlowableEventListener;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.delegate.event.FlowableActivityEvent;
+import org.flowable.engine.delegate.event.FlowableCancelledEvent;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.task.api.Task;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+
+/**
+ * Feeds engine events into the process instance journey projection.
+ *
+ * The projection is a read model, so it is kept off the engine's command path: each event's
+ * values are captured when it fires and applied once the engine transaction has committed, in a
+ * transaction of its own. A rolled back command leaves no trace in the projection, and a failed
+ * projection update cannot fail the command. After a failed update the instance's journey is
+ * dropped, so its next read rebuilds it from history.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessJourneyEventListener implements FlowableEventListener {
+
+    private final RuntimeService runtimeService;
+    private final ProcessJourneyService processJourneyService;
+
+    @PostConstruct
+    public void register() {
+        runtimeService.addEventListener(this,
+                FlowableEngineEventType.PROCESS_STARTED,
+                FlowableEngineEventType.ACTIVITY_STARTED,
+                FlowableEngineEventType.ACTIVITY_COMPLETED,
+                FlowableEngineEventType.ACTIVITY_CANCELLED,
+                FlowableEngineEventType.TASK_CREATED,
+                FlowableEngineEventType.TASK_ASSIGNED,
+                FlowableEngineEventType.PROCESS_COMPLETED,
+                FlowableEngineEventType.PROCESS_COMPLETED_WITH_TERMINATE_END_EVENT,
+                FlowableEngineEventType.PROCESS_CANCELLED);
+        log.info("Registered process journey event listener");
+    }
+
+    @Override
+    public void onEvent(FlowableEvent event) {
+        FlowableEngineEventType type = (FlowableEngineEventType) event.getType();
+        JourneyUpdate update = capture(type, event);
+        if (update == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(type, update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(type, update);
+            }
+        });
+    }
+
+    private void apply(FlowableEngineEventType type, JourneyUpdate update) {
+        try {
+            update.action().run();
+        } catch (RuntimeException e) {
+            log.error("Failed to update journey projection on {} for process instance: {}", type,
+                    update.processInstanceId(), e);
+            try {
+                processJourneyService.discard(update.processInstanceId());
+            } catch (RuntimeException discardFailure) {
+                log.warn("Failed to discard journey of process instance {}: {}", update.processInstanceId(),
+                        discardFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The projection update for an event, with its values read now; entities may change later
+     * in the same command. Null for events that are not part of the journey.
+     */
+    private JourneyUpdate capture(FlowableEngineEventType type, FlowableEvent event) {
+        switch (type) {
+            case PROCESS_STARTED -> {
+                ProcessInstance processInstance = (ProcessInstance) ((FlowableEntityEvent) event).getEntity();
+                String processInstanceId = processInstance.getId();
+                String processDefinitionId = processInstance.getProcessDefinitionId();
+                String processDefinitionKey = processInstance.getProcessDefinitionKey();
+                String businessKey = processInstance.getBusinessKey();
+                Date startTime = processInstance.getStartTime();
+                return new JourneyUpdate(processInstanceId, () -> processJourneyService.onProcessStarted(
+                        processInstanceId, processDefinitionId, processDefinitionKey, businessKey, startTime));
+            }
+            case ACTIVITY_STARTED -> {
+                FlowableActivityEvent activityEvent = (FlowableActivityEvent) event;
+                if (!ProcessJourneyService.isJourneyActivity(activityEvent.getActivityType())) {
+                    return null;
+                }
+                String processInstanceId = activityEvent.getProcessInstanceId();
+                String executionId = activityEvent.getExecutionId();
+                String activityId = activityEvent.getActivityId();
+                String activityName = activityEvent.getActivityName();
+                String activityType = activityEvent.getActivityType();
+                return new JourneyUpdate(processInstanceId, () -> processJourneyService.onActivityStarted(
+                        processInstanceId, executionId, activityId, activityName, activityType));
+            }
+            case ACTIVITY_COMPLETED, ACTIVITY_CANCELLED -> {
+                FlowableActivityEvent activityEvent = (FlowableActivityEvent) event;
+                if (!ProcessJourneyService.isJourneyActivity(activityEvent.getActivityType())) {
+                    return null;
+                }
+                String processInstanceId = activityEvent.getProcessInstanceId();
+                String executionId = activityEvent.getExecutionId();
+                String activityId = activityEvent.getActivityId();
+                boolean cancelled = type == FlowableEngineEventType.ACTIVITY_CANCELLED;
+                return new JourneyUpdate(processInstanceId, () -> processJourneyService.onActivityEnded(
+                        processInstanceId, executionId, activityId, cancelled));
+            }
+            case TASK_CREATED -> {
+                Task task = (Task) ((FlowableEntityEvent) event).getEntity();
+                if (task.getProcessInstanceId() == null) {
+                    return null;
+                }
+                String processInstanceId = task.getProcessInstanceId();
+                String executionId = task.getExecutionId();
+                String taskDefinitionKey = task.getTaskDefinitionKey();
+                String taskId = task.getId();
+                String assignee = task.getAssignee();
+                return new JourneyUpdate(processInstanceId, () -> processJourneyService.onTaskCreated(
+                        processInstanceId, executionId, taskDefinitionKey, taskId, assignee));
+            }
+            case TASK_ASSIGNED -> {
+                Task task = (Task) ((FlowableEntityEvent) event).getEntity();
+                if (task.getProcessInstanceId() == null) {
+                    return null;
+                }
+                String processInstanceId = task.getProcessInstanceId();
+                String executionId = task.getExecutionId();
+                String taskDefinitionKey = task.getTaskDefinitionKey();
+                String assignee = task.getAssignee();
+                return new JourneyUpdate(processInstanceId, () -> processJourneyService.onTaskAssigned(
+                        processInstanceId, executionId, taskDefinitionKey, assignee));
+            }
+            case PROCESS_COMPLETED, PROCESS_COMPLETED_WITH_TERMINATE_END_EVENT -> {
+                String processInstanceId = ((ProcessInstance) ((FlowableEntityEvent) event).getEntity()).getId();
+                return new JourneyUpdate(processInstanceId,
+                        () -> processJourneyService.onProcessEnded(processInstanceId, false));
+            }
+            case PROCESS_CANCELLED -> {
+                String processInstanceId = ((FlowableCancelledEvent) event).getProcessInstanceId();
+                return new JourneyUpdate(processInstanceId,
+                        () -> processJourneyService.onProcessEnded(processInstanceId, true));
+            }
+            default -> {
+                // Not part of the journey
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        // The projection is a read model; it must not fail process starts or task completions
+        return false;
+    }
+
+    @Override
+    public boolean isFireOnTransactionLifecycleEvent() {
+        return false;
+    }
+
+    @Override
+    public String getOnTransaction() {
+        return null;
+    }
+
+    private record JourneyUpdate(String processInstanceId, Runnable action) {
+    }
+}
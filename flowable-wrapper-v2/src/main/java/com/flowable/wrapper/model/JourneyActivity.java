@@ -0,0 +1,38 @@
+package com.flowable.wrapper.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JourneyActivity implements Serializable {
+    
+    private String activityId;  // Activity id from BPMN
+    
+    private String activityName;  // Human-readable activity name
+    
+    private String activityType;  // userTask, serviceTask, startEvent, ...
+    
+    private String executionId;  // Execution the activity ran in (distinguishes loop iterations)
+    
+    private String taskId;  // Flowable task id, user tasks only
+    
+    private String queue;  // Queue the task was routed to, user tasks only
+    
+    private String assignee;  // Current (or final) assignee, user tasks only
+    
+    private String status;  // ACTIVE, COMPLETED or CANCELLED
+    
+    private Instant startedAt;
+    
+    private Instant endedAt;
+}
@@ -0,0 +1,23 @@
+package com.flowable.wrapper.repository;
+
+import com.flowable.wrapper.entity.ProcessInstanceJourney;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProcessInstanceJourneyRepository extends JpaRepository<ProcessInstanceJourney, String> {
+    
+    // Row lock so concurrent branches of one instance don't overwrite each other's updates
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ProcessInstanceJourney j WHERE j.processInstanceId = :processInstanceId")
+    Optional<ProcessInstanceJourney> findForUpdate(@Param("processInstanceId") String processInstanceId);
+    
+    // Most recent instance for a business key (e.g. OneCMS case number)
+    Optional<ProcessInstanceJourney> findFirstByBusinessKeyOrderByStartedAtDesc(String businessKey);
+}
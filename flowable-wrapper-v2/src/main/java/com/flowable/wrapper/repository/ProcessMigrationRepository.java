@@ -0,0 +1,15 @@
+package com.flowable.wrapper.repository;
+
+import com.flowable.wrapper.entity.ProcessMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProcessMigrationRepository extends JpaRepository<ProcessMigration, Long> {
+    
+    // Find unfinished migrations (resumed after a restart)
+    List<ProcessMigration> findByStatusInOrderByCreatedAtAsc(Collection<String> statuses);
+}
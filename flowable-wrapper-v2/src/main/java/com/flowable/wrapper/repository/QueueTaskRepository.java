@@ -38,4 +38,7 @@ public interface QueueTaskRepository extends JpaRepository<QueueTask, String> {
     // Find all tasks by process instance ID (for Cerbos integration)
     List<QueueTask> findByProcessInstanceId(String processInstanceId);
     
+    // Find open/claimed tasks by process instance (for migration reconciliation)
+    List<QueueTask> findByProcessInstanceIdAndStatusIn(String processInstanceId, List<TaskStatus> statuses);
+    
 }
\ No newline at end of file
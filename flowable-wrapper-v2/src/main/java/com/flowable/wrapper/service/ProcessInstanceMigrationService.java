@@ -0,0 +1,190 @@
+package com.flowable.wrapper.service;
+
+import com.flowable.wrapper.dto.request.MigrateProcessInstancesRequest;
+import com.flowable.wrapper.dto.response.ProcessMigrationResponse;
+import com.flowable.wrapper.entity.ProcessMigration;
+import com.flowable.wrapper.exception.ResourceNotFoundException;
+import com.flowable.wrapper.exception.WorkflowException;
+import com.flowable.wrapper.repository.ProcessMigrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.engine.RepositoryService;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.migration.ProcessInstanceMigrationValidationResult;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.repository.ProcessDefinitionQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ProcessInstanceMigrationService {
+
+    private final RepositoryService repositoryService;
+    private final RuntimeService runtimeService;
+    private final ProcessMigrationRepository processMigrationRepository;
+    private final ProcessMigrationRunner processMigrationRunner;
+
+    /**
+     * Validate a migration of running instances to another definition version and,
+     * unless it is a dry run, schedule it for batched background execution.
+     */
+    public ProcessMigrationResponse migrateProcessInstances(MigrateProcessInstancesRequest request, String userId)
+            throws WorkflowException {
+        log.info("Process migration requested for {} (source version: {}, target version: {}, dry run: {}) by user: {}",
+                request.getProcessDefinitionKey(), request.getSourceVersion(), request.getTargetVersion(),
+                request.isDryRun(), userId);
+
+        ProcessDefinition target = resolveTarget(request);
+
+        // Only definitions that still have running instances need migrating
+        List<String> sourceIds = new ArrayList<>();
+        int totalInstances = 0;
+        for (ProcessDefinition source : resolveSources(request, target)) {
+            long count = runtimeService.createProcessInstanceQuery()
+                    .processDefinitionId(source.getId())
+                    .count();
+            if (count > 0) {
+                sourceIds.add(source.getId());
+                totalInstances += (int) count;
+            }
+        }
+
+        List<String> validationErrors = new ArrayList<>();
+        for (String sourceId : sourceIds) {
+            ProcessInstanceMigrationValidationResult result = processMigrationRunner
+                    .buildMigration(target.getId(), request.getActivityMappings())
+                    .validateMigrationOfProcessInstances(sourceId);
+            if (result.hasErrors()) {
+                result.getValidationMessages().forEach(message -> validationErrors.add(sourceId + ": " + message));
+            }
+        }
+
+        if (request.isDryRun()) {
+            return ProcessMigrationResponse.builder()
+                    .status(validationErrors.isEmpty() ? "VALIDATED" : "VALIDATION_FAILED")
+                    .dryRun(true)
+                    .processDefinitionKey(request.getProcessDefinitionKey())
+                    .sourceProcessDefinitionIds(sourceIds)
+                    .targetProcessDefinitionId(target.getId())
+                    .activityMappings(request.getActivityMappings())
+                    .batchSize(request.getBatchSize())
+                    .totalInstances(totalInstances)
+                    .migratedInstances(0)
+                    .failedInstances(0)
+                    .validationErrors(validationErrors)
+                    .createdBy(userId)
+                    .build();
+        }
+
+        if (!validationErrors.isEmpty()) {
+            throw new WorkflowException("MIGRATION_VALIDATION_FAILED",
+                "Process migration validation failed: " + String.join("; ", validationErrors));
+        }
+
+        if (sourceIds.isEmpty()) {
+            throw new WorkflowException("NOTHING_TO_MIGRATE",
+                "No running instances of '" + request.getProcessDefinitionKey() + "' outside the target version");
+        }
+
+        ProcessMigration migration = ProcessMigration.builder()
+                .processDefinitionKey(request.getProcessDefinitionKey())
+                .sourceProcessDefinitionIds(sourceIds)
+                .targetProcessDefinitionId(target.getId())
+                .activityMappings(request.getActivityMappings())
+                .batchSize(request.getBatchSize())
+                .totalInstances(totalInstances)
+                .createdBy(userId != null ? userId : "system")
+                .build();
+
+        migration = processMigrationRepository.save(migration);
+        processMigrationRunner.submitAfterCommit(migration.getId());
+
+        log.info("Process migration {} scheduled: {} instances to {}", migration.getId(), totalInstances, target.getId());
+
+        return toResponse(migration);
+    }
+
+    /**
+     * Get progress of a migration
+     */
+    @Transactional(readOnly = true)
+    public ProcessMigrationResponse getMigration(Long migrationId) {
+        ProcessMigration migration = processMigrationRepository.findById(migrationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Process migration", String.valueOf(migrationId)));
+
+        return toResponse(migration);
+    }
+
+    private ProcessDefinition resolveTarget(MigrateProcessInstancesRequest request) {
+        ProcessDefinitionQuery query = repositoryService.createProcessDefinitionQuery()
+                .processDefinitionKey(request.getProcessDefinitionKey());
+        ProcessDefinition target = request.getTargetVersion() != null ?
+                query.processDefinitionVersion(request.getTargetVersion()).singleResult() :
+                query.latestVersion().singleResult();
+
+        if (target == null) {
+            throw new ResourceNotFoundException("Process definition",
+                request.getProcessDefinitionKey() + (request.getTargetVersion() != null ? " v" + request.getTargetVersion() : ""));
+        }
+        return target;
+    }
+
+    private List<ProcessDefinition> resolveSources(MigrateProcessInstancesRequest request, ProcessDefinition target)
+            throws WorkflowException {
+        if (request.getSourceVersion() != null) {
+            if (request.getSourceVersion() == target.getVersion()) {
+                throw new WorkflowException("INVALID_MIGRATION", "Source and target version are the same");
+            }
+            ProcessDefinition source = repositoryService.createProcessDefinitionQuery()
+                    .processDefinitionKey(request.getProcessDefinitionKey())
+                    .processDefinitionVersion(request.getSourceVersion())
+                    .singleResult();
+            if (source == null) {
+                throw new ResourceNotFoundException("Process definition",
+                    request.getProcessDefinitionKey() + " v" + request.getSourceVersion());
+            }
+            return List.of(source);
+        }
+
+        return repositoryService.createProcessDefinitionQuery()
+                .processDefinitionKey(request.getProcessDefinitionKey())
+                .orderByProcessDefinitionVersion().asc()
+                .list()
+                .stream()
+                .filter(definition -> !definition.getId().equals(target.getId()))
+                .toList();
+    }
+
+    private ProcessMigrationResponse toResponse(ProcessMigration migration) {
+        Map<String, String> failures = migration.getFailures() != null ?
+            new LinkedHashMap<>(migration.getFailures()) : Map.of();
+
+        return ProcessMigrationResponse.builder()
+                .migrationId(migration.getId())
+                .status(migration.getStatus())
+                .dryRun(false)
+                .processDefinitionKey(migration.getProcessDefinitionKey())
+                .sourceProcessDefinitionIds(migration.getSourceProcessDefinitionIds())
+                .targetProcessDefinitionId(migration.getTargetProcessDefinitionId())
+                .activityMappings(migration.getActivityMappings())
+                .batchSize(migration.getBatchSize())
+                .totalInstances(migration.getTotalInstances())
+                .migratedInstances(migration.getMigratedInstances())
+                .failedInstances(migration.getFailedInstances())
+                .validationErrors(List.of())
+                .failures(failures)
+                .createdBy(migration.getCreatedBy())
+                .createdAt(migration.getCreatedAt())
+                .startedAt(migration.getStartedAt())
+                .completedAt(migration.getCompletedAt())
+                .build();
+    }
+}
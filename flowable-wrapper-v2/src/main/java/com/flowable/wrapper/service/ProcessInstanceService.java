@@ -89,6 +89,7 @@ public class ProcessInstanceService {
     /**
      * Get process instance by ID - checks both active and historic instances
      */
+    @Transactional(readOnly = true)
     public ProcessInstanceResponse getProcessInstance(String processInstanceId) {
         log.info("Getting process instance: {}", processInstanceId);
         
@@ -0,0 +1,330 @@
+package com.flowable.wrapper.service;
+
+import com.flowable.wrapper.dto.response.ProcessJourneyResponse;
+import com.flowable.wrapper.entity.ProcessInstanceJourney;
+import com.flowable.wrapper.entity.WorkflowMetadata;
+import com.flowable.wrapper.exception.ResourceNotFoundException;
+import com.flowable.wrapper.model.JourneyActivity;
+import com.flowable.wrapper.model.TaskQueueMapping;
+import com.flowable.wrapper.repository.ProcessInstanceJourneyRepository;
+import com.flowable.wrapper.repository.WorkflowMetadataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.engine.HistoryService;
+import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the per-instance journey projection from engine events and serves it
+ * to the journey view.
+ *
+ * Instances that started before the projection existed are rebuilt once from
+ * history on first access and maintained incrementally afterwards. Events for an
+ * instance without a journey are skipped rather than rebuilt, which keeps history
+ * queries off the engine's command path.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ProcessJourneyService {
+
+    public static final String STATUS_ACTIVE = "ACTIVE";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    private final ProcessInstanceJourneyRepository journeyRepository;
+    private final WorkflowMetadataRepository workflowMetadataRepository;
+    private final HistoryService historyService;
+
+    /**
+     * Get the journey of a process instance
+     */
+    public ProcessJourneyResponse getJourney(String processInstanceId) {
+        ProcessInstanceJourney journey = journeyRepository.findById(processInstanceId)
+                .or(() -> rebuildFromHistory(processInstanceId))
+                .orElseThrow(() -> new ResourceNotFoundException("Process instance", processInstanceId));
+
+        return toResponse(journey);
+    }
+
+    /**
+     * Get the journey of the most recent process instance for a business key
+     */
+    public ProcessJourneyResponse getJourneyByBusinessKey(String businessKey) {
+        Optional<ProcessInstanceJourney> journey = journeyRepository.findFirstByBusinessKeyOrderByStartedAtDesc(businessKey);
+        if (journey.isPresent()) {
+            return toResponse(journey.get());
+        }
+
+        HistoricProcessInstance historicInstance = historyService.createHistoricProcessInstanceQuery()
+                .processInstanceBusinessKey(businessKey)
+                .orderByProcessInstanceStartTime().desc()
+                .listPage(0, 1)
+                .stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Process instance for business key", businessKey));
+
+        return getJourney(historicInstance.getId());
+    }
+
+    // ================ PROJECTION MAINTENANCE (called from engine events) ================
+    // Applied after the engine transaction commits, each in a transaction of its own
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onProcessStarted(String processInstanceId, String processDefinitionId, String processDefinitionKey,
+                                 String businessKey, Date startTime) {
+        ProcessInstanceJourney journey = journeyRepository.findForUpdate(processInstanceId)
+                .orElseGet(() -> ProcessInstanceJourney.builder()
+                        .processInstanceId(processInstanceId)
+                        .build());
+
+        journey.setProcessDefinitionId(processDefinitionId);
+        journey.setProcessDefinitionKey(processDefinitionKey);
+        journey.setBusinessKey(businessKey);
+        journey.setStartedAt(startTime != null ? startTime.toInstant() : Instant.now());
+        journey.setStatus(STATUS_ACTIVE);
+        journeyRepository.save(journey);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onActivityStarted(String processInstanceId, String executionId, String activityId,
+                                  String activityName, String activityType) {
+        ProcessInstanceJourney journey = findProjected(processInstanceId);
+        // Already there when the journey was rebuilt from history after this activity started
+        if (journey == null || findCurrent(journey, executionId, activityId) != null) {
+            return;
+        }
+
+        journey.getCurrentActivities().add(JourneyActivity.builder()
+                .activityId(activityId)
+                .activityName(activityName)
+                .activityType(activityType)
+                .executionId(executionId)
+                .status(STATUS_ACTIVE)
+                .startedAt(Instant.now())
+                .build());
+        journeyRepository.save(journey);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onActivityEnded(String processInstanceId, String executionId, String activityId, boolean cancelled) {
+        ProcessInstanceJourney journey = findProjected(processInstanceId);
+        if (journey == null) {
+            return;
+        }
+
+        JourneyActivity activity = removeCurrent(journey, executionId, activityId);
+        if (activity == null) {
+            log.debug("No active journey entry for activity {} in process instance {}", activityId, processInstanceId);
+            return;
+        }
+        activity.setStatus(cancelled ? STATUS_CANCELLED : STATUS_COMPLETED);
+        activity.setEndedAt(Instant.now());
+        journey.getCompletedActivities().add(activity);
+        journeyRepository.save(journey);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTaskCreated(String processInstanceId, String executionId, String taskDefinitionKey,
+                              String taskId, String assignee) {
+        ProcessInstanceJourney journey = findProjected(processInstanceId);
+        if (journey == null) {
+            return;
+        }
+
+        JourneyActivity activity = findCurrent(journey, executionId, taskDefinitionKey);
+        if (activity == null) {
+            return;
+        }
+        activity.setTaskId(taskId);
+        activity.setAssignee(assignee);
+        activity.setQueue(findQueue(journey.getProcessDefinitionKey(), taskDefinitionKey));
+        journeyRepository.save(journey);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTaskAssigned(String processInstanceId, String executionId, String taskDefinitionKey, String assignee) {
+        ProcessInstanceJourney journey = findProjected(processInstanceId);
+        if (journey == null) {
+            return;
+        }
+
+        JourneyActivity activity = findCurrent(journey, executionId, taskDefinitionKey);
+        if (activity == null) {
+            return;
+        }
+        activity.setAssignee(assignee);
+        journeyRepository.save(journey);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onProcessEnded(String processInstanceId, boolean cancelled) {
+        ProcessInstanceJourney journey = findProjected(processInstanceId);
+        if (journey == null) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        for (JourneyActivity activity : journey.getCurrentActivities()) {
+            activity.setStatus(STATUS_CANCELLED);
+            activity.setEndedAt(now);
+            journey.getCompletedActivities().add(activity);
+        }
+        journey.getCurrentActivities().clear();
+        journey.setStatus(cancelled ? STATUS_CANCELLED : STATUS_COMPLETED);
+        journey.setEndedAt(now);
+        journeyRepository.save(journey);
+    }
+
+    /**
+     * Drop an instance's journey after an update to it failed, so the next read rebuilds it
+     * from history instead of serving it with the update missing
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void discard(String processInstanceId) {
+        journeyRepository.deleteById(processInstanceId);
+    }
+
+    // ================ HELPERS ================
+
+    private ProcessInstanceJourney findProjected(String processInstanceId) {
+        Optional<ProcessInstanceJourney> journey = journeyRepository.findForUpdate(processInstanceId);
+        if (journey.isEmpty()) {
+            log.debug("No journey for process instance {} yet; it is rebuilt from history on first read",
+                    processInstanceId);
+        }
+        return journey.orElse(null);
+    }
+
+    /**
+     * One-off reconstruction for instances that predate the projection
+     */
+    private Optional<ProcessInstanceJourney> rebuildFromHistory(String processInstanceId) {
+        HistoricProcessInstance historicInstance = historyService.createHistoricProcessInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .singleResult();
+        if (historicInstance == null) {
+            return Optional.empty();
+        }
+
+        log.info("Rebuilding journey projection from history for process instance: {}", processInstanceId);
+
+        ProcessInstanceJourney journey = ProcessInstanceJourney.builder()
+                .processInstanceId(processInstanceId)
+                .businessKey(historicInstance.getBusinessKey())
+                .processDefinitionKey(historicInstance.getProcessDefinitionKey())
+                .processDefinitionId(historicInstance.getProcessDefinitionId())
+                .startedAt(toInstant(historicInstance.getStartTime()))
+                .endedAt(toInstant(historicInstance.getEndTime()))
+                .status(historicInstance.getEndTime() == null ? STATUS_ACTIVE :
+                        historicInstance.getDeleteReason() != null ? STATUS_CANCELLED : STATUS_COMPLETED)
+                .build();
+
+        List<HistoricActivityInstance> activities = historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .orderByHistoricActivityInstanceStartTime().asc()
+                .list();
+
+        for (HistoricActivityInstance historic : activities) {
+            if (!isJourneyActivity(historic.getActivityType())) {
+                continue;
+            }
+            JourneyActivity activity = JourneyActivity.builder()
+                    .activityId(historic.getActivityId())
+                    .activityName(historic.getActivityName())
+                    .activityType(historic.getActivityType())
+                    .executionId(historic.getExecutionId())
+                    .taskId(historic.getTaskId())
+                    .assignee(historic.getAssignee())
+                    .queue(historic.getTaskId() != null ?
+                            findQueue(journey.getProcessDefinitionKey(), historic.getActivityId()) : null)
+                    .startedAt(toInstant(historic.getStartTime()))
+                    .endedAt(toInstant(historic.getEndTime()))
+                    .build();
+
+            if (historic.getEndTime() == null) {
+                activity.setStatus(STATUS_ACTIVE);
+                journey.getCurrentActivities().add(activity);
+            } else {
+                activity.setStatus(historic.getDeleteReason() != null ? STATUS_CANCELLED : STATUS_COMPLETED);
+                journey.getCompletedActivities().add(activity);
+            }
+        }
+        journey.getCompletedActivities().sort((a, b) -> a.getEndedAt().compareTo(b.getEndedAt()));
+
+        return Optional.of(journeyRepository.save(journey));
+    }
+
+    /**
+     * Gateways and sequence flows are routing noise for the journey view
+     */
+    public static boolean isJourneyActivity(String activityType) {
+        return activityType != null
+                && !activityType.endsWith("Gateway")
+                && !"sequenceFlow".equals(activityType);
+    }
+
+    private JourneyActivity findCurrent(ProcessInstanceJourney journey, String executionId, String activityId) {
+        for (JourneyActivity activity : journey.getCurrentActivities()) {
+            if (activityId.equals(activity.getActivityId())
+                    && (executionId == null || executionId.equals(activity.getExecutionId()))) {
+                return activity;
+            }
+        }
+        return null;
+    }
+
+    private JourneyActivity removeCurrent(ProcessInstanceJourney journey, String executionId, String activityId) {
+        Iterator<JourneyActivity> iterator = journey.getCurrentActivities().iterator();
+        while (iterator.hasNext()) {
+            JourneyActivity activity = iterator.next();
+            if (activityId.equals(activity.getActivityId())
+                    && (executionId == null || executionId.equals(activity.getExecutionId()))) {
+                iterator.remove();
+                return activity;
+            }
+        }
+        return null;
+    }
+
+    private String findQueue(String processDefinitionKey, String taskDefinitionKey) {
+        if (processDefinitionKey == null) {
+            return null;
+        }
+        return workflowMetadataRepository.findByProcessDefinitionKeyAndActiveTrue(processDefinitionKey)
+                .map(WorkflowMetadata::getTaskQueueMappings)
+                .flatMap(mappings -> mappings.stream()
+                        .filter(mapping -> taskDefinitionKey.equals(mapping.getTaskId()))
+                        .map(TaskQueueMapping::getQueue)
+                        .findFirst())
+                .orElse(null);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private ProcessJourneyResponse toResponse(ProcessInstanceJourney journey) {
+        return ProcessJourneyResponse.builder()
+                .processInstanceId(journey.getProcessInstanceId())
+                .businessKey(journey.getBusinessKey())
+                .processDefinitionKey(journey.getProcessDefinitionKey())
+                .status(journey.getStatus())
+                .startedAt(journey.getStartedAt())
+                .endedAt(journey.getEndedAt())
+                .currentActivities(new ArrayList<>(journey.getCurrentActivities()))
+                .completedActivities(new ArrayList<>(journey.getCompletedActivities()))
+                .updatedAt(journey.getUpdatedAt())
+                .build();
+    }
+}
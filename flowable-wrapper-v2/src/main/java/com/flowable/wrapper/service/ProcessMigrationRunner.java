@@ -0,0 +1,223 @@
+package com.flowable.wrapper.service;
+
+import com.flowable.wrapper.entity.ProcessMigration;
+import com.flowable.wrapper.repository.ProcessMigrationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.migration.ActivityMigrationMapping;
+import org.flowable.engine.migration.ProcessInstanceMigrationBuilder;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executes process instance migrations in the background, one batch per transaction.
+ *
+ * A failing batch is retried instance by instance so a single bad instance does not
+ * block the rest. Migrated instances leave their source definition, so an unfinished
+ * migration is resumed after a restart simply by running it again.
+ */
+@Component
+@Slf4j
+public class ProcessMigrationRunner {
+
+    static final String STATUS_PENDING = "PENDING";
+    static final String STATUS_RUNNING = "RUNNING";
+    static final String STATUS_COMPLETED = "COMPLETED";
+    static final String STATUS_COMPLETED_WITH_ERRORS = "COMPLETED_WITH_ERRORS";
+    static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_RECORDED_FAILURES = 500;
+    private static final int MAX_FAILURE_MESSAGE_LENGTH = 500;
+
+    private final ProcessMigrationRepository migrationRepository;
+    private final org.flowable.engine.ProcessMigrationService flowableMigrationService;
+    private final RuntimeService runtimeService;
+    private final QueueTaskService queueTaskService;
+    private final TransactionTemplate batchTransaction;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "process-migration-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProcessMigrationRunner(ProcessMigrationRepository migrationRepository,
+                                  org.flowable.engine.ProcessMigrationService flowableMigrationService,
+                                  RuntimeService runtimeService,
+                                  QueueTaskService queueTaskService,
+                                  PlatformTransactionManager transactionManager) {
+        this.migrationRepository = migrationRepository;
+        this.flowableMigrationService = flowableMigrationService;
+        this.runtimeService = runtimeService;
+        this.queueTaskService = queueTaskService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Build a Flowable migration to the target definition with the given activity mappings
+     */
+    public ProcessInstanceMigrationBuilder buildMigration(String targetProcessDefinitionId,
+                                                         Map<String, String> activityMappings) {
+        ProcessInstanceMigrationBuilder builder = flowableMigrationService.createProcessInstanceMigrationBuilder()
+                .migrateToProcessDefinition(targetProcessDefinitionId);
+        if (activityMappings != null) {
+            activityMappings.forEach((from, to) ->
+                    builder.addActivityMigrationMapping(ActivityMigrationMapping.createMappingFor(from, to)));
+        }
+        return builder;
+    }
+
+    /**
+     * Queue a migration for execution once the transaction that created it has committed
+     */
+    public void submitAfterCommit(Long migrationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.submit(() -> run(migrationId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.submit(() -> run(migrationId));
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedMigrations() {
+        for (ProcessMigration migration : migrationRepository.findByStatusInOrderByCreatedAtAsc(
+                List.of(STATUS_PENDING, STATUS_RUNNING))) {
+            log.info("Resuming process migration {} for {}", migration.getId(), migration.getProcessDefinitionKey());
+            executor.submit(() -> run(migration.getId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Long migrationId) {
+        ProcessMigration migration = migrationRepository.findById(migrationId).orElse(null);
+        if (migration == null) {
+            log.warn("Process migration {} not found", migrationId);
+            return;
+        }
+
+        try {
+            List<String> instanceIds = findInstancesToMigrate(migration);
+
+            migration.setStatus(STATUS_RUNNING);
+            if (migration.getStartedAt() == null) {
+                migration.setStartedAt(Instant.now());
+            }
+            migration.setTotalInstances(migration.getMigratedInstances() + instanceIds.size());
+            migration.setFailedInstances(0);
+            migration.getFailures().clear();
+            migration = migrationRepository.save(migration);
+
+            log.info("Process migration {} started: {} instances of {} in batches of {}",
+                    migrationId, instanceIds.size(), migration.getProcessDefinitionKey(), migration.getBatchSize());
+
+            ProcessInstanceMigrationBuilder builder = buildMigration(
+                    migration.getTargetProcessDefinitionId(), migration.getActivityMappings());
+
+            for (int from = 0; from < instanceIds.size(); from += migration.getBatchSize()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Process migration {} interrupted - will resume on restart", migrationId);
+                    return;
+                }
+                List<String> batch = instanceIds.subList(from,
+                        Math.min(from + migration.getBatchSize(), instanceIds.size()));
+
+                int migrated = migrateBatch(builder, migration, batch);
+                migration.setMigratedInstances(migration.getMigratedInstances() + migrated);
+                migration.setFailedInstances(migration.getFailedInstances() + batch.size() - migrated);
+                migration = migrationRepository.save(migration);
+
+                log.debug("Process migration {} progress: {}/{} migrated, {} failed", migrationId,
+                        migration.getMigratedInstances(), migration.getTotalInstances(), migration.getFailedInstances());
+            }
+
+            migration.setStatus(migration.getFailedInstances() > 0 ? STATUS_COMPLETED_WITH_ERRORS : STATUS_COMPLETED);
+            migration.setCompletedAt(Instant.now());
+            migrationRepository.save(migration);
+
+            log.info("Process migration {} finished: {} migrated, {} failed", migrationId,
+                    migration.getMigratedInstances(), migration.getFailedInstances());
+
+        } catch (Exception e) {
+            log.error("Process migration {} failed: {}", migrationId, e.getMessage(), e);
+            migration.setStatus(STATUS_FAILED);
+            migration.setCompletedAt(Instant.now());
+            migrationRepository.save(migration);
+        }
+    }
+
+    private List<String> findInstancesToMigrate(ProcessMigration migration) {
+        List<String> instanceIds = new ArrayList<>();
+        for (String sourceProcessDefinitionId : migration.getSourceProcessDefinitionIds()) {
+            runtimeService.createProcessInstanceQuery()
+                    .processDefinitionId(sourceProcessDefinitionId)
+                    .list()
+                    .stream()
+                    .map(ProcessInstance::getId)
+                    .forEach(instanceIds::add);
+        }
+        return instanceIds;
+    }
+
+    /**
+     * Migrate a batch in one transaction; on failure split it into single-instance transactions
+     *
+     * @return number of instances migrated
+     */
+    private int migrateBatch(ProcessInstanceMigrationBuilder builder, ProcessMigration migration, List<String> batch) {
+        try {
+            batchTransaction.executeWithoutResult(status -> {
+                for (String processInstanceId : batch) {
+                    builder.migrate(processInstanceId);
+                    queueTaskService.syncQueueTasksAfterMigration(processInstanceId, migration.getProcessDefinitionKey());
+                }
+            });
+            return batch.size();
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                recordFailure(migration, batch.get(0), e);
+                return 0;
+            }
+            log.warn("Batch of {} instances failed in migration {} - retrying one by one: {}",
+                    batch.size(), migration.getId(), e.getMessage());
+            int migrated = 0;
+            for (String processInstanceId : batch) {
+                migrated += migrateBatch(builder, migration, List.of(processInstanceId));
+            }
+            return migrated;
+        }
+    }
+
+    private void recordFailure(ProcessMigration migration, String processInstanceId, Exception e) {
+        log.error("Failed to migrate process instance {} in migration {}: {}",
+                processInstanceId, migration.getId(), e.getMessage());
+        if (migration.getFailures().size() < MAX_RECORDED_FAILURES) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            migration.getFailures().put(processInstanceId,
+                    message.length() > MAX_FAILURE_MESSAGE_LENGTH ? message.substring(0, MAX_FAILURE_MESSAGE_LENGTH) : message);
+        }
+    }
+}
@@ -130,9 +130,62 @@ public class QueueTaskService {
         }
     }
     
+    /**
+     * Reconcile queue tasks of a process instance after it was migrated to another
+     * definition version. Rows of tasks that no longer exist are removed, rows of
+     * tasks whose definition key changed get the new key, name and queue, and tasks
+     * created by the migration are inserted.
+     */
+    public void syncQueueTasksAfterMigration(String processInstanceId, String processDefinitionKey) {
+        Optional<WorkflowMetadata> metadataOpt = workflowMetadataRepository
+                .findByProcessDefinitionKeyAndActiveTrue(processDefinitionKey);
+        if (metadataOpt.isEmpty()) {
+            log.warn("No workflow metadata found for process: {}", processDefinitionKey);
+            return;
+        }
+        WorkflowMetadata metadata = metadataOpt.get();
+        
+        Map<String, Task> activeTasks = taskService.createTaskQuery()
+                .processInstanceId(processInstanceId)
+                .active()
+                .list()
+                .stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        
+        List<QueueTask> queueTasks = queueTaskRepository.findByProcessInstanceIdAndStatusIn(
+                processInstanceId, Arrays.asList(TaskStatus.OPEN, TaskStatus.CLAIMED));
+        
+        for (QueueTask queueTask : queueTasks) {
+            Task task = activeTasks.remove(queueTask.getTaskId());
+            if (task == null) {
+                // Task was replaced by the migration
+                queueTaskRepository.delete(queueTask);
+                log.info("Removed queue task {} of migrated process instance {}", queueTask.getTaskId(), processInstanceId);
+                continue;
+            }
+            if (!task.getTaskDefinitionKey().equals(queueTask.getTaskDefinitionKey())) {
+                String queueName = findQueueForTask(task, metadata);
+                log.info("Queue task {} renamed from '{}' to '{}' by migration", 
+                    task.getId(), queueTask.getTaskDefinitionKey(), task.getTaskDefinitionKey());
+                queueTask.setTaskDefinitionKey(task.getTaskDefinitionKey());
+                queueTask.setTaskName(task.getName());
+                if (queueName != null) {
+                    queueTask.setQueueName(queueName);
+                }
+                queueTaskRepository.save(queueTask);
+            }
+        }
+        
+        // Remaining tasks were created by the migration
+        for (Task task : activeTasks.values()) {
+            populateQueueTask(task, metadata, processDefinitionKey);
+        }
+    }
+    
     /**
      * Get tasks by queue name
      */
+    @Transactional(readOnly = true)
     public List<QueueTaskResponse> getTasksByQueue(String queueName, boolean unassignedOnly) {
         List<QueueTask> tasks;
         if (unassignedOnly) {
@@ -149,6 +202,7 @@ public class QueueTaskService {
     /**
      * Get tasks by queue name with pagination
      */
+    @Transactional(readOnly = true)
     public Page<QueueTaskResponse> getTasksByQueue(String queueName, boolean unassignedOnly, Pageable pageable) {
         Page<QueueTask> tasks;
         if (unassignedOnly) {
@@ -163,6 +217,7 @@ public class QueueTaskService {
     /**
      * Get tasks by assignee
      */
+    @Transactional(readOnly = true)
     public List<QueueTaskResponse> getTasksByAssignee(String userId) {
         List<QueueTask> tasks = queueTaskRepository.findByAssigneeAndStatusInOrderByPriorityDescCreatedAtAsc(
                 userId, Arrays.asList(TaskStatus.OPEN, TaskStatus.CLAIMED));
@@ -175,6 +230,7 @@ public class QueueTaskService {
     /**
      * Get a single queue task by ID
      */
+    @Transactional(readOnly = true)
     public QueueTaskResponse getQueueTask(String taskId) {
         QueueTask queueTask = queueTaskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", taskId));
@@ -236,6 +292,7 @@ public class QueueTaskService {
     /**
      * Get tasks by process instance ID
      */
+    @Transactional(readOnly = true)
     public List<QueueTaskResponse> getTasksByProcessInstance(String processInstanceId) {
         List<QueueTask> tasks = queueTaskRepository.findByProcessInstanceIdAndStatusOrderByCreatedAtAsc(
                 processInstanceId, TaskStatus.OPEN);
@@ -246,7 +303,8 @@ public class QueueTaskService {
     }
     
     /**
-     * Get next available (unassigned) task from queue
+     * Get next available (unassigned) task from queue. Not read-only, so it stays on the
+     * primary: a replica may still show a task as unassigned after it was claimed.
      */
     public QueueTaskResponse getNextTaskFromQueue(String queueName) {
         // Get unassigned tasks ordered by priority (desc) and creation time (asc)
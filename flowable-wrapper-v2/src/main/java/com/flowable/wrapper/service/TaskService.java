@@ -36,6 +36,7 @@ public class TaskService {
     /**
      * Get tasks by queue name
      */
+    @Transactional(readOnly = true)
     public List<QueueTaskResponse> getTasksByQueue(String queueName, boolean unassignedOnly) {
         return queueTaskService.getTasksByQueue(queueName, unassignedOnly);
     }
@@ -43,6 +44,7 @@ public class TaskService {
     /**
      * Get tasks by assignee
      */
+    @Transactional(readOnly = true)
     public List<QueueTaskResponse> getTasksByAssignee(String userId) {
         return queueTaskService.getTasksByAssignee(userId);
     }
@@ -200,7 +202,7 @@ public class TaskService {
     }
     
     /**
-     * Get next available task from queue
+     * Get next available task from queue, always from the primary (see QueueTaskService)
      */
     public QueueTaskResponse getNextTaskFromQueue(String queueName) {
         return queueTaskService.getNextTaskFromQueue(queueName);
@@ -209,6 +211,7 @@ public class TaskService {
     /**
      * Get detailed task information including form data
      */
+    @Transactional(readOnly = true)
     public TaskDetailResponse getTaskDetails(String taskId) throws WorkflowException {
         // Get task from queue_tasks
         QueueTaskResponse queueTask = queueTaskService.getQueueTask(taskId);
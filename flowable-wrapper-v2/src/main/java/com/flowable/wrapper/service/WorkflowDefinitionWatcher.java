@@ -0,0 +1,173 @@
+package com.flowable.wrapper.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the workflow definitions directory and redeploys changed .bpmn20.xml files.
+ *
+ * Bursts of file events (editors, rsync, config-map updates) are debounced per file;
+ * a file is only handed to {@link WorkflowMetadataService#redeployIfChanged} once it
+ * has been quiet for the debounce interval, and is only deployed if its content hash
+ * differs from the last deployment.
+ */
+@Component
+@ConditionalOnProperty(prefix = "workflow.definitions.watch", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowDefinitionWatcher {
+
+    private static final String BPMN_SUFFIX = ".bpmn20.xml";
+
+    private final WorkflowMetadataService workflowMetadataService;
+
+    @Value("${workflow.definitions.path:/app/definitions}")
+    private String definitionsPath;
+
+    @Value("${workflow.definitions.watch.debounce-ms:2000}")
+    private long debounceMs;
+
+    @Value("${workflow.definitions.watch.scan-on-startup:true}")
+    private boolean scanOnStartup;
+
+    // File -> time of the last event seen for it
+    private final Map<Path, Long> pendingFiles = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+    private ScheduledExecutorService debounceScheduler;
+    private Thread watcherThread;
+    private Path directory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        directory = Paths.get(definitionsPath).toAbsolutePath();
+        if (!Files.isDirectory(directory)) {
+            log.warn("Workflow definitions path {} is not a directory - watcher not started", directory);
+            return;
+        }
+
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.error("Failed to watch workflow definitions path {}: {}", directory, e.getMessage(), e);
+            return;
+        }
+
+        debounceScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "workflow-definition-deployer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = Math.max(100, debounceMs / 2);
+        debounceScheduler.scheduleWithFixedDelay(this::deployQuietFiles, tick, tick, TimeUnit.MILLISECONDS);
+
+        watcherThread = new Thread(this::watchLoop, "workflow-definition-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+
+        if (scanOnStartup) {
+            enqueueAll();
+        }
+
+        log.info("Watching workflow definitions in {} (debounce {} ms)", directory, debounceMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error closing definitions watch service: {}", e.getMessage());
+            }
+        }
+        if (debounceScheduler != null) {
+            debounceScheduler.shutdownNow();
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost, fall back to a full (hash-checked) scan
+                        enqueueAll();
+                        continue;
+                    }
+                    enqueue(directory.resolve((Path) event.context()));
+                }
+                if (!key.reset()) {
+                    log.warn("Workflow definitions directory {} is no longer accessible - watcher stopped", directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Workflow definitions watcher closed");
+        }
+    }
+
+    private void enqueue(Path file) {
+        if (file.getFileName().toString().endsWith(BPMN_SUFFIX)) {
+            pendingFiles.put(file, System.currentTimeMillis());
+        }
+    }
+
+    private void enqueueAll() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + BPMN_SUFFIX)) {
+            files.forEach(this::enqueue);
+        } catch (IOException e) {
+            log.error("Failed to scan workflow definitions path {}: {}", directory, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deploy files that have not changed for at least the debounce interval
+     */
+    private void deployQuietFiles() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Path, Long> entry : pendingFiles.entrySet()) {
+            Path file = entry.getKey();
+            if (now - entry.getValue() < debounceMs || !pendingFiles.remove(file, entry.getValue())) {
+                continue;
+            }
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            try {
+                workflowMetadataService.redeployIfChanged(file).ifPresent(response ->
+                        log.info("Hot-reloaded workflow {} from {} (deployment {})",
+                                response.getProcessDefinitionKey(), file.getFileName(), response.getDeploymentId()));
+            } catch (Exception e) {
+                log.error("Failed to hot-reload workflow file {}: {}", file.getFileName(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -21,16 +21,25 @@ import org.flowable.engine.repository.ProcessDefinition;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
 
+import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -81,8 +90,10 @@ public class WorkflowMetadataService {
     }
     
     /**
-     * Deploy BPMN workflow to Flowable engine and build task mappings
+     * Deploy BPMN workflow to Flowable engine and build task mappings.
+     * Deployment and routing metadata update commit or roll back together.
      */
+    @Transactional(rollbackFor = WorkflowException.class)
     public WorkflowMetadataResponse deployWorkflow(DeployWorkflowRequest request) throws WorkflowException {
         log.info("Deploying workflow for process: {}", request.getProcessDefinitionKey());
         
@@ -136,6 +147,7 @@ public class WorkflowMetadataService {
                 metadata.setTaskQueueMappings(taskMappings);
                 metadata.setDeployed(true);
                 metadata.setDeploymentId(deployment.getId());
+                metadata.setDeployedContentHash(contentHash(request.getBpmnXml()));
                 workflowMetadataRepository.save(metadata);
                 
                 log.info("Built {} task queue mappings for process {}", 
@@ -234,8 +246,10 @@ public class WorkflowMetadataService {
     }
     
     /**
-     * Deploy BPMN workflow from a file in the mounted definitions directory
+     * Deploy BPMN workflow from a file in the mounted definitions directory.
+     * Files whose content matches the last deployment are not redeployed.
      */
+    @Transactional(rollbackFor = WorkflowException.class)
     public WorkflowMetadataResponse deployWorkflowFromFile(String processDefinitionKey, String filename) throws WorkflowException {
         log.info("Deploying workflow from file: {} for process: {}", filename, processDefinitionKey);
         
@@ -243,48 +257,117 @@ public class WorkflowMetadataService {
         WorkflowMetadata metadata = workflowMetadataRepository.findByProcessDefinitionKeyAndActiveTrue(processDefinitionKey)
                 .orElseThrow(() -> new ResourceNotFoundException("Workflow metadata", processDefinitionKey));
         
+        // Read BPMN file from mounted directory
+        Path filePath = Paths.get(definitionsPath, filename);
+        if (!Files.exists(filePath)) {
+            throw new ResourceNotFoundException("BPMN file", filename);
+        }
+        
+        String bpmnXml = readDefinitionFile(filePath);
+        
+        if (isUnchanged(metadata, bpmnXml)) {
+            log.info("BPMN file {} is unchanged since deployment {} - skipping redeploy", 
+                filename, metadata.getDeploymentId());
+            return toResponse(metadata);
+        }
+        
+        // Security validation happens once, inside deployWorkflow
+        return deployWorkflow(buildFileDeployRequest(metadata, bpmnXml, filename));
+    }
+    
+    /**
+     * Redeploy a changed definition file picked up by the definitions watcher.
+     * The process definition key is taken from the process id in the BPMN XML.
+     *
+     * @return the deployment result, or empty if the file is unchanged or not registered
+     */
+    @Transactional(rollbackFor = WorkflowException.class)
+    public Optional<WorkflowMetadataResponse> redeployIfChanged(Path filePath) throws WorkflowException {
+        String bpmnXml = readDefinitionFile(filePath);
+        String filename = filePath.getFileName().toString();
+        
+        String processDefinitionKey = extractProcessDefinitionKey(bpmnXml);
+        if (processDefinitionKey == null) {
+            log.warn("No executable process found in BPMN file {} - skipping", filename);
+            return Optional.empty();
+        }
+        
+        Optional<WorkflowMetadata> metadataOpt = workflowMetadataRepository
+                .findByProcessDefinitionKeyAndActiveTrue(processDefinitionKey);
+        if (metadataOpt.isEmpty()) {
+            log.warn("BPMN file {} defines process '{}' which has no registered metadata - skipping", 
+                filename, processDefinitionKey);
+            return Optional.empty();
+        }
+        
+        WorkflowMetadata metadata = metadataOpt.get();
+        if (isUnchanged(metadata, bpmnXml)) {
+            log.debug("BPMN file {} is unchanged - skipping redeploy", filename);
+            return Optional.empty();
+        }
+        
+        log.info("BPMN file {} changed - redeploying process {}", filename, processDefinitionKey);
+        return Optional.of(deployWorkflow(buildFileDeployRequest(metadata, bpmnXml, filename)));
+    }
+    
+    private String readDefinitionFile(Path filePath) throws WorkflowException {
         try {
-            // Read BPMN file from mounted directory
-            // TODO remove the hardcoded path
-            Path filePath = Paths.get(definitionsPath, filename);
-            if (!Files.exists(filePath)) {
-                throw new ResourceNotFoundException("BPMN file", filename);
-            }
-            
             String bpmnXml = Files.readString(filePath, StandardCharsets.UTF_8);
-            log.info("Read BPMN file successfully: {}", filename);
-            
-            // Security validation of BPMN file content
-            log.info("Performing security validation for BPMN file: {}", filename);
-            BpmnValidationResult validationResult = bpmnSecurityValidator.validateBpmnXml(
-                bpmnXml, processDefinitionKey);
-            
-            if (!validationResult.isValid()) {
-                log.error("BPMN file security validation failed for {}: {}", 
-                    filename, validationResult.getSummary());
-                throw new WorkflowException("SECURITY_VALIDATION_FAILED", 
-                    "BPMN file security validation failed: " + validationResult.getSummary());
-            }
+            log.info("Read BPMN file successfully: {}", filePath.getFileName());
+            return bpmnXml;
+        } catch (IOException e) {
+            log.error("Failed to read workflow file {}: {}", filePath, e.getMessage(), e);
+            throw new WorkflowException("FILE_DEPLOYMENT_FAILED", 
+                "Failed to read workflow file: " + e.getMessage(), e);
+        }
+    }
+    
+    private DeployWorkflowRequest buildFileDeployRequest(WorkflowMetadata metadata, String bpmnXml, String filename) {
+        DeployWorkflowRequest deployRequest = new DeployWorkflowRequest();
+        deployRequest.setProcessDefinitionKey(metadata.getProcessDefinitionKey());
+        deployRequest.setBpmnXml(bpmnXml);
+        deployRequest.setDeploymentName(metadata.getProcessName() + " - " + filename);
+        return deployRequest;
+    }
+    
+    private boolean isUnchanged(WorkflowMetadata metadata, String bpmnXml) {
+        return Boolean.TRUE.equals(metadata.getDeployed())
+                && contentHash(bpmnXml).equals(metadata.getDeployedContentHash());
+    }
+    
+    /**
+     * SHA-256 of the BPMN XML, hex encoded
+     */
+    private static String contentHash(String bpmnXml) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bpmnXml.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Id of the first executable process in the BPMN XML
+     */
+    private static String extractProcessDefinitionKey(String bpmnXml) throws WorkflowException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document doc = factory.newDocumentBuilder()
+                    .parse(new ByteArrayInputStream(bpmnXml.getBytes(StandardCharsets.UTF_8)));
             
-            if (validationResult.getWarningCount() > 0) {
-                log.warn("BPMN file security validation warnings for {}: {}", 
-                    filename, validationResult.getSummary());
+            NodeList processes = doc.getElementsByTagNameNS("*", "process");
+            for (int i = 0; i < processes.getLength(); i++) {
+                Element process = (Element) processes.item(i);
+                if (!"false".equalsIgnoreCase(process.getAttribute("isExecutable"))) {
+                    return process.getAttribute("id");
+                }
             }
-            
-            // Create deploy request and use existing deploy method
-            DeployWorkflowRequest deployRequest = new DeployWorkflowRequest();
-            deployRequest.setProcessDefinitionKey(processDefinitionKey);
-            deployRequest.setBpmnXml(bpmnXml);
-            deployRequest.setDeploymentName(metadata.getProcessName() + " - " + filename);
-            
-            return deployWorkflow(deployRequest);
-            
-        } catch (ResourceNotFoundException e) {
-            throw e;
+            return null;
         } catch (Exception e) {
-            log.error("Failed to read or deploy workflow file: {}", e.getMessage(), e);
-            throw new WorkflowException("FILE_DEPLOYMENT_FAILED", 
-                "Failed to deploy workflow from file: " + e.getMessage(), e);
+            throw new WorkflowException("INVALID_BPMN", "Failed to parse BPMN XML: " + e.getMessage(), e);
         }
     }
     
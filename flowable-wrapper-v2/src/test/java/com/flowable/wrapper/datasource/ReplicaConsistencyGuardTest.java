@@ -0,0 +1,90 @@
+package com.flowable.wrapper.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaConsistencyGuardTest {
+
+    private static final Duration WINDOW = ReplicaConsistencyGuard.consistencyWindow(
+            Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ReplicaConsistencyGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new ReplicaConsistencyGuard(lagMonitor, WINDOW, 1_000, nanos::get);
+        lenient().when(lagMonitor.isAvailable()).thenReturn(true);
+    }
+
+    @Test
+    void consistencyWindow_ShouldCoverMaxLagAndSampleAge() {
+        assertThat(WINDOW).isEqualTo(Duration.ofSeconds(7));
+    }
+
+    @Test
+    void canReadFromReplica_AfterOwnWrite_ShouldUsePrimaryUntilReplicaReplaysPastIt() {
+        nanos.set(1_000);
+        when(lagMonitor.getReplayedUpTo()).thenReturn(999L);
+        guard.recordWrite("alice");
+
+        assertThat(guard.canReadFromReplica("alice")).isFalse();
+        assertThat(guard.canReadFromReplica("bob")).isTrue();
+
+        // A sample taken in the same tick may predate the commit
+        when(lagMonitor.getReplayedUpTo()).thenReturn(1_000L);
+        assertThat(guard.canReadFromReplica("alice")).isFalse();
+
+        when(lagMonitor.getReplayedUpTo()).thenReturn(1_001L);
+        assertThat(guard.canReadFromReplica("alice")).isTrue();
+        assertThat(guard.trackedWriters()).isZero();
+    }
+
+    @Test
+    void canReadFromReplica_AfterConsistencyWindow_ShouldForgetTheWrite() {
+        nanos.set(Duration.ofMinutes(1).toNanos());
+        when(lagMonitor.getReplayedUpTo()).thenReturn(0L);
+        guard.recordWrite("alice");
+
+        nanos.addAndGet(WINDOW.minusMillis(1).toNanos());
+        assertThat(guard.canReadFromReplica("alice")).isFalse();
+
+        nanos.addAndGet(Duration.ofMillis(1).toNanos());
+        assertThat(guard.canReadFromReplica("alice")).isTrue();
+        assertThat(guard.trackedWriters()).isZero();
+    }
+
+    @Test
+    void canReadFromReplica_ReplicaUnavailable_ShouldUsePrimary() {
+        when(lagMonitor.isAvailable()).thenReturn(false);
+
+        assertThat(guard.canReadFromReplica("alice")).isFalse();
+        assertThat(guard.canReadFromReplica(null)).isFalse();
+    }
+
+    @Test
+    void recordWrite_ManyUsers_ShouldStayWithinBound() {
+        guard = new ReplicaConsistencyGuard(lagMonitor, WINDOW, 100, nanos::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            guard.recordWrite("user-" + i);
+        }
+        guard.recordWrite(null);
+
+        assertThat(guard.trackedWriters()).isLessThanOrEqualTo(100);
+    }
+}
@@ -0,0 +1,119 @@
+package com.flowable.wrapper.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+
+    @Mock
+    private JdbcTemplate primary;
+
+    @Mock
+    private JdbcTemplate replica;
+
+    private final AtomicLong nanos = new AtomicLong(Duration.ofHours(1).toNanos());
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ReplicaLagMonitor(primary, replica, MAX_LAG, INTERVAL, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    void sample_ReplicaAtPrimaryPosition_ShouldBeCaughtUpAtTheSample() {
+        long sampledAt = nanos.get();
+        primaryAt(100L);
+        replicaReplayedTo(100L);
+
+        monitor.sample();
+
+        assertThat(monitor.getReplayedUpTo()).isEqualTo(sampledAt);
+        assertThat(monitor.isAvailable()).isTrue();
+    }
+
+    @Test
+    void sample_ReplicaBehind_ShouldKeepTheLastSampleItHasReplayed() {
+        long firstSample = nanos.get();
+        primaryAt(100L);
+        replicaReplayedTo(100L);
+        monitor.sample();
+
+        // Writes keep coming while the replica stalls at 100
+        for (long position = 200; position <= 700; position += 100) {
+            nanos.addAndGet(INTERVAL.toNanos());
+            primaryAt(position);
+            monitor.sample();
+            assertThat(monitor.getReplayedUpTo()).isEqualTo(firstSample);
+        }
+        assertThat(monitor.isAvailable()).isFalse();
+
+        // Catches up to the second sample's position only; the later samples are still ahead of it
+        nanos.addAndGet(INTERVAL.toNanos());
+        primaryAt(800L);
+        replicaReplayedTo(200L);
+        monitor.sample();
+        assertThat(monitor.isAvailable()).isFalse();
+
+        nanos.addAndGet(INTERVAL.toNanos());
+        long lastSample = nanos.get();
+        primaryAt(800L);
+        replicaReplayedTo(800L);
+        monitor.sample();
+        assertThat(monitor.getReplayedUpTo()).isEqualTo(lastSample);
+        assertThat(monitor.isAvailable()).isTrue();
+    }
+
+    @Test
+    void sample_StandInNotInRecovery_ShouldBeCaughtUpAtTheSample() {
+        long sampledAt = nanos.get();
+        primaryAt(100L);
+        when(replica.queryForObject(eq(ReplicaLagMonitor.REPLAY_POSITION_SQL), any(RowMapper.class)))
+                .thenReturn(new ReplicaLagMonitor.ReplayPosition(false, null));
+
+        monitor.sample();
+
+        assertThat(monitor.getReplayedUpTo()).isEqualTo(sampledAt);
+        assertThat(monitor.isAvailable()).isTrue();
+    }
+
+    @Test
+    void sample_ReplicaUnreachable_ShouldBeUnavailable() {
+        primaryAt(100L);
+        replicaReplayedTo(100L);
+        monitor.sample();
+
+        when(replica.queryForObject(eq(ReplicaLagMonitor.REPLAY_POSITION_SQL), any(RowMapper.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        monitor.sample();
+
+        assertThat(monitor.isAvailable()).isFalse();
+    }
+
+    private void primaryAt(long position) {
+        when(primary.queryForObject(ReplicaLagMonitor.PRIMARY_POSITION_SQL, Long.class)).thenReturn(position);
+    }
+
+    private void replicaReplayedTo(long position) {
+        when(replica.queryForObject(eq(ReplicaLagMonitor.REPLAY_POSITION_SQL), any(RowMapper.class)))
+                .thenReturn(new ReplicaLagMonitor.ReplayPosition(true, position));
+    }
+}
@@ -0,0 +1,124 @@
+package com.flowable.wrapper.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two real Postgres servers, the second standing in for the replica. It is not
+ * in recovery, so each lag sample reports it as caught up at the time of the sample; sampling is
+ * driven by the test instead of the monitor's scheduler.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeAll
+    static void createMarkers() {
+        markServer(PRIMARY, "primary");
+        markServer(REPLICA, "replica");
+    }
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = dataSource(PRIMARY);
+        DataSource replica = dataSource(REPLICA);
+        lagMonitor = new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        ReplicaConsistencyGuard guard = new ReplicaConsistencyGuard(lagMonitor,
+                ReplicaConsistencyGuard.consistencyWindow(Duration.ofSeconds(5), Duration.ofSeconds(1)), 1_000);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(guard);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnly_BeforeFirstSample_ShouldUsePrimary() {
+        ReplicaRoutingContext.setCurrentUser("alice");
+
+        assertThat(readOnlyServer()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnly_AfterOwnWrite_ShouldUseReplicaOnlyOnceItHasReplayedPastTheWrite() throws InterruptedException {
+        lagMonitor.sample();
+        ReplicaRoutingContext.setCurrentUser("alice");
+        assertThat(readOnlyServer()).isEqualTo("replica");
+
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE server SET writes = writes + 1"));
+
+        // The last sample predates the write
+        assertThat(readOnlyServer()).isEqualTo("primary");
+        assertThat(writeServer()).isEqualTo("primary");
+
+        // Another user has nothing to wait for
+        ReplicaRoutingContext.setCurrentUser("bob");
+        assertThat(readOnlyServer()).isEqualTo("replica");
+
+        Thread.sleep(5);
+        lagMonitor.sample();
+        ReplicaRoutingContext.setCurrentUser("alice");
+        assertThat(readOnlyServer()).isEqualTo("replica");
+    }
+
+    private String readOnlyServer() {
+        return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private String writeServer() {
+        return writeTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private static void markServer(PostgreSQLContainer<?> container, String name) {
+        JdbcTemplate server = new JdbcTemplate(dataSource(container));
+        server.execute("CREATE TABLE IF NOT EXISTS server (name text NOT NULL, writes int NOT NULL DEFAULT 0)");
+        server.update("DELETE FROM server");
+        server.update("INSERT INTO server (name) VALUES (?)", name);
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
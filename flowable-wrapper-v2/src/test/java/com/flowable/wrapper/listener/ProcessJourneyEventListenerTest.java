@@ -0,0 +1,108 @@
+package com.flowable.wrapper.listener;
+
+import com.flowable.wrapper.service.ProcessJourneyService;
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.delegate.event.FlowableActivityEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessJourneyEventListenerTest {
+
+    @Mock
+    private RuntimeService runtimeService;
+
+    @Mock
+    private ProcessJourneyService processJourneyService;
+
+    @InjectMocks
+    private ProcessJourneyEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void onEvent_InsideTransaction_ShouldApplyOnlyAfterCommit() {
+        listener.onEvent(activityEvent(FlowableEngineEventType.ACTIVITY_STARTED, "userTask"));
+
+        verifyNoInteractions(processJourneyService);
+
+        commit();
+
+        verify(processJourneyService).onActivityStarted("pi-1", "exec-1", "review", "Review", "userTask");
+    }
+
+    @Test
+    void onEvent_RolledBack_ShouldNotTouchTheProjection() {
+        listener.onEvent(activityEvent(FlowableEngineEventType.ACTIVITY_COMPLETED, "userTask"));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(processJourneyService);
+    }
+
+    @Test
+    void onEvent_UpdateFails_ShouldDiscardTheJourneyInsteadOfThrowing() {
+        doThrow(new IllegalStateException("lock timeout"))
+                .when(processJourneyService).onActivityEnded(any(), any(), any(), anyBoolean());
+
+        listener.onEvent(activityEvent(FlowableEngineEventType.ACTIVITY_CANCELLED, "userTask"));
+        commit();
+
+        verify(processJourneyService).onActivityEnded("pi-1", "exec-1", "review", true);
+        verify(processJourneyService).discard("pi-1");
+    }
+
+    @Test
+    void onEvent_GatewayActivity_ShouldBeSkipped() {
+        FlowableActivityEvent event = mock(FlowableActivityEvent.class);
+        when(event.getType()).thenReturn(FlowableEngineEventType.ACTIVITY_STARTED);
+        when(event.getActivityType()).thenReturn("exclusiveGateway");
+
+        listener.onEvent(event);
+        commit();
+
+        verifyNoInteractions(processJourneyService);
+    }
+
+    private static FlowableActivityEvent activityEvent(FlowableEngineEventType type, String activityType) {
+        FlowableActivityEvent event = mock(FlowableActivityEvent.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getProcessInstanceId()).thenReturn("pi-1");
+        when(event.getExecutionId()).thenReturn("exec-1");
+        when(event.getActivityId()).thenReturn("review");
+        when(event.getActivityType()).thenReturn(activityType);
+        if (type == FlowableEngineEventType.ACTIVITY_STARTED) {
+            when(event.getActivityName()).thenReturn("Review");
+        }
+        return event;
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,132 @@
+package com.flowable.wrapper.service;
+
+import com.flowable.wrapper.dto.response.ProcessJourneyResponse;
+import com.flowable.wrapper.entity.ProcessInstanceJourney;
+import com.flowable.wrapper.model.JourneyActivity;
+import com.flowable.wrapper.repository.ProcessInstanceJourneyRepository;
+import com.flowable.wrapper.repository.WorkflowMetadataRepository;
+import org.flowable.engine.HistoryService;
+import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.history.HistoricActivityInstanceQuery;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.history.HistoricProcessInstanceQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessJourneyServiceTest {
+
+    @Mock
+    private ProcessInstanceJourneyRepository journeyRepository;
+
+    @Mock
+    private WorkflowMetadataRepository workflowMetadataRepository;
+
+    @Mock
+    private HistoryService historyService;
+
+    @InjectMocks
+    private ProcessJourneyService service;
+
+    @Test
+    void getJourney_NotProjected_ShouldRebuildFromHistory() {
+        Date started = Date.from(Instant.parse("2026-01-01T10:00:00Z"));
+        Date reviewEnded = Date.from(Instant.parse("2026-01-01T10:05:00Z"));
+
+        HistoricProcessInstance instance = mock(HistoricProcessInstance.class);
+        when(instance.getBusinessKey()).thenReturn("CASE-1");
+        when(instance.getProcessDefinitionKey()).thenReturn("caseReview");
+        when(instance.getStartTime()).thenReturn(started);
+        HistoricProcessInstanceQuery instanceQuery = mock(HistoricProcessInstanceQuery.class);
+        when(historyService.createHistoricProcessInstanceQuery()).thenReturn(instanceQuery);
+        when(instanceQuery.processInstanceId("pi-1")).thenReturn(instanceQuery);
+        when(instanceQuery.singleResult()).thenReturn(instance);
+
+        HistoricActivityInstance review = historicActivity("review", "userTask", started, reviewEnded);
+        HistoricActivityInstance gateway = historicActivity("decide", "exclusiveGateway", reviewEnded, reviewEnded);
+        HistoricActivityInstance approve = historicActivity("approve", "userTask", reviewEnded, null);
+        HistoricActivityInstanceQuery activityQuery = mock(HistoricActivityInstanceQuery.class);
+        when(historyService.createHistoricActivityInstanceQuery()).thenReturn(activityQuery);
+        when(activityQuery.processInstanceId("pi-1")).thenReturn(activityQuery);
+        when(activityQuery.orderByHistoricActivityInstanceStartTime()).thenReturn(activityQuery);
+        when(activityQuery.asc()).thenReturn(activityQuery);
+        when(activityQuery.list()).thenReturn(List.of(review, gateway, approve));
+
+        when(journeyRepository.findById("pi-1")).thenReturn(Optional.empty());
+        when(journeyRepository.save(any(ProcessInstanceJourney.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProcessJourneyResponse response = service.getJourney("pi-1");
+
+        assertThat(response.getBusinessKey()).isEqualTo("CASE-1");
+        assertThat(response.getStatus()).isEqualTo(ProcessJourneyService.STATUS_ACTIVE);
+        assertThat(response.getCompletedActivities()).extracting(JourneyActivity::getActivityId).containsExactly("review");
+        assertThat(response.getCurrentActivities()).extracting(JourneyActivity::getActivityId).containsExactly("approve");
+        verify(journeyRepository).save(any(ProcessInstanceJourney.class));
+    }
+
+    @Test
+    void onActivityEnded_NoJourney_ShouldSkipWithoutQueryingHistory() {
+        when(journeyRepository.findForUpdate("pi-1")).thenReturn(Optional.empty());
+
+        service.onActivityEnded("pi-1", "exec-1", "review", false);
+
+        verifyNoInteractions(historyService);
+        verify(journeyRepository, never()).save(any());
+    }
+
+    @Test
+    void onTaskCreated_NoJourney_ShouldSkipTheMetadataLookup() {
+        when(journeyRepository.findForUpdate("pi-1")).thenReturn(Optional.empty());
+
+        service.onTaskCreated("pi-1", "exec-1", "review", "task-1", "alice");
+
+        verifyNoInteractions(historyService, workflowMetadataRepository);
+        verify(journeyRepository, never()).save(any());
+    }
+
+    @Test
+    void onActivityStarted_AlreadyRebuilt_ShouldNotAddItTwice() {
+        ProcessInstanceJourney journey = ProcessInstanceJourney.builder().processInstanceId("pi-1").build();
+        journey.getCurrentActivities().add(JourneyActivity.builder()
+                .activityId("review")
+                .executionId("exec-1")
+                .status(ProcessJourneyService.STATUS_ACTIVE)
+                .build());
+        when(journeyRepository.findForUpdate("pi-1")).thenReturn(Optional.of(journey));
+
+        service.onActivityStarted("pi-1", "exec-1", "review", "Review", "userTask");
+
+        assertThat(journey.getCurrentActivities()).hasSize(1);
+        verify(journeyRepository, never()).save(any());
+    }
+
+    private static HistoricActivityInstance historicActivity(String activityId, String activityType,
+                                                             Date startTime, Date endTime) {
+        HistoricActivityInstance activity = mock(HistoricActivityInstance.class);
+        when(activity.getActivityType()).thenReturn(activityType);
+        if (!ProcessJourneyService.isJourneyActivity(activityType)) {
+            return activity;
+        }
+        when(activity.getActivityId()).thenReturn(activityId);
+        when(activity.getExecutionId()).thenReturn("exec-1");
+        when(activity.getStartTime()).thenReturn(startTime);
+        when(activity.getEndTime()).thenReturn(endTime);
+        return activity;
+    }
+}
@@ -245,6 +245,36 @@ public class WorkflowServiceClient {
         }
     }
     
+    /**
+     * Get the workflow journey (current and completed activities) for a business key
+     */
+    @CircuitBreaker(name = "flowable-workflow-service", fallbackMethod = "getProcessJourneyFallback")
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getProcessJourney(String businessKey, String userId) {
+        
+        log.debug("Getting process journey for business key: {}", businessKey);
+        
+        try {
+            String url = baseUrl + "/api/" + BUSINESS_APP + "/process-instances/by-business-key/" + businessKey + "/journey";
+            
+            HttpHeaders headers = new HttpHeaders();
+            if (userId != null) {
+                headers.set("X-User-Id", userId);
+            }
+            
+            HttpEntity<Void> entity = new HttpEntity<>(headers);
+            
+            ResponseEntity<Map> response = restTemplate.exchange(
+                url, HttpMethod.GET, entity, Map.class);
+            
+            return response.getBody() != null ? response.getBody() : Map.of();
+            
+        } catch (Exception e) {
+            log.error("Failed to get process journey for business key {}: {}", businessKey, e.getMessage());
+            throw new RuntimeException("Failed to get process journey", e);
+        }
+    }
+    
     /**
      * Start a process and return enhanced response with initial task information
      */
@@ -321,6 +351,11 @@ public class WorkflowServiceClient {
         return List.of();
     }
     
+    public Map<String, Object> getProcessJourneyFallback(String businessKey, String userId, Exception ex) {
+        log.warn("Workflow service unavailable for process journey: {}", ex.getMessage());
+        return Map.of();
+    }
+    
     public StartProcessWithTaskResponse startProcessWithTasksFallback(String processDefinitionKey, String businessKey, 
                                                                     Map<String, Object> variables, String initiator, Exception ex) {
         log.warn("Workflow service unavailable for enhanced process start: {}", ex.getMessage());
@@ -548,18 +548,14 @@ public class CaseManagementController {
         }
         try {
             Map<String, Object> journey = new HashMap<>();
-            
-            // This would ideally integrate with your case service to get journey details
             journey.put("caseNumber", caseNumber);
-            journey.put("stages", List.of(
-                Map.of("stage", "Intake", "status", "completed", "timestamp", "2025-07-12T23:42:38"),
-                Map.of("stage", "Classification", "status", "completed", "timestamp", "2025-07-12T23:43:15"),
-                Map.of("stage", "HR Review", "status", "in_progress", "timestamp", "2025-07-12T23:45:00"),
-                Map.of("stage", "Legal Review", "status", "pending"),
-                Map.of("stage", "CSIS Review", "status", "pending"),
-                Map.of("stage", "Investigation", "status", "pending"),
-                Map.of("stage", "Case Closure", "status", "pending")
-            ));
+            
+            // Journey projection maintained by the workflow service (single indexed read)
+            Map<String, Object> workflowJourney = workflowServiceClient.getProcessJourney(caseNumber, userId);
+            journey.put("status", workflowJourney.get("status"));
+            journey.put("processInstanceId", workflowJourney.get("processInstanceId"));
+            journey.put("currentActivities", workflowJourney.getOrDefault("currentActivities", List.of()));
+            journey.put("completedActivities", workflowJourney.getOrDefault("completedActivities", List.of()));
             
             return ResponseEntity.ok(journey);
         } catch (Exception e) {
@@ -1,5 +1,6 @@
 package com.citi.onecms.filter;
 
+import com.citi.onecms.session.SessionTokenVerifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,6 +21,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -31,12 +33,14 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final SessionTokenVerifier sessionTokenVerifier;
     
     // Simple cache to avoid repeated validation calls  
     private final Map<String, CacheEntry> userCache = new ConcurrentHashMap<>();
     private static final long CACHE_TTL = TimeUnit.MINUTES.toMillis(5); // 5 minutes
 
-    public HeaderAuthenticationFilter() {
+    public HeaderAuthenticationFilter(SessionTokenVerifier sessionTokenVerifier) {
+        this.sessionTokenVerifier = sessionTokenVerifier;
         this.webClient = WebClient.builder()
             .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
             .build();
@@ -56,6 +60,17 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // A signed session token (forwarded by the gateway) is verified locally
+        String sessionToken = request.getHeader("X-Session-Token");
+        if (sessionToken != null && !sessionToken.isEmpty() && sessionTokenVerifier.isReady()) {
+            Optional<SessionTokenVerifier.VerifiedToken> verified = sessionTokenVerifier.verify(sessionToken);
+            if (verified.isPresent() && (userId == null || userId.equals(verified.get().userId()))) {
+                setAuthentication(verified.get().userId(), verified.get().username());
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+
         // Check for user ID header
         if (userId == null || userId.trim().isEmpty()) {
             sendUnauthorizedResponse(response, "Missing user ID header");
@@ -0,0 +1,84 @@
+package com.citi.onecms.session;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps {@link SessionTokenVerifier}'s revocation list current from the entitlement service's
+ * push stream, reconnecting whenever the stream ends or fails.
+ */
+@Slf4j
+@Component
+@org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(
+    value = "session-token.enabled",
+    havingValue = "true")
+public class RevocationFeed {
+
+    private final SessionTokenProperties properties;
+    private final SessionTokenVerifier verifier;
+    private final WebClient webClient = WebClient.builder().build();
+    private Disposable subscription;
+
+    public RevocationFeed(SessionTokenProperties properties, SessionTokenVerifier verifier) {
+        this.properties = properties;
+        this.verifier = verifier;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = webClient.get()
+                .uri(properties.getRevocationStreamUrl())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<JsonNode>>() {})
+                .doOnNext(this::apply)
+                .doFinally(signal -> verifier.setRevocationsCurrent(false))
+                .repeat()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(retry -> log.warn("Revocation stream failed, reconnecting: {}",
+                                retry.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private void apply(ServerSentEvent<JsonNode> event) {
+        JsonNode data = event.data();
+        if (data == null) {
+            return;
+        }
+        if ("snapshot".equals(event.event())) {
+            // Merged, not replaced: a revocation may have been pushed just before the snapshot
+            data.forEach(this::revoke);
+            verifier.purgeExpired();
+            verifier.setRevocationsCurrent(true);
+            log.info("Revocation list synchronised, {} revoked sessions", data.size());
+        } else if ("revoked".equals(event.event())) {
+            revoke(data);
+        }
+    }
+
+    private void revoke(JsonNode revocation) {
+        verifier.revoke(revocation.path("sessionId").asText(),
+                Instant.parse(revocation.path("expiresAt").asText()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.citi.onecms.session;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Local verification of the entitlement service's signed session tokens (session-token.*).
+ * Keys and issuer must match authorization.session.token on the entitlement service.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "session-token")
+public class SessionTokenProperties {
+
+    private boolean enabled = false;
+
+    private String issuer = "entitlement-service";
+
+    /**
+     * HMAC-SHA256 secrets by key ID; every listed key is accepted
+     */
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    /**
+     * Push stream of revoked session IDs
+     */
+    private String revocationStreamUrl = "http://localhost:8081/api/auth/revocations/stream";
+}
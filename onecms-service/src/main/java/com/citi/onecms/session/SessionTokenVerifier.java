@@ -0,0 +1,126 @@
+package com.citi.onecms.session;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies the entitlement service's signed session tokens without calling it.
+ *
+ * Revoked session IDs are pushed in by {@link RevocationFeed}. Until the feed has delivered its
+ * first snapshot (or while it is disconnected) the verifier reports itself not ready, and the
+ * authentication filter falls back to validating the user remotely.
+ */
+@Slf4j
+@Component
+public class SessionTokenVerifier {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final Map<String, SecretKey> keys = new HashMap<>();
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final JwtParser parser;
+    private final AtomicLong nextPurgeAtMillis = new AtomicLong();
+    private volatile boolean revocationsCurrent;
+
+    public SessionTokenVerifier(SessionTokenProperties properties) {
+        if (properties.isEnabled()) {
+            // Keys.hmacShaKeyFor rejects secrets shorter than 256 bits
+            properties.getKeys().forEach((keyId, secret) ->
+                    keys.put(keyId, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+        }
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = keys.get(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown session token key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireIssuer(properties.getIssuer())
+                .build();
+    }
+
+    /**
+     * Tokens are enabled and the revocation list is up to date
+     */
+    public boolean isReady() {
+        return !keys.isEmpty() && revocationsCurrent;
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            // Checks signature, algorithm, issuer and expiry
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getId() == null || claims.getSubject() == null || isRevoked(claims.getId())) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(
+                    claims.getId(),
+                    claims.getSubject(),
+                    claims.get("usr", String.class),
+                    claims.get("rdg", String.class)));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected session token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    void revoke(String sessionId, Instant expiresAt) {
+        revoked.merge(sessionId, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    void setRevocationsCurrent(boolean revocationsCurrent) {
+        this.revocationsCurrent = revocationsCurrent;
+    }
+
+    /**
+     * Drop entries whose tokens have expired on their own
+     */
+    void purgeExpired() {
+        Instant now = Instant.now();
+        nextPurgeAtMillis.set(now.plus(PURGE_INTERVAL).toEpochMilli());
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    /**
+     * Snapshots only arrive on reconnect, so checks also purge, at most once per PURGE_INTERVAL
+     */
+    private boolean isRevoked(String sessionId) {
+        Instant now = Instant.now();
+        long nextPurgeAt = nextPurgeAtMillis.get();
+        if (now.toEpochMilli() >= nextPurgeAt
+                && nextPurgeAtMillis.compareAndSet(nextPurgeAt, now.plus(PURGE_INTERVAL).toEpochMilli())) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        }
+        Instant expiresAt = revoked.get(sessionId);
+        if (expiresAt != null && !expiresAt.isAfter(now)) {
+            revoked.remove(sessionId, expiresAt);
+            return false;
+        }
+        return expiresAt != null;
+    }
+
+    public record VerifiedToken(String sessionId, String userId, String username, String rolesDigest) {
+    }
+}